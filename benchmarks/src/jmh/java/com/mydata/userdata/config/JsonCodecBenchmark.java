@@ -0,0 +1,107 @@
+package com.mydata.userdata.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.mydata.userdata.dto.SampleDtos;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of the JSON encoding and decoding of a list of each DTO type, by the mapper of {@link
+ * WebFluxConfig} with the {@link BlackbirdModule} and by the same mapper without it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class JsonCodecBenchmark {
+
+  @Param({
+    "AccountDto",
+    "MiscellaneousDto",
+    "MutualFundDto",
+    "MutualFundBuyTransactionDto",
+    "MutualFundSellTransactionDto",
+    "StockDto",
+    "StockBuyTransactionDto",
+    "StockSellTransactionDto",
+    "HoldingValuationDto",
+    "MutualFundPositionDto",
+    "PriceDto",
+    "CapitalGainDto",
+    "InvestmentSummaryDto",
+    "PortfolioValuationDto",
+    "PortfolioReturnsDto",
+    "BulkInsertResultDto",
+    "TradeImportResultDto",
+    "PriceIngestResultDto",
+    "MutualFundHoldingRebuildDto"
+  })
+  private String dto;
+
+  @Param({"blackbird", "reflection"})
+  private String mapper;
+
+  @Param({"100"})
+  private int size;
+
+  private ObjectWriter writer;
+  private ObjectReader reader;
+  private List<Object> values;
+  private byte[] json;
+
+  /**
+   * Create the mapper and the DTOs, and encode them once for the decoding
+   *
+   * @throws IOException when the DTOs can not be encoded
+   */
+  @Setup
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public void setUp() throws IOException {
+    var builder = WebFluxConfig.jsonMapperBuilder();
+    if ("blackbird".equals(mapper)) {
+      builder.modulesToInstall(new BlackbirdModule());
+    }
+    ObjectMapper objectMapper = builder.build();
+    var list = SampleDtos.list(size, SampleDtos.factory(dto));
+    var type =
+        objectMapper.getTypeFactory().constructCollectionType(List.class, list.get(0).getClass());
+    writer = objectMapper.writerFor(type);
+    reader = objectMapper.readerFor(type);
+    values = list;
+    json = writer.writeValueAsBytes(list);
+  }
+
+  /**
+   * Encode the DTOs
+   *
+   * @return the JSON
+   * @throws IOException when the DTOs can not be encoded
+   */
+  @Benchmark
+  public byte[] encode() throws IOException {
+    return writer.writeValueAsBytes(values);
+  }
+
+  /**
+   * Decode the DTOs
+   *
+   * @return the DTOs
+   * @throws IOException when the JSON can not be decoded
+   */
+  @Benchmark
+  public List<Object> decode() throws IOException {
+    return reader.readValue(json);
+  }
+}
@@ -0,0 +1,85 @@
+package com.mydata.userdata.config;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mydata.userdata.dto.SampleDtos;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of the JSON and Smile encodings of a large transaction list, by the mappers of {@link
+ * WebFluxConfig}. The payload size of each encoding is logged when the list is created.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class WireFormatBenchmark {
+
+  @Param({"MutualFundBuyTransactionDto", "StockSellTransactionDto"})
+  private String dto;
+
+  @Param({"json", "smile"})
+  private String format;
+
+  @Param({"100000"})
+  private int rows;
+
+  private ObjectWriter writer;
+  private ObjectReader reader;
+  private List<Object> values;
+  private byte[] payload;
+
+  /**
+   * Create the mapper and the transactions, and encode them once for the decoding
+   *
+   * @throws IOException when the transactions can not be encoded
+   */
+  @Setup
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public void setUp() throws IOException {
+    var objectMapper =
+        "smile".equals(format) ? WebFluxConfig.smileMapper() : new WebFluxConfig().objectMapper();
+    var list = SampleDtos.list(rows, SampleDtos.factory(dto));
+    var type =
+        objectMapper.getTypeFactory().constructCollectionType(List.class, list.get(0).getClass());
+    writer = objectMapper.writerFor(type);
+    reader = objectMapper.readerFor(type);
+    values = list;
+    payload = writer.writeValueAsBytes(list);
+    log.info("{} rows of {} as {} : {} bytes", rows, dto, format, payload.length);
+  }
+
+  /**
+   * Encode the transactions
+   *
+   * @return the payload
+   * @throws IOException when the transactions can not be encoded
+   */
+  @Benchmark
+  public byte[] encode() throws IOException {
+    return writer.writeValueAsBytes(values);
+  }
+
+  /**
+   * Decode the transactions
+   *
+   * @return the transactions
+   * @throws IOException when the payload can not be decoded
+   */
+  @Benchmark
+  public List<Object> decode() throws IOException {
+    return reader.readValue(payload);
+  }
+}
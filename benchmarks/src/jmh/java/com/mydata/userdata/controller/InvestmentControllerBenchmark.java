@@ -0,0 +1,132 @@
+package com.mydata.userdata.controller;
+
+import static com.mydata.userdata.common.ApiParams.APPLICATION_SMILE_VALUE;
+import static com.mydata.userdata.common.ApiUrls.INVESTMENT_BASE_URL;
+import static com.mydata.userdata.common.ApiUrls.MF_BUY_TRANSACTION_URL;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.mydata.userdata.config.WebFluxConfig;
+import com.mydata.userdata.dto.SampleDtos;
+import com.mydata.userdata.service.BulkInsertService;
+import com.mydata.userdata.service.CapitalGainsService;
+import com.mydata.userdata.service.InvestmentService;
+import com.mydata.userdata.service.InvestmentSummaryService;
+import com.mydata.userdata.service.MutualFundHoldingService;
+import com.mydata.userdata.service.PriceHistoryService;
+import com.mydata.userdata.service.TradeImportService;
+import com.mydata.userdata.service.ValuationService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Benchmark of the round trip of the mutual fund buy transactions through {@link
+ * InvestmentController}, with the codecs of {@link WebFluxConfig} and a stub service, so the
+ * request mapping, the content negotiation and the encoding are measured without a database or a
+ * socket. The responses are read as bytes, so the client does not decode them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class InvestmentControllerBenchmark {
+
+  private static final String URL = INVESTMENT_BASE_URL + MF_BUY_TRANSACTION_URL;
+
+  @Param({"application/json", "application/x-ndjson", "application/x-jackson-smile"})
+  private String accept;
+
+  @Param({"1000"})
+  private int rows;
+
+  private WebTestClient webTestClient;
+  private MediaType acceptType;
+  private MediaType contentType;
+  private byte[] body;
+
+  /**
+   * Bind the controller to the stub service, and encode the request body in the accepted format
+   *
+   * @throws JsonProcessingException when the request body can not be encoded
+   */
+  @Setup
+  public void setUp() throws JsonProcessingException {
+    var investmentService = mock(InvestmentService.class, withSettings().stubOnly());
+    var transactions = SampleDtos.list(rows, SampleDtos::mutualFundBuyTransaction);
+    when(investmentService.getMutualFundBuyTransactions(Boolean.FALSE))
+        .thenAnswer(invocation -> Flux.fromIterable(transactions));
+    when(investmentService.addMutualFundBuyTransaction(any()))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    var controller =
+        new InvestmentController(
+            investmentService,
+            mock(BulkInsertService.class, withSettings().stubOnly()),
+            mock(InvestmentSummaryService.class, withSettings().stubOnly()),
+            mock(MutualFundHoldingService.class, withSettings().stubOnly()),
+            mock(TradeImportService.class, withSettings().stubOnly()),
+            mock(PriceHistoryService.class, withSettings().stubOnly()),
+            mock(ValuationService.class, withSettings().stubOnly()),
+            mock(CapitalGainsService.class, withSettings().stubOnly()));
+    webTestClient =
+        WebTestClient.bindToController(controller)
+            .httpMessageCodecs(new WebFluxConfig()::configureHttpMessageCodecs)
+            .build();
+    acceptType = MediaType.parseMediaType(accept);
+    var smile = APPLICATION_SMILE_VALUE.equals(accept);
+    contentType = smile ? acceptType : MediaType.APPLICATION_JSON;
+    var mapper =
+        smile ? Jackson2ObjectMapperBuilder.smile().build() : new WebFluxConfig().objectMapper();
+    body = mapper.writeValueAsBytes(transactions.get(0));
+  }
+
+  /**
+   * Get the mutual fund buy transactions
+   *
+   * @return the encoded transactions
+   */
+  @Benchmark
+  public byte[] getTransactions() {
+    return webTestClient
+        .get()
+        .uri(URL)
+        .accept(acceptType)
+        .exchange()
+        .expectBody()
+        .returnResult()
+        .getResponseBody();
+  }
+
+  /**
+   * Add a mutual fund buy transaction
+   *
+   * @return the encoded transaction
+   */
+  @Benchmark
+  public byte[] addTransaction() {
+    return webTestClient
+        .post()
+        .uri(URL)
+        .contentType(contentType)
+        .accept(contentType)
+        .bodyValue(body)
+        .exchange()
+        .expectBody()
+        .returnResult()
+        .getResponseBody();
+  }
+}
@@ -0,0 +1,193 @@
+package com.mydata.userdata.dto;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.price.PriceKind;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/** The DTOs of the benchmarks, the DTO of an index is the same on every run */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SampleDtos {
+
+  /** The trade date of the transactions */
+  public static final Instant TRADE_DATE = Instant.parse("2022-03-01T10:15:30Z");
+
+  private static final LocalDate PRICE_DATE = LocalDate.of(2022, 3, 1);
+  private static final String MF_CODE = "1195";
+  private static final String MF_NAME = "Flexi Cap Fund Direct Growth";
+
+  /**
+   * The DTOs of an index for a DTO type
+   *
+   * @param type the simple name of the DTO type
+   * @return the factory of the DTOs
+   */
+  @SuppressWarnings("PMD.CyclomaticComplexity")
+  public static IntFunction<Object> factory(final String type) {
+    return switch (type) {
+      case "AccountDto" -> i ->
+          new AccountDto(i, "HDFC Bank", "Koramangala", "5010" + i, amount(i).toBigDecimal());
+      case "MiscellaneousDto" -> i -> new MiscellaneousDto(i, "PPF", amount(i).toBigDecimal());
+      case "MutualFundDto" -> i -> new MutualFundDto(i, MF_CODE + i, MF_NAME, "PPFAS", "Equity");
+      case "MutualFundBuyTransactionDto" -> SampleDtos::mutualFundBuyTransaction;
+      case "MutualFundSellTransactionDto" -> SampleDtos::mutualFundSellTransaction;
+      case "StockDto" -> i -> new StockDto(i, "INFY" + i, "Infosys Limited", "NSE", "Zerodha");
+      case "StockBuyTransactionDto" -> SampleDtos::stockBuyTransaction;
+      case "StockSellTransactionDto" -> SampleDtos::stockSellTransaction;
+      case "HoldingValuationDto" -> SampleDtos::holdingValuation;
+      case "MutualFundPositionDto" -> SampleDtos::mutualFundPosition;
+      case "PriceDto" -> i -> new PriceDto(MF_CODE + i, PRICE_DATE, amount(i).toBigDecimal());
+      case "CapitalGainDto" -> SampleDtos::capitalGain;
+      case "InvestmentSummaryDto" -> SampleDtos::investmentSummary;
+      case "PortfolioValuationDto" -> i ->
+          new PortfolioValuationDto(
+              BigDecimal.TEN,
+              BigDecimal.ONE,
+              BigDecimal.ONE,
+              BigDecimal.TEN,
+              list(i % 10 + 1, SampleDtos::holdingValuation));
+      case "PortfolioReturnsDto" -> i ->
+          new PortfolioReturnsDto(
+              BigDecimal.ONE,
+              list(i % 10 + 1, j -> new FundReturnDto(j, amount(j).toBigDecimal())));
+      case "BulkInsertResultDto" -> i ->
+          BulkInsertResultDto.of(
+              list(i % 10 + 1, j -> new BulkInsertChunkDto((long) j, 500, 500L)));
+      case "TradeImportResultDto" -> i ->
+          new TradeImportResultDto(
+              (long) i,
+              1L,
+              1L,
+              List.of(new TradeImportRejectionDto((long) i, "units should be a number : x")));
+      case "PriceIngestResultDto" -> i -> new PriceIngestResultDto((long) i, (long) i, 0L);
+      case "MutualFundHoldingRebuildDto" -> i ->
+          new MutualFundHoldingRebuildDto(i, List.of(i, i + 1));
+      default -> throw new IllegalArgumentException("Unknown DTO : " + type);
+    };
+  }
+
+  /**
+   * The DTOs of the indexes from 1 to a size
+   *
+   * @param size the number of DTOs
+   * @param factory the factory of the DTOs
+   * @param <T> the DTO type
+   * @return the DTOs
+   */
+  public static <T> List<T> list(final int size, final IntFunction<T> factory) {
+    var list = new ArrayList<T>(size);
+    for (var i = 1; i <= size; i++) {
+      list.add(factory.apply(i));
+    }
+    return list;
+  }
+
+  /**
+   * An amount of an index, with 4 decimal places
+   *
+   * @param index the index
+   * @return {@link FixedDecimal}
+   */
+  public static FixedDecimal amount(final int index) {
+    return FixedDecimal.of(1_234_567L * index, 4);
+  }
+
+  /**
+   * A mutual fund buy transaction
+   *
+   * @param i the index
+   * @return {@link MutualFundBuyTransactionDto}
+   */
+  public static MutualFundBuyTransactionDto mutualFundBuyTransaction(final int i) {
+    return new MutualFundBuyTransactionDto(
+        i, i, amount(i), amount(i + 1), FixedDecimal.ZERO, TRADE_DATE, amount(i), false);
+  }
+
+  /**
+   * A mutual fund sell transaction
+   *
+   * @param i the index
+   * @return {@link MutualFundSellTransactionDto}
+   */
+  public static MutualFundSellTransactionDto mutualFundSellTransaction(final int i) {
+    return new MutualFundSellTransactionDto(
+        i,
+        i,
+        List.of(i, i + 1),
+        amount(i),
+        amount(i + 1),
+        FixedDecimal.ZERO,
+        TRADE_DATE,
+        amount(i + 2));
+  }
+
+  /**
+   * A stock buy transaction
+   *
+   * @param i the index
+   * @return {@link StockBuyTransactionDto}
+   */
+  public static StockBuyTransactionDto stockBuyTransaction(final int i) {
+    return new StockBuyTransactionDto(
+        i, i, amount(i), i, FixedDecimal.ZERO, TRADE_DATE, i / 2, false);
+  }
+
+  /**
+   * A stock sell transaction
+   *
+   * @param i the index
+   * @return {@link StockSellTransactionDto}
+   */
+  public static StockSellTransactionDto stockSellTransaction(final int i) {
+    return new StockSellTransactionDto(
+        i, i, List.of(i, i + 1), amount(i), i, FixedDecimal.ZERO, TRADE_DATE, amount(i + 2));
+  }
+
+  private static HoldingValuationDto holdingValuation(final int i) {
+    return new HoldingValuationDto(
+        PriceKind.MUTUAL_FUND,
+        i,
+        MF_CODE + i,
+        BigDecimal.valueOf(i),
+        BigDecimal.TEN,
+        amount(i).toBigDecimal(),
+        BigDecimal.ONE,
+        BigDecimal.ONE,
+        BigDecimal.TEN);
+  }
+
+  private static MutualFundPositionDto mutualFundPosition(final int i) {
+    return new MutualFundPositionDto(
+        i, amount(i).toBigDecimal(), amount(i + 1).toBigDecimal(), BigDecimal.TEN);
+  }
+
+  private static CapitalGainDto capitalGain(final int i) {
+    return new CapitalGainDto(
+        CapitalGainRow.LOT,
+        i,
+        MF_CODE + i,
+        i,
+        i,
+        PRICE_DATE,
+        PRICE_DATE.plusDays(i),
+        i,
+        amount(i).toBigDecimal(),
+        BigDecimal.TEN,
+        amount(i + 1).toBigDecimal(),
+        BigDecimal.ONE,
+        BigDecimal.ZERO);
+  }
+
+  private static InvestmentSummaryDto investmentSummary(final int i) {
+    return new InvestmentSummaryDto(
+        amount(i).toBigDecimal(),
+        List.of(new AssetClassTotalDto(AssetClass.SAVING_ACCOUNT, (long) i, BigDecimal.TEN)),
+        list(i % 10 + 1, SampleDtos::mutualFundPosition));
+  }
+}
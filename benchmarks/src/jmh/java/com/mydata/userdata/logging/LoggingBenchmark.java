@@ -0,0 +1,119 @@
+package com.mydata.userdata.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmark of the time a request log takes on the logging thread, like a Netty event loop, with
+ * the appenders of {@code logback-spring.xml}:
+ *
+ * <ul>
+ *   <li>{@code sync}: the event is formatted and flushed to the file on the logging thread, the
+ *       appender of the previous configuration
+ *   <li>{@code async}: the event is queued for the worker thread of an {@link AsyncAppender}, which
+ *       drops it when the queue is full instead of blocking
+ *   <li>{@code rateLimited}: the {@link RateLimitingTurboFilter} drops the events over its permits
+ *       before they are created, in front of the synchronous appender
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class LoggingBenchmark {
+
+  private static final String FORMAT = "Executing API: {}";
+  private static final String API = "GetMutualFundsBuyTransactions";
+  private static final String PATTERN =
+      "%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%t] %-40.40logger{39} : %m%n";
+
+  @Param({"sync", "async", "rateLimited"})
+  private String pipeline;
+
+  private LoggerContext context;
+
+  @SuppressWarnings("PMD.LoggerIsNotStaticFinal")
+  private Logger logger;
+
+  private Path file;
+
+  /**
+   * Create the logger context of the pipeline, logging to a temporary file
+   *
+   * @throws IOException when the file can not be created
+   */
+  @Setup
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public void setUp() throws IOException {
+    file = Files.createTempFile("logging-benchmark", ".log");
+    context = new LoggerContext();
+    var encoder = new PatternLayoutEncoder();
+    encoder.setContext(context);
+    encoder.setPattern(PATTERN);
+    encoder.start();
+    var fileAppender = new FileAppender<ILoggingEvent>();
+    fileAppender.setContext(context);
+    fileAppender.setFile(file.toString());
+    fileAppender.setEncoder(encoder);
+    fileAppender.start();
+    Appender<ILoggingEvent> appender = fileAppender;
+    if ("async".equals(pipeline)) {
+      var asyncAppender = new AsyncAppender();
+      asyncAppender.setContext(context);
+      asyncAppender.setQueueSize(8192);
+      asyncAppender.setDiscardingThreshold(20);
+      asyncAppender.setNeverBlock(true);
+      asyncAppender.addAppender(fileAppender);
+      asyncAppender.start();
+      appender = asyncAppender;
+    } else if ("rateLimited".equals(pipeline)) {
+      var filter = new RateLimitingTurboFilter();
+      filter.setLoggerPrefix("com.mydata.userdata.controller");
+      filter.setPermitsPerSecond(20);
+      filter.start();
+      context.addTurboFilter(filter);
+    }
+    var root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+    root.setLevel(Level.INFO);
+    root.addAppender(appender);
+    logger = context.getLogger("com.mydata.userdata.controller.InvestmentController");
+  }
+
+  /**
+   * Stop the appenders and delete the file
+   *
+   * @throws IOException when the file can not be deleted
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    context.stop();
+    Files.deleteIfExists(file);
+  }
+
+  /** Log a request */
+  @Benchmark
+  public void logRequest() {
+    logger.info(FORMAT, API);
+  }
+}
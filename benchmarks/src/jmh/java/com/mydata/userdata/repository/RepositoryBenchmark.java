@@ -0,0 +1,201 @@
+package com.mydata.userdata.repository;
+
+import static io.r2dbc.spi.ConnectionFactoryOptions.*;
+
+import com.mydata.userdata.UserDataApplication;
+import com.mydata.userdata.bulk.BulkInsertTables;
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.dto.MutualFundBuyTransactionDto;
+import com.mydata.userdata.dto.SampleDtos;
+import com.mydata.userdata.entity.MutualFundBuyTransaction;
+import com.mydata.userdata.mapper.InvestmentMapper;
+import com.mydata.userdata.service.BulkInsertService;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.PostgreSQLR2DBCDatabaseContainer;
+import reactor.core.publisher.Flux;
+
+/**
+ * Benchmark of the reads of the mutual fund buy transactions by {@link
+ * MutualFundBuyTransactionRepository}, against a PostgreSQL container with the schema of the
+ * integration tests. The application context is started without a web server and the rows are
+ * seeded with {@link BulkInsertService} once per trial.
+ *
+ * <p>The writes insert a chunk of buy transactions per operation, with one batched statement of
+ * {@link BulkInsertRepository#insert}, with {@code saveAll} and with a {@code save} per row. The
+ * written transactions are sold out, so they are not read by the reads, and they are deleted after
+ * every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class RepositoryBenchmark {
+
+  private static final String POSTGRESQL_IMAGE = "postgres:13.5";
+  private static final String INIT_SQL = "db-init.sql";
+  private static final String POSTGRESQL_DB_PROPERTY_PREFIX = "--db.postgresql.";
+  private static final int FUNDS = 5;
+
+  @Param({"10000"})
+  private int rows;
+
+  @Param({"100"})
+  private int pageSize;
+
+  private PostgreSQLContainer<?> postgresql;
+  private ConfigurableApplicationContext context;
+  private MutualFundBuyTransactionRepository repository;
+  private BulkInsertRepository bulkInsertRepository;
+  private DatabaseClient databaseClient;
+
+  /** Start the database and the application context, and seed the buy transactions */
+  @Setup
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public void setUp() {
+    postgresql = new PostgreSQLContainer<>(POSTGRESQL_IMAGE).withInitScript(INIT_SQL);
+    postgresql.start();
+    var options = PostgreSQLR2DBCDatabaseContainer.getOptions(postgresql);
+    context =
+        new SpringApplicationBuilder(UserDataApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                POSTGRESQL_DB_PROPERTY_PREFIX + "host=" + options.getRequiredValue(HOST),
+                POSTGRESQL_DB_PROPERTY_PREFIX + "port=" + options.getRequiredValue(PORT),
+                POSTGRESQL_DB_PROPERTY_PREFIX + "user=" + options.getRequiredValue(USER),
+                POSTGRESQL_DB_PROPERTY_PREFIX + "password=" + options.getRequiredValue(PASSWORD),
+                POSTGRESQL_DB_PROPERTY_PREFIX + "database=" + options.getRequiredValue(DATABASE),
+                POSTGRESQL_DB_PROPERTY_PREFIX + "schema=public",
+                "--db.holdings.rebuild-cron=-",
+                "--logging.level.root=warn");
+    repository = context.getBean(MutualFundBuyTransactionRepository.class);
+    bulkInsertRepository = context.getBean(BulkInsertRepository.class);
+    databaseClient = context.getBean(DatabaseClient.class);
+    context
+        .getBean(BulkInsertService.class)
+        .addMutualFundBuyTransactions(
+            Flux.fromIterable(SampleDtos.list(rows, i -> buy(i, Boolean.FALSE))))
+        .block();
+  }
+
+  /** Delete the buy transactions written by the iteration */
+  @TearDown(Level.Iteration)
+  public void deleteWritten() {
+    databaseClient
+        .sql("DELETE FROM mutual_fund_buy_transaction WHERE is_sold_out")
+        .fetch()
+        .rowsUpdated()
+        .block();
+  }
+
+  /** Stop the application context and the database */
+  @TearDown
+  public void tearDown() {
+    context.close();
+    postgresql.stop();
+  }
+
+  /**
+   * Read all the open buy transactions
+   *
+   * @return the transactions
+   */
+  @Benchmark
+  public List<MutualFundBuyTransaction> findByIsSoldOut() {
+    return repository.findByIsSoldOut(Boolean.FALSE).collectList().block();
+  }
+
+  /**
+   * Read the first page of the open buy transactions
+   *
+   * @return the transactions
+   */
+  @Benchmark
+  public List<MutualFundBuyTransaction> findPageByIsSoldOut() {
+    return repository
+        .findPageByIsSoldOut(Boolean.FALSE, Instant.EPOCH, 0, pageSize)
+        .collectList()
+        .block();
+  }
+
+  /**
+   * Insert a chunk with one batched insert statement
+   *
+   * @param chunk the chunk
+   * @return the number of rows inserted
+   */
+  @Benchmark
+  public Long bulkInsert(final Chunk chunk) {
+    return bulkInsertRepository
+        .insert(BulkInsertTables.MUTUAL_FUND_BUY_TRANSACTION, chunk.records)
+        .block();
+  }
+
+  /**
+   * Insert a chunk with {@code saveAll}
+   *
+   * @param chunk the chunk
+   * @return the transactions inserted
+   */
+  @Benchmark
+  public List<MutualFundBuyTransaction> saveAll(final Chunk chunk) {
+    return repository.saveAll(chunk.records).collectList().block();
+  }
+
+  /**
+   * Insert a chunk with a {@code save} per row, one after the other
+   *
+   * @param chunk the chunk
+   * @return the transactions inserted
+   */
+  @Benchmark
+  public List<MutualFundBuyTransaction> save(final Chunk chunk) {
+    return Flux.fromIterable(chunk.records).concatMap(repository::save).collectList().block();
+  }
+
+  private static MutualFundBuyTransactionDto buy(final int i, final Boolean isSoldOut) {
+    return new MutualFundBuyTransactionDto(
+        null,
+        i % FUNDS + 1,
+        SampleDtos.amount(i % 1000 + 1),
+        SampleDtos.amount(i % 100 + 1),
+        FixedDecimal.ZERO,
+        SampleDtos.TRADE_DATE.plusSeconds(i),
+        FixedDecimal.ZERO,
+        isSoldOut);
+  }
+
+  /** The buy transactions inserted by an operation of the writes, the chunk size is configured */
+  @State(Scope.Benchmark)
+  public static class Chunk {
+
+    @Param({"100", "500", "1000"})
+    private int chunkSize;
+
+    private List<MutualFundBuyTransaction> records;
+
+    /** Create the sold out buy transactions of a chunk */
+    @Setup
+    public void setUp() {
+      records =
+          SampleDtos.list(
+              chunkSize, i -> InvestmentMapper.toMutualFundBuyTransaction(buy(i, Boolean.TRUE)));
+    }
+  }
+}
@@ -0,0 +1,257 @@
+package com.mydata.userdata.service;
+
+import static com.mydata.userdata.dto.SampleDtos.TRADE_DATE;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.mydata.userdata.cache.ReferenceDataCache;
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.dto.MutualFundBuyTransactionDto;
+import com.mydata.userdata.dto.MutualFundSellTransactionDto;
+import com.mydata.userdata.dto.SampleDtos;
+import com.mydata.userdata.dto.StockBuyTransactionDto;
+import com.mydata.userdata.dto.StockSellTransactionDto;
+import com.mydata.userdata.entity.MutualFundBuyTransaction;
+import com.mydata.userdata.entity.MutualFundSellTransaction;
+import com.mydata.userdata.entity.StockBuyTransaction;
+import com.mydata.userdata.entity.StockSellTransaction;
+import com.mydata.userdata.repository.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.BeanUtils;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.ReflectionUtils;
+import reactor.core.publisher.Flux;
+
+/**
+ * Benchmark of the mapping of the transaction entities to their DTOs by {@link InvestmentService},
+ * the repositories are stubs which emit the same entities on every call. {@link #copyProperties()}
+ * is the baseline, the reflective copy of the properties with {@link BeanUtils} for every row.
+ *
+ * <p>The time and the {@code gc.alloc.rate.norm} of the gc profiler are for all the rows, divided
+ * by {@code rows} they are the cost of a row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class InvestmentServiceBenchmark {
+
+  @Param({
+    "MutualFundBuyTransaction",
+    "MutualFundSellTransaction",
+    "StockBuyTransaction",
+    "StockSellTransaction"
+  })
+  private String trade;
+
+  @Param({"1000"})
+  private int rows;
+
+  private Supplier<Flux<?>> transactions;
+
+  private Supplier<Flux<?>> copiedTransactions;
+
+  /** Create the service on the stubbed repositories of the transactions */
+  @Setup
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public void setUp() {
+    var mfBuyRepository = stub(MutualFundBuyTransactionRepository.class);
+    var mfSellRepository = stub(MutualFundSellTransactionRepository.class);
+    var stockBuyRepository = stub(StockBuyTransactionRepository.class);
+    var stockSellRepository = stub(StockSellTransactionRepository.class);
+    var service =
+        new InvestmentService(
+            stub(DepositAccountRepository.class),
+            stub(LoanRepository.class),
+            stub(MiscellaneousRepository.class),
+            stub(MutualFundRepository.class),
+            mfBuyRepository,
+            mfSellRepository,
+            stub(SavingAccountRepository.class),
+            stub(StockRepository.class),
+            stockBuyRepository,
+            stockSellRepository,
+            stub(ReferenceDataCache.class),
+            stub(LotMatchingService.class),
+            stub(MutualFundHoldingService.class),
+            stub(TransactionalOperator.class));
+    transactions =
+        switch (trade) {
+          case "MutualFundBuyTransaction" -> {
+            var entities =
+                entities(
+                    SampleDtos::mutualFundBuyTransaction,
+                    InvestmentServiceBenchmark::mutualFundBuyTransaction);
+            copiedTransactions = () -> copies(entities, MutualFundBuyTransactionDto.class);
+            when(mfBuyRepository.findByIsSoldOut(Boolean.FALSE))
+                .thenAnswer(invocation -> Flux.fromIterable(entities));
+            yield () -> service.getMutualFundBuyTransactions(Boolean.FALSE);
+          }
+          case "MutualFundSellTransaction" -> {
+            var entities =
+                entities(
+                    SampleDtos::mutualFundSellTransaction,
+                    InvestmentServiceBenchmark::mutualFundSellTransaction);
+            copiedTransactions = () -> copies(entities, MutualFundSellTransactionDto.class);
+            when(mfSellRepository.findAll()).thenAnswer(invocation -> Flux.fromIterable(entities));
+            yield service::getMutualFundSellTransactions;
+          }
+          case "StockBuyTransaction" -> {
+            var entities =
+                entities(
+                    SampleDtos::stockBuyTransaction,
+                    InvestmentServiceBenchmark::stockBuyTransaction);
+            copiedTransactions = () -> copies(entities, StockBuyTransactionDto.class);
+            when(stockBuyRepository.findByIsSoldOut(Boolean.FALSE))
+                .thenAnswer(invocation -> Flux.fromIterable(entities));
+            yield () -> service.getStockBuyTransactions(Boolean.FALSE);
+          }
+          case "StockSellTransaction" -> {
+            var entities =
+                entities(
+                    SampleDtos::stockSellTransaction,
+                    InvestmentServiceBenchmark::stockSellTransaction);
+            copiedTransactions = () -> copies(entities, StockSellTransactionDto.class);
+            when(stockSellRepository.findAll())
+                .thenAnswer(invocation -> Flux.fromIterable(entities));
+            yield service::getStockSellTransactions;
+          }
+          default -> throw new IllegalArgumentException("Unknown trade : " + trade);
+        };
+  }
+
+  /**
+   * Read the transactions and map them to their DTOs
+   *
+   * @return the DTOs
+   */
+  @Benchmark
+  public List<?> getTransactions() {
+    return transactions.get().collectList().block();
+  }
+
+  /**
+   * Copy the properties of the entities to their DTOs by reflection, the baseline of {@link
+   * #getTransactions()}
+   *
+   * @return the DTOs
+   */
+  @Benchmark
+  public List<?> copyProperties() {
+    return copiedTransactions.get().collectList().block();
+  }
+
+  /**
+   * A stub which does not record its invocations, so the heap does not grow over the iterations
+   *
+   * @param type the type of the stub
+   * @param <T> the type of the stub
+   * @return the stub
+   */
+  private static <T> T stub(final Class<T> type) {
+    return mock(type, withSettings().stubOnly());
+  }
+
+  /**
+   * Copy the entities to their DTOs as the mapping did before {@link
+   * com.mydata.userdata.mapper.InvestmentMapper}: the target type is looked up by reflection for
+   * every row and the properties of the same name are copied to it. A record has no setters for
+   * {@link BeanUtils#copyProperties(Object, Object)}, so its canonical constructor is called with
+   * them.
+   *
+   * @param entities the entities
+   * @param dtoType the type of the DTOs
+   * @param <D> the type of the DTOs
+   * @return the DTOs
+   */
+  private static <D> Flux<D> copies(final List<?> entities, final Class<D> dtoType) {
+    return Flux.fromIterable(entities).map(entity -> copyProperties(entity, dtoType));
+  }
+
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  private static <D> D copyProperties(final Object source, final Class<D> targetType) {
+    var components = targetType.getRecordComponents();
+    var args = new Object[components.length];
+    for (var i = 0; i < components.length; i++) {
+      var getter = BeanUtils.findMethod(source.getClass(), components[i].getName());
+      args[i] = null == getter ? null : ReflectionUtils.invokeMethod(getter, source);
+    }
+    return BeanUtils.instantiateClass(BeanUtils.getResolvableConstructor(targetType), args);
+  }
+
+  private <D, E> List<E> entities(final IntFunction<D> dto, final Function<D, E> entity) {
+    return SampleDtos.list(rows, i -> entity.apply(dto.apply(i)));
+  }
+
+  private static MutualFundBuyTransaction mutualFundBuyTransaction(
+      final MutualFundBuyTransactionDto dto) {
+    return new MutualFundBuyTransaction(
+        dto.id(),
+        dto.mfId(),
+        dto.nav(),
+        dto.units(),
+        dto.charge(),
+        dto.buyDate(),
+        dto.soldUnits(),
+        dto.isSoldOut(),
+        TRADE_DATE,
+        TRADE_DATE);
+  }
+
+  private static MutualFundSellTransaction mutualFundSellTransaction(
+      final MutualFundSellTransactionDto dto) {
+    return new MutualFundSellTransaction(
+        dto.id(),
+        dto.mfId(),
+        List.of(dto.id(), dto.id() + 1),
+        List.of(FixedDecimal.of(1, 0), FixedDecimal.of(1, 0)),
+        dto.nav(),
+        dto.units(),
+        dto.charge(),
+        dto.soldDate(),
+        dto.profitLoss(),
+        TRADE_DATE,
+        TRADE_DATE);
+  }
+
+  private static StockBuyTransaction stockBuyTransaction(final StockBuyTransactionDto dto) {
+    return new StockBuyTransaction(
+        dto.id(),
+        dto.stockId(),
+        dto.price(),
+        dto.quantity(),
+        dto.charge(),
+        dto.buyDate(),
+        dto.soldQuantity(),
+        dto.isSoldOut(),
+        TRADE_DATE,
+        TRADE_DATE);
+  }
+
+  private static StockSellTransaction stockSellTransaction(final StockSellTransactionDto dto) {
+    return new StockSellTransaction(
+        dto.id(),
+        dto.stockId(),
+        List.of(dto.id(), dto.id() + 1),
+        dto.price(),
+        dto.quantity(),
+        dto.charge(),
+        dto.soldDate(),
+        dto.profitLoss(),
+        TRADE_DATE,
+        TRADE_DATE);
+  }
+}
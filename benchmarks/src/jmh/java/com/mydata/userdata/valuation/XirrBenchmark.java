@@ -0,0 +1,74 @@
+package com.mydata.userdata.valuation;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of the XIRR of a portfolio of funds, each with monthly buys over a few years and the
+ * current value of its units
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class XirrBenchmark {
+
+  private static final int FIRST_DAY = 17_532;
+  private static final int DAYS_PER_MONTH = 30;
+
+  @Param({"100", "5000"})
+  private int funds;
+
+  @Param({"60"})
+  private int buysPerFund;
+
+  private CashFlows cashFlows;
+
+  /** Create the cash flows, every fund grows by a random rate */
+  @Setup
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public void setUp() {
+    var random = new Random(42);
+    var lastDay = FIRST_DAY + buysPerFund * DAYS_PER_MONTH;
+    var flows = new CashFlows();
+    for (var fund = 1; fund <= funds; fund++) {
+      var dailyGrowth = 1 + (random.nextDouble() - 0.3) / 1000;
+      var value = 0.0;
+      for (var buy = 0; buy < buysPerFund; buy++) {
+        var day = FIRST_DAY + buy * DAYS_PER_MONTH;
+        flows.add(fund, day, -1000);
+        value += 1000 * Math.pow(dailyGrowth, lastDay - day);
+      }
+      flows.add(fund, lastDay, value);
+    }
+    cashFlows = flows;
+  }
+
+  /**
+   * Solve every fund in parallel
+   *
+   * @return the rates
+   */
+  @Benchmark
+  public double[] xirrByFund() {
+    return cashFlows.xirrByFund();
+  }
+
+  /**
+   * Solve all the cash flows together
+   *
+   * @return the rate
+   */
+  @Benchmark
+  public double xirr() {
+    return cashFlows.xirr();
+  }
+}
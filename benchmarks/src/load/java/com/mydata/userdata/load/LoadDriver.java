@@ -0,0 +1,199 @@
+package com.mydata.userdata.load;
+
+import com.mydata.userdata.fixtures.InvestmentDataGenerator;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Closed loop load driver of the investment API. Every worker sends a request, waits for the whole
+ * response and sends the next one, so the throughput is what the server sustains at the
+ * concurrency. The endpoints are loaded one after the other, each is warmed up first. The latency
+ * of every request is recorded in a histogram, reported as percentiles and written to {@code
+ * <load.reports>/<endpoint>.hgrm}. It is configured with system properties:
+ *
+ * <ul>
+ *   <li>{@code load.baseUrl}: the url of the server
+ *   <li>{@code load.concurrency}: the number of workers
+ *   <li>{@code load.duration}, {@code load.warmup}: the seconds an endpoint is loaded, and warmed
+ *       up before
+ *   <li>{@code load.endpoints}: comma separated {@link LoadEndpoint} names, all by default
+ *   <li>{@code load.reports}: the directory of the histograms
+ * </ul>
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LoadDriver {
+
+  private static final long HIGHEST_LATENCY_MICROS = Duration.ofMinutes(1).toNanos() / 1_000;
+  private static final int SIGNIFICANT_DIGITS = 3;
+  private static final double MICROS_PER_MILLI = 1_000.0;
+
+  /**
+   * Load the endpoints
+   *
+   * @param args not used
+   * @throws IOException when a histogram can not be written
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public static void main(final String[] args) throws IOException {
+    var client =
+        WebClient.builder()
+            .baseUrl(System.getProperty("load.baseUrl", "http://localhost:8080"))
+            .defaultHeaders(headers -> headers.setAccept(List.of(MediaType.APPLICATION_JSON)))
+            .build();
+    var concurrency = Integer.getInteger("load.concurrency", 16);
+    var duration = Duration.ofSeconds(Long.getLong("load.duration", 30L));
+    var warmup = Duration.ofSeconds(Long.getLong("load.warmup", 10L));
+    var reports = Files.createDirectories(Path.of(System.getProperty("load.reports", "load")));
+    var generator = new InvestmentDataGenerator();
+    for (var endpoint : endpoints()) {
+      log.info("Loading {} with {} workers", endpoint, concurrency);
+      run(client, generator, endpoint, concurrency, warmup);
+      var result = run(client, generator, endpoint, concurrency, duration);
+      report(endpoint, result, duration, reports);
+    }
+  }
+
+  /**
+   * The endpoints of the {@code load.endpoints} property
+   *
+   * @return the endpoints
+   */
+  private static List<LoadEndpoint> endpoints() {
+    var names = System.getProperty("load.endpoints");
+    if (null == names || names.isBlank()) {
+      return List.of(LoadEndpoint.values());
+    }
+    return Arrays.stream(names.split(",")).map(String::trim).map(LoadEndpoint::valueOf).toList();
+  }
+
+  /**
+   * Load an endpoint with the workers until the duration is over
+   *
+   * @param client the web client
+   * @param generator the generator of the request bodies
+   * @param endpoint the endpoint
+   * @param concurrency the number of workers
+   * @param duration the duration
+   * @return {@link Result}
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  private static Result run(
+      final WebClient client,
+      final InvestmentDataGenerator generator,
+      final LoadEndpoint endpoint,
+      final int concurrency,
+      final Duration duration) {
+    var recorder = new Recorder(HIGHEST_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+    var errors = new AtomicLong();
+    var deadline = System.nanoTime() + duration.toNanos();
+    Flux.range(0, concurrency)
+        .flatMap(
+            worker ->
+                Mono.defer(() -> call(client, generator, endpoint, recorder, errors))
+                    .repeat(() -> System.nanoTime() < deadline),
+            concurrency)
+        .blockLast();
+    return new Result(recorder.getIntervalHistogram(), errors.get());
+  }
+
+  /**
+   * Send a request and record its latency, until the whole response is read
+   *
+   * @param client the web client
+   * @param generator the generator of the request body
+   * @param endpoint the endpoint
+   * @param recorder the recorder of the latencies, in microseconds
+   * @param errors the count of the failed requests
+   * @return {@link Mono} completing with the response
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  private static Mono<Void> call(
+      final WebClient client,
+      final InvestmentDataGenerator generator,
+      final LoadEndpoint endpoint,
+      final Recorder recorder,
+      final AtomicLong errors) {
+    var spec = client.method(endpoint.method()).uri(endpoint.uri());
+    var body = endpoint.body(generator);
+    WebClient.RequestHeadersSpec<?> request =
+        null == body ? spec : spec.contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    var start = System.nanoTime();
+    return request
+        .exchangeToMono(
+            response -> response.releaseBody().thenReturn(response.statusCode().is2xxSuccessful()))
+        .onErrorReturn(Boolean.FALSE)
+        .doOnNext(
+            success -> {
+              recorder.recordValue(
+                  Math.min(HIGHEST_LATENCY_MICROS, (System.nanoTime() - start) / 1_000));
+              if (!success) {
+                errors.incrementAndGet();
+              }
+            })
+        .then();
+  }
+
+  /**
+   * Log the throughput and the latency percentiles of an endpoint, and write its histogram
+   *
+   * @param endpoint the endpoint
+   * @param result the result of the load
+   * @param duration the duration of the load
+   * @param reports the directory of the histograms
+   * @throws IOException when the histogram can not be written
+   */
+  private static void report(
+      final LoadEndpoint endpoint, final Result result, final Duration duration, final Path reports)
+      throws IOException {
+    var histogram = result.histogram();
+    log.info(
+        "{}: {} requests, {} errors, {} req/s, latency ms p50 {} p90 {} p99 {} p99.9 {} max {}",
+        endpoint,
+        histogram.getTotalCount(),
+        result.errors(),
+        String.format("%.1f", histogram.getTotalCount() * 1_000.0 / duration.toMillis()),
+        millis(histogram, 50),
+        millis(histogram, 90),
+        millis(histogram, 99),
+        millis(histogram, 99.9),
+        histogram.getMaxValue() / MICROS_PER_MILLI);
+    try (var out =
+        new PrintStream(
+            Files.newOutputStream(
+                reports.resolve(endpoint.name().toLowerCase(Locale.ROOT) + ".hgrm")),
+            false,
+            StandardCharsets.UTF_8)) {
+      histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+    }
+  }
+
+  private static double millis(final Histogram histogram, final double percentile) {
+    return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+  }
+
+  /**
+   * The result of the load of an endpoint
+   *
+   * @param histogram the latencies, in microseconds
+   * @param errors the number of failed requests
+   */
+  private record Result(Histogram histogram, long errors) {}
+}
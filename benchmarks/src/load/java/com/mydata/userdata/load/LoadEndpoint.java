@@ -0,0 +1,113 @@
+package com.mydata.userdata.load;
+
+import static com.mydata.userdata.common.ApiParams.FROM_YEAR;
+import static com.mydata.userdata.common.ApiParams.PAGE_SIZE;
+import static com.mydata.userdata.common.ApiParams.TO_YEAR;
+import static com.mydata.userdata.common.ApiUrls.DEPOSIT_ACCOUNTS_URL;
+import static com.mydata.userdata.common.ApiUrls.INVESTMENT_BASE_URL;
+import static com.mydata.userdata.common.ApiUrls.LOAN_ACCOUNTS_URL;
+import static com.mydata.userdata.common.ApiUrls.MF_BUY_TRANSACTION_URL;
+import static com.mydata.userdata.common.ApiUrls.MF_CAPITAL_GAINS_URL;
+import static com.mydata.userdata.common.ApiUrls.MF_HOLDINGS_URL;
+import static com.mydata.userdata.common.ApiUrls.MF_SELL_TRANSACTION_URL;
+import static com.mydata.userdata.common.ApiUrls.MISC_ACCOUNTS_URL;
+import static com.mydata.userdata.common.ApiUrls.MUTUAL_FUNDS_URL;
+import static com.mydata.userdata.common.ApiUrls.RETURNS_URL;
+import static com.mydata.userdata.common.ApiUrls.SAVING_ACCOUNTS_URL;
+import static com.mydata.userdata.common.ApiUrls.STOCKS_URL;
+import static com.mydata.userdata.common.ApiUrls.STOCK_BUY_TRANSACTION_URL;
+import static com.mydata.userdata.common.ApiUrls.STOCK_SELL_TRANSACTION_URL;
+import static com.mydata.userdata.common.ApiUrls.SUMMARY_URL;
+import static com.mydata.userdata.common.ApiUrls.VALUATION_URL;
+
+import com.mydata.userdata.fixtures.InvestmentDataGenerator;
+import java.util.function.Function;
+import org.springframework.http.HttpMethod;
+
+/**
+ * The endpoints of the investment API the load driver calls. The list endpoints are read whole and
+ * in pages, the add endpoints post a generated transaction of one of the first mutual funds or
+ * stocks. The valuation updates are left out, their stream does not end.
+ */
+public enum LoadEndpoint {
+  DEPOSIT_ACCOUNTS(DEPOSIT_ACCOUNTS_URL),
+  DEPOSIT_ACCOUNTS_PAGE(DEPOSIT_ACCOUNTS_URL + Query.PAGE),
+  LOAN_ACCOUNTS(LOAN_ACCOUNTS_URL),
+  LOAN_ACCOUNTS_PAGE(LOAN_ACCOUNTS_URL + Query.PAGE),
+  MISC_ACCOUNTS(MISC_ACCOUNTS_URL),
+  MISC_ACCOUNTS_PAGE(MISC_ACCOUNTS_URL + Query.PAGE),
+  SAVING_ACCOUNTS(SAVING_ACCOUNTS_URL),
+  SAVING_ACCOUNTS_PAGE(SAVING_ACCOUNTS_URL + Query.PAGE),
+  MUTUAL_FUNDS(MUTUAL_FUNDS_URL),
+  MF_BUY_TRANSACTIONS(MF_BUY_TRANSACTION_URL),
+  MF_BUY_TRANSACTIONS_PAGE(MF_BUY_TRANSACTION_URL + Query.PAGE),
+  MF_SELL_TRANSACTIONS(MF_SELL_TRANSACTION_URL),
+  MF_SELL_TRANSACTIONS_PAGE(MF_SELL_TRANSACTION_URL + Query.PAGE),
+  MF_HOLDINGS(MF_HOLDINGS_URL),
+  STOCKS(STOCKS_URL),
+  STOCK_BUY_TRANSACTIONS(STOCK_BUY_TRANSACTION_URL),
+  STOCK_BUY_TRANSACTIONS_PAGE(STOCK_BUY_TRANSACTION_URL + Query.PAGE),
+  STOCK_SELL_TRANSACTIONS(STOCK_SELL_TRANSACTION_URL),
+  STOCK_SELL_TRANSACTIONS_PAGE(STOCK_SELL_TRANSACTION_URL + Query.PAGE),
+  SUMMARY(SUMMARY_URL),
+  VALUATION(VALUATION_URL),
+  RETURNS(RETURNS_URL),
+  MF_CAPITAL_GAINS(MF_CAPITAL_GAINS_URL + Query.YEARS),
+  ADD_MF_BUY_TRANSACTION(
+      HttpMethod.POST,
+      MF_BUY_TRANSACTION_URL,
+      InvestmentDataGenerator::mutualFundBuyTransactionDto),
+  ADD_STOCK_BUY_TRANSACTION(
+      HttpMethod.POST, STOCK_BUY_TRANSACTION_URL, InvestmentDataGenerator::stockBuyTransactionDto);
+
+  private final HttpMethod method;
+  private final String uri;
+  private final Function<InvestmentDataGenerator, Object> body;
+
+  LoadEndpoint(final String path) {
+    this(HttpMethod.GET, path, generator -> null);
+  }
+
+  LoadEndpoint(
+      final HttpMethod method,
+      final String path,
+      final Function<InvestmentDataGenerator, Object> body) {
+    this.method = method;
+    this.uri = INVESTMENT_BASE_URL + path;
+    this.body = body;
+  }
+
+  /**
+   * The http method of the endpoint
+   *
+   * @return {@link HttpMethod}
+   */
+  public HttpMethod method() {
+    return method;
+  }
+
+  /**
+   * The uri of the endpoint, relative to the base url of the server
+   *
+   * @return the uri
+   */
+  public String uri() {
+    return uri;
+  }
+
+  /**
+   * The body of a request
+   *
+   * @param generator the generator of the body
+   * @return the body, null for the endpoints without one
+   */
+  public Object body(final InvestmentDataGenerator generator) {
+    return body.apply(generator);
+  }
+
+  /** The query strings of the endpoints */
+  private static final class Query {
+    private static final String PAGE = "?" + PAGE_SIZE + "=100";
+    private static final String YEARS = "?" + FROM_YEAR + "=2015&" + TO_YEAR + "=2022";
+  }
+}
@@ -0,0 +1,55 @@
+package com.mydata.userdata.load;
+
+import com.mydata.userdata.fixtures.DatasetSeeder;
+import com.mydata.userdata.fixtures.InvestmentDataset;
+import java.io.IOException;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seeds a database with a synthetic {@link InvestmentDataset}, so the load tests run against a
+ * realistic volume of transactions. It is configured with system properties:
+ *
+ * <ul>
+ *   <li>{@code seed.url}, {@code seed.user}, {@code seed.password}: the JDBC connection, the
+ *       database of {@code application.yaml} by default
+ *   <li>{@code seed.instruments}: the number of mutual funds, and of stocks
+ *   <li>{@code seed.buys}: the number of buy transactions of every mutual fund and stock
+ *   <li>{@code seed.seed}: the seed of the random values, the same seed seeds the same rows
+ * </ul>
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SeedDataset {
+
+  /**
+   * Seed the dataset
+   *
+   * @param args not used
+   * @throws SQLException when the dataset can not be seeded
+   * @throws IOException when the rows can not be written
+   */
+  public static void main(final String[] args) throws SQLException, IOException {
+    var dataset =
+        new InvestmentDataset(
+            Integer.getInteger("seed.instruments", 1_000),
+            Integer.getInteger("seed.buys", 1_000),
+            Long.getLong("seed.seed", 42L));
+    var start = System.nanoTime();
+    try (var connection =
+        DriverManager.getConnection(
+            System.getProperty(
+                "seed.url", "jdbc:postgresql://localhost:5432/mydata?currentSchema=mydata"),
+            System.getProperty("seed.user", "arun"),
+            System.getProperty("seed.password", "arun"))) {
+      new DatasetSeeder(connection).seed(dataset);
+    }
+    log.info(
+        "Seeded {} buy transactions in {} s",
+        2L * dataset.getInstruments() * dataset.getBuysPerInstrument(),
+        (System.nanoTime() - start) / 1_000_000_000);
+  }
+}
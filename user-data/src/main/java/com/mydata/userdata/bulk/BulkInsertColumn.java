@@ -0,0 +1,71 @@
+package com.mydata.userdata.bulk;
+
+import java.util.function.Function;
+
+/**
+ * A column written by a bulk insert
+ *
+ * @param name the column name
+ * @param type the column value type, used for binding null values
+ * @param value function for getting the column value of a record
+ * @param defaultValue SQL expression used when the value is null, null to insert null
+ * @param <T> the record type
+ */
+public record BulkInsertColumn<T>(
+    String name, Class<?> type, Function<T, ?> value, String defaultValue) {
+
+  /**
+   * Create a column without a default value
+   *
+   * @param name the column name
+   * @param type the column value type
+   * @param value function for getting the column value of a record
+   * @param <T> the record type
+   * @return {@link BulkInsertColumn}
+   */
+  public static <T> BulkInsertColumn<T> of(
+      final String name, final Class<?> type, final Function<T, ?> value) {
+    return new BulkInsertColumn<>(name, type, value, null);
+  }
+
+  /**
+   * Create a column which takes the default value when the record value is null, the same way the
+   * column default applies when a repository save skips a null property
+   *
+   * @param name the column name
+   * @param type the column value type
+   * @param value function for getting the column value of a record
+   * @param defaultValue SQL expression of the column default
+   * @param <T> the record type
+   * @return {@link BulkInsertColumn}
+   */
+  public static <T> BulkInsertColumn<T> withDefault(
+      final String name,
+      final Class<?> type,
+      final Function<T, ?> value,
+      final String defaultValue) {
+    return new BulkInsertColumn<>(name, type, value, defaultValue);
+  }
+
+  /**
+   * Get the same column for records holding this record
+   *
+   * @param record function for getting this record from a holding record
+   * @param <R> the holding record type
+   * @return {@link BulkInsertColumn}
+   */
+  <R> BulkInsertColumn<R> from(final Function<R, T> record) {
+    return new BulkInsertColumn<>(name, type, record.andThen(value), defaultValue);
+  }
+
+  /**
+   * Get the value expression of the column for the insert statement
+   *
+   * @param index the 1 based index of the bind marker
+   * @return the value expression
+   */
+  String valueExpression(final int index) {
+    var bindMarker = "$" + index;
+    return null == defaultValue ? bindMarker : "coalesce(" + bindMarker + ", " + defaultValue + ")";
+  }
+}
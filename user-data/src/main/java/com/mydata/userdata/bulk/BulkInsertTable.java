@@ -0,0 +1,102 @@
+package com.mydata.userdata.bulk;
+
+import io.r2dbc.spi.Statement;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A table written by a bulk insert. All records of a chunk are bound to one insert statement with
+ * {@link Statement#add()}, so the driver sends the whole chunk in a single round trip.
+ *
+ * @param name the table name
+ * @param columns the columns written, the id and audit columns are left to their defaults
+ * @param uniqueKey the column with a unique index, a record with a key already in the table is
+ *     skipped. Null to insert every record
+ * @param <T> the record type
+ */
+public record BulkInsertTable<T>(
+    String name, List<BulkInsertColumn<T>> columns, BulkInsertColumn<T> uniqueKey) {
+
+  /**
+   * Create a table which inserts every record
+   *
+   * @param name the table name
+   * @param columns the columns written
+   */
+  public BulkInsertTable(final String name, final List<BulkInsertColumn<T>> columns) {
+    this(name, columns, null);
+  }
+
+  /**
+   * Get the same table for records holding a record of this table and a unique key, a record whose
+   * key is already in the table is skipped instead of failing the insert
+   *
+   * @param record function for getting the record of this table from a holding record
+   * @param key the unique key column
+   * @param <R> the holding record type
+   * @return {@link BulkInsertTable}
+   */
+  public <R> BulkInsertTable<R> ignoringDuplicates(
+      final Function<R, T> record, final BulkInsertColumn<R> key) {
+    return new BulkInsertTable<>(
+        name,
+        Stream.concat(columns.stream().map(column -> column.from(record)), Stream.of(key)).toList(),
+        key);
+  }
+
+  /**
+   * Get the insert statement SQL
+   *
+   * @return the insert statement SQL
+   */
+  public String insertSql() {
+    return "insert into "
+        + name
+        + " ("
+        + columns.stream().map(BulkInsertColumn::name).collect(Collectors.joining(", "))
+        + ") values ("
+        + IntStream.range(0, columns.size())
+            .mapToObj(i -> columns.get(i).valueExpression(i + 1))
+            .collect(Collectors.joining(", "))
+        + ")"
+        + (null == uniqueKey ? "" : " on conflict (" + uniqueKey.name() + ") do nothing");
+  }
+
+  /**
+   * Bind the records to the insert statement, one parameter set per record
+   *
+   * @param statement the insert statement
+   * @param records the records to bind
+   * @return the statement
+   */
+  public Statement bind(final Statement statement, final List<T> records) {
+    for (var i = 0; i < records.size(); i++) {
+      if (i > 0) {
+        statement.add();
+      }
+      bind(statement, records.get(i));
+    }
+    return statement;
+  }
+
+  /**
+   * Bind a record to the current parameter set of the insert statement
+   *
+   * @param statement the insert statement
+   * @param record the record to bind
+   */
+  private void bind(final Statement statement, final T record) {
+    for (var i = 0; i < columns.size(); i++) {
+      var column = columns.get(i);
+      var value = column.value().apply(record);
+      if (null == value) {
+        statement.bindNull(i, column.type());
+      } else {
+        statement.bind(i, value);
+      }
+    }
+  }
+}
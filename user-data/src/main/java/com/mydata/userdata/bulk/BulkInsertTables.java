@@ -0,0 +1,220 @@
+package com.mydata.userdata.bulk;
+
+import static com.mydata.userdata.bulk.BulkInsertColumn.of;
+import static com.mydata.userdata.bulk.BulkInsertColumn.withDefault;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.entity.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/** The tables which can be written by a bulk insert */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BulkInsertTables {
+
+  // Column names
+  private static final String BANK_NAME = "bank_name";
+  private static final String BRANCH = "branch";
+  private static final String ACCOUNT_NUMBER = "account_number";
+  private static final String BALANCE = "balance";
+  private static final String ACTIVE = "active";
+  private static final String STOCK_ID = "stock_id";
+  private static final String BUY_IDS = "buy_ids";
+  private static final String PRICE = "price";
+  private static final String QUANTITY = "quantity";
+  private static final String CHARGE = "charge";
+  private static final String SOLD_DATE = "sold_date";
+  private static final String PROFIT_LOSS = "profit_loss";
+  private static final String IMPORT_KEY = "import_key";
+
+  // Column defaults
+  private static final String TRUE = "true";
+  private static final String FALSE = "false";
+  private static final String ZERO = "0";
+  private static final String CURRENT_TIMESTAMP = "current_timestamp";
+
+  public static final BulkInsertTable<DepositAccount> DEPOSIT_ACCOUNT =
+      new BulkInsertTable<>(
+          "deposit_account",
+          List.of(
+              of(BANK_NAME, String.class, DepositAccount::bankName),
+              of(BRANCH, String.class, DepositAccount::branch),
+              of(ACCOUNT_NUMBER, String.class, DepositAccount::accountNumber),
+              of(BALANCE, BigDecimal.class, DepositAccount::balance),
+              withDefault(ACTIVE, Boolean.class, DepositAccount::active, TRUE)));
+
+  public static final BulkInsertTable<Loan> LOAN_ACCOUNT =
+      new BulkInsertTable<>(
+          "loan_account",
+          List.of(
+              of(BANK_NAME, String.class, Loan::bankName),
+              of(BRANCH, String.class, Loan::branch),
+              of(ACCOUNT_NUMBER, String.class, Loan::accountNumber),
+              of(BALANCE, BigDecimal.class, Loan::balance),
+              withDefault(ACTIVE, Boolean.class, Loan::active, TRUE)));
+
+  public static final BulkInsertTable<Miscellaneous> MISCELLANEOUS =
+      new BulkInsertTable<>(
+          "miscellaneous",
+          List.of(
+              of("investment_name", String.class, Miscellaneous::investmentName),
+              of(BALANCE, BigDecimal.class, Miscellaneous::balance),
+              withDefault(ACTIVE, Boolean.class, Miscellaneous::active, TRUE)));
+
+  public static final BulkInsertTable<SavingAccount> SAVING_ACCOUNT =
+      new BulkInsertTable<>(
+          "saving_account",
+          List.of(
+              of(BANK_NAME, String.class, SavingAccount::bankName),
+              of(BRANCH, String.class, SavingAccount::branch),
+              of(ACCOUNT_NUMBER, String.class, SavingAccount::accountNumber),
+              of(BALANCE, BigDecimal.class, SavingAccount::balance),
+              withDefault(ACTIVE, Boolean.class, SavingAccount::active, TRUE)));
+
+  public static final BulkInsertTable<Stock> STOCK =
+      new BulkInsertTable<>(
+          "stock",
+          List.of(
+              of("stock_code", String.class, Stock::stockCode),
+              of("stock_name", String.class, Stock::stockName),
+              of("stock_exchange", String.class, Stock::stockExchange),
+              of("broker", String.class, Stock::broker),
+              withDefault(ACTIVE, Boolean.class, Stock::active, TRUE)));
+
+  public static final BulkInsertTable<MutualFundBuyTransaction> MUTUAL_FUND_BUY_TRANSACTION =
+      new BulkInsertTable<>(
+          "mutual_fund_buy_transaction",
+          List.of(
+              of("mf_id", Integer.class, MutualFundBuyTransaction::mfId),
+              withDefault("nav", FixedDecimal.class, MutualFundBuyTransaction::nav, ZERO),
+              of("units", FixedDecimal.class, MutualFundBuyTransaction::units),
+              of(CHARGE, FixedDecimal.class, MutualFundBuyTransaction::charge),
+              withDefault(
+                  "buy_date", Instant.class, MutualFundBuyTransaction::buyDate, CURRENT_TIMESTAMP),
+              withDefault(
+                  "sold_units", FixedDecimal.class, MutualFundBuyTransaction::soldUnits, ZERO),
+              withDefault(
+                  "is_sold_out", Boolean.class, MutualFundBuyTransaction::isSoldOut, FALSE)));
+
+  public static final BulkInsertTable<MutualFundSellTransaction> MUTUAL_FUND_SELL_TRANSACTION =
+      new BulkInsertTable<>(
+          "mutual_fund_sell_transaction",
+          List.of(
+              of("mf_id", Integer.class, MutualFundSellTransaction::mfId),
+              of(
+                  BUY_IDS,
+                  Integer[].class,
+                  (MutualFundSellTransaction sell) -> sell.buyIds().toArray(Integer[]::new)),
+              of(
+                  "buy_units",
+                  FixedDecimal[].class,
+                  (MutualFundSellTransaction sell) ->
+                      null == sell.buyUnits()
+                          ? null
+                          : sell.buyUnits().toArray(FixedDecimal[]::new)),
+              of("nav", FixedDecimal.class, MutualFundSellTransaction::nav),
+              of("units", FixedDecimal.class, MutualFundSellTransaction::units),
+              of(CHARGE, FixedDecimal.class, MutualFundSellTransaction::charge),
+              withDefault(
+                  SOLD_DATE, Instant.class, MutualFundSellTransaction::soldDate, CURRENT_TIMESTAMP),
+              withDefault(
+                  PROFIT_LOSS, FixedDecimal.class, MutualFundSellTransaction::profitLoss, ZERO)));
+
+  public static final BulkInsertTable<StockBuyTransaction> STOCK_BUY_TRANSACTION =
+      new BulkInsertTable<>(
+          "stock_buy_transaction",
+          List.of(
+              of(STOCK_ID, Integer.class, StockBuyTransaction::stockId),
+              of(PRICE, FixedDecimal.class, StockBuyTransaction::price),
+              of(QUANTITY, Integer.class, StockBuyTransaction::quantity),
+              of(CHARGE, FixedDecimal.class, StockBuyTransaction::charge),
+              withDefault(
+                  "buy_date", Instant.class, StockBuyTransaction::buyDate, CURRENT_TIMESTAMP),
+              withDefault("sold_quantity", Integer.class, StockBuyTransaction::soldQuantity, ZERO),
+              withDefault("is_sold_out", Boolean.class, StockBuyTransaction::isSoldOut, FALSE)));
+
+  public static final BulkInsertTable<StockSellTransaction> STOCK_SELL_TRANSACTION =
+      new BulkInsertTable<>(
+          "stock_sell_transaction",
+          List.of(
+              of(STOCK_ID, Integer.class, StockSellTransaction::stockId),
+              of(
+                  BUY_IDS,
+                  Integer[].class,
+                  (StockSellTransaction sell) -> sell.buyIds().toArray(Integer[]::new)),
+              of(PRICE, FixedDecimal.class, StockSellTransaction::price),
+              of(QUANTITY, Integer.class, StockSellTransaction::quantity),
+              of(CHARGE, FixedDecimal.class, StockSellTransaction::charge),
+              withDefault(
+                  SOLD_DATE, Instant.class, StockSellTransaction::soldDate, CURRENT_TIMESTAMP),
+              withDefault(
+                  PROFIT_LOSS, FixedDecimal.class, StockSellTransaction::profitLoss, ZERO)));
+
+  /** Mutual fund buy transactions imported from a statement, a trade imported before is skipped */
+  public static final BulkInsertTable<ImportedRecord<MutualFundBuyTransaction>>
+      MUTUAL_FUND_BUY_TRANSACTION_IMPORT =
+          MUTUAL_FUND_BUY_TRANSACTION.ignoringDuplicates(
+              ImportedRecord::record, of(IMPORT_KEY, String.class, ImportedRecord::importKey));
+
+  /** Stock buy transactions imported from a statement, a trade imported before is skipped */
+  public static final BulkInsertTable<ImportedRecord<StockBuyTransaction>>
+      STOCK_BUY_TRANSACTION_IMPORT =
+          STOCK_BUY_TRANSACTION.ignoringDuplicates(
+              ImportedRecord::record, of(IMPORT_KEY, String.class, ImportedRecord::importKey));
+
+  /**
+   * Get the key of the values of a mutual fund buy transaction
+   *
+   * @param buy the mutual fund buy transaction
+   * @return the trade key
+   */
+  public static String tradeKey(final MutualFundBuyTransaction buy) {
+    return valuesKey(buy.mfId(), buy.buyDate(), buy.nav(), buy.units(), buy.charge());
+  }
+
+  /**
+   * Get the key of the values of a stock buy transaction
+   *
+   * @param buy the stock buy transaction
+   * @return the trade key
+   */
+  public static String tradeKey(final StockBuyTransaction buy) {
+    return valuesKey(buy.stockId(), buy.buyDate(), buy.price(), buy.quantity(), buy.charge());
+  }
+
+  /**
+   * Get the import key of a trade of a statement, its values and the number of the same trade in
+   * the statement up to it. Importing the statement again gives the same keys, and a trade made
+   * twice the same day is added twice.
+   *
+   * @param tradeKey the key of the values of the trade
+   * @param occurrence the number of trades with the same values in the statement, up to this one
+   * @return the import key
+   */
+  public static String importKey(final String tradeKey, final int occurrence) {
+    return tradeKey + "|" + occurrence;
+  }
+
+  /**
+   * Get the key of the values of a trade, numbers are written without trailing zeros so the same
+   * amount always gives the same key
+   *
+   * @param values the values identifying the trade
+   * @return the key of the values
+   */
+  static String valuesKey(final Object... values) {
+    return Stream.of(values)
+        .map(
+            value ->
+                value instanceof FixedDecimal number
+                    ? number.toBigDecimal().stripTrailingZeros().toPlainString()
+                    : Objects.toString(value))
+        .collect(Collectors.joining("|"));
+  }
+}
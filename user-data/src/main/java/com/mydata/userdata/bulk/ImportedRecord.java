@@ -0,0 +1,11 @@
+package com.mydata.userdata.bulk;
+
+/**
+ * A record imported from a statement file with its import key
+ *
+ * @param record the record
+ * @param importKey the key identifying the record among the imports, see {@link
+ *     BulkInsertTables#importKey(String, int)}
+ * @param <T> the record type
+ */
+public record ImportedRecord<T>(T record, String importKey) {}
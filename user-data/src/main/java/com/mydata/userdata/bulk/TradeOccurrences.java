@@ -0,0 +1,45 @@
+package com.mydata.userdata.bulk;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Numbers the repeats of the trades of a statement, in the order of the file, see {@link
+ * BulkInsertTables#importKey(String, int)}. The repeats of a trade are made the same day and a
+ * statement lists the trades of a day together, so only the keys of the day being read are kept and
+ * the memory used does not grow with the size of the file, only with the days it covers. A trade of
+ * a day left before can not be numbered and is refused.
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public final class TradeOccurrences {
+
+  private final Map<String, Integer> occurrencesOfDay = new HashMap<>();
+  private final Set<LocalDate> daysRead = new HashSet<>();
+  private LocalDate day;
+
+  /**
+   * Count a trade
+   *
+   * @param tradeKey the key of the values of the trade
+   * @param tradeDate the date of the trade
+   * @return the number of trades with the same values in the statement, up to this one
+   * @throws IllegalArgumentException when the trades of the day were followed by another day
+   */
+  public int next(final String tradeKey, final Instant tradeDate) {
+    var tradeDay = LocalDate.ofInstant(tradeDate, ZoneOffset.UTC);
+    if (!tradeDay.equals(day)) {
+      if (!daysRead.add(tradeDay)) {
+        throw new IllegalArgumentException(
+            "the trades of " + tradeDay + " should be together in the file");
+      }
+      occurrencesOfDay.clear();
+      day = tradeDay;
+    }
+    return occurrencesOfDay.merge(tradeKey, 1, Integer::sum);
+  }
+}
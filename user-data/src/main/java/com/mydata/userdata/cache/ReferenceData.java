@@ -0,0 +1,11 @@
+package com.mydata.userdata.cache;
+
+/** The reference data lists held by {@link ReferenceDataCache}, one cache entry each */
+public enum ReferenceData {
+  DEPOSIT_ACCOUNTS,
+  LOAN_ACCOUNTS,
+  MISC_ACCOUNTS,
+  MUTUAL_FUNDS,
+  SAVING_ACCOUNTS,
+  STOCKS
+}
@@ -0,0 +1,82 @@
+package com.mydata.userdata.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mydata.userdata.property.ReferenceDataCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-through cache of the reference data lists. Each {@link ReferenceData} list is loaded once,
+ * concurrent requests for a list being loaded share the same load, and the list is kept until it is
+ * invalidated by a write or evicted by {@link ReferenceDataCacheProperties}. A failed load is not
+ * cached.
+ *
+ * <p>The hit, miss, load and eviction statistics are exported as the {@code cache.*} metrics with
+ * the {@code cache} tag {@value #CACHE_NAME}.
+ */
+@Component
+@Slf4j
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class ReferenceDataCache {
+
+  public static final String CACHE_NAME = "referenceData";
+
+  private final AsyncCache<ReferenceData, List<?>> cache;
+
+  /**
+   * Constructor
+   *
+   * @param cacheProps the cache properties
+   * @param meterRegistry the registry of the cache metrics
+   */
+  public ReferenceDataCache(
+      final ReferenceDataCacheProperties cacheProps, final MeterRegistry meterRegistry) {
+    var builder = Caffeine.newBuilder().recordStats();
+    Optional.ofNullable(cacheProps.maximumSize()).ifPresent(builder::maximumSize);
+    Optional.ofNullable(cacheProps.expireAfterWrite()).ifPresent(builder::expireAfterWrite);
+    cache = CaffeineCacheMetrics.monitor(meterRegistry, builder.buildAsync(), CACHE_NAME);
+  }
+
+  /**
+   * Get a reference data list, loading it when it is not cached. The loader is subscribed only on a
+   * miss.
+   *
+   * <p>The cached future is exposed as a minimal completion stage, so a cancelled subscriber can't
+   * cancel a load shared with other subscribers.
+   *
+   * @param key the reference data
+   * @param loader supplies the publisher loading the list
+   * @param <T> the element type
+   * @return {@link Flux<T>}
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Flux<T> get(final ReferenceData key, final Supplier<Flux<T>> loader) {
+    return Mono.fromCompletionStage(
+            () ->
+                cache
+                    .get(
+                        key,
+                        (k, executor) ->
+                            loader.get().collectList().<List<?>>map(list -> list).toFuture())
+                    .minimalCompletionStage())
+        .flatMapIterable(list -> (List<T>) list);
+  }
+
+  /**
+   * Invalidate a reference data list, the next get loads it again
+   *
+   * @param key the reference data
+   */
+  public void invalidate(final ReferenceData key) {
+    log.info("Invalidating cached reference data {}", key);
+    cache.synchronous().invalidate(key);
+  }
+}
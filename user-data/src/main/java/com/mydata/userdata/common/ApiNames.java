@@ -8,19 +8,67 @@ public final class ApiNames {
 
   // Investment APIs
   public static final String GET_DEPOSIT_ACCOUNTS = "GetDepositAccounts";
+  public static final String GET_DEPOSIT_ACCOUNTS_PAGE = "GetDepositAccountsPage";
   public static final String ADD_DEPOSIT_ACCOUNT = "AddDepositAccount";
   public static final String GET_LOAN_ACCOUNTS = "GetLoanAccounts";
+  public static final String GET_LOAN_ACCOUNTS_PAGE = "GetLoanAccountsPage";
   public static final String ADD_LOAN_ACCOUNT = "AddLoanAccount";
   public static final String GET_MISC_ACCOUNTS = "GetMiscellaneousAccounts";
+  public static final String GET_MISC_ACCOUNTS_PAGE = "GetMiscellaneousAccountsPage";
   public static final String ADD_MISC_ACCOUNT = "AddMiscellaneousAccount";
   public static final String GET_MUTUAL_FUNDS = "GetMutualFunds";
   public static final String ADD_MUTUAL_FUND = "AddMutualFund";
   public static final String GET_MF_BUY_TRANSACTIONS = "GetMutualFundsBuyTransactions";
+  public static final String GET_MF_BUY_TRANSACTIONS_PAGE = "GetMutualFundsBuyTransactionsPage";
   public static final String ADD_MF_BUY_TRANSACTIONS = "AddMutualFundsBuyTransactions";
   public static final String GET_MF_SELL_TRANSACTIONS = "GetMutualFundsSellTransactions";
+  public static final String GET_MF_SELL_TRANSACTIONS_PAGE = "GetMutualFundsSellTransactionsPage";
   public static final String ADD_MF_SELL_TRANSACTIONS = "AddMutualFundsSellTransactions";
+  public static final String GET_MF_HOLDINGS = "GetMutualFundsHoldings";
+  public static final String REBUILD_MF_HOLDINGS = "RebuildMutualFundsHoldings";
   public static final String GET_SAVING_ACCOUNTS = "GetSavingAccounts";
+  public static final String GET_SAVING_ACCOUNTS_PAGE = "GetSavingAccountsPage";
   public static final String ADD_SAVING_ACCOUNT = "AddSavingAccount";
   public static final String GET_STOCKS = "GetStocks";
   public static final String ADD_STOCK = "AddStock";
+  public static final String GET_STOCK_BUY_TRANSACTIONS = "GetStocksBuyTransactions";
+  public static final String GET_STOCK_BUY_TRANSACTIONS_PAGE = "GetStocksBuyTransactionsPage";
+  public static final String ADD_STOCK_BUY_TRANSACTIONS = "AddStocksBuyTransactions";
+  public static final String GET_STOCK_SELL_TRANSACTIONS = "GetStocksSellTransactions";
+  public static final String GET_STOCK_SELL_TRANSACTIONS_PAGE = "GetStocksSellTransactionsPage";
+  public static final String ADD_STOCK_SELL_TRANSACTIONS = "AddStocksSellTransactions";
+  public static final String GET_INVESTMENT_SUMMARY = "GetInvestmentSummary";
+  public static final String GET_PORTFOLIO_VALUATION = "GetPortfolioValuation";
+  public static final String GET_PORTFOLIO_VALUATION_UPDATES = "GetPortfolioValuationUpdates";
+  public static final String GET_PORTFOLIO_RETURNS = "GetPortfolioReturns";
+
+  // Bulk Investment APIs
+  public static final String ADD_DEPOSIT_ACCOUNTS_BULK = "AddDepositAccountsBulk";
+  public static final String ADD_LOAN_ACCOUNTS_BULK = "AddLoanAccountsBulk";
+  public static final String ADD_MISC_ACCOUNTS_BULK = "AddMiscellaneousAccountsBulk";
+  public static final String ADD_MF_BUY_TRANSACTIONS_BULK = "AddMutualFundsBuyTransactionsBulk";
+  public static final String ADD_MF_SELL_TRANSACTIONS_BULK = "AddMutualFundsSellTransactionsBulk";
+  public static final String ADD_SAVING_ACCOUNTS_BULK = "AddSavingAccountsBulk";
+  public static final String ADD_STOCKS_BULK = "AddStocksBulk";
+  public static final String ADD_STOCK_BUY_TRANSACTIONS_BULK = "AddStocksBuyTransactionsBulk";
+  public static final String ADD_STOCK_SELL_TRANSACTIONS_BULK = "AddStocksSellTransactionsBulk";
+
+  // Trade Import APIs
+  public static final String IMPORT_MF_BUY_TRANSACTIONS = "ImportMutualFundsBuyTransactions";
+  public static final String IMPORT_MF_BUY_TRANSACTIONS_FILE =
+      "ImportMutualFundsBuyTransactionsFile";
+  public static final String IMPORT_STOCK_BUY_TRANSACTIONS = "ImportStocksBuyTransactions";
+  public static final String IMPORT_STOCK_BUY_TRANSACTIONS_FILE = "ImportStocksBuyTransactionsFile";
+
+  // Price History APIs
+  public static final String GET_MF_PRICE = "GetMutualFundPrice";
+  public static final String GET_MF_PRICES = "GetMutualFundPrices";
+  public static final String INGEST_MF_PRICES = "IngestMutualFundPrices";
+  public static final String GET_STOCK_PRICE = "GetStockPrice";
+  public static final String GET_STOCK_PRICES = "GetStockPrices";
+  public static final String INGEST_STOCK_PRICES = "IngestStockPrices";
+
+  // Report APIs
+  public static final String GET_MF_CAPITAL_GAINS = "GetMutualFundsCapitalGains";
+  public static final String GET_MF_CAPITAL_GAINS_CSV = "GetMutualFundsCapitalGainsCsv";
 }
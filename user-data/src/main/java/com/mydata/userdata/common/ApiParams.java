@@ -0,0 +1,33 @@
+package com.mydata.userdata.common;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ApiParams {
+
+  // Pagination parameters
+  public static final String PAGE_SIZE = "size";
+  public static final String PAGE_CURSOR = "cursor";
+  public static final int MIN_PAGE_SIZE = 1;
+  public static final int MAX_PAGE_SIZE = 500;
+
+  // Trade import parameters
+  public static final String IMPORT_FILE = "file";
+  public static final String TEXT_CSV_VALUE = "text/csv";
+
+  // Binary Smile encoding of the DTOs, a single value or array, and a stream of values
+  public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+  public static final String APPLICATION_STREAM_SMILE_VALUE = "application/stream+x-jackson-smile";
+
+  // Price history parameters
+  public static final String PRICE_CODE = "code";
+  public static final String PRICE_DATE = "date";
+  public static final String PRICE_FROM = "from";
+  public static final String PRICE_TO = "to";
+  public static final String PRICE_FILE = "file";
+
+  // Capital gains report parameters
+  public static final String FROM_YEAR = "fromYear";
+  public static final String TO_YEAR = "toYear";
+}
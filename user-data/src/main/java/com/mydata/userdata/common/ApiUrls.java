@@ -16,6 +16,44 @@ public final class ApiUrls {
   public static final String MUTUAL_FUNDS_URL = "/mutualfunds";
   public static final String MF_BUY_TRANSACTION_URL = MUTUAL_FUNDS_URL + "/transactions/buy";
   public static final String MF_SELL_TRANSACTION_URL = MUTUAL_FUNDS_URL + "/transactions/sell";
+  public static final String MF_HOLDINGS_URL = MUTUAL_FUNDS_URL + "/holdings";
+  public static final String MF_HOLDINGS_REBUILD_URL = MF_HOLDINGS_URL + "/rebuild";
   public static final String SAVING_ACCOUNTS_URL = "/savingaccounts";
   public static final String STOCKS_URL = "/stocks";
+  public static final String STOCK_BUY_TRANSACTION_URL = STOCKS_URL + "/transactions/buy";
+  public static final String STOCK_SELL_TRANSACTION_URL = STOCKS_URL + "/transactions/sell";
+  public static final String SUMMARY_URL = "/summary";
+  public static final String VALUATION_URL = "/valuation";
+  public static final String RETURNS_URL = "/returns";
+
+  // Bulk Investment URLs
+  public static final String BULK_URL = "/bulk";
+  public static final String DEPOSIT_ACCOUNTS_BULK_URL = DEPOSIT_ACCOUNTS_URL + BULK_URL;
+  public static final String LOAN_ACCOUNTS_BULK_URL = LOAN_ACCOUNTS_URL + BULK_URL;
+  public static final String MISC_ACCOUNTS_BULK_URL = MISC_ACCOUNTS_URL + BULK_URL;
+  public static final String MF_BUY_TRANSACTION_BULK_URL = MF_BUY_TRANSACTION_URL + BULK_URL;
+  public static final String MF_SELL_TRANSACTION_BULK_URL = MF_SELL_TRANSACTION_URL + BULK_URL;
+  public static final String SAVING_ACCOUNTS_BULK_URL = SAVING_ACCOUNTS_URL + BULK_URL;
+  public static final String STOCKS_BULK_URL = STOCKS_URL + BULK_URL;
+  public static final String STOCK_BUY_TRANSACTION_BULK_URL = STOCK_BUY_TRANSACTION_URL + BULK_URL;
+  public static final String STOCK_SELL_TRANSACTION_BULK_URL =
+      STOCK_SELL_TRANSACTION_URL + BULK_URL;
+
+  // Trade Import URLs
+  public static final String IMPORT_URL = "/import";
+  public static final String MF_BUY_TRANSACTION_IMPORT_URL = MF_BUY_TRANSACTION_URL + IMPORT_URL;
+  public static final String STOCK_BUY_TRANSACTION_IMPORT_URL =
+      STOCK_BUY_TRANSACTION_URL + IMPORT_URL;
+
+  // Price History URLs
+  public static final String PRICES_URL = "/prices";
+  public static final String INGEST_URL = "/ingest";
+  public static final String MF_PRICES_URL = MUTUAL_FUNDS_URL + PRICES_URL;
+  public static final String MF_PRICES_INGEST_URL = MF_PRICES_URL + INGEST_URL;
+  public static final String STOCK_PRICES_URL = STOCKS_URL + PRICES_URL;
+  public static final String STOCK_PRICES_INGEST_URL = STOCK_PRICES_URL + INGEST_URL;
+
+  // Report URLs
+  public static final String CAPITAL_GAINS_URL = "/capitalgains";
+  public static final String MF_CAPITAL_GAINS_URL = MUTUAL_FUNDS_URL + CAPITAL_GAINS_URL;
 }
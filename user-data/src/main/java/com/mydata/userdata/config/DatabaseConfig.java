@@ -2,14 +2,40 @@ package com.mydata.userdata.config;
 
 import static com.mydata.userdata.property.DatabaseProperties.DB_SCHEMA;
 
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.decimal.FixedDecimalArrayCodec;
+import com.mydata.userdata.decimal.FixedDecimalCodec;
+import com.mydata.userdata.decimal.FixedDecimalReadingConverter;
+import com.mydata.userdata.metrics.MicrometerPoolMetricsRecorder;
+import com.mydata.userdata.metrics.QueryMetricsConnectionFactory;
+import com.mydata.userdata.metrics.QueryMetricsListener;
+import com.mydata.userdata.metrics.TimedConnectionPool;
+import com.mydata.userdata.property.DatabasePoolProperties;
 import com.mydata.userdata.property.DatabaseProperties;
+import com.mydata.userdata.property.QueryMetricsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
 import io.r2dbc.spi.ConnectionFactories;
 import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.convert.CustomConversions.StoreConversions;
+import org.springframework.data.mapping.model.SimpleTypeHolder;
 import org.springframework.data.r2dbc.config.AbstractR2dbcConfiguration;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 
 @Configuration
@@ -17,12 +43,36 @@ import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 @EnableR2dbcRepositories
 public class DatabaseConfig extends AbstractR2dbcConfiguration {
 
+  /** Name of the connection pool, also the {@code name} tag of the pool metrics */
+  public static final String POOL_NAME = "connectionFactory";
+
   private final DatabaseProperties dbProps;
+  private final DatabasePoolProperties poolProps;
+  private final QueryMetricsProperties queryMetricsProps;
+  private final MeterRegistry meterRegistry;
 
+  /**
+   * The pooled connection factory for the Postgresql database. The fetch size makes the driver read
+   * query results through a cursor in batches as they are requested, so a streamed response never
+   * holds more than one batch of rows in memory.
+   *
+   * <p>The pool is a {@link io.r2dbc.pool.ConnectionPool}, so Spring Boot exports its acquired,
+   * idle, pending and allocated connection gauges. The acquire and allocation latencies are
+   * recorded by {@link TimedConnectionPool} and {@link MicrometerPoolMetricsRecorder}.
+   *
+   * <p>The {@code numeric} values are read and written as {@link FixedDecimal} by {@link
+   * FixedDecimalCodec}, registered on each connection.
+   *
+   * <p>When the query metrics are enabled the connections of the pool are proxied by {@link
+   * QueryMetricsConnectionFactory}, which measures every query with {@link QueryMetricsListener}.
+   * Otherwise the pool is the connection factory and the queries run without any proxy.
+   *
+   * @return {@link ConnectionFactory}
+   */
   @Override
-  @Bean
+  @Bean(destroyMethod = "dispose")
   public ConnectionFactory connectionFactory() {
-    return ConnectionFactories.get(
+    var options =
         ConnectionFactoryOptions.builder()
             .option(ConnectionFactoryOptions.DRIVER, dbProps.driver())
             .option(ConnectionFactoryOptions.HOST, dbProps.host())
@@ -30,7 +80,104 @@ public class DatabaseConfig extends AbstractR2dbcConfiguration {
             .option(ConnectionFactoryOptions.DATABASE, dbProps.database())
             .option(ConnectionFactoryOptions.USER, dbProps.user())
             .option(ConnectionFactoryOptions.PASSWORD, dbProps.password())
-            .option(DB_SCHEMA, dbProps.schema())
-            .build());
+            .option(DB_SCHEMA, dbProps.schema());
+    setOption(options, ConnectionFactoryOptions.PROTOCOL, dbProps.protocol());
+    setOption(options, ConnectionFactoryOptions.SSL, dbProps.ssl());
+    setOption(
+        options,
+        ConnectionFactoryOptions.CONNECT_TIMEOUT,
+        null == dbProps.connectionTimeout()
+            ? null
+            : Duration.ofMillis(dbProps.connectionTimeout()));
+    setOption(options, PostgresqlConnectionFactoryProvider.FETCH_SIZE, dbProps.fetchSize());
+    options.option(
+        PostgresqlConnectionFactoryProvider.EXTENSIONS, List.of(FixedDecimalCodec.registrar()));
+
+    var pool =
+        ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+            .name(POOL_NAME)
+            .metricsRecorder(new MicrometerPoolMetricsRecorder(meterRegistry, POOL_NAME));
+    Optional.ofNullable(poolProps.initialSize()).ifPresent(pool::initialSize);
+    Optional.ofNullable(poolProps.maxSize()).ifPresent(pool::maxSize);
+    Optional.ofNullable(poolProps.maxIdleTime()).ifPresent(pool::maxIdleTime);
+    Optional.ofNullable(poolProps.maxAcquireTime()).ifPresent(pool::maxAcquireTime);
+    Optional.ofNullable(poolProps.maxLifeTime()).ifPresent(pool::maxLifeTime);
+    Optional.ofNullable(poolProps.validationQuery()).ifPresent(pool::validationQuery);
+    var connectionPool = new TimedConnectionPool(pool.build(), meterRegistry, POOL_NAME);
+    if (!Boolean.TRUE.equals(queryMetricsProps.enabled())) {
+      return connectionPool;
+    }
+    return new QueryMetricsConnectionFactory(
+        connectionPool,
+        new QueryMetricsListener(meterRegistry, queryMetricsProps.slowQueryThreshold()));
+  }
+
+  /**
+   * The dialect of the database. The Postgresql dialect has {@link FixedDecimal} as a simple type,
+   * so the {@code numeric[]} columns of {@link FixedDecimal} list properties are bound as arrays
+   * encoded by {@link FixedDecimalArrayCodec}.
+   *
+   * @param connectionFactory the connection factory
+   * @return {@link R2dbcDialect}
+   */
+  @Override
+  public R2dbcDialect getDialect(final ConnectionFactory connectionFactory) {
+    var dialect = super.getDialect(connectionFactory);
+    return dialect instanceof PostgresDialect ? FixedDecimalPostgresDialect.INSTANCE : dialect;
+  }
+
+  /**
+   * The store conversions of the dialect, with {@link FixedDecimal} as a simple type, so its
+   * properties are bound as they are and encoded by {@link FixedDecimalCodec}
+   *
+   * @return {@link StoreConversions}
+   */
+  @Override
+  protected StoreConversions getStoreConversions() {
+    var dialect = getDialect(connectionFactory());
+    var converters = new ArrayList<Object>(dialect.getConverters());
+    converters.addAll(R2dbcCustomConversions.STORE_CONVERTERS);
+    return StoreConversions.of(
+        new SimpleTypeHolder(Set.of(FixedDecimal.class), dialect.getSimpleTypeHolder()),
+        converters);
+  }
+
+  /**
+   * The custom conversions, reading the {@link java.math.BigDecimal} properties from the {@code
+   * numeric} columns decoded by {@link FixedDecimalCodec}
+   *
+   * @return the converters
+   */
+  @Override
+  protected List<Object> getCustomConverters() {
+    return List.of(FixedDecimalReadingConverter.INSTANCE);
+  }
+
+  /**
+   * Set a connection factory option if the value is configured
+   *
+   * @param options the connection factory options builder
+   * @param option the option
+   * @param value the option value, the option is not set if null
+   * @param <T> the option value type
+   */
+  private static <T> void setOption(
+      final ConnectionFactoryOptions.Builder options, final Option<T> option, final T value) {
+    if (null != value) {
+      options.option(option, value);
+    }
+  }
+
+  /** The Postgresql dialect with {@link FixedDecimal} as a simple type */
+  private static final class FixedDecimalPostgresDialect extends PostgresDialect {
+
+    private static final FixedDecimalPostgresDialect INSTANCE = new FixedDecimalPostgresDialect();
+
+    @Override
+    public Collection<? extends Class<?>> getSimpleTypes() {
+      var types = new HashSet<Class<?>>(super.getSimpleTypes());
+      types.add(FixedDecimal.class);
+      return types;
+    }
   }
 }
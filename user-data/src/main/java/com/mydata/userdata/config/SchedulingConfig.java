@@ -0,0 +1,9 @@
+package com.mydata.userdata.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** This class enables the scheduled jobs, a job is disabled by setting its cron to {@code -} */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
@@ -1,16 +1,22 @@
 package com.mydata.userdata.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import lombok.NoArgsConstructor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
 import org.springframework.http.codec.ServerCodecConfigurer;
-import org.springframework.http.codec.json.Jackson2CodecSupport;
 import org.springframework.http.codec.json.Jackson2JsonDecoder;
 import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.lang.NonNull;
+import org.springframework.util.MimeType;
 import org.springframework.web.reactive.config.EnableWebFlux;
 import org.springframework.web.reactive.config.WebFluxConfigurer;
 
@@ -20,22 +26,34 @@ import org.springframework.web.reactive.config.WebFluxConfigurer;
 @NoArgsConstructor
 public class WebFluxConfig implements WebFluxConfigurer {
 
+  /** The Smile codecs fall back to the JSON media types when they are given a mapper alone */
+  private static final MimeType[] SMILE_MIME_TYPES = {
+    new MimeType("application", "x-jackson-smile"), new MimeType("application", "*+x-jackson-smile")
+  };
+
+  /**
+   * The object mapper shared by the JSON encoder and decoder. The {@link BlackbirdModule} replaces
+   * the reflective access to the properties of the DTOs with generated lambdas.
+   *
+   * @return {@link ObjectMapper}
+   */
+  @Bean
+  public ObjectMapper objectMapper() {
+    return jsonMapperBuilder().modulesToInstall(new BlackbirdModule()).build();
+  }
+
   @Override
   public void configureHttpMessageCodecs(final @NonNull ServerCodecConfigurer configurer) {
+    var objectMapper = objectMapper();
+    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+    var smileMapper = smileMapper();
+    configurer
+        .defaultCodecs()
+        .jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, SMILE_MIME_TYPES));
     configurer
         .defaultCodecs()
-        .configureDefaultCodec(
-            codec -> {
-              if (codec instanceof Jackson2JsonDecoder || codec instanceof Jackson2JsonEncoder) {
-                ((Jackson2CodecSupport) codec)
-                    .setObjectMapper(
-                        new Jackson2ObjectMapperBuilder()
-                            .failOnUnknownProperties(true)
-                            .dateFormat(new StdDateFormat())
-                            .build());
-              }
-            });
-    configurer.defaultCodecs().enableLoggingRequestDetails(true);
+        .jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE_MIME_TYPES));
   }
 
   @Override
@@ -44,4 +62,29 @@ public class WebFluxConfig implements WebFluxConfigurer {
     registrar.setUseIsoFormat(true);
     registrar.registerFormatters(registry);
   }
+
+  /**
+   * The object mapper of the binary Smile encoding of the DTOs, with the settings of the JSON
+   * mapping. It is not a bean, so the JSON mapper stays the only {@link ObjectMapper} of the
+   * context.
+   *
+   * @return {@link ObjectMapper}
+   */
+  static ObjectMapper smileMapper() {
+    return jsonMapperBuilder()
+        .factory(new SmileFactory())
+        .modulesToInstall(new BlackbirdModule())
+        .build();
+  }
+
+  /**
+   * The settings of the JSON mapping, unknown properties are refused and the dates are ISO-8601
+   *
+   * @return {@link Jackson2ObjectMapperBuilder}
+   */
+  static Jackson2ObjectMapperBuilder jsonMapperBuilder() {
+    return new Jackson2ObjectMapperBuilder()
+        .failOnUnknownProperties(true)
+        .dateFormat(new StdDateFormat());
+  }
 }
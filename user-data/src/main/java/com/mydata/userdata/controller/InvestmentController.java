@@ -1,20 +1,74 @@
 package com.mydata.userdata.controller;
 
 import static com.mydata.userdata.common.ApiNames.*;
+import static com.mydata.userdata.common.ApiParams.*;
 import static com.mydata.userdata.common.ApiUrls.*;
 import static com.mydata.userdata.common.CommonStrings.LOG_MSG_EXEC_API;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 
 import com.mydata.userdata.dto.*;
+import com.mydata.userdata.pagination.KeysetCursor;
+import com.mydata.userdata.pagination.KeysetPage;
+import com.mydata.userdata.price.PriceKind;
+import com.mydata.userdata.service.BulkInsertService;
+import com.mydata.userdata.service.CapitalGainsService;
 import com.mydata.userdata.service.InvestmentService;
+import com.mydata.userdata.service.InvestmentSummaryService;
+import com.mydata.userdata.service.MutualFundHoldingService;
+import com.mydata.userdata.service.PriceHistoryService;
+import com.mydata.userdata.service.TradeImportService;
+import com.mydata.userdata.service.ValuationService;
+import java.time.LocalDate;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
- * This class is the implementation rest controller exposing end points for collecting equity data
+ * This class is the implementation rest controller exposing end points for collecting equity data.
+ *
+ * <p>All list end points can also be consumed as {@code application/x-ndjson} or {@code
+ * text/event-stream}, in which case the records are written as they are read from the database
+ * instead of being collected into a JSON array.
+ *
+ * <p>JSON is the default encoding. Internal callers can ask for the binary Smile encoding of the
+ * same DTOs with {@code application/x-jackson-smile}, or {@code application/stream+x-jackson-smile}
+ * for the streamed lists, both as the {@code Accept} header and as the {@code Content-Type} of the
+ * request bodies.
+ *
+ * <p>Account and transaction list end points are paged with keyset pagination when the {@code size}
+ * query parameter is present. The response has a {@code Link} header with {@code rel="next"}
+ * pointing to the next page, whose {@code cursor} query parameter carries the position of the last
+ * record returned, so every page is read with an index range scan instead of an offset.
+ *
+ * <p>Buy transactions can be imported from CSV statements, either streamed as a {@code text/csv}
+ * request body or uploaded as a multipart form.
+ *
+ * <p>The daily NAVs of the mutual funds and close prices of the stocks are ingested from AMFI-style
+ * price files in the price inbox, and are read on a day or over a range of days by the fund or
+ * stock code.
+ *
+ * <p>The holdings are valued at their latest price. The valuation can be read once as JSON, or
+ * streamed as {@code text/event-stream} or {@code application/x-ndjson}, in which case every
+ * revaluation is pushed with the holdings it changed. The annualized returns (XIRR) of the mutual
+ * funds are solved from their buys, sells and current value.
+ *
+ * <p>The capital gains realized by the mutual fund sells of a range of financial years are streamed
+ * as JSON, {@code application/x-ndjson} or {@code text/csv}, a row per lot sold and a subtotal per
+ * fund.
  */
 @RestController
 @Slf4j
@@ -23,6 +77,13 @@ import reactor.core.publisher.Mono;
 public class InvestmentController {
 
   private final InvestmentService investmentService;
+  private final BulkInsertService bulkInsertService;
+  private final InvestmentSummaryService investmentSummaryService;
+  private final MutualFundHoldingService mutualFundHoldingService;
+  private final TradeImportService tradeImportService;
+  private final PriceHistoryService priceHistoryService;
+  private final ValuationService valuationService;
+  private final CapitalGainsService capitalGainsService;
 
   /**
    * Method for Getting All Deposit Accounts
@@ -32,12 +93,42 @@ public class InvestmentController {
   @GetMapping(
       name = GET_DEPOSIT_ACCOUNTS,
       path = DEPOSIT_ACCOUNTS_URL,
-      produces = APPLICATION_JSON_VALUE)
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
   public Flux<AccountDto> getDepositAccounts() {
     log.info(LOG_MSG_EXEC_API, GET_DEPOSIT_ACCOUNTS);
     return investmentService.getDepositAccounts();
   }
 
+  /**
+   * Method for Getting a page of Deposit Accounts
+   *
+   * @param size the page size, capped at {@link com.mydata.userdata.common.ApiParams#MAX_PAGE_SIZE}
+   * @param cursor the cursor from the {@code next} link of the previous page, absent for the first
+   *     page
+   * @param request the http request, used for building the {@code next} link
+   * @return {@link Mono<ResponseEntity<List<AccountDto>>>}
+   */
+  @GetMapping(
+      name = GET_DEPOSIT_ACCOUNTS_PAGE,
+      path = DEPOSIT_ACCOUNTS_URL,
+      params = PAGE_SIZE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<ResponseEntity<List<AccountDto>>> getDepositAccountsPage(
+      @RequestParam(PAGE_SIZE) final int size,
+      @RequestParam(name = PAGE_CURSOR, required = false) final String cursor,
+      final ServerHttpRequest request) {
+    log.info(LOG_MSG_EXEC_API, GET_DEPOSIT_ACCOUNTS_PAGE);
+    return investmentService
+        .getDepositAccountsPage(KeysetCursor.decode(cursor), pageSize(size))
+        .map(page -> toResponse(page, request));
+  }
+
   /**
    * Method for adding a Deposit Accounts
    *
@@ -46,24 +137,80 @@ public class InvestmentController {
   @PostMapping(
       name = ADD_DEPOSIT_ACCOUNT,
       path = DEPOSIT_ACCOUNTS_URL,
-      consumes = APPLICATION_JSON_VALUE,
-      produces = APPLICATION_JSON_VALUE)
+      consumes = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE},
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
   public Mono<AccountDto> addDepositAccount(@RequestBody final AccountDto depositAccount) {
     log.info(LOG_MSG_EXEC_API, ADD_DEPOSIT_ACCOUNT);
     return investmentService.addDepositAccount(depositAccount);
   }
 
+  /**
+   * Method for adding Deposit Accounts in bulk. The request body is a JSON array or a stream of
+   * newline delimited JSON.
+   *
+   * @param depositAccounts the deposit accounts
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  @PostMapping(
+      name = ADD_DEPOSIT_ACCOUNTS_BULK,
+      path = DEPOSIT_ACCOUNTS_BULK_URL,
+      consumes = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      },
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<BulkInsertResultDto> addDepositAccounts(
+      @RequestBody final Flux<AccountDto> depositAccounts) {
+    log.info(LOG_MSG_EXEC_API, ADD_DEPOSIT_ACCOUNTS_BULK);
+    return bulkInsertService.addDepositAccounts(depositAccounts);
+  }
+
   /**
    * Method for Getting All Loan Accounts
    *
    * @return {@link Flux<AccountDto>}
    */
-  @GetMapping(name = GET_LOAN_ACCOUNTS, path = LOAN_ACCOUNTS_URL, produces = APPLICATION_JSON_VALUE)
+  @GetMapping(
+      name = GET_LOAN_ACCOUNTS,
+      path = LOAN_ACCOUNTS_URL,
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
   public Flux<AccountDto> getLoanAccounts() {
     log.info(LOG_MSG_EXEC_API, GET_LOAN_ACCOUNTS);
     return investmentService.getLoanAccounts();
   }
 
+  /**
+   * Method for Getting a page of Loan Accounts
+   *
+   * @param size the page size, capped at {@link com.mydata.userdata.common.ApiParams#MAX_PAGE_SIZE}
+   * @param cursor the cursor from the {@code next} link of the previous page, absent for the first
+   *     page
+   * @param request the http request, used for building the {@code next} link
+   * @return {@link Mono<ResponseEntity<List<AccountDto>>>}
+   */
+  @GetMapping(
+      name = GET_LOAN_ACCOUNTS_PAGE,
+      path = LOAN_ACCOUNTS_URL,
+      params = PAGE_SIZE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<ResponseEntity<List<AccountDto>>> getLoanAccountsPage(
+      @RequestParam(PAGE_SIZE) final int size,
+      @RequestParam(name = PAGE_CURSOR, required = false) final String cursor,
+      final ServerHttpRequest request) {
+    log.info(LOG_MSG_EXEC_API, GET_LOAN_ACCOUNTS_PAGE);
+    return investmentService
+        .getLoanAccountsPage(KeysetCursor.decode(cursor), pageSize(size))
+        .map(page -> toResponse(page, request));
+  }
+
   /**
    * Method for adding a Loan Accounts
    *
@@ -72,24 +219,80 @@ public class InvestmentController {
   @PostMapping(
       name = ADD_LOAN_ACCOUNT,
       path = LOAN_ACCOUNTS_URL,
-      consumes = APPLICATION_JSON_VALUE,
-      produces = APPLICATION_JSON_VALUE)
+      consumes = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE},
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
   public Mono<AccountDto> addLoanAccount(@RequestBody final AccountDto loanAccount) {
     log.info(LOG_MSG_EXEC_API, ADD_LOAN_ACCOUNT);
     return investmentService.addLoanAccount(loanAccount);
   }
 
+  /**
+   * Method for adding Loan Accounts in bulk. The request body is a JSON array or a stream of
+   * newline delimited JSON.
+   *
+   * @param loanAccounts the loan accounts
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  @PostMapping(
+      name = ADD_LOAN_ACCOUNTS_BULK,
+      path = LOAN_ACCOUNTS_BULK_URL,
+      consumes = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      },
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<BulkInsertResultDto> addLoanAccounts(
+      @RequestBody final Flux<AccountDto> loanAccounts) {
+    log.info(LOG_MSG_EXEC_API, ADD_LOAN_ACCOUNTS_BULK);
+    return bulkInsertService.addLoanAccounts(loanAccounts);
+  }
+
   /**
    * Method for Getting All Miscellaneous Accounts
    *
    * @return {@link Flux<MiscellaneousDto>}
    */
-  @GetMapping(name = GET_MISC_ACCOUNTS, path = MISC_ACCOUNTS_URL, produces = APPLICATION_JSON_VALUE)
+  @GetMapping(
+      name = GET_MISC_ACCOUNTS,
+      path = MISC_ACCOUNTS_URL,
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
   public Flux<MiscellaneousDto> getMiscellaneousAccounts() {
     log.info(LOG_MSG_EXEC_API, GET_MISC_ACCOUNTS);
     return investmentService.getMiscellaneousAccounts();
   }
 
+  /**
+   * Method for Getting a page of Miscellaneous Accounts
+   *
+   * @param size the page size, capped at {@link com.mydata.userdata.common.ApiParams#MAX_PAGE_SIZE}
+   * @param cursor the cursor from the {@code next} link of the previous page, absent for the first
+   *     page
+   * @param request the http request, used for building the {@code next} link
+   * @return {@link Mono<ResponseEntity<List<MiscellaneousDto>>>}
+   */
+  @GetMapping(
+      name = GET_MISC_ACCOUNTS_PAGE,
+      path = MISC_ACCOUNTS_URL,
+      params = PAGE_SIZE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<ResponseEntity<List<MiscellaneousDto>>> getMiscellaneousAccountsPage(
+      @RequestParam(PAGE_SIZE) final int size,
+      @RequestParam(name = PAGE_CURSOR, required = false) final String cursor,
+      final ServerHttpRequest request) {
+    log.info(LOG_MSG_EXEC_API, GET_MISC_ACCOUNTS_PAGE);
+    return investmentService
+        .getMiscellaneousAccountsPage(KeysetCursor.decode(cursor), pageSize(size))
+        .map(page -> toResponse(page, request));
+  }
+
   /**
    * Method for adding a Miscellaneous Accounts
    *
@@ -98,20 +301,52 @@ public class InvestmentController {
   @PostMapping(
       name = ADD_MISC_ACCOUNT,
       path = MISC_ACCOUNTS_URL,
-      consumes = APPLICATION_JSON_VALUE,
-      produces = APPLICATION_JSON_VALUE)
+      consumes = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE},
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
   public Mono<MiscellaneousDto> addMiscellaneousAccount(
       @RequestBody final MiscellaneousDto miscellaneous) {
     log.info(LOG_MSG_EXEC_API, ADD_MISC_ACCOUNT);
     return investmentService.addMiscellaneousAccount(miscellaneous);
   }
 
+  /**
+   * Method for adding Miscellaneous Accounts in bulk. The request body is a JSON array or a stream
+   * of newline delimited JSON.
+   *
+   * @param miscellaneousAccounts the miscellaneous accounts
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  @PostMapping(
+      name = ADD_MISC_ACCOUNTS_BULK,
+      path = MISC_ACCOUNTS_BULK_URL,
+      consumes = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      },
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<BulkInsertResultDto> addMiscellaneousAccounts(
+      @RequestBody final Flux<MiscellaneousDto> miscellaneousAccounts) {
+    log.info(LOG_MSG_EXEC_API, ADD_MISC_ACCOUNTS_BULK);
+    return bulkInsertService.addMiscellaneousAccounts(miscellaneousAccounts);
+  }
+
   /**
    * Method for Getting All Mutual Funds
    *
    * @return {@link Flux<MutualFundDto>}
    */
-  @GetMapping(name = GET_MUTUAL_FUNDS, path = MUTUAL_FUNDS_URL, produces = APPLICATION_JSON_VALUE)
+  @GetMapping(
+      name = GET_MUTUAL_FUNDS,
+      path = MUTUAL_FUNDS_URL,
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
   public Flux<MutualFundDto> getMutualFunds() {
     log.info(LOG_MSG_EXEC_API, GET_MUTUAL_FUNDS);
     return investmentService.getMutualFunds();
@@ -125,8 +360,8 @@ public class InvestmentController {
   @PostMapping(
       name = ADD_MUTUAL_FUND,
       path = MUTUAL_FUNDS_URL,
-      consumes = APPLICATION_JSON_VALUE,
-      produces = APPLICATION_JSON_VALUE)
+      consumes = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE},
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
   public Mono<MutualFundDto> addMutualFund(@RequestBody final MutualFundDto mutualFund) {
     log.info(LOG_MSG_EXEC_API, ADD_MUTUAL_FUND);
     return investmentService.addMutualFund(mutualFund);
@@ -141,12 +376,44 @@ public class InvestmentController {
   @GetMapping(
       name = GET_MF_BUY_TRANSACTIONS,
       path = MF_BUY_TRANSACTION_URL,
-      produces = APPLICATION_JSON_VALUE)
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
   public Flux<MutualFundBuyTransactionDto> getMutualFundBuyTransactions() {
     log.info(LOG_MSG_EXEC_API, GET_MF_BUY_TRANSACTIONS);
     return investmentService.getMutualFundBuyTransactions(Boolean.FALSE);
   }
 
+  /**
+   * Method for Getting a page of Mutual Funds Buy Transactions. Only fetched Buy transactions which
+   * are not sold out.
+   *
+   * @param size the page size, capped at {@link com.mydata.userdata.common.ApiParams#MAX_PAGE_SIZE}
+   * @param cursor the cursor from the {@code next} link of the previous page, absent for the first
+   *     page
+   * @param request the http request, used for building the {@code next} link
+   * @return {@link Mono<ResponseEntity<List<MutualFundBuyTransactionDto>>>}
+   */
+  @GetMapping(
+      name = GET_MF_BUY_TRANSACTIONS_PAGE,
+      path = MF_BUY_TRANSACTION_URL,
+      params = PAGE_SIZE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<ResponseEntity<List<MutualFundBuyTransactionDto>>> getMutualFundBuyTransactionsPage(
+      @RequestParam(PAGE_SIZE) final int size,
+      @RequestParam(name = PAGE_CURSOR, required = false) final String cursor,
+      final ServerHttpRequest request) {
+    log.info(LOG_MSG_EXEC_API, GET_MF_BUY_TRANSACTIONS_PAGE);
+    return investmentService
+        .getMutualFundBuyTransactionsPage(
+            Boolean.FALSE, KeysetCursor.decode(cursor), pageSize(size))
+        .map(page -> toResponse(page, request));
+  }
+
   /**
    * Method for Adding Mutual Funds Buy Transaction.
    *
@@ -156,13 +423,36 @@ public class InvestmentController {
   @PostMapping(
       name = ADD_MF_BUY_TRANSACTIONS,
       path = MF_BUY_TRANSACTION_URL,
-      produces = APPLICATION_JSON_VALUE)
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
   public Mono<MutualFundBuyTransactionDto> addMutualFundBuyTransaction(
       @RequestBody final MutualFundBuyTransactionDto mfBuyTransaction) {
     log.info(LOG_MSG_EXEC_API, ADD_MF_BUY_TRANSACTIONS);
     return investmentService.addMutualFundBuyTransaction(mfBuyTransaction);
   }
 
+  /**
+   * Method for adding Mutual Funds Buy Transactions in bulk. The request body is a JSON array or a
+   * stream of newline delimited JSON.
+   *
+   * @param mfBuyTransactions the mutual funds buy transactions
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  @PostMapping(
+      name = ADD_MF_BUY_TRANSACTIONS_BULK,
+      path = MF_BUY_TRANSACTION_BULK_URL,
+      consumes = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      },
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<BulkInsertResultDto> addMutualFundBuyTransactions(
+      @RequestBody final Flux<MutualFundBuyTransactionDto> mfBuyTransactions) {
+    log.info(LOG_MSG_EXEC_API, ADD_MF_BUY_TRANSACTIONS_BULK);
+    return bulkInsertService.addMutualFundBuyTransactions(mfBuyTransactions);
+  }
+
   /**
    * Method for Getting Mutual Funds Sell Transactions.
    *
@@ -171,12 +461,42 @@ public class InvestmentController {
   @GetMapping(
       name = GET_MF_SELL_TRANSACTIONS,
       path = MF_SELL_TRANSACTION_URL,
-      produces = APPLICATION_JSON_VALUE)
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
   public Flux<MutualFundSellTransactionDto> getMutualFundSellTransactions() {
     log.info(LOG_MSG_EXEC_API, GET_MF_SELL_TRANSACTIONS);
     return investmentService.getMutualFundSellTransactions();
   }
 
+  /**
+   * Method for Getting a page of Mutual Funds Sell Transactions
+   *
+   * @param size the page size, capped at {@link com.mydata.userdata.common.ApiParams#MAX_PAGE_SIZE}
+   * @param cursor the cursor from the {@code next} link of the previous page, absent for the first
+   *     page
+   * @param request the http request, used for building the {@code next} link
+   * @return {@link Mono<ResponseEntity<List<MutualFundSellTransactionDto>>>}
+   */
+  @GetMapping(
+      name = GET_MF_SELL_TRANSACTIONS_PAGE,
+      path = MF_SELL_TRANSACTION_URL,
+      params = PAGE_SIZE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<ResponseEntity<List<MutualFundSellTransactionDto>>> getMutualFundSellTransactionsPage(
+      @RequestParam(PAGE_SIZE) final int size,
+      @RequestParam(name = PAGE_CURSOR, required = false) final String cursor,
+      final ServerHttpRequest request) {
+    log.info(LOG_MSG_EXEC_API, GET_MF_SELL_TRANSACTIONS_PAGE);
+    return investmentService
+        .getMutualFundSellTransactionsPage(KeysetCursor.decode(cursor), pageSize(size))
+        .map(page -> toResponse(page, request));
+  }
+
   /**
    * Method for Adding Mutual Funds Sell Transaction.
    *
@@ -186,13 +506,70 @@ public class InvestmentController {
   @PostMapping(
       name = ADD_MF_SELL_TRANSACTIONS,
       path = MF_SELL_TRANSACTION_URL,
-      produces = APPLICATION_JSON_VALUE)
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
   public Mono<MutualFundSellTransactionDto> addMutualFundSellTransaction(
       @RequestBody final MutualFundSellTransactionDto mfSellTransaction) {
     log.info(LOG_MSG_EXEC_API, ADD_MF_SELL_TRANSACTIONS);
     return investmentService.addMutualFundSellTransaction(mfSellTransaction);
   }
 
+  /**
+   * Method for Getting the Mutual Funds Holdings, the open units and their cost per fund
+   *
+   * @return {@link Flux<MutualFundPositionDto>}
+   */
+  @GetMapping(
+      name = GET_MF_HOLDINGS,
+      path = MF_HOLDINGS_URL,
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
+  public Flux<MutualFundPositionDto> getMutualFundHoldings() {
+    log.info(LOG_MSG_EXEC_API, GET_MF_HOLDINGS);
+    return mutualFundHoldingService.getMutualFundHoldings();
+  }
+
+  /**
+   * Method for Rebuilding the Mutual Funds Holdings from the buy transactions
+   *
+   * @return {@link Mono<MutualFundHoldingRebuildDto>}
+   */
+  @PostMapping(
+      name = REBUILD_MF_HOLDINGS,
+      path = MF_HOLDINGS_REBUILD_URL,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<MutualFundHoldingRebuildDto> rebuildMutualFundHoldings() {
+    log.info(LOG_MSG_EXEC_API, REBUILD_MF_HOLDINGS);
+    return mutualFundHoldingService.rebuildMutualFundHoldings();
+  }
+
+  /**
+   * Method for adding Mutual Funds Sell Transactions in bulk. The request body is a JSON array or a
+   * stream of newline delimited JSON.
+   *
+   * @param mfSellTransactions the mutual funds sell transactions
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  @PostMapping(
+      name = ADD_MF_SELL_TRANSACTIONS_BULK,
+      path = MF_SELL_TRANSACTION_BULK_URL,
+      consumes = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      },
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<BulkInsertResultDto> addMutualFundSellTransactions(
+      @RequestBody final Flux<MutualFundSellTransactionDto> mfSellTransactions) {
+    log.info(LOG_MSG_EXEC_API, ADD_MF_SELL_TRANSACTIONS_BULK);
+    return bulkInsertService.addMutualFundSellTransactions(mfSellTransactions);
+  }
+
   /**
    * Method for Getting All Saving Accounts
    *
@@ -201,12 +578,42 @@ public class InvestmentController {
   @GetMapping(
       name = GET_SAVING_ACCOUNTS,
       path = SAVING_ACCOUNTS_URL,
-      produces = APPLICATION_JSON_VALUE)
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
   public Flux<AccountDto> getSavingAccounts() {
     log.info(LOG_MSG_EXEC_API, GET_SAVING_ACCOUNTS);
     return investmentService.getSavingAccounts();
   }
 
+  /**
+   * Method for Getting a page of Saving Accounts
+   *
+   * @param size the page size, capped at {@link com.mydata.userdata.common.ApiParams#MAX_PAGE_SIZE}
+   * @param cursor the cursor from the {@code next} link of the previous page, absent for the first
+   *     page
+   * @param request the http request, used for building the {@code next} link
+   * @return {@link Mono<ResponseEntity<List<AccountDto>>>}
+   */
+  @GetMapping(
+      name = GET_SAVING_ACCOUNTS_PAGE,
+      path = SAVING_ACCOUNTS_URL,
+      params = PAGE_SIZE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<ResponseEntity<List<AccountDto>>> getSavingAccountsPage(
+      @RequestParam(PAGE_SIZE) final int size,
+      @RequestParam(name = PAGE_CURSOR, required = false) final String cursor,
+      final ServerHttpRequest request) {
+    log.info(LOG_MSG_EXEC_API, GET_SAVING_ACCOUNTS_PAGE);
+    return investmentService
+        .getSavingAccountsPage(KeysetCursor.decode(cursor), pageSize(size))
+        .map(page -> toResponse(page, request));
+  }
+
   /**
    * Method for adding a Saving Accounts
    *
@@ -215,19 +622,51 @@ public class InvestmentController {
   @PostMapping(
       name = ADD_SAVING_ACCOUNT,
       path = SAVING_ACCOUNTS_URL,
-      consumes = APPLICATION_JSON_VALUE,
-      produces = APPLICATION_JSON_VALUE)
+      consumes = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE},
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
   public Mono<AccountDto> addSavingAccount(@RequestBody final AccountDto savingAccount) {
     log.info(LOG_MSG_EXEC_API, ADD_SAVING_ACCOUNT);
     return investmentService.addSavingAccount(savingAccount);
   }
 
+  /**
+   * Method for adding Saving Accounts in bulk. The request body is a JSON array or a stream of
+   * newline delimited JSON.
+   *
+   * @param savingAccounts the saving accounts
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  @PostMapping(
+      name = ADD_SAVING_ACCOUNTS_BULK,
+      path = SAVING_ACCOUNTS_BULK_URL,
+      consumes = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      },
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<BulkInsertResultDto> addSavingAccounts(
+      @RequestBody final Flux<AccountDto> savingAccounts) {
+    log.info(LOG_MSG_EXEC_API, ADD_SAVING_ACCOUNTS_BULK);
+    return bulkInsertService.addSavingAccounts(savingAccounts);
+  }
+
   /**
    * Method for Getting All Stocks
    *
    * @return {@link Flux<StockDto>}
    */
-  @GetMapping(name = GET_STOCKS, path = STOCKS_URL, produces = APPLICATION_JSON_VALUE)
+  @GetMapping(
+      name = GET_STOCKS,
+      path = STOCKS_URL,
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
   public Flux<StockDto> getStocks() {
     log.info(LOG_MSG_EXEC_API, GET_STOCKS);
     return investmentService.getStocks();
@@ -241,10 +680,545 @@ public class InvestmentController {
   @PostMapping(
       name = ADD_STOCK,
       path = STOCKS_URL,
-      consumes = APPLICATION_JSON_VALUE,
-      produces = APPLICATION_JSON_VALUE)
+      consumes = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE},
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
   public Mono<StockDto> addStock(@RequestBody final StockDto stock) {
     log.info(LOG_MSG_EXEC_API, ADD_STOCK);
     return investmentService.addStock(stock);
   }
+
+  /**
+   * Method for adding Stocks in bulk. The request body is a JSON array or a stream of newline
+   * delimited JSON.
+   *
+   * @param stocks the stocks
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  @PostMapping(
+      name = ADD_STOCKS_BULK,
+      path = STOCKS_BULK_URL,
+      consumes = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      },
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<BulkInsertResultDto> addStocks(@RequestBody final Flux<StockDto> stocks) {
+    log.info(LOG_MSG_EXEC_API, ADD_STOCKS_BULK);
+    return bulkInsertService.addStocks(stocks);
+  }
+
+  /**
+   * Method for Getting Stocks Buy Transactions. Only fetched Buy transactions which are not sold
+   * out.
+   *
+   * @return {@link Flux<StockBuyTransactionDto>}
+   */
+  @GetMapping(
+      name = GET_STOCK_BUY_TRANSACTIONS,
+      path = STOCK_BUY_TRANSACTION_URL,
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
+  public Flux<StockBuyTransactionDto> getStockBuyTransactions() {
+    log.info(LOG_MSG_EXEC_API, GET_STOCK_BUY_TRANSACTIONS);
+    return investmentService.getStockBuyTransactions(Boolean.FALSE);
+  }
+
+  /**
+   * Method for Getting a page of Stocks Buy Transactions. Only fetched Buy transactions which are
+   * not sold out.
+   *
+   * @param size the page size, capped at {@link com.mydata.userdata.common.ApiParams#MAX_PAGE_SIZE}
+   * @param cursor the cursor from the {@code next} link of the previous page, absent for the first
+   *     page
+   * @param request the http request, used for building the {@code next} link
+   * @return {@link Mono<ResponseEntity<List<StockBuyTransactionDto>>>}
+   */
+  @GetMapping(
+      name = GET_STOCK_BUY_TRANSACTIONS_PAGE,
+      path = STOCK_BUY_TRANSACTION_URL,
+      params = PAGE_SIZE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<ResponseEntity<List<StockBuyTransactionDto>>> getStockBuyTransactionsPage(
+      @RequestParam(PAGE_SIZE) final int size,
+      @RequestParam(name = PAGE_CURSOR, required = false) final String cursor,
+      final ServerHttpRequest request) {
+    log.info(LOG_MSG_EXEC_API, GET_STOCK_BUY_TRANSACTIONS_PAGE);
+    return investmentService
+        .getStockBuyTransactionsPage(Boolean.FALSE, KeysetCursor.decode(cursor), pageSize(size))
+        .map(page -> toResponse(page, request));
+  }
+
+  /**
+   * Method for Adding Stocks Buy Transaction.
+   *
+   * @param stockBuyTransaction the stock buy transaction
+   * @return {@link Mono<StockBuyTransactionDto>}
+   */
+  @PostMapping(
+      name = ADD_STOCK_BUY_TRANSACTIONS,
+      path = STOCK_BUY_TRANSACTION_URL,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<StockBuyTransactionDto> addStockBuyTransaction(
+      @RequestBody final StockBuyTransactionDto stockBuyTransaction) {
+    log.info(LOG_MSG_EXEC_API, ADD_STOCK_BUY_TRANSACTIONS);
+    return investmentService.addStockBuyTransaction(stockBuyTransaction);
+  }
+
+  /**
+   * Method for adding Stocks Buy Transactions in bulk. The request body is a JSON array or a stream
+   * of newline delimited JSON, so a day of trades is imported with batched inserts.
+   *
+   * @param stockBuyTransactions the stocks buy transactions
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  @PostMapping(
+      name = ADD_STOCK_BUY_TRANSACTIONS_BULK,
+      path = STOCK_BUY_TRANSACTION_BULK_URL,
+      consumes = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      },
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<BulkInsertResultDto> addStockBuyTransactions(
+      @RequestBody final Flux<StockBuyTransactionDto> stockBuyTransactions) {
+    log.info(LOG_MSG_EXEC_API, ADD_STOCK_BUY_TRANSACTIONS_BULK);
+    return bulkInsertService.addStockBuyTransactions(stockBuyTransactions);
+  }
+
+  /**
+   * Method for Getting Stocks Sell Transactions.
+   *
+   * @return {@link Flux<StockSellTransactionDto>}
+   */
+  @GetMapping(
+      name = GET_STOCK_SELL_TRANSACTIONS,
+      path = STOCK_SELL_TRANSACTION_URL,
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
+  public Flux<StockSellTransactionDto> getStockSellTransactions() {
+    log.info(LOG_MSG_EXEC_API, GET_STOCK_SELL_TRANSACTIONS);
+    return investmentService.getStockSellTransactions();
+  }
+
+  /**
+   * Method for Getting a page of Stocks Sell Transactions
+   *
+   * @param size the page size, capped at {@link com.mydata.userdata.common.ApiParams#MAX_PAGE_SIZE}
+   * @param cursor the cursor from the {@code next} link of the previous page, absent for the first
+   *     page
+   * @param request the http request, used for building the {@code next} link
+   * @return {@link Mono<ResponseEntity<List<StockSellTransactionDto>>>}
+   */
+  @GetMapping(
+      name = GET_STOCK_SELL_TRANSACTIONS_PAGE,
+      path = STOCK_SELL_TRANSACTION_URL,
+      params = PAGE_SIZE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<ResponseEntity<List<StockSellTransactionDto>>> getStockSellTransactionsPage(
+      @RequestParam(PAGE_SIZE) final int size,
+      @RequestParam(name = PAGE_CURSOR, required = false) final String cursor,
+      final ServerHttpRequest request) {
+    log.info(LOG_MSG_EXEC_API, GET_STOCK_SELL_TRANSACTIONS_PAGE);
+    return investmentService
+        .getStockSellTransactionsPage(KeysetCursor.decode(cursor), pageSize(size))
+        .map(page -> toResponse(page, request));
+  }
+
+  /**
+   * Method for Adding Stocks Sell Transaction, matched FIFO to the open buy lots of the stock.
+   *
+   * @param stockSellTransaction the stock sell transaction
+   * @return {@link Mono<StockSellTransactionDto>}
+   */
+  @PostMapping(
+      name = ADD_STOCK_SELL_TRANSACTIONS,
+      path = STOCK_SELL_TRANSACTION_URL,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<StockSellTransactionDto> addStockSellTransaction(
+      @RequestBody final StockSellTransactionDto stockSellTransaction) {
+    log.info(LOG_MSG_EXEC_API, ADD_STOCK_SELL_TRANSACTIONS);
+    return investmentService.addStockSellTransaction(stockSellTransaction);
+  }
+
+  /**
+   * Method for adding Stocks Sell Transactions in bulk. The request body is a JSON array or a
+   * stream of newline delimited JSON. The sells are stored as given, without matching them to the
+   * buy lots.
+   *
+   * @param stockSellTransactions the stocks sell transactions
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  @PostMapping(
+      name = ADD_STOCK_SELL_TRANSACTIONS_BULK,
+      path = STOCK_SELL_TRANSACTION_BULK_URL,
+      consumes = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      },
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<BulkInsertResultDto> addStockSellTransactions(
+      @RequestBody final Flux<StockSellTransactionDto> stockSellTransactions) {
+    log.info(LOG_MSG_EXEC_API, ADD_STOCK_SELL_TRANSACTIONS_BULK);
+    return bulkInsertService.addStockSellTransactions(stockSellTransactions);
+  }
+
+  /**
+   * Method for Getting the Investment Summary, the totals per asset class and the open units per
+   * mutual fund
+   *
+   * @return {@link Mono<InvestmentSummaryDto>}
+   */
+  @GetMapping(
+      name = GET_INVESTMENT_SUMMARY,
+      path = SUMMARY_URL,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<InvestmentSummaryDto> getInvestmentSummary() {
+    log.info(LOG_MSG_EXEC_API, GET_INVESTMENT_SUMMARY);
+    return investmentSummaryService.getInvestmentSummary();
+  }
+
+  /**
+   * Method for Getting the Portfolio Valuation, every mutual fund and stock holding at its latest
+   * price
+   *
+   * @return {@link Mono<PortfolioValuationDto>}
+   */
+  @GetMapping(
+      name = GET_PORTFOLIO_VALUATION,
+      path = VALUATION_URL,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<PortfolioValuationDto> getPortfolioValuation() {
+    log.info(LOG_MSG_EXEC_API, GET_PORTFOLIO_VALUATION);
+    return valuationService.getPortfolioValuation();
+  }
+
+  /**
+   * Method for streaming the Portfolio Valuation. The first valuation has every holding, the next
+   * ones are pushed when the portfolio is revalued, with the holdings which changed.
+   *
+   * @return {@link Flux<PortfolioValuationDto>}
+   */
+  @GetMapping(
+      name = GET_PORTFOLIO_VALUATION_UPDATES,
+      path = VALUATION_URL,
+      produces = {
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
+  public Flux<PortfolioValuationDto> getPortfolioValuationUpdates() {
+    log.info(LOG_MSG_EXEC_API, GET_PORTFOLIO_VALUATION_UPDATES);
+    return valuationService.getPortfolioValuationUpdates();
+  }
+
+  /**
+   * Method for getting the Portfolio Returns, the annualized return of every mutual fund and of all
+   * of them together
+   *
+   * @return {@link Mono<PortfolioReturnsDto>}
+   */
+  @GetMapping(
+      name = GET_PORTFOLIO_RETURNS,
+      path = RETURNS_URL,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<PortfolioReturnsDto> getPortfolioReturns() {
+    log.info(LOG_MSG_EXEC_API, GET_PORTFOLIO_RETURNS);
+    return valuationService.getPortfolioReturns();
+  }
+
+  /**
+   * Method for getting the Mutual Funds Capital Gains of a range of financial years, streamed as
+   * they are read
+   *
+   * @param fromYear the year the first financial year starts in
+   * @param toYear the year the last financial year starts in
+   * @return {@link Flux<CapitalGainDto>}
+   */
+  @GetMapping(
+      name = GET_MF_CAPITAL_GAINS,
+      path = MF_CAPITAL_GAINS_URL,
+      params = {FROM_YEAR, TO_YEAR},
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
+  public Flux<CapitalGainDto> getMutualFundCapitalGains(
+      @RequestParam(FROM_YEAR) final int fromYear, @RequestParam(TO_YEAR) final int toYear) {
+    log.info(LOG_MSG_EXEC_API, GET_MF_CAPITAL_GAINS);
+    return capitalGainsService.getMutualFundCapitalGains(fromYear, toYear);
+  }
+
+  /**
+   * Method for getting the Mutual Funds Capital Gains of a range of financial years as a CSV file,
+   * streamed as it is written
+   *
+   * @param fromYear the year the first financial year starts in
+   * @param toYear the year the last financial year starts in
+   * @return {@link Flux<String>}, the CSV lines
+   */
+  @GetMapping(
+      name = GET_MF_CAPITAL_GAINS_CSV,
+      path = MF_CAPITAL_GAINS_URL,
+      params = {FROM_YEAR, TO_YEAR},
+      produces = TEXT_CSV_VALUE)
+  public Flux<String> getMutualFundCapitalGainsCsv(
+      @RequestParam(FROM_YEAR) final int fromYear, @RequestParam(TO_YEAR) final int toYear) {
+    log.info(LOG_MSG_EXEC_API, GET_MF_CAPITAL_GAINS_CSV);
+    return capitalGainsService.getMutualFundCapitalGainsCsv(fromYear, toYear);
+  }
+
+  /**
+   * Method for importing Mutual Funds Buy Transactions from a CSV statement streamed as the request
+   * body. The file is parsed while it is uploaded, see {@link
+   * com.mydata.userdata.csv.TradeCsvFormats#MUTUAL_FUND_BUY_TRANSACTION} for its layout.
+   *
+   * @param csv the CSV file content
+   * @return {@link Mono<TradeImportResultDto>}
+   */
+  @PostMapping(
+      name = IMPORT_MF_BUY_TRANSACTIONS,
+      path = MF_BUY_TRANSACTION_IMPORT_URL,
+      consumes = TEXT_CSV_VALUE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<TradeImportResultDto> importMutualFundBuyTransactions(
+      @RequestBody final Flux<DataBuffer> csv) {
+    log.info(LOG_MSG_EXEC_API, IMPORT_MF_BUY_TRANSACTIONS);
+    return tradeImportService.importMutualFundBuyTransactions(csv);
+  }
+
+  /**
+   * Method for importing Mutual Funds Buy Transactions from a CSV statement uploaded as the {@code
+   * file} part of a multipart form
+   *
+   * @param file the CSV file
+   * @return {@link Mono<TradeImportResultDto>}
+   */
+  @PostMapping(
+      name = IMPORT_MF_BUY_TRANSACTIONS_FILE,
+      path = MF_BUY_TRANSACTION_IMPORT_URL,
+      consumes = MULTIPART_FORM_DATA_VALUE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<TradeImportResultDto> importMutualFundBuyTransactionsFile(
+      @RequestPart(IMPORT_FILE) final Mono<FilePart> file) {
+    log.info(LOG_MSG_EXEC_API, IMPORT_MF_BUY_TRANSACTIONS_FILE);
+    return tradeImportService.importMutualFundBuyTransactions(file.flatMapMany(FilePart::content));
+  }
+
+  /**
+   * Method for importing Stocks Buy Transactions from a CSV contract note streamed as the request
+   * body. The file is parsed while it is uploaded, see {@link
+   * com.mydata.userdata.csv.TradeCsvFormats#STOCK_BUY_TRANSACTION} for its layout.
+   *
+   * @param csv the CSV file content
+   * @return {@link Mono<TradeImportResultDto>}
+   */
+  @PostMapping(
+      name = IMPORT_STOCK_BUY_TRANSACTIONS,
+      path = STOCK_BUY_TRANSACTION_IMPORT_URL,
+      consumes = TEXT_CSV_VALUE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<TradeImportResultDto> importStockBuyTransactions(
+      @RequestBody final Flux<DataBuffer> csv) {
+    log.info(LOG_MSG_EXEC_API, IMPORT_STOCK_BUY_TRANSACTIONS);
+    return tradeImportService.importStockBuyTransactions(csv);
+  }
+
+  /**
+   * Method for importing Stocks Buy Transactions from a CSV contract note uploaded as the {@code
+   * file} part of a multipart form
+   *
+   * @param file the CSV file
+   * @return {@link Mono<TradeImportResultDto>}
+   */
+  @PostMapping(
+      name = IMPORT_STOCK_BUY_TRANSACTIONS_FILE,
+      path = STOCK_BUY_TRANSACTION_IMPORT_URL,
+      consumes = MULTIPART_FORM_DATA_VALUE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<TradeImportResultDto> importStockBuyTransactionsFile(
+      @RequestPart(IMPORT_FILE) final Mono<FilePart> file) {
+    log.info(LOG_MSG_EXEC_API, IMPORT_STOCK_BUY_TRANSACTIONS_FILE);
+    return tradeImportService.importStockBuyTransactions(file.flatMapMany(FilePart::content));
+  }
+
+  /**
+   * Method for Getting the NAV of a Mutual Fund on a day, the last NAV published on or before it
+   *
+   * @param code the mutual fund code
+   * @param date the day
+   * @return {@link Mono<PriceDto>}
+   */
+  @GetMapping(
+      name = GET_MF_PRICE,
+      path = MF_PRICES_URL,
+      params = PRICE_DATE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<PriceDto> getMutualFundPrice(
+      @RequestParam(PRICE_CODE) final String code,
+      @RequestParam(PRICE_DATE) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          final LocalDate date) {
+    log.info(LOG_MSG_EXEC_API, GET_MF_PRICE);
+    return priceHistoryService.getPrice(PriceKind.MUTUAL_FUND, code, date);
+  }
+
+  /**
+   * Method for Getting the NAVs of a Mutual Fund published between two days
+   *
+   * @param code the mutual fund code
+   * @param from the first day, inclusive
+   * @param to the last day, inclusive
+   * @return {@link Flux<PriceDto>}
+   */
+  @GetMapping(
+      name = GET_MF_PRICES,
+      path = MF_PRICES_URL,
+      params = {PRICE_FROM, PRICE_TO},
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
+  public Flux<PriceDto> getMutualFundPrices(
+      @RequestParam(PRICE_CODE) final String code,
+      @RequestParam(PRICE_FROM) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate from,
+      @RequestParam(PRICE_TO) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate to) {
+    log.info(LOG_MSG_EXEC_API, GET_MF_PRICES);
+    return priceHistoryService.getPrices(PriceKind.MUTUAL_FUND, code, from, to);
+  }
+
+  /**
+   * Method for ingesting the NAVs of an AMFI NAV file in the price inbox, like the daily {@code
+   * NAVAll.txt}. The NAVs of the known mutual funds are appended to their history.
+   *
+   * @param file the name of the file in the inbox
+   * @return {@link Mono<PriceIngestResultDto>}
+   */
+  @PostMapping(
+      name = INGEST_MF_PRICES,
+      path = MF_PRICES_INGEST_URL,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<PriceIngestResultDto> ingestMutualFundPrices(
+      @RequestParam(PRICE_FILE) final String file) {
+    log.info(LOG_MSG_EXEC_API, INGEST_MF_PRICES);
+    return priceHistoryService.ingest(PriceKind.MUTUAL_FUND, file);
+  }
+
+  /**
+   * Method for Getting the close price of a Stock on a day, the last close on or before it
+   *
+   * @param code the stock code
+   * @param date the day
+   * @return {@link Mono<PriceDto>}
+   */
+  @GetMapping(
+      name = GET_STOCK_PRICE,
+      path = STOCK_PRICES_URL,
+      params = PRICE_DATE,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<PriceDto> getStockPrice(
+      @RequestParam(PRICE_CODE) final String code,
+      @RequestParam(PRICE_DATE) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          final LocalDate date) {
+    log.info(LOG_MSG_EXEC_API, GET_STOCK_PRICE);
+    return priceHistoryService.getPrice(PriceKind.STOCK, code, date);
+  }
+
+  /**
+   * Method for Getting the close prices of a Stock between two days
+   *
+   * @param code the stock code
+   * @param from the first day, inclusive
+   * @param to the last day, inclusive
+   * @return {@link Flux<PriceDto>}
+   */
+  @GetMapping(
+      name = GET_STOCK_PRICES,
+      path = STOCK_PRICES_URL,
+      params = {PRICE_FROM, PRICE_TO},
+      produces = {
+        APPLICATION_JSON_VALUE,
+        APPLICATION_NDJSON_VALUE,
+        TEXT_EVENT_STREAM_VALUE,
+        APPLICATION_SMILE_VALUE,
+        APPLICATION_STREAM_SMILE_VALUE
+      })
+  public Flux<PriceDto> getStockPrices(
+      @RequestParam(PRICE_CODE) final String code,
+      @RequestParam(PRICE_FROM) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate from,
+      @RequestParam(PRICE_TO) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate to) {
+    log.info(LOG_MSG_EXEC_API, GET_STOCK_PRICES);
+    return priceHistoryService.getPrices(PriceKind.STOCK, code, from, to);
+  }
+
+  /**
+   * Method for ingesting the close prices of an AMFI-style price file in the price inbox, with
+   * {@code Symbol}, {@code Close Price} and {@code Date} columns. The prices of the known stocks
+   * are appended to their history.
+   *
+   * @param file the name of the file in the inbox
+   * @return {@link Mono<PriceIngestResultDto>}
+   */
+  @PostMapping(
+      name = INGEST_STOCK_PRICES,
+      path = STOCK_PRICES_INGEST_URL,
+      produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+  public Mono<PriceIngestResultDto> ingestStockPrices(@RequestParam(PRICE_FILE) final String file) {
+    log.info(LOG_MSG_EXEC_API, INGEST_STOCK_PRICES);
+    return priceHistoryService.ingest(PriceKind.STOCK, file);
+  }
+
+  /**
+   * Validate the requested page size and cap it at {@link
+   * com.mydata.userdata.common.ApiParams#MAX_PAGE_SIZE}
+   *
+   * @param size the requested page size
+   * @return the page size to fetch
+   */
+  private static int pageSize(final int size) {
+    if (size < MIN_PAGE_SIZE) {
+      throw new ServerWebInputException("Invalid page size : " + size);
+    }
+    return Math.min(size, MAX_PAGE_SIZE);
+  }
+
+  /**
+   * Create the response for a page, with a {@code Link} header to the next page if there is one
+   *
+   * @param page the page
+   * @param request the http request of the page
+   * @param <T> the record type
+   * @return {@link ResponseEntity<List>}
+   */
+  private static <T> ResponseEntity<List<T>> toResponse(
+      final KeysetPage<T> page, final ServerHttpRequest request) {
+    var response = ResponseEntity.ok();
+    if (page.hasNext()) {
+      var next =
+          UriComponentsBuilder.fromHttpRequest(request)
+              .replaceQueryParam(PAGE_CURSOR, page.nextCursor())
+              .toUriString();
+      response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+    }
+    return response.body(page.items());
+  }
 }
@@ -0,0 +1,36 @@
+package com.mydata.userdata.csv;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * The layout of a CSV file and how its rows map to records
+ *
+ * @param columns the column names, expected in this order in the header of the file
+ * @param mapper maps a row to a record with the ids of the codes it refers to, throwing {@link
+ *     IllegalArgumentException} for an invalid row
+ * @param <T> the record type
+ */
+public record CsvFormat<T>(
+    List<String> columns, BiFunction<CsvRow, Map<String, Integer>, T> mapper) {
+
+  /**
+   * Map a row to a record
+   *
+   * @param row the row
+   * @param ids the ids by code
+   * @return {@link ParsedRow}, rejected when the row is invalid
+   */
+  public ParsedRow<T> parse(final CsvRow row, final Map<String, Integer> ids) {
+    if (row.fields().size() != columns.size()) {
+      return new ParsedRow<>(
+          row.line(), null, "Expected " + columns.size() + " fields, found " + row.fields().size());
+    }
+    try {
+      return new ParsedRow<>(row.line(), mapper.apply(row, ids), null);
+    } catch (IllegalArgumentException e) {
+      return new ParsedRow<>(row.line(), null, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.mydata.userdata.csv;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+
+/**
+ * Parse a CSV file while it is read. The content is split into lines as the buffers arrive, so only
+ * the current line is held in memory whatever the size of the file. The first line is the header,
+ * fields are separated by commas and may be quoted with double quotes.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CsvParser {
+
+  private static final char SEPARATOR = ',';
+  private static final char QUOTE = '"';
+  private static final String BYTE_ORDER_MARK = "\uFEFF";
+  private static final StringDecoder LINE_DECODER = StringDecoder.textPlainOnly();
+  private static final ResolvableType LINE_TYPE = ResolvableType.forClass(String.class);
+
+  /**
+   * Parse the rows of a CSV file, blank lines are skipped
+   *
+   * @param content the file content
+   * @param columns the expected header columns
+   * @return {@link Flux<CsvRow>}, error if the header does not have the expected columns
+   */
+  public static Flux<CsvRow> rows(final Flux<DataBuffer> content, final List<String> columns) {
+    return LINE_DECODER
+        .decode(content, LINE_TYPE, null, Map.of())
+        .index()
+        .switchOnFirst(
+            (first, lines) -> {
+              if (first.hasValue() && isHeader(first.get().getT2(), columns)) {
+                return lines.skip(1);
+              }
+              return first.isOnError()
+                  ? lines
+                  : Flux.error(
+                      new ServerWebInputException(
+                          "The CSV header should be : " + String.join(",", columns)));
+            })
+        .filter(line -> !line.getT2().isBlank())
+        .map(line -> new CsvRow(line.getT1() + 1, columns, split(line.getT2())));
+  }
+
+  /**
+   * Split a line into its fields. A quoted field may contain separators and a quote written as two
+   * quotes.
+   *
+   * @param line the line
+   * @return the fields
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  static List<String> split(final String line) {
+    var fields = new ArrayList<String>();
+    var field = new StringBuilder();
+    var quoted = false;
+    var index = 0;
+    while (index < line.length()) {
+      var current = line.charAt(index++);
+      if (quoted && QUOTE == current) {
+        if (index < line.length() && QUOTE == line.charAt(index)) {
+          field.append(QUOTE);
+          index++;
+        } else {
+          quoted = false;
+        }
+      } else if (quoted) {
+        field.append(current);
+      } else if (QUOTE == current) {
+        quoted = true;
+      } else if (SEPARATOR == current) {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(current);
+      }
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  /**
+   * Check if a line is the header with the expected columns, ignoring case and a byte order mark
+   *
+   * @param line the first line of the file
+   * @param columns the expected columns
+   * @return true if the line is the header
+   */
+  private static boolean isHeader(final String line, final List<String> columns) {
+    var header =
+        split(line.startsWith(BYTE_ORDER_MARK) ? line.substring(1) : line).stream()
+            .map(String::strip)
+            .toList();
+    return header.size() == columns.size()
+        && IntStream.range(0, header.size())
+            .allMatch(index -> header.get(index).equalsIgnoreCase(columns.get(index)));
+  }
+}
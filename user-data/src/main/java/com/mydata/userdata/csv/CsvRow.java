@@ -0,0 +1,141 @@
+package com.mydata.userdata.csv;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A data row of a CSV file. The typed getters throw {@link IllegalArgumentException} naming the
+ * column when a value is missing or invalid.
+ *
+ * @param line the line number in the file, starting from 1 for the header
+ * @param columns the column names of the file
+ * @param fields the field values of the row
+ */
+public record CsvRow(long line, List<String> columns, List<String> fields) {
+
+  private static final int ISO_DATE_LENGTH = 10;
+
+  /**
+   * Get a required text value
+   *
+   * @param index the column index
+   * @return the trimmed value
+   */
+  public String text(final int index) {
+    var value = fields.get(index).strip();
+    if (value.isEmpty()) {
+      throw invalid(index, "is required");
+    }
+    return value;
+  }
+
+  /**
+   * Get the id of a code value
+   *
+   * @param index the column index
+   * @param ids the ids by code
+   * @return the id
+   */
+  public Integer id(final int index, final Map<String, Integer> ids) {
+    var code = text(index);
+    var id = ids.get(code);
+    if (null == id) {
+      throw invalid(index, "is not known : " + code);
+    }
+    return id;
+  }
+
+  /**
+   * Get a number value greater than zero
+   *
+   * @param index the column index
+   * @param scale the number of decimal places of the column it is stored in
+   * @return the value
+   */
+  public FixedDecimal positive(final int index, final int scale) {
+    var value = number(index, scale);
+    if (value.signum() <= 0) {
+      throw invalid(index, "should be positive : " + value);
+    }
+    return value;
+  }
+
+  /**
+   * Get a number value of zero or more
+   *
+   * @param index the column index
+   * @param scale the number of decimal places of the column it is stored in
+   * @return the value
+   */
+  public FixedDecimal nonNegative(final int index, final int scale) {
+    var value = number(index, scale);
+    if (value.signum() < 0) {
+      throw invalid(index, "should not be negative : " + value);
+    }
+    return value;
+  }
+
+  /**
+   * Get a whole number value greater than zero
+   *
+   * @param index the column index
+   * @return the value
+   */
+  public Integer positiveInteger(final int index) {
+    var text = text(index);
+    try {
+      var value = Integer.valueOf(text);
+      if (value <= 0) {
+        throw invalid(index, "should be positive : " + value);
+      }
+      return value;
+    } catch (NumberFormatException e) {
+      throw invalid(index, "should be a whole number : " + text, e);
+    }
+  }
+
+  /**
+   * Get a date value, either an ISO date taken as the start of the day in UTC or an ISO instant
+   *
+   * @param index the column index
+   * @return the value
+   */
+  public Instant date(final int index) {
+    var text = text(index);
+    try {
+      return text.length() == ISO_DATE_LENGTH
+          ? LocalDate.parse(text).atStartOfDay().toInstant(ZoneOffset.UTC)
+          : Instant.parse(text);
+    } catch (DateTimeParseException e) {
+      throw invalid(index, "should be a date (yyyy-MM-dd) or an instant : " + text, e);
+    }
+  }
+
+  private FixedDecimal number(final int index, final int scale) {
+    var text = text(index);
+    FixedDecimal value;
+    try {
+      value = FixedDecimal.parse(text);
+    } catch (NumberFormatException | ArithmeticException e) {
+      throw invalid(index, "should be a number : " + text, e);
+    }
+    if (!value.fitsScale(scale)) {
+      throw invalid(index, "should have at most " + scale + " decimal places : " + text);
+    }
+    return value;
+  }
+
+  private IllegalArgumentException invalid(final int index, final String reason) {
+    return new IllegalArgumentException(columns.get(index) + " " + reason);
+  }
+
+  private IllegalArgumentException invalid(
+      final int index, final String reason, final RuntimeException cause) {
+    return new IllegalArgumentException(columns.get(index) + " " + reason, cause);
+  }
+}
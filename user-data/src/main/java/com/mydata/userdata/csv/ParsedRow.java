@@ -0,0 +1,21 @@
+package com.mydata.userdata.csv;
+
+/**
+ * A CSV row mapped to a record, or the reason it was rejected
+ *
+ * @param line the line number of the row in the file
+ * @param record the record, null when the row was rejected
+ * @param rejection the reason the row was rejected, null when it was mapped
+ * @param <T> the record type
+ */
+public record ParsedRow<T>(long line, T record, String rejection) {
+
+  /**
+   * Check if the row was rejected
+   *
+   * @return true if the row was rejected
+   */
+  public boolean isRejected() {
+    return null != rejection;
+  }
+}
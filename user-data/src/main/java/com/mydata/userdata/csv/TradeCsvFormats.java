@@ -0,0 +1,53 @@
+package com.mydata.userdata.csv;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.entity.MutualFundBuyTransaction;
+import com.mydata.userdata.entity.StockBuyTransaction;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * The CSV layouts of the trade statements which can be imported. Funds and stocks are referred to
+ * by their code, a buy date is either an ISO date or an ISO instant.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TradeCsvFormats {
+
+  private static final String CHARGE = "charge";
+  private static final String BUY_DATE = "buyDate";
+
+  /** Mutual fund buys, e.g. SIP instalments : {@code mfCode,nav,units,charge,buyDate} */
+  public static final CsvFormat<MutualFundBuyTransaction> MUTUAL_FUND_BUY_TRANSACTION =
+      new CsvFormat<>(
+          List.of("mfCode", "nav", "units", CHARGE, BUY_DATE),
+          (row, mfIds) ->
+              new MutualFundBuyTransaction(
+                  null,
+                  row.id(0, mfIds),
+                  row.positive(1, FixedDecimal.AMOUNT_SCALE),
+                  row.positive(2, FixedDecimal.UNITS_SCALE),
+                  row.nonNegative(3, FixedDecimal.AMOUNT_SCALE),
+                  row.date(4),
+                  FixedDecimal.ZERO,
+                  Boolean.FALSE,
+                  null,
+                  null));
+
+  /** Stock buys from a contract note : {@code stockCode,price,quantity,charge,buyDate} */
+  public static final CsvFormat<StockBuyTransaction> STOCK_BUY_TRANSACTION =
+      new CsvFormat<>(
+          List.of("stockCode", "price", "quantity", CHARGE, BUY_DATE),
+          (row, stockIds) ->
+              new StockBuyTransaction(
+                  null,
+                  row.id(0, stockIds),
+                  row.positive(1, FixedDecimal.AMOUNT_SCALE),
+                  row.positiveInteger(2),
+                  row.nonNegative(3, FixedDecimal.AMOUNT_SCALE),
+                  row.date(4),
+                  0,
+                  Boolean.FALSE,
+                  null,
+                  null));
+}
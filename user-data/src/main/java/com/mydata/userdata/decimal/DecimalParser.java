@@ -0,0 +1,65 @@
+package com.mydata.userdata.decimal;
+
+/**
+ * Parses a plain decimal number char by char into a scaled long. A number it cannot hold, like one
+ * with an exponent or too many digits, is left to {@link java.math.BigDecimal} by the caller.
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+final class DecimalParser {
+
+  private long unscaled;
+  private int scale;
+  private int position;
+  private boolean negative;
+  private boolean point;
+  private boolean digits;
+  private boolean valid = true;
+
+  /**
+   * Accept the next char of the number
+   *
+   * @param ch the char
+   */
+  void accept(final int ch) {
+    if (ch >= '0' && ch <= '9') {
+      digit(ch - '0');
+    } else if (ch == '.' && !point) {
+      point = true;
+    } else if ((ch == '-' || ch == '+') && position == 0) {
+      negative = ch == '-';
+    } else {
+      valid = false;
+    }
+    position++;
+  }
+
+  /**
+   * Whether the chars accepted are a number which fits in a {@link FixedDecimal}
+   *
+   * @return true if {@link #result()} can be taken
+   */
+  boolean parsed() {
+    return valid && digits && scale <= FixedDecimal.MAX_SCALE;
+  }
+
+  /**
+   * The number parsed
+   *
+   * @return {@link FixedDecimal}
+   */
+  FixedDecimal result() {
+    return FixedDecimal.of(negative ? -unscaled : unscaled, scale);
+  }
+
+  private void digit(final int digit) {
+    if (unscaled > (Long.MAX_VALUE - digit) / 10) {
+      valid = false;
+    } else {
+      unscaled = unscaled * 10 + digit;
+    }
+    digits = true;
+    if (point) {
+      scale++;
+    }
+  }
+}
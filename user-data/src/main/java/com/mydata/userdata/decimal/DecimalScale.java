@@ -0,0 +1,23 @@
+package com.mydata.userdata.decimal;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The number of decimal places of the column a {@link FixedDecimal} property is stored in. A value
+ * with more decimal places is refused by {@link FixedDecimalDeserializer} instead of being rounded
+ * by the database when it is written.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DecimalScale {
+
+  /**
+   * The number of decimal places
+   *
+   * @return the scale of the column
+   */
+  int value();
+}
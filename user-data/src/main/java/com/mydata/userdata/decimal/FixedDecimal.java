@@ -0,0 +1,244 @@
+package com.mydata.userdata.decimal;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.math.BigDecimal;
+
+/**
+ * An exact decimal number kept as a long scaled by a number of decimal places, the value of a
+ * {@code numeric(p,s)} column of a trade. The numbers are read from the database by {@link
+ * FixedDecimalCodec} and written to JSON by {@link FixedDecimalSerializer} from their digits, so no
+ * {@link String} or {@link BigDecimal} is created on the way. {@link #toBigDecimal()} is the edge
+ * to the arithmetic of the services.
+ *
+ * <p>Two numbers are equal when their values are equal, whatever their scale, so {@code 10.5} and
+ * {@code 10.50} are the same amount.
+ */
+@JsonSerialize(using = FixedDecimalSerializer.class)
+@JsonDeserialize(using = FixedDecimalDeserializer.class)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public final class FixedDecimal implements Comparable<FixedDecimal> {
+
+  /** The largest number of decimal places of a number */
+  public static final int MAX_SCALE = 18;
+
+  /** The length of a char buffer which holds any number written by {@link #toChars(char[])} */
+  public static final int MAX_CHARS = 22;
+
+  /** The number of decimal places of the amount columns, {@code numeric(12,2)} */
+  public static final int AMOUNT_SCALE = 2;
+
+  /** The number of decimal places of the mutual fund unit columns, {@code numeric(12,4)} */
+  public static final int UNITS_SCALE = 4;
+
+  public static final FixedDecimal ZERO = new FixedDecimal(0, 0);
+
+  private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (var i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private final long unscaled;
+  private final int decimals;
+
+  private FixedDecimal(final long unscaled, final int decimals) {
+    this.unscaled = unscaled;
+    this.decimals = decimals;
+  }
+
+  /**
+   * Create a number from its unscaled value
+   *
+   * @param unscaledValue the number multiplied by 10^scale
+   * @param scale the number of decimal places, from 0 to {@value #MAX_SCALE}
+   * @return {@link FixedDecimal}
+   * @throws ArithmeticException when the scale is out of range
+   */
+  public static FixedDecimal of(final long unscaledValue, final int scale) {
+    if (scale < 0 || scale > MAX_SCALE) {
+      throw new ArithmeticException("Scale out of range : " + scale);
+    }
+    return new FixedDecimal(unscaledValue, scale);
+  }
+
+  /**
+   * Create a number from a {@link BigDecimal}, keeping its scale
+   *
+   * @param value the value
+   * @return {@link FixedDecimal}
+   * @throws ArithmeticException when the value does not fit in a scaled long
+   */
+  public static FixedDecimal valueOf(final BigDecimal value) {
+    var exact = value.scale() < 0 ? value.setScale(0) : value;
+    return of(exact.unscaledValue().longValueExact(), exact.scale());
+  }
+
+  /**
+   * Parse a plain decimal number, like {@code -12.50}, keeping the decimal places written
+   *
+   * @param text the number
+   * @return {@link FixedDecimal}
+   * @throws NumberFormatException when the text is not a number
+   * @throws ArithmeticException when the number does not fit in a scaled long
+   */
+  public static FixedDecimal parse(final CharSequence text) {
+    var parser = new DecimalParser();
+    for (var i = 0; i < text.length(); i++) {
+      parser.accept(text.charAt(i));
+    }
+    return parser.parsed() ? parser.result() : valueOf(new BigDecimal(text.toString()));
+  }
+
+  /**
+   * Parse a plain decimal number from a range of chars, see {@link #parse(CharSequence)}
+   *
+   * @param chars the chars
+   * @param offset the index of the first char of the number
+   * @param length the number of chars of the number
+   * @return {@link FixedDecimal}
+   * @throws NumberFormatException when the chars are not a number
+   * @throws ArithmeticException when the number does not fit in a scaled long
+   */
+  public static FixedDecimal parse(final char[] chars, final int offset, final int length) {
+    var parser = new DecimalParser();
+    for (var i = offset; i < offset + length; i++) {
+      parser.accept(chars[i]);
+    }
+    return parser.parsed() ? parser.result() : valueOf(new BigDecimal(chars, offset, length));
+  }
+
+  /**
+   * The number multiplied by 10^{@link #scale()}
+   *
+   * @return the unscaled value
+   */
+  public long unscaledValue() {
+    return unscaled;
+  }
+
+  /**
+   * The number of decimal places
+   *
+   * @return the scale
+   */
+  public int scale() {
+    return decimals;
+  }
+
+  /**
+   * Check the number is written with a number of decimal places without rounding, the decimal
+   * places after them being zeros, so {@code 10.500} fits a scale of 2 and {@code 10.505} does not
+   *
+   * @param scale the number of decimal places
+   * @return true if the number fits the scale
+   */
+  public boolean fitsScale(final int scale) {
+    return decimals <= scale || unscaled % POWERS_OF_TEN[decimals - scale] == 0;
+  }
+
+  /**
+   * The sign of the number
+   *
+   * @return -1, 0 or 1 when the number is negative, zero or positive
+   */
+  public int signum() {
+    return Long.signum(unscaled);
+  }
+
+  /**
+   * The number as a {@link BigDecimal} of the same scale
+   *
+   * @return {@link BigDecimal}
+   */
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(unscaled, decimals);
+  }
+
+  /**
+   * Write the plain digits of the number, with at least one decimal place, so a whole number is
+   * written like {@code 10.0}
+   *
+   * @param chars the buffer, of {@value #MAX_CHARS} chars or more
+   * @return the number of chars written from the start of the buffer
+   */
+  public int toChars(final char[] chars) {
+    // the digits are taken from the negative magnitude, which also holds Long.MIN_VALUE
+    var rest = unscaled < 0 ? unscaled : -unscaled;
+    var fraction = Math.max(decimals, 1);
+    var whole = Math.max(digits(rest) - decimals, 1);
+    var length = (unscaled < 0 ? 1 : 0) + whole + 1 + fraction;
+    var position = length;
+    for (var i = decimals; i < fraction; i++) {
+      chars[--position] = '0';
+    }
+    for (var i = 0; i < decimals; i++) {
+      chars[--position] = (char) ('0' - rest % 10);
+      rest /= 10;
+    }
+    chars[--position] = '.';
+    for (var i = 0; i < whole; i++) {
+      chars[--position] = (char) ('0' - rest % 10);
+      rest /= 10;
+    }
+    if (unscaled < 0) {
+      chars[--position] = '-';
+    }
+    return length;
+  }
+
+  @Override
+  public int compareTo(final FixedDecimal other) {
+    if (decimals == other.decimals) {
+      return Long.compare(unscaled, other.unscaled);
+    }
+    try {
+      var scale = Math.max(decimals, other.decimals);
+      return Long.compare(
+          Math.multiplyExact(unscaled, POWERS_OF_TEN[scale - decimals]),
+          Math.multiplyExact(other.unscaled, POWERS_OF_TEN[scale - other.decimals]));
+    } catch (ArithmeticException e) {
+      return toBigDecimal().compareTo(other.toBigDecimal());
+    }
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    return other instanceof FixedDecimal decimal && compareTo(decimal) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    var value = unscaled;
+    var scale = decimals;
+    while (scale > 0 && value % 10 == 0) {
+      value /= 10;
+      scale--;
+    }
+    return 31 * Long.hashCode(value) + scale;
+  }
+
+  @Override
+  public String toString() {
+    var chars = new char[MAX_CHARS];
+    return new String(chars, 0, toChars(chars));
+  }
+
+  /**
+   * The number of digits of a magnitude
+   *
+   * @param negative the negative magnitude
+   * @return the number of digits, 1 for zero
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  private static int digits(final long negative) {
+    var count = 1;
+    for (var rest = negative / 10; rest != 0; rest /= 10) {
+      count++;
+    }
+    return count;
+  }
+}
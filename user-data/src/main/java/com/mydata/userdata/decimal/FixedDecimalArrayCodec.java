@@ -0,0 +1,122 @@
+package com.mydata.userdata.decimal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.r2dbc.postgresql.client.Parameter;
+import io.r2dbc.postgresql.codec.Codec;
+import io.r2dbc.postgresql.message.Format;
+import io.r2dbc.postgresql.type.PostgresqlObjectId;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Postgresql codec of one dimensional {@code numeric[]} values as {@link FixedDecimal} arrays, in
+ * the text format of the arrays, like {@code {1.5,NULL}}. It is registered with {@link
+ * FixedDecimalCodec} and also decodes the {@code numeric[]} columns read without a type, which is
+ * how the entities are read.
+ */
+@RequiredArgsConstructor
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public final class FixedDecimalArrayCodec implements Codec<Object> {
+
+  private static final int NUMERIC_ARRAY = PostgresqlObjectId.NUMERIC_ARRAY.getObjectId();
+  private static final String NULL = "NULL";
+
+  private final ByteBufAllocator allocator;
+
+  @Override
+  public boolean canDecode(final int dataType, final Format format, final Class<?> type) {
+    return NUMERIC_ARRAY == dataType
+        && Format.FORMAT_TEXT == format
+        && type.isAssignableFrom(FixedDecimal[].class);
+  }
+
+  @Override
+  public boolean canEncode(final Object value) {
+    return value instanceof FixedDecimal[];
+  }
+
+  @Override
+  public boolean canEncodeNull(final Class<?> type) {
+    return FixedDecimal[].class.equals(type);
+  }
+
+  @Override
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public Object decode(
+      final ByteBuf buffer, final int dataType, final Format format, final Class<?> type) {
+    if (null == buffer) {
+      return null;
+    }
+    var values = new ArrayList<FixedDecimal>();
+    var end = buffer.writerIndex() - 1;
+    var start = buffer.readerIndex() + 1;
+    if (start < end) {
+      for (var i = start; i <= end; i++) {
+        if (i == end || buffer.getByte(i) == ',') {
+          values.add(element(buffer, start, i));
+          start = i + 1;
+        }
+      }
+    }
+    return values.toArray(FixedDecimal[]::new);
+  }
+
+  @Override
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public Parameter encode(final Object value) {
+    var decimals = (FixedDecimal[]) value;
+    return new Parameter(
+        Format.FORMAT_TEXT,
+        NUMERIC_ARRAY,
+        Mono.fromSupplier(
+            () -> {
+              var chars = new char[FixedDecimal.MAX_CHARS];
+              var encoded = allocator.buffer(2 + decimals.length * (FixedDecimal.MAX_CHARS + 1));
+              encoded.writeByte('{');
+              for (var i = 0; i < decimals.length; i++) {
+                if (i > 0) {
+                  encoded.writeByte(',');
+                }
+                if (null == decimals[i]) {
+                  encoded.writeCharSequence(NULL, StandardCharsets.US_ASCII);
+                } else {
+                  var length = decimals[i].toChars(chars);
+                  for (var j = 0; j < length; j++) {
+                    encoded.writeByte(chars[j]);
+                  }
+                }
+              }
+              encoded.writeByte('}');
+              return encoded;
+            }));
+  }
+
+  @Override
+  public Parameter encodeNull() {
+    return new Parameter(Format.FORMAT_TEXT, NUMERIC_ARRAY, Parameter.NULL_VALUE);
+  }
+
+  /**
+   * Decode an element of the array text
+   *
+   * @param buffer the buffer of the array
+   * @param from the index of the first byte of the element
+   * @param to the index after the last byte of the element
+   * @return {@link FixedDecimal}, null for a NULL element
+   */
+  private static FixedDecimal element(final ByteBuf buffer, final int from, final int to) {
+    var text = buffer.toString(from, to - from, StandardCharsets.US_ASCII);
+    if (NULL.equals(text)) {
+      return null;
+    }
+    var parser = new DecimalParser();
+    for (var i = from; i < to; i++) {
+      parser.accept(buffer.getByte(i));
+    }
+    return parser.parsed() ? parser.result() : FixedDecimal.valueOf(new BigDecimal(text));
+  }
+}
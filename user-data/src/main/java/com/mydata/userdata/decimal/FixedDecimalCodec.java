@@ -0,0 +1,102 @@
+package com.mydata.userdata.decimal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.r2dbc.postgresql.client.Parameter;
+import io.r2dbc.postgresql.codec.Codec;
+import io.r2dbc.postgresql.extension.CodecRegistrar;
+import io.r2dbc.postgresql.message.Format;
+import io.r2dbc.postgresql.type.PostgresqlObjectId;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Postgresql codec of {@code numeric} values as {@link FixedDecimal}. The text of a value is parsed
+ * and written digit by digit on the buffers of the driver. It is registered before the codecs of
+ * the driver and also decodes the {@code numeric} columns read without a type, which is how the
+ * entities are read; a value of more than 18 digits is then decoded as a {@link BigDecimal}.
+ *
+ * <p>Only the text format is decoded, the format of the results unless the driver is forced to
+ * binary, a binary value is left to the codecs of the driver.
+ */
+@RequiredArgsConstructor
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public final class FixedDecimalCodec implements Codec<Object> {
+
+  private static final int NUMERIC = PostgresqlObjectId.NUMERIC.getObjectId();
+
+  private final ByteBufAllocator allocator;
+
+  /**
+   * The extension registering the codec, and {@link FixedDecimalArrayCodec}, on each connection
+   *
+   * @return {@link CodecRegistrar}
+   */
+  public static CodecRegistrar registrar() {
+    return (connection, allocator, registry) -> {
+      registry.addFirst(new FixedDecimalCodec(allocator));
+      registry.addFirst(new FixedDecimalArrayCodec(allocator));
+      return Mono.empty();
+    };
+  }
+
+  @Override
+  public boolean canDecode(final int dataType, final Format format, final Class<?> type) {
+    return NUMERIC == dataType
+        && Format.FORMAT_TEXT == format
+        && type.isAssignableFrom(FixedDecimal.class);
+  }
+
+  @Override
+  public boolean canEncode(final Object value) {
+    return value instanceof FixedDecimal;
+  }
+
+  @Override
+  public boolean canEncodeNull(final Class<?> type) {
+    return FixedDecimal.class.equals(type);
+  }
+
+  @Override
+  public Object decode(
+      final ByteBuf buffer, final int dataType, final Format format, final Class<?> type) {
+    if (null == buffer) {
+      return null;
+    }
+    var parser = new DecimalParser();
+    for (var i = buffer.readerIndex(); i < buffer.writerIndex(); i++) {
+      parser.accept(buffer.getByte(i));
+    }
+    if (parser.parsed()) {
+      return parser.result();
+    }
+    var value = new BigDecimal(buffer.toString(StandardCharsets.US_ASCII));
+    return FixedDecimal.class.equals(type) ? FixedDecimal.valueOf(value) : value;
+  }
+
+  @Override
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public Parameter encode(final Object value) {
+    var decimal = (FixedDecimal) value;
+    return new Parameter(
+        Format.FORMAT_TEXT,
+        NUMERIC,
+        Mono.fromSupplier(
+            () -> {
+              var chars = new char[FixedDecimal.MAX_CHARS];
+              var length = decimal.toChars(chars);
+              var encoded = allocator.buffer(length);
+              for (var i = 0; i < length; i++) {
+                encoded.writeByte(chars[i]);
+              }
+              return encoded;
+            }));
+  }
+
+  @Override
+  public Parameter encodeNull() {
+    return new Parameter(Format.FORMAT_TEXT, NUMERIC, Parameter.NULL_VALUE);
+  }
+}
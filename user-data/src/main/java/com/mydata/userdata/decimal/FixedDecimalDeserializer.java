@@ -0,0 +1,66 @@
+package com.mydata.userdata.decimal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+
+/**
+ * Reads a {@link FixedDecimal} from a JSON number, or a string holding a number, parsing the chars
+ * of the token in place. The value of a property annotated with {@link DecimalScale} is refused
+ * when it has more decimal places than its column.
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class FixedDecimalDeserializer extends StdDeserializer<FixedDecimal>
+    implements ContextualDeserializer {
+
+  private static final long serialVersionUID = 1L;
+
+  private final int maxScale;
+
+  public FixedDecimalDeserializer() {
+    this(FixedDecimal.MAX_SCALE);
+  }
+
+  private FixedDecimalDeserializer(final int maxScale) {
+    super(FixedDecimal.class);
+    this.maxScale = maxScale;
+  }
+
+  @Override
+  public JsonDeserializer<?> createContextual(
+      final DeserializationContext context, final BeanProperty property) {
+    var scale = null == property ? null : property.getAnnotation(DecimalScale.class);
+    return null == scale ? this : new FixedDecimalDeserializer(scale.value());
+  }
+
+  @Override
+  public FixedDecimal deserialize(final JsonParser parser, final DeserializationContext context)
+      throws IOException {
+    if (!parser.hasToken(JsonToken.VALUE_NUMBER_INT)
+        && !parser.hasToken(JsonToken.VALUE_NUMBER_FLOAT)
+        && !parser.hasToken(JsonToken.VALUE_STRING)) {
+      return (FixedDecimal) context.handleUnexpectedToken(FixedDecimal.class, parser);
+    }
+    FixedDecimal value;
+    try {
+      value =
+          FixedDecimal.parse(
+              parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    } catch (NumberFormatException | ArithmeticException e) {
+      throw context.weirdStringException(
+          parser.getText(), FixedDecimal.class, "not a decimal number of up to 18 digits");
+    }
+    if (!value.fitsScale(maxScale)) {
+      throw context.weirdStringException(
+          parser.getText(),
+          FixedDecimal.class,
+          "more than " + maxScale + " decimal places, the value would be rounded");
+    }
+    return value;
+  }
+}
@@ -0,0 +1,20 @@
+package com.mydata.userdata.decimal;
+
+import java.math.BigDecimal;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.lang.NonNull;
+
+/**
+ * Reads a {@code numeric} column decoded by {@link FixedDecimalCodec} into a {@link BigDecimal}
+ * property of an entity
+ */
+@ReadingConverter
+public enum FixedDecimalReadingConverter implements Converter<FixedDecimal, BigDecimal> {
+  INSTANCE;
+
+  @Override
+  public BigDecimal convert(final @NonNull FixedDecimal source) {
+    return source.toBigDecimal();
+  }
+}
@@ -0,0 +1,24 @@
+package com.mydata.userdata.decimal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/** Writes a {@link FixedDecimal} as a JSON number straight from its digits */
+public class FixedDecimalSerializer extends StdSerializer<FixedDecimal> {
+
+  private static final long serialVersionUID = 1L;
+
+  public FixedDecimalSerializer() {
+    super(FixedDecimal.class);
+  }
+
+  @Override
+  public void serialize(
+      final FixedDecimal value, final JsonGenerator generator, final SerializerProvider provider)
+      throws IOException {
+    var chars = new char[FixedDecimal.MAX_CHARS];
+    generator.writeNumber(chars, 0, value.toChars(chars));
+  }
+}
@@ -0,0 +1,10 @@
+package com.mydata.userdata.dto;
+
+/** The asset classes totalled by the investment summary */
+public enum AssetClass {
+  DEPOSIT_ACCOUNT,
+  LOAN_ACCOUNT,
+  MISCELLANEOUS,
+  SAVING_ACCOUNT,
+  MUTUAL_FUND
+}
@@ -0,0 +1,12 @@
+package com.mydata.userdata.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Asset Class Total DTO
+ *
+ * @param assetClass the asset class
+ * @param count the number of active accounts, or of funds with open units
+ * @param total the total balance, or the invested amount of the open units
+ */
+public record AssetClassTotalDto(AssetClass assetClass, Long count, BigDecimal total) {}
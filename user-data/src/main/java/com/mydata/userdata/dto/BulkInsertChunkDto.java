@@ -0,0 +1,10 @@
+package com.mydata.userdata.dto;
+
+/**
+ * Bulk Insert Chunk Result DTO
+ *
+ * @param chunk the index of the chunk, starting from 0
+ * @param records the number of records in the chunk
+ * @param inserted the number of rows inserted for the chunk
+ */
+public record BulkInsertChunkDto(Long chunk, Integer records, Long inserted) {}
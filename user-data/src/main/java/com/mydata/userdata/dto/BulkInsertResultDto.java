@@ -0,0 +1,23 @@
+package com.mydata.userdata.dto;
+
+import java.util.List;
+
+/**
+ * Bulk Insert Result DTO
+ *
+ * @param inserted the total number of rows inserted
+ * @param chunks the result of every chunk, in the order they were written
+ */
+public record BulkInsertResultDto(Long inserted, List<BulkInsertChunkDto> chunks) {
+
+  /**
+   * Create the result from the chunk results
+   *
+   * @param chunks the chunk results
+   * @return {@link BulkInsertResultDto}
+   */
+  public static BulkInsertResultDto of(final List<BulkInsertChunkDto> chunks) {
+    return new BulkInsertResultDto(
+        chunks.stream().mapToLong(BulkInsertChunkDto::inserted).sum(), List.copyOf(chunks));
+  }
+}
@@ -0,0 +1,38 @@
+package com.mydata.userdata.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Capital Gain DTO, the gain realized on the units of a buy lot by a sell, short term or long term
+ * by their holding period. A subtotal row adds up the lots of a fund and has no sell, buy, dates or
+ * holding period.
+ *
+ * @param row the row type
+ * @param mfId the mutual fund id
+ * @param mfCode the mutual fund code
+ * @param sellId the sell transaction id
+ * @param buyId the buy transaction id of the lot
+ * @param buyDate the buy date
+ * @param soldDate the sold date
+ * @param holdingDays the days the units were held
+ * @param units the units of the lot sold
+ * @param cost the cost of the units with their share of the buy charge
+ * @param proceeds the proceeds of the units less their share of the sell charge
+ * @param shortTermGain the gain when held up to the long term holding period, zero otherwise
+ * @param longTermGain the gain when held beyond the long term holding period, zero otherwise
+ */
+public record CapitalGainDto(
+    CapitalGainRow row,
+    Integer mfId,
+    String mfCode,
+    Integer sellId,
+    Integer buyId,
+    LocalDate buyDate,
+    LocalDate soldDate,
+    Integer holdingDays,
+    BigDecimal units,
+    BigDecimal cost,
+    BigDecimal proceeds,
+    BigDecimal shortTermGain,
+    BigDecimal longTermGain) {}
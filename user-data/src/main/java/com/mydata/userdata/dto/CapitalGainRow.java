@@ -0,0 +1,9 @@
+package com.mydata.userdata.dto;
+
+/** The rows of the capital gains report */
+public enum CapitalGainRow {
+  /** The units of a buy lot realized by a sell */
+  LOT,
+  /** The total of the lots of a fund */
+  SUBTOTAL
+}
@@ -0,0 +1,11 @@
+package com.mydata.userdata.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Fund Return DTO, the annualized return of the cash flows of a mutual fund
+ *
+ * @param mfId the mutual fund id
+ * @param xirr the extended internal rate of return as a percentage, null when undefined
+ */
+public record FundReturnDto(Integer mfId, BigDecimal xirr) {}
@@ -0,0 +1,29 @@
+package com.mydata.userdata.dto;
+
+import com.mydata.userdata.price.PriceKind;
+import java.math.BigDecimal;
+
+/**
+ * Holding Valuation DTO, the open units of a mutual fund or stock valued at its latest price. A
+ * holding without price is valued at its cost. A closed holding has no open units left.
+ *
+ * @param kind the instrument kind
+ * @param id the mutual fund or stock id
+ * @param code the mutual fund or stock code
+ * @param openUnits the open units or quantity
+ * @param invested the cost of the open units
+ * @param price the latest price, null when the instrument has no price
+ * @param currentValue the open units at the latest price
+ * @param unrealizedGain the current value less the cost
+ * @param absoluteReturn the unrealized gain as a percentage of the cost
+ */
+public record HoldingValuationDto(
+    PriceKind kind,
+    Integer id,
+    String code,
+    BigDecimal openUnits,
+    BigDecimal invested,
+    BigDecimal price,
+    BigDecimal currentValue,
+    BigDecimal unrealizedGain,
+    BigDecimal absoluteReturn) {}
@@ -0,0 +1,44 @@
+package com.mydata.userdata.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Investment Summary DTO
+ *
+ * @param total the total of all asset classes, loans are negative
+ * @param assetClasses the total of every asset class
+ * @param mutualFunds the position of every mutual fund with open units
+ */
+public record InvestmentSummaryDto(
+    BigDecimal total,
+    List<AssetClassTotalDto> assetClasses,
+    List<MutualFundPositionDto> mutualFunds) {
+
+  /**
+   * Create the summary from the account totals and the mutual fund positions, the mutual funds are
+   * totalled as one more asset class
+   *
+   * @param accountTotals the total of every account asset class
+   * @param mutualFunds the mutual fund positions
+   * @return {@link InvestmentSummaryDto}
+   */
+  public static InvestmentSummaryDto of(
+      final List<AssetClassTotalDto> accountTotals, final List<MutualFundPositionDto> mutualFunds) {
+    var mutualFundTotal =
+        new AssetClassTotalDto(
+            AssetClass.MUTUAL_FUND,
+            (long) mutualFunds.size(),
+            mutualFunds.stream()
+                .map(MutualFundPositionDto::invested)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+    var assetClasses = Stream.concat(accountTotals.stream(), Stream.of(mutualFundTotal)).toList();
+    return new InvestmentSummaryDto(
+        assetClasses.stream()
+            .map(AssetClassTotalDto::total)
+            .reduce(BigDecimal.ZERO, BigDecimal::add),
+        assetClasses,
+        List.copyOf(mutualFunds));
+  }
+}
@@ -1,14 +1,16 @@
 package com.mydata.userdata.dto;
 
+import com.mydata.userdata.decimal.DecimalScale;
+import com.mydata.userdata.decimal.FixedDecimal;
 import java.time.Instant;
 
 /** Mutual Fund Buy Transaction DTO */
 public record MutualFundBuyTransactionDto(
     Integer id,
     Integer mfId,
-    Double nav,
-    Double units,
-    Double charge,
+    @DecimalScale(FixedDecimal.AMOUNT_SCALE) FixedDecimal nav,
+    @DecimalScale(FixedDecimal.UNITS_SCALE) FixedDecimal units,
+    @DecimalScale(FixedDecimal.AMOUNT_SCALE) FixedDecimal charge,
     Instant buyDate,
-    Double soldUnits,
+    @DecimalScale(FixedDecimal.UNITS_SCALE) FixedDecimal soldUnits,
     Boolean isSoldOut) {}
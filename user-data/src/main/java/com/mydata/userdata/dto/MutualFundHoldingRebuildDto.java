@@ -0,0 +1,12 @@
+package com.mydata.userdata.dto;
+
+import java.util.List;
+
+/**
+ * Mutual Fund Holding Rebuild DTO, the result of recomputing the holdings from the buy transactions
+ *
+ * @param holdings the number of rebuilt holdings
+ * @param driftedMfIds the ids of the mutual funds whose holding differed from their buy
+ *     transactions
+ */
+public record MutualFundHoldingRebuildDto(Integer holdings, List<Integer> driftedMfIds) {}
@@ -0,0 +1,14 @@
+package com.mydata.userdata.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Mutual Fund Position DTO, the open units of a fund
+ *
+ * @param mfId the mutual fund id
+ * @param openUnits the bought units not sold yet
+ * @param invested the cost of the open units, their buy nav with their share of the buy charge
+ * @param averageCost the cost of one open unit
+ */
+public record MutualFundPositionDto(
+    Integer mfId, BigDecimal openUnits, BigDecimal invested, BigDecimal averageCost) {}
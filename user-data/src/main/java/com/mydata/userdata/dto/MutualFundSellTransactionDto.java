@@ -1,5 +1,7 @@
 package com.mydata.userdata.dto;
 
+import com.mydata.userdata.decimal.DecimalScale;
+import com.mydata.userdata.decimal.FixedDecimal;
 import java.time.Instant;
 import java.util.List;
 
@@ -8,8 +10,8 @@ public record MutualFundSellTransactionDto(
     Integer id,
     Integer mfId,
     List<Object> buyIds,
-    Double nav,
-    Double units,
-    Double charge,
+    @DecimalScale(FixedDecimal.AMOUNT_SCALE) FixedDecimal nav,
+    @DecimalScale(FixedDecimal.UNITS_SCALE) FixedDecimal units,
+    @DecimalScale(FixedDecimal.AMOUNT_SCALE) FixedDecimal charge,
     Instant soldDate,
-    Double profitLoss) {}
+    @DecimalScale(FixedDecimal.AMOUNT_SCALE) FixedDecimal profitLoss) {}
@@ -0,0 +1,14 @@
+package com.mydata.userdata.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Portfolio Returns DTO, the annualized returns of the mutual fund buys and sells, the units still
+ * held count as sold at their current value
+ *
+ * @param xirr the extended internal rate of return of every cash flow as a percentage, null when
+ *     undefined
+ * @param funds the return of every mutual fund with cash flows
+ */
+public record PortfolioReturnsDto(BigDecimal xirr, List<FundReturnDto> funds) {}
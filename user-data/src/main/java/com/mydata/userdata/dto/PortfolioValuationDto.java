@@ -0,0 +1,21 @@
+package com.mydata.userdata.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Portfolio Valuation DTO, the totals of the mutual fund and stock holdings valued at their latest
+ * price
+ *
+ * @param currentValue the total current value
+ * @param invested the total cost
+ * @param unrealizedGain the total current value less the total cost
+ * @param absoluteReturn the unrealized gain as a percentage of the cost
+ * @param holdings the holdings, only the holdings which changed in a valuation update
+ */
+public record PortfolioValuationDto(
+    BigDecimal currentValue,
+    BigDecimal invested,
+    BigDecimal unrealizedGain,
+    BigDecimal absoluteReturn,
+    List<HoldingValuationDto> holdings) {}
@@ -0,0 +1,13 @@
+package com.mydata.userdata.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Price DTO, the NAV of a mutual fund or the close price of a stock on a day
+ *
+ * @param code the mutual fund or stock code
+ * @param date the day of the price
+ * @param price the price
+ */
+public record PriceDto(String code, LocalDate date, BigDecimal price) {}
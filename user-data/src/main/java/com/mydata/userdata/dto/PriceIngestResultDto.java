@@ -0,0 +1,10 @@
+package com.mydata.userdata.dto;
+
+/**
+ * Price Ingest Result DTO, the prices neither appended nor unknown were already in the history
+ *
+ * @param read the number of prices read from the file
+ * @param appended the number of prices appended to the history
+ * @param unknown the number of prices of codes which are not a known mutual fund or stock
+ */
+public record PriceIngestResultDto(Long read, Long appended, Long unknown) {}
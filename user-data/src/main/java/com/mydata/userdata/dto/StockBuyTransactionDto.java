@@ -0,0 +1,16 @@
+package com.mydata.userdata.dto;
+
+import com.mydata.userdata.decimal.DecimalScale;
+import com.mydata.userdata.decimal.FixedDecimal;
+import java.time.Instant;
+
+/** Stock Buy Transaction DTO */
+public record StockBuyTransactionDto(
+    Integer id,
+    Integer stockId,
+    @DecimalScale(FixedDecimal.AMOUNT_SCALE) FixedDecimal price,
+    Integer quantity,
+    @DecimalScale(FixedDecimal.AMOUNT_SCALE) FixedDecimal charge,
+    Instant buyDate,
+    Integer soldQuantity,
+    Boolean isSoldOut) {}
@@ -0,0 +1,17 @@
+package com.mydata.userdata.dto;
+
+import com.mydata.userdata.decimal.DecimalScale;
+import com.mydata.userdata.decimal.FixedDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/** Stock Sell Transaction DTO */
+public record StockSellTransactionDto(
+    Integer id,
+    Integer stockId,
+    List<Object> buyIds,
+    @DecimalScale(FixedDecimal.AMOUNT_SCALE) FixedDecimal price,
+    Integer quantity,
+    @DecimalScale(FixedDecimal.AMOUNT_SCALE) FixedDecimal charge,
+    Instant soldDate,
+    @DecimalScale(FixedDecimal.AMOUNT_SCALE) FixedDecimal profitLoss) {}
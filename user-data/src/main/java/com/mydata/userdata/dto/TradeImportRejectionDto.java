@@ -0,0 +1,9 @@
+package com.mydata.userdata.dto;
+
+/**
+ * Trade Import Rejection DTO
+ *
+ * @param line the line number of the rejected row in the file
+ * @param reason the reason the row was rejected
+ */
+public record TradeImportRejectionDto(Long line, String reason) {}
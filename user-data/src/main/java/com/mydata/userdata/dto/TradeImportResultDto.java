@@ -0,0 +1,38 @@
+package com.mydata.userdata.dto;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Trade Import Result DTO
+ *
+ * @param inserted the number of trades added
+ * @param duplicates the number of trades skipped as they were imported before
+ * @param rejected the number of rows rejected as invalid
+ * @param rejections the first rejected rows, with the reason they were rejected
+ */
+public record TradeImportResultDto(
+    Long inserted, Long duplicates, Long rejected, List<TradeImportRejectionDto> rejections) {
+
+  /** The result of an import without rows */
+  public static final TradeImportResultDto EMPTY = new TradeImportResultDto(0L, 0L, 0L, List.of());
+
+  /**
+   * Add the result of the next rows to this result
+   *
+   * @param next the result of the next rows
+   * @param maxRejections the maximum number of rejections kept, the rest are only counted
+   * @return {@link TradeImportResultDto}
+   */
+  public TradeImportResultDto add(final TradeImportResultDto next, final int maxRejections) {
+    return new TradeImportResultDto(
+        inserted + next.inserted(),
+        duplicates + next.duplicates(),
+        rejected + next.rejected(),
+        rejections.size() >= maxRejections || next.rejections().isEmpty()
+            ? rejections
+            : Stream.concat(rejections.stream(), next.rejections().stream())
+                .limit(maxRejections)
+                .toList());
+  }
+}
@@ -1,5 +1,6 @@
 package com.mydata.userdata.entity;
 
+import com.mydata.userdata.decimal.FixedDecimal;
 import java.time.Instant;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
@@ -11,11 +12,11 @@ import org.springframework.data.relational.core.mapping.Table;
 public record MutualFundBuyTransaction(
     @Id Integer id,
     Integer mfId,
-    Double nav,
-    Double units,
-    Double charge,
+    FixedDecimal nav,
+    FixedDecimal units,
+    FixedDecimal charge,
     Instant buyDate,
-    Double soldUnits,
+    FixedDecimal soldUnits,
     Boolean isSoldOut,
     @CreatedDate Instant createdAt,
     @LastModifiedDate Instant modifiedAt) {}
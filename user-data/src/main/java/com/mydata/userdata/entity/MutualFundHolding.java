@@ -0,0 +1,15 @@
+package com.mydata.userdata.entity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Table;
+
+/** Entity Record for Mutual Fund Holdings */
+@Table
+public record MutualFundHolding(
+    @Id Integer mfId,
+    BigDecimal openUnits,
+    BigDecimal invested,
+    @LastModifiedDate Instant modifiedAt) {}
@@ -1,5 +1,6 @@
 package com.mydata.userdata.entity;
 
+import com.mydata.userdata.decimal.FixedDecimal;
 import java.time.Instant;
 import java.util.List;
 import org.springframework.data.annotation.CreatedDate;
@@ -13,10 +14,11 @@ public record MutualFundSellTransaction(
     @Id Integer id,
     Integer mfId,
     List<Integer> buyIds,
-    Double nav,
-    Double units,
-    Double charge,
+    List<FixedDecimal> buyUnits,
+    FixedDecimal nav,
+    FixedDecimal units,
+    FixedDecimal charge,
     Instant soldDate,
-    Double profitLoss,
+    FixedDecimal profitLoss,
     @CreatedDate Instant createdAt,
     @LastModifiedDate Instant modifiedAt) {}
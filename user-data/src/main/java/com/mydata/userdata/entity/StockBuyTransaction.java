@@ -0,0 +1,22 @@
+package com.mydata.userdata.entity;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import java.time.Instant;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Table;
+
+/** Entity Record for Stock Buy Transactions */
+@Table
+public record StockBuyTransaction(
+    @Id Integer id,
+    Integer stockId,
+    FixedDecimal price,
+    Integer quantity,
+    FixedDecimal charge,
+    Instant buyDate,
+    Integer soldQuantity,
+    Boolean isSoldOut,
+    @CreatedDate Instant createdAt,
+    @LastModifiedDate Instant modifiedAt) {}
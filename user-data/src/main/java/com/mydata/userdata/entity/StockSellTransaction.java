@@ -0,0 +1,23 @@
+package com.mydata.userdata.entity;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Table;
+
+/** Entity Record for Stock Sell Transactions */
+@Table
+public record StockSellTransaction(
+    @Id Integer id,
+    Integer stockId,
+    List<Integer> buyIds,
+    FixedDecimal price,
+    Integer quantity,
+    FixedDecimal charge,
+    Instant soldDate,
+    FixedDecimal profitLoss,
+    @CreatedDate Instant createdAt,
+    @LastModifiedDate Instant modifiedAt) {}
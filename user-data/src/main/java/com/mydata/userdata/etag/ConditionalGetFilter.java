@@ -0,0 +1,47 @@
+package com.mydata.userdata.etag;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Conditional GET of the {@link VersionedList}s. A read of a list gets the ETag of its version and
+ * is answered with {@code 304 Not Modified} when the {@code If-None-Match} header matches it,
+ * before the list is queried. Any other request to a URL of a list bumps its version once the
+ * response is sent, so the write is committed before the new ETag is handed out.
+ *
+ * <p>The representations of a list in the media types of the {@code Accept} header share its ETag,
+ * so the responses vary by {@code Accept}.
+ */
+@Component
+@RequiredArgsConstructor
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class ConditionalGetFilter implements WebFilter {
+
+  private final ListVersions listVersions;
+
+  @Override
+  @NonNull
+  public Mono<Void> filter(
+      final @NonNull ServerWebExchange exchange, final @NonNull WebFilterChain chain) {
+    var request = exchange.getRequest();
+    return VersionedList.of(request.getPath().pathWithinApplication().value())
+        .map(
+            list -> {
+              if (HttpMethod.GET != request.getMethod() && HttpMethod.HEAD != request.getMethod()) {
+                return chain.filter(exchange).doFinally(signal -> listVersions.bump(list));
+              }
+              exchange.getResponse().getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+              return exchange.checkNotModified(listVersions.etag(list))
+                  ? exchange.getResponse().setComplete()
+                  : chain.filter(exchange);
+            })
+        .orElseGet(() -> chain.filter(exchange));
+  }
+}
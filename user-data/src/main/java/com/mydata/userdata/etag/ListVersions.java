@@ -0,0 +1,36 @@
+package com.mydata.userdata.etag;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.stereotype.Component;
+
+/**
+ * The version of each {@link VersionedList}, bumped by every write to the list. The weak ETag of a
+ * list is its version prefixed by the start time of the instance, so an ETag of a previous run or
+ * of another instance never matches.
+ */
+@Component
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class ListVersions {
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+  private final AtomicLongArray versions = new AtomicLongArray(VersionedList.values().length);
+
+  /**
+   * The weak ETag of the current version of a list
+   *
+   * @param list the list
+   * @return the ETag, like {@code W/"l9x2k1a0-3"}
+   */
+  public String etag(final VersionedList list) {
+    return "W/\"" + epoch + '-' + versions.get(list.ordinal()) + '"';
+  }
+
+  /**
+   * Bump the version of a list, to be called once a write to it is committed
+   *
+   * @param list the list
+   */
+  public void bump(final VersionedList list) {
+    versions.incrementAndGet(list.ordinal());
+  }
+}
@@ -0,0 +1,63 @@
+package com.mydata.userdata.etag;
+
+import static com.mydata.userdata.common.ApiUrls.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The lists served with an ETag by {@link ConditionalGetFilter}, each with the URLs which read it
+ * or write to it. The trades of an instrument kind share a version, a sell also updates the buys it
+ * is matched to and the holdings.
+ */
+public enum VersionedList {
+  DEPOSIT_ACCOUNTS(DEPOSIT_ACCOUNTS_URL, DEPOSIT_ACCOUNTS_BULK_URL),
+  LOAN_ACCOUNTS(LOAN_ACCOUNTS_URL, LOAN_ACCOUNTS_BULK_URL),
+  MISC_ACCOUNTS(MISC_ACCOUNTS_URL, MISC_ACCOUNTS_BULK_URL),
+  MUTUAL_FUNDS(MUTUAL_FUNDS_URL),
+  MUTUAL_FUND_TRADES(
+      MF_BUY_TRANSACTION_URL,
+      MF_BUY_TRANSACTION_BULK_URL,
+      MF_BUY_TRANSACTION_IMPORT_URL,
+      MF_SELL_TRANSACTION_URL,
+      MF_SELL_TRANSACTION_BULK_URL,
+      MF_HOLDINGS_URL,
+      MF_HOLDINGS_REBUILD_URL,
+      MF_CAPITAL_GAINS_URL),
+  SAVING_ACCOUNTS(SAVING_ACCOUNTS_URL, SAVING_ACCOUNTS_BULK_URL),
+  STOCKS(STOCKS_URL, STOCKS_BULK_URL),
+  STOCK_TRADES(
+      STOCK_BUY_TRANSACTION_URL,
+      STOCK_BUY_TRANSACTION_BULK_URL,
+      STOCK_BUY_TRANSACTION_IMPORT_URL,
+      STOCK_SELL_TRANSACTION_URL,
+      STOCK_SELL_TRANSACTION_BULK_URL);
+
+  private static final Map<String, VersionedList> BY_PATH = new HashMap<>();
+
+  static {
+    for (var list : values()) {
+      for (var url : list.urls) {
+        BY_PATH.put(INVESTMENT_BASE_URL + url, list);
+      }
+    }
+  }
+
+  private final String[] urls;
+
+  VersionedList(final String... urls) {
+    this.urls = urls;
+  }
+
+  /**
+   * The list read or written by a request path
+   *
+   * @param path the request path, with or without a trailing slash
+   * @return the list, empty when the path is not one of a versioned list
+   */
+  public static Optional<VersionedList> of(final String path) {
+    var trimmed = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    return Optional.ofNullable(BY_PATH.get(trimmed));
+  }
+}
@@ -0,0 +1,106 @@
+package com.mydata.userdata.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter letting through at most {@code permitsPerSecond} events a second of every
+ * logger under {@code loggerPrefix}, the rest are dropped before an event is created. The events of
+ * {@link Level#WARN} and above always pass, and so do the loggers outside the prefix.
+ *
+ * <p>It keeps the request logs of the controllers from flooding the appenders under load, a burst
+ * of requests logs its first events of every second and nothing else.
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class RateLimitingTurboFilter extends TurboFilter {
+
+  private static final long MILLIS_PER_SECOND = 1000;
+
+  private final LongSupplier clock;
+  private final Map<String, Window> windows = new ConcurrentHashMap<>();
+  private String loggerPrefix = "";
+  private int permitsPerSecond = 100;
+
+  /** Create the filter, configured by logback */
+  public RateLimitingTurboFilter() {
+    this(System::currentTimeMillis);
+  }
+
+  /**
+   * Create the filter
+   *
+   * @param clock the current time, in milliseconds
+   */
+  RateLimitingTurboFilter(final LongSupplier clock) {
+    super();
+    this.clock = clock;
+  }
+
+  /**
+   * Set the prefix of the names of the limited loggers
+   *
+   * @param loggerPrefix the prefix, like {@code com.mydata.userdata.controller}
+   */
+  public void setLoggerPrefix(final String loggerPrefix) {
+    this.loggerPrefix = loggerPrefix;
+  }
+
+  /**
+   * Set the number of events every limited logger logs in a second
+   *
+   * @param permitsPerSecond the number of events
+   */
+  public void setPermitsPerSecond(final int permitsPerSecond) {
+    this.permitsPerSecond = permitsPerSecond;
+  }
+
+  @Override
+  public FilterReply decide(
+      final Marker marker,
+      final Logger logger,
+      final Level level,
+      final String format,
+      final Object[] params,
+      final Throwable t) {
+    // the isXxxEnabled() checks have no format, only the events themselves are counted
+    if (null == format
+        || level.isGreaterOrEqual(Level.WARN)
+        || !level.isGreaterOrEqual(logger.getEffectiveLevel())
+        || !logger.getName().startsWith(loggerPrefix)) {
+      return FilterReply.NEUTRAL;
+    }
+    var second = clock.getAsLong() / MILLIS_PER_SECOND;
+    return windows.computeIfAbsent(logger.getName(), name -> new Window()).permit(second)
+            <= permitsPerSecond
+        ? FilterReply.NEUTRAL
+        : FilterReply.DENY;
+  }
+
+  /** The events of a logger in the current second */
+  private static final class Window {
+    private final AtomicLong second = new AtomicLong();
+    private final AtomicInteger events = new AtomicInteger();
+
+    /**
+     * Count an event
+     *
+     * @param now the current second
+     * @return the number of events of the current second, this one included
+     */
+    private int permit(final long now) {
+      var current = second.get();
+      if (now != current && second.compareAndSet(current, now)) {
+        events.set(0);
+      }
+      return events.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package com.mydata.userdata.lot;
+
+import com.mydata.userdata.pagination.KeysetCursor;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Matches a sell to the open lots of an instrument, first in first out. The lot queue is read in
+ * batches, the next batch is fetched only when the units are not matched by the previous ones, so a
+ * sell reads (and locks) only the lots it consumes. A sell is only matched to the lots bought by
+ * its sold date, a back dated sell never takes a later buy.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FifoLotMatcher {
+
+  /**
+   * The open lots in FIFO order, read batch by batch. A batch is fetched after the lot at the
+   * cursor, ordered by date and id, and the queue ends with an empty batch. A batch smaller than
+   * the batch size does not end it, {@code select ... for update} drops the locked rows which a
+   * concurrent sell sold out while it waited for them, and open lots can follow them.
+   *
+   * @param fetchBatch fetches the batch of lots after the cursor, limited to the batch size
+   * @param batchSize the number of lots fetched by one batch
+   * @return {@link Flux<OpenLot>}
+   */
+  public static Flux<OpenLot> openLots(
+      final BiFunction<KeysetCursor, Integer, Flux<OpenLot>> fetchBatch, final int batchSize) {
+    return openLots(fetchBatch, KeysetCursor.FIRST, batchSize);
+  }
+
+  private static Flux<OpenLot> openLots(
+      final BiFunction<KeysetCursor, Integer, Flux<OpenLot>> fetchBatch,
+      final KeysetCursor after,
+      final int batchSize) {
+    return fetchBatch
+        .apply(after, batchSize)
+        .collectList()
+        .flatMapMany(
+            batch -> {
+              if (batch.isEmpty()) {
+                return Flux.empty();
+              }
+              var last = batch.get(batch.size() - 1);
+              return Flux.fromIterable(batch)
+                  .concatWith(
+                      Flux.defer(
+                          () ->
+                              openLots(
+                                  fetchBatch,
+                                  new KeysetCursor(last.date(), last.id()),
+                                  batchSize)));
+            });
+  }
+
+  /**
+   * Match the sold units to the lots, consuming each lot fully before the next one. The lots are
+   * not read any further once the units are matched, or once a lot bought after the sold date is
+   * read.
+   *
+   * @param lots the open lots in FIFO order
+   * @param units the sold units
+   * @param soldDate the sold date, null when the sell is dated now
+   * @return {@link Mono<List<LotMatch>>}, error if the lots bought by the sold date have fewer open
+   *     units than sold
+   */
+  public static Mono<List<LotMatch>> match(
+      final Flux<OpenLot> lots, final BigDecimal units, final Instant soldDate) {
+    if (null == units || units.signum() <= 0) {
+      return Mono.error(new ServerWebInputException("Sold units should be positive : " + units));
+    }
+    return Flux.defer(
+            () -> {
+              var remaining = new AtomicReference<>(units);
+              return lots.takeWhile(lot -> boughtBy(lot, soldDate))
+                  .filter(lot -> lot.openUnits().signum() > 0)
+                  .map(
+                      lot -> {
+                        var matched = lot.openUnits().min(remaining.get());
+                        remaining.set(remaining.get().subtract(matched));
+                        return new LotMatch(lot, matched);
+                      })
+                  .takeUntil(match -> remaining.get().signum() == 0);
+            })
+        .collectList()
+        .flatMap(
+            matches -> {
+              var matched =
+                  matches.stream().map(LotMatch::units).reduce(BigDecimal.ZERO, BigDecimal::add);
+              return matched.compareTo(units) < 0
+                  ? Mono.error(
+                      new ServerWebInputException(
+                          "Not enough open units to sell "
+                              + units
+                              + (null == soldDate ? "" : " on " + soldDate)
+                              + ", open units : "
+                              + matched))
+                  : Mono.just(matches);
+            });
+  }
+
+  /**
+   * Split the lots matched to several sells of an instrument between them, in their order. The
+   * units of a lot not taken by a sell are taken by the next ones, the same as if each sell was
+   * matched to the lots left by the previous ones.
+   *
+   * @param matches the lots matched to the sum of the sold units, in FIFO order
+   * @param units the sold units of every sell
+   * @param soldDates the sold date of every sell, null when a sell is dated now
+   * @return the lots matched to every sell
+   * @throws ServerWebInputException when a sell would take a lot bought after its sold date
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public static List<List<LotMatch>> split(
+      final List<LotMatch> matches, final List<BigDecimal> units, final List<Instant> soldDates) {
+    var split = new ArrayList<List<LotMatch>>(units.size());
+    var next = 0;
+    var left = BigDecimal.ZERO;
+    for (var i = 0; i < units.size(); i++) {
+      var sellMatches = new ArrayList<LotMatch>();
+      var remaining = units.get(i);
+      while (remaining.signum() > 0) {
+        if (left.signum() == 0) {
+          left = matches.get(next++).units();
+        }
+        var lot = matches.get(next - 1).lot();
+        if (!boughtBy(lot, soldDates.get(i))) {
+          throw new ServerWebInputException(
+              "Not enough open units to sell " + units.get(i) + " on " + soldDates.get(i));
+        }
+        var taken = left.min(remaining);
+        sellMatches.add(new LotMatch(lot, taken));
+        left = left.subtract(taken);
+        remaining = remaining.subtract(taken);
+      }
+      split.add(List.copyOf(sellMatches));
+    }
+    return List.copyOf(split);
+  }
+
+  private static boolean boughtBy(final OpenLot lot, final Instant soldDate) {
+    return null == soldDate || !lot.date().isAfter(soldDate);
+  }
+}
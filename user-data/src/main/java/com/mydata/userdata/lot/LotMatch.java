@@ -0,0 +1,21 @@
+package com.mydata.userdata.lot;
+
+import java.math.BigDecimal;
+
+/**
+ * The units of a sell matched to one open lot
+ *
+ * @param lot the matched lot
+ * @param units the units sold from the lot
+ */
+public record LotMatch(OpenLot lot, BigDecimal units) {
+
+  /**
+   * The cost of the matched units
+   *
+   * @return the cost of the matched units, see {@link OpenLot#costOf(BigDecimal)}
+   */
+  public BigDecimal cost() {
+    return lot.costOf(units);
+  }
+}
@@ -0,0 +1,41 @@
+package com.mydata.userdata.lot;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+
+/**
+ * A buy lot which still has units to sell, the element of a FIFO lot queue. The buy charge is
+ * spread over the units of the lot, so a partially sold lot carries its share of the charge.
+ *
+ * @param id the id of the buy transaction
+ * @param date the buy date, the FIFO order of the lots
+ * @param units the bought units
+ * @param openUnits the units not sold yet
+ * @param price the buy price of one unit
+ * @param charge the charge paid for the buy
+ */
+public record OpenLot(
+    Integer id,
+    Instant date,
+    BigDecimal units,
+    BigDecimal openUnits,
+    BigDecimal price,
+    BigDecimal charge) {
+
+  private static final int COST_SCALE = 10;
+
+  /**
+   * The cost of selling some units of this lot, their price with their share of the buy charge
+   *
+   * @param soldUnits the units sold from this lot
+   * @return the cost of the sold units
+   */
+  public BigDecimal costOf(final BigDecimal soldUnits) {
+    var chargeShare =
+        units.signum() == 0
+            ? BigDecimal.ZERO
+            : charge.multiply(soldUnits).divide(units, COST_SCALE, RoundingMode.HALF_EVEN);
+    return price.multiply(soldUnits).add(chargeShare);
+  }
+}
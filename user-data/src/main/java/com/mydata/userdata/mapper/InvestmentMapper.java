@@ -0,0 +1,456 @@
+package com.mydata.userdata.mapper;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.dto.*;
+import com.mydata.userdata.entity.*;
+import com.mydata.userdata.lot.OpenLot;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mapper between the Investment entities and DTOs. Every mapping calls the canonical constructor of
+ * the target record directly, so no reflection or transformer is built per request.
+ *
+ * <p>DTO to entity mappings drop the id, the audit dates and mark the record as active, the same
+ * way a newly created record is expected to be persisted.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class InvestmentMapper {
+
+  private static final int AMOUNT_SCALE = 2;
+  private static final int UNITS_SCALE = 4;
+
+  /**
+   * Map a {@link DepositAccount} to {@link AccountDto}
+   *
+   * @param account the deposit account entity
+   * @return {@link AccountDto}
+   */
+  public static AccountDto toDto(final DepositAccount account) {
+    return new AccountDto(
+        account.id(),
+        account.bankName(),
+        account.branch(),
+        account.accountNumber(),
+        account.balance());
+  }
+
+  /**
+   * Map a {@link Loan} to {@link AccountDto}
+   *
+   * @param account the loan entity
+   * @return {@link AccountDto}
+   */
+  public static AccountDto toDto(final Loan account) {
+    return new AccountDto(
+        account.id(),
+        account.bankName(),
+        account.branch(),
+        account.accountNumber(),
+        account.balance());
+  }
+
+  /**
+   * Map a {@link SavingAccount} to {@link AccountDto}
+   *
+   * @param account the saving account entity
+   * @return {@link AccountDto}
+   */
+  public static AccountDto toDto(final SavingAccount account) {
+    return new AccountDto(
+        account.id(),
+        account.bankName(),
+        account.branch(),
+        account.accountNumber(),
+        account.balance());
+  }
+
+  /**
+   * Map a {@link Miscellaneous} to {@link MiscellaneousDto}
+   *
+   * @param misc the miscellaneous entity
+   * @return {@link MiscellaneousDto}
+   */
+  public static MiscellaneousDto toDto(final Miscellaneous misc) {
+    return new MiscellaneousDto(misc.id(), misc.investmentName(), misc.balance());
+  }
+
+  /**
+   * Map a {@link MutualFund} to {@link MutualFundDto}
+   *
+   * @param mf the mutual fund entity
+   * @return {@link MutualFundDto}
+   */
+  public static MutualFundDto toDto(final MutualFund mf) {
+    return new MutualFundDto(mf.id(), mf.mfCode(), mf.mfName(), mf.amc(), mf.type());
+  }
+
+  /**
+   * Map a {@link MutualFundBuyTransaction} to {@link MutualFundBuyTransactionDto}
+   *
+   * @param mfBuy the mutual fund buy transaction entity
+   * @return {@link MutualFundBuyTransactionDto}
+   */
+  public static MutualFundBuyTransactionDto toDto(final MutualFundBuyTransaction mfBuy) {
+    return new MutualFundBuyTransactionDto(
+        mfBuy.id(),
+        mfBuy.mfId(),
+        mfBuy.nav(),
+        mfBuy.units(),
+        mfBuy.charge(),
+        mfBuy.buyDate(),
+        mfBuy.soldUnits(),
+        mfBuy.isSoldOut());
+  }
+
+  /**
+   * Map a {@link MutualFundSellTransaction} to {@link MutualFundSellTransactionDto}
+   *
+   * @param mfSell the mutual fund sell transaction entity
+   * @return {@link MutualFundSellTransactionDto}
+   */
+  public static MutualFundSellTransactionDto toDto(final MutualFundSellTransaction mfSell) {
+    return new MutualFundSellTransactionDto(
+        mfSell.id(),
+        mfSell.mfId(),
+        null == mfSell.buyIds() ? null : List.copyOf(mfSell.buyIds()),
+        mfSell.nav(),
+        mfSell.units(),
+        mfSell.charge(),
+        mfSell.soldDate(),
+        mfSell.profitLoss());
+  }
+
+  /**
+   * Map a {@link StockBuyTransaction} to {@link StockBuyTransactionDto}
+   *
+   * @param stockBuy the stock buy transaction entity
+   * @return {@link StockBuyTransactionDto}
+   */
+  public static StockBuyTransactionDto toDto(final StockBuyTransaction stockBuy) {
+    return new StockBuyTransactionDto(
+        stockBuy.id(),
+        stockBuy.stockId(),
+        stockBuy.price(),
+        stockBuy.quantity(),
+        stockBuy.charge(),
+        stockBuy.buyDate(),
+        stockBuy.soldQuantity(),
+        stockBuy.isSoldOut());
+  }
+
+  /**
+   * Map a {@link StockSellTransaction} to {@link StockSellTransactionDto}
+   *
+   * @param stockSell the stock sell transaction entity
+   * @return {@link StockSellTransactionDto}
+   */
+  public static StockSellTransactionDto toDto(final StockSellTransaction stockSell) {
+    return new StockSellTransactionDto(
+        stockSell.id(),
+        stockSell.stockId(),
+        null == stockSell.buyIds() ? null : List.copyOf(stockSell.buyIds()),
+        stockSell.price(),
+        stockSell.quantity(),
+        stockSell.charge(),
+        stockSell.soldDate(),
+        stockSell.profitLoss());
+  }
+
+  /**
+   * Map a {@link MutualFundHolding} to {@link MutualFundPositionDto}, the invested amount is
+   * rounded to the scale of the amount columns
+   *
+   * @param holding the mutual fund holding entity
+   * @return {@link MutualFundPositionDto}
+   */
+  public static MutualFundPositionDto toDto(final MutualFundHolding holding) {
+    var averageCost =
+        holding.openUnits().signum() == 0
+            ? BigDecimal.ZERO
+            : holding.invested().divide(holding.openUnits(), UNITS_SCALE, RoundingMode.HALF_EVEN);
+    return new MutualFundPositionDto(
+        holding.mfId(),
+        holding.openUnits(),
+        holding.invested().setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN),
+        averageCost);
+  }
+
+  /**
+   * Map a {@link Stock} to {@link StockDto}
+   *
+   * @param stock the stock entity
+   * @return {@link StockDto}
+   */
+  public static StockDto toDto(final Stock stock) {
+    return new StockDto(
+        stock.id(), stock.stockCode(), stock.stockName(), stock.stockExchange(), stock.broker());
+  }
+
+  /**
+   * Map an {@link AccountDto} to a new {@link DepositAccount}
+   *
+   * @param dto the account dto
+   * @return {@link DepositAccount}
+   */
+  public static DepositAccount toDepositAccount(final AccountDto dto) {
+    return new DepositAccount(
+        null,
+        dto.bankName(),
+        dto.branch(),
+        dto.accountNumber(),
+        dto.balance(),
+        null,
+        null,
+        Boolean.TRUE);
+  }
+
+  /**
+   * Map an {@link AccountDto} to a new {@link Loan}
+   *
+   * @param dto the account dto
+   * @return {@link Loan}
+   */
+  public static Loan toLoan(final AccountDto dto) {
+    return new Loan(
+        null,
+        dto.bankName(),
+        dto.branch(),
+        dto.accountNumber(),
+        dto.balance(),
+        null,
+        null,
+        Boolean.TRUE);
+  }
+
+  /**
+   * Map an {@link AccountDto} to a new {@link SavingAccount}
+   *
+   * @param dto the account dto
+   * @return {@link SavingAccount}
+   */
+  public static SavingAccount toSavingAccount(final AccountDto dto) {
+    return new SavingAccount(
+        null,
+        dto.bankName(),
+        dto.branch(),
+        dto.accountNumber(),
+        dto.balance(),
+        null,
+        null,
+        Boolean.TRUE);
+  }
+
+  /**
+   * Map a {@link MiscellaneousDto} to a new {@link Miscellaneous}
+   *
+   * @param dto the miscellaneous dto
+   * @return {@link Miscellaneous}
+   */
+  public static Miscellaneous toMiscellaneous(final MiscellaneousDto dto) {
+    return new Miscellaneous(null, dto.investmentName(), dto.balance(), null, null, Boolean.TRUE);
+  }
+
+  /**
+   * Map a {@link MutualFundDto} to a new {@link MutualFund}
+   *
+   * @param dto the mutual fund dto
+   * @return {@link MutualFund}
+   */
+  public static MutualFund toMutualFund(final MutualFundDto dto) {
+    return new MutualFund(
+        null, dto.mfCode(), dto.mfName(), dto.amc(), dto.type(), null, null, Boolean.TRUE);
+  }
+
+  /**
+   * Map a {@link MutualFundBuyTransactionDto} to a new {@link MutualFundBuyTransaction}
+   *
+   * @param dto the mutual fund buy transaction dto
+   * @return {@link MutualFundBuyTransaction}
+   */
+  public static MutualFundBuyTransaction toMutualFundBuyTransaction(
+      final MutualFundBuyTransactionDto dto) {
+    return new MutualFundBuyTransaction(
+        null,
+        dto.mfId(),
+        dto.nav(),
+        dto.units(),
+        dto.charge(),
+        dto.buyDate(),
+        dto.soldUnits(),
+        dto.isSoldOut(),
+        null,
+        null);
+  }
+
+  /**
+   * Map a {@link MutualFundSellTransactionDto} to a new {@link MutualFundSellTransaction}
+   *
+   * @param dto the mutual fund sell transaction dto
+   * @return {@link MutualFundSellTransaction}
+   */
+  public static MutualFundSellTransaction toMutualFundSellTransaction(
+      final MutualFundSellTransactionDto dto) {
+    return toMutualFundSellTransaction(dto, toBuyIds(dto.buyIds()), null, dto.profitLoss());
+  }
+
+  /**
+   * Map a {@link MutualFundSellTransactionDto} to a new {@link MutualFundSellTransaction} with the
+   * buy lots and the profit / loss matched by the server
+   *
+   * @param dto the mutual fund sell transaction dto
+   * @param buyIds the ids of the matched buy transactions
+   * @param buyUnits the units taken from the matched buy transactions, in the order of the ids
+   * @param profitLoss the realized profit / loss
+   * @return {@link MutualFundSellTransaction}
+   */
+  public static MutualFundSellTransaction toMutualFundSellTransaction(
+      final MutualFundSellTransactionDto dto,
+      final List<Integer> buyIds,
+      final List<FixedDecimal> buyUnits,
+      final FixedDecimal profitLoss) {
+    return new MutualFundSellTransaction(
+        null,
+        dto.mfId(),
+        buyIds,
+        buyUnits,
+        dto.nav(),
+        dto.units(),
+        dto.charge(),
+        dto.soldDate(),
+        profitLoss,
+        null,
+        null);
+  }
+
+  /**
+   * Map an open {@link MutualFundBuyTransaction} to an {@link OpenLot}, a missing nav or sold units
+   * is zero, the default of their columns
+   *
+   * @param mfBuy the mutual fund buy transaction entity
+   * @return {@link OpenLot}
+   */
+  public static OpenLot toOpenLot(final MutualFundBuyTransaction mfBuy) {
+    var units = mfBuy.units().toBigDecimal();
+    var soldUnits = null == mfBuy.soldUnits() ? BigDecimal.ZERO : mfBuy.soldUnits().toBigDecimal();
+    return new OpenLot(
+        mfBuy.id(),
+        mfBuy.buyDate(),
+        units,
+        units.subtract(soldUnits),
+        null == mfBuy.nav() ? BigDecimal.ZERO : mfBuy.nav().toBigDecimal(),
+        mfBuy.charge().toBigDecimal());
+  }
+
+  /**
+   * Map a {@link StockBuyTransactionDto} to a new {@link StockBuyTransaction}
+   *
+   * @param dto the stock buy transaction dto
+   * @return {@link StockBuyTransaction}
+   */
+  public static StockBuyTransaction toStockBuyTransaction(final StockBuyTransactionDto dto) {
+    return new StockBuyTransaction(
+        null,
+        dto.stockId(),
+        dto.price(),
+        dto.quantity(),
+        dto.charge(),
+        dto.buyDate(),
+        dto.soldQuantity(),
+        dto.isSoldOut(),
+        null,
+        null);
+  }
+
+  /**
+   * Map a {@link StockSellTransactionDto} to a new {@link StockSellTransaction}
+   *
+   * @param dto the stock sell transaction dto
+   * @return {@link StockSellTransaction}
+   */
+  public static StockSellTransaction toStockSellTransaction(final StockSellTransactionDto dto) {
+    return toStockSellTransaction(dto, toBuyIds(dto.buyIds()), dto.profitLoss());
+  }
+
+  /**
+   * Map a {@link StockSellTransactionDto} to a new {@link StockSellTransaction} with the buy lots
+   * and the profit / loss matched by the server
+   *
+   * @param dto the stock sell transaction dto
+   * @param buyIds the ids of the matched buy transactions
+   * @param profitLoss the realized profit / loss
+   * @return {@link StockSellTransaction}
+   */
+  public static StockSellTransaction toStockSellTransaction(
+      final StockSellTransactionDto dto,
+      final List<Integer> buyIds,
+      final FixedDecimal profitLoss) {
+    return new StockSellTransaction(
+        null,
+        dto.stockId(),
+        buyIds,
+        dto.price(),
+        dto.quantity(),
+        dto.charge(),
+        dto.soldDate(),
+        profitLoss,
+        null,
+        null);
+  }
+
+  /**
+   * Map an open {@link StockBuyTransaction} to an {@link OpenLot}, missing sold quantity is zero,
+   * the default of its column
+   *
+   * @param stockBuy the stock buy transaction entity
+   * @return {@link OpenLot}
+   */
+  public static OpenLot toOpenLot(final StockBuyTransaction stockBuy) {
+    var quantity = BigDecimal.valueOf(stockBuy.quantity());
+    var soldQuantity =
+        null == stockBuy.soldQuantity()
+            ? BigDecimal.ZERO
+            : BigDecimal.valueOf(stockBuy.soldQuantity());
+    return new OpenLot(
+        stockBuy.id(),
+        stockBuy.buyDate(),
+        quantity,
+        quantity.subtract(soldQuantity),
+        stockBuy.price().toBigDecimal(),
+        stockBuy.charge().toBigDecimal());
+  }
+
+  /**
+   * Map a {@link StockDto} to a new {@link Stock}
+   *
+   * @param dto the stock dto
+   * @return {@link Stock}
+   */
+  public static Stock toStock(final StockDto dto) {
+    return new Stock(
+        null,
+        dto.stockCode(),
+        dto.stockName(),
+        dto.stockExchange(),
+        dto.broker(),
+        null,
+        null,
+        Boolean.TRUE);
+  }
+
+  /**
+   * Convert the buy ids received in the request to integer ids
+   *
+   * @param buyIds the buy ids as deserialized from the request
+   * @return list of buy ids, empty if no buy ids are present
+   */
+  private static List<Integer> toBuyIds(final List<Object> buyIds) {
+    if (null == buyIds) {
+      return List.of();
+    }
+    return buyIds.stream().map(id -> Integer.valueOf(String.valueOf(id))).toList();
+  }
+}
@@ -0,0 +1,114 @@
+package com.mydata.userdata.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.atomic.AtomicInteger;
+import reactor.core.publisher.SignalType;
+
+/**
+ * The meters of an endpoint, tagged with its name. The latencies are published with a percentile
+ * histogram, so the percentiles can be aggregated over the instances, and with the percentiles
+ * computed locally for the {@code metrics} actuator endpoint.
+ *
+ * @param api the name of the endpoint
+ * @param success the latency of the requests which completed
+ * @param failure the latency of the requests which failed
+ * @param cancelled the latency of the requests cancelled by the client
+ * @param database the time of the database stage
+ * @param serialization the time of the serialization stage
+ * @param rows the records emitted
+ * @param inFlight the requests being handled
+ */
+record EndpointMeters(
+    String api,
+    Timer success,
+    Timer failure,
+    Timer cancelled,
+    Timer database,
+    Timer serialization,
+    Counter rows,
+    AtomicInteger inFlight) {
+
+  static final String REQUESTS_METER = "investment.api.requests";
+  static final String STAGE_METER = "investment.api.stage";
+  static final String ROWS_METER = "investment.api.rows";
+  static final String IN_FLIGHT_METER = "investment.api.in.flight";
+  static final String API_TAG = "api";
+  static final String OUTCOME_TAG = "outcome";
+  static final String STAGE_TAG = "stage";
+
+  private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+  /**
+   * Register the meters of an endpoint
+   *
+   * @param registry the meter registry
+   * @param api the name of the endpoint, one of the {@link com.mydata.userdata.common.ApiNames}
+   * @return {@link EndpointMeters}
+   */
+  static EndpointMeters register(final MeterRegistry registry, final String api) {
+    return new EndpointMeters(
+        api,
+        latency(registry, api, "success"),
+        latency(registry, api, "failure"),
+        latency(registry, api, "cancelled"),
+        stage(registry, api, "database"),
+        stage(registry, api, "serialization"),
+        Counter.builder(ROWS_METER)
+            .description("Number of records emitted by the endpoint")
+            .tag(API_TAG, api)
+            .register(registry),
+        registry.gauge(IN_FLIGHT_METER, Tags.of(API_TAG, api), new AtomicInteger()));
+  }
+
+  /**
+   * The latency of the requests which ended with a signal
+   *
+   * @param signal the last signal of the response
+   * @return {@link Timer}
+   */
+  Timer latency(final SignalType signal) {
+    return switch (signal) {
+      case ON_ERROR -> failure;
+      case CANCEL -> cancelled;
+      default -> success;
+    };
+  }
+
+  /**
+   * Register the latency timer of an outcome of the endpoint
+   *
+   * @param registry the meter registry
+   * @param api the name of the endpoint
+   * @param outcome the outcome of the requests
+   * @return {@link Timer}
+   */
+  private static Timer latency(
+      final MeterRegistry registry, final String api, final String outcome) {
+    return Timer.builder(REQUESTS_METER)
+        .description("Time from the handler method returning to the response written")
+        .tags(API_TAG, api, OUTCOME_TAG, outcome)
+        .publishPercentileHistogram()
+        .publishPercentiles(PERCENTILES)
+        .register(registry);
+  }
+
+  /**
+   * Register the timer of a stage of the endpoint
+   *
+   * @param registry the meter registry
+   * @param api the name of the endpoint
+   * @param stage the stage of the requests
+   * @return {@link Timer}
+   */
+  private static Timer stage(final MeterRegistry registry, final String api, final String stage) {
+    return Timer.builder(STAGE_METER)
+        .description("Time spent by the requests in a stage of the endpoint")
+        .tags(API_TAG, api, STAGE_TAG, stage)
+        .publishPercentileHistogram()
+        .publishPercentiles(PERCENTILES)
+        .register(registry);
+  }
+}
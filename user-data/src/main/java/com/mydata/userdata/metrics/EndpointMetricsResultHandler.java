@@ -0,0 +1,224 @@
+package com.mydata.userdata.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerResult;
+import org.springframework.web.reactive.HandlerResultHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
+
+/**
+ * Records the metrics of the controller methods with a mapping name, one of the {@link
+ * com.mydata.userdata.common.ApiNames}, which is their {@code api} tag. The result of the method is
+ * wrapped and handed to the result handler which writes it, so the endpoint is measured from the
+ * method returning its publisher to the response written:
+ *
+ * <ul>
+ *   <li>{@code investment.api.requests}: the latency, by {@code outcome}
+ *   <li>{@code investment.api.stage}: the {@code database} stage, until the publisher of the method
+ *       completes, and the {@code serialization} stage, from there until the response is written. A
+ *       streamed list is written while it is read, so its writes are in the database stage
+ *   <li>{@code investment.api.rows}: the records emitted, a page or a list counts its elements
+ *   <li>{@code investment.api.in.flight}: the requests being handled
+ * </ul>
+ *
+ * <p>The request body is read before the method is invoked, the {@code http.server.requests}
+ * metrics time the whole exchange.
+ *
+ * <p>The name is put in the Reactor context of the result, under {@link #API_CONTEXT_KEY}, so the
+ * queries run for the endpoint can be tagged with it.
+ */
+@Component
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class EndpointMetricsResultHandler
+    implements HandlerResultHandler, Ordered, SmartInitializingSingleton {
+
+  /** The key of the endpoint name in the Reactor context */
+  static final String API_CONTEXT_KEY = EndpointMetricsResultHandler.class.getName() + ".api";
+
+  private final MeterRegistry registry;
+  private final ObjectProvider<HandlerResultHandler> resultHandlers;
+  private final Map<Method, String> names = new ConcurrentHashMap<>();
+  private final Map<String, EndpointMeters> meters = new ConcurrentHashMap<>();
+  private List<HandlerResultHandler> delegates = List.of();
+
+  /**
+   * Constructor
+   *
+   * @param registry the meter registry
+   * @param resultHandlers the result handlers, the wrapped results are handed to them
+   */
+  public EndpointMetricsResultHandler(
+      final MeterRegistry registry, final ObjectProvider<HandlerResultHandler> resultHandlers) {
+    this.registry = registry;
+    this.resultHandlers = resultHandlers;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    delegates = resultHandlers.orderedStream().filter(handler -> handler != this).toList();
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE;
+  }
+
+  @Override
+  public boolean supports(final @NonNull HandlerResult result) {
+    return result.getHandler() instanceof HandlerMethod handlerMethod
+        && !name(handlerMethod).isEmpty();
+  }
+
+  @Override
+  @NonNull
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public Mono<Void> handleResult(
+      final @NonNull ServerWebExchange exchange, final @NonNull HandlerResult result) {
+    var endpoint =
+        meters.computeIfAbsent(
+            name((HandlerMethod) result.getHandler()),
+            api -> EndpointMeters.register(registry, api));
+    return Mono.defer(
+        () -> {
+          var call = new Call(endpoint);
+          var wrapped =
+              new HandlerResult(
+                  result.getHandler(),
+                  call.wrap(result.getReturnValue()),
+                  result.getReturnTypeSource(),
+                  result.getBindingContext());
+          // counted in flight only once the response is subscribed, so the end is always signalled
+          return delegate(wrapped)
+              .handleResult(exchange, wrapped)
+              .doOnSubscribe(subscription -> call.begin())
+              .doFinally(call::end);
+        });
+  }
+
+  /**
+   * The mapping name of a controller method
+   *
+   * @param handlerMethod the controller method
+   * @return the name, empty when the method has none
+   */
+  private String name(final HandlerMethod handlerMethod) {
+    return names.computeIfAbsent(
+        handlerMethod.getMethod(),
+        method -> {
+          var mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+          return null == mapping ? "" : mapping.name();
+        });
+  }
+
+  /**
+   * The result handler of a result, like the dispatcher would choose without this one
+   *
+   * @param result the result
+   * @return {@link HandlerResultHandler}
+   */
+  private HandlerResultHandler delegate(final HandlerResult result) {
+    return delegates.stream()
+        .filter(handler -> handler.supports(result))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new IllegalStateException(
+                    "No HandlerResultHandler for " + result.getReturnValue()));
+  }
+
+  /** The metrics of a request */
+  @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+  private static final class Call {
+
+    private final EndpointMeters endpoint;
+    private final long start;
+    private volatile long databaseEnd;
+
+    private Call(final EndpointMeters endpoint) {
+      this.endpoint = endpoint;
+      this.start = System.nanoTime();
+    }
+
+    /** Begin the request, once its response is subscribed */
+    private void begin() {
+      endpoint.inFlight().incrementAndGet();
+    }
+
+    /**
+     * Wrap the result of the controller method, its records are counted, the endpoint name is put
+     * in its context and its completion ends the database stage
+     *
+     * @param value the result
+     * @return the wrapped result, of the same type
+     */
+    private Object wrap(final Object value) {
+      if (value instanceof Flux<?> flux) {
+        return flux.doOnNext(row -> endpoint.rows().increment())
+            .contextWrite(Context.of(API_CONTEXT_KEY, endpoint.api()))
+            .doOnTerminate(this::endDatabase)
+            .doOnCancel(this::endDatabase);
+      }
+      if (value instanceof Mono<?> mono) {
+        return mono.doOnNext(row -> endpoint.rows().increment(rows(row)))
+            .contextWrite(Context.of(API_CONTEXT_KEY, endpoint.api()))
+            .doOnTerminate(this::endDatabase)
+            .doOnCancel(this::endDatabase);
+      }
+      endpoint.rows().increment(rows(value));
+      endDatabase();
+      return value;
+    }
+
+    /** End the database stage, once the result of the controller method is emitted */
+    private void endDatabase() {
+      databaseEnd = System.nanoTime();
+      endpoint.database().record(databaseEnd - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * End the request, once its response is written
+     *
+     * @param signal the last signal of the response
+     */
+    private void end(final SignalType signal) {
+      var end = System.nanoTime();
+      endpoint.inFlight().decrementAndGet();
+      endpoint.latency(signal).record(end - start, TimeUnit.NANOSECONDS);
+      if (0 != databaseEnd) {
+        endpoint.serialization().record(end - databaseEnd, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    /**
+     * The records of a single value, the elements of a list, of a page or of a list body
+     *
+     * @param value the value
+     * @return the number of records
+     */
+    private static int rows(final Object value) {
+      var body = value instanceof HttpEntity<?> entity ? entity.getBody() : value;
+      if (body instanceof Collection<?> collection) {
+        return collection.size();
+      }
+      return null == body ? 0 : 1;
+    }
+  }
+}
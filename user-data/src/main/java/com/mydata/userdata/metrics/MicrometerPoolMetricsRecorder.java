@@ -0,0 +1,130 @@
+package com.mydata.userdata.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import reactor.pool.PoolMetricsRecorder;
+
+/**
+ * Records the connection pool events to Micrometer. The gauges of the pool size, acquired, idle and
+ * pending connections are registered by Spring Boot for every {@link io.r2dbc.pool.ConnectionPool}
+ * bean, this recorder adds the latencies of the pool operations.
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class MicrometerPoolMetricsRecorder implements PoolMetricsRecorder {
+
+  private static final String PREFIX = "r2dbc.pool.";
+  private static final String NAME_TAG = "name";
+  private static final String OUTCOME_TAG = "outcome";
+  private static final String PATH_TAG = "path";
+
+  private final Timer allocationSuccess;
+  private final Timer allocationFailure;
+  private final Timer reset;
+  private final Timer destroy;
+  private final Timer lifetime;
+  private final Timer idleTime;
+  private final Counter recycled;
+  private final Counter fastPath;
+  private final Counter slowPath;
+
+  /**
+   * Create the recorder and register its meters
+   *
+   * @param registry the meter registry
+   * @param poolName the pool name, used as the {@code name} tag
+   */
+  public MicrometerPoolMetricsRecorder(final MeterRegistry registry, final String poolName) {
+    allocationSuccess =
+        Timer.builder(PREFIX + "allocation")
+            .description("Time taken to create a new connection")
+            .tags(NAME_TAG, poolName, OUTCOME_TAG, "success")
+            .register(registry);
+    allocationFailure =
+        Timer.builder(PREFIX + "allocation")
+            .description("Time taken to create a new connection")
+            .tags(NAME_TAG, poolName, OUTCOME_TAG, "failure")
+            .register(registry);
+    reset =
+        Timer.builder(PREFIX + "reset")
+            .description("Time taken to reset a connection released to the pool")
+            .tag(NAME_TAG, poolName)
+            .register(registry);
+    destroy =
+        Timer.builder(PREFIX + "destroy")
+            .description("Time taken to close a connection evicted from the pool")
+            .tag(NAME_TAG, poolName)
+            .register(registry);
+    lifetime =
+        Timer.builder(PREFIX + "lifetime")
+            .description("Lifetime of the connections destroyed by the pool")
+            .tag(NAME_TAG, poolName)
+            .register(registry);
+    idleTime =
+        Timer.builder(PREFIX + "idle.time")
+            .description("Time the connections were idle before they were acquired or evicted")
+            .tag(NAME_TAG, poolName)
+            .register(registry);
+    recycled =
+        Counter.builder(PREFIX + "recycled")
+            .description("Number of connections released and kept in the pool")
+            .tag(NAME_TAG, poolName)
+            .register(registry);
+    fastPath =
+        Counter.builder(PREFIX + "acquire.path")
+            .description("Number of acquires served by an idle connection or by waiting")
+            .tags(NAME_TAG, poolName, PATH_TAG, "fast")
+            .register(registry);
+    slowPath =
+        Counter.builder(PREFIX + "acquire.path")
+            .description("Number of acquires served by an idle connection or by waiting")
+            .tags(NAME_TAG, poolName, PATH_TAG, "slow")
+            .register(registry);
+  }
+
+  @Override
+  public void recordAllocationSuccessAndLatency(final long latencyMs) {
+    allocationSuccess.record(latencyMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void recordAllocationFailureAndLatency(final long latencyMs) {
+    allocationFailure.record(latencyMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void recordResetLatency(final long latencyMs) {
+    reset.record(latencyMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void recordDestroyLatency(final long latencyMs) {
+    destroy.record(latencyMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void recordRecycled() {
+    recycled.increment();
+  }
+
+  @Override
+  public void recordLifetimeDuration(final long millisecondsSinceAllocation) {
+    lifetime.record(millisecondsSinceAllocation, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void recordIdleTime(final long millisecondsIdle) {
+    idleTime.record(millisecondsIdle, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void recordSlowPath() {
+    slowPath.increment();
+  }
+
+  @Override
+  public void recordFastPath() {
+    fastPath.increment();
+  }
+}
@@ -0,0 +1,74 @@
+package com.mydata.userdata.metrics;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Connection factory proxying the connections of the pool, so their queries are measured by a
+ * {@link QueryMetricsListener}. A connection acquired for an endpoint, with the endpoint name in
+ * the Reactor context, has its queries tagged with the name.
+ *
+ * <p>The pool is unwrapped for its metrics, and disposed with this factory.
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class QueryMetricsConnectionFactory
+    implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable {
+
+  private final ConnectionPool pool;
+  private final ConnectionFactory proxy;
+  private final QueryMetricsListener listener;
+
+  /**
+   * Create the connection factory
+   *
+   * @param pool the connection pool
+   * @param listener the listener measuring the queries
+   */
+  public QueryMetricsConnectionFactory(
+      final ConnectionPool pool, final QueryMetricsListener listener) {
+    this.pool = pool;
+    this.proxy = ProxyConnectionFactory.builder(pool).listener(listener).build();
+    this.listener = listener;
+  }
+
+  @Override
+  public Publisher<? extends Connection> create() {
+    return Mono.deferContextual(
+        context -> {
+          var connection = Mono.<Connection>from(proxy.create());
+          return context.hasKey(EndpointMetricsResultHandler.API_CONTEXT_KEY)
+              ? connection.doOnNext(
+                  proxied ->
+                      listener.bind(
+                          proxied, context.get(EndpointMetricsResultHandler.API_CONTEXT_KEY)))
+              : connection;
+        });
+  }
+
+  @Override
+  public ConnectionFactoryMetadata getMetadata() {
+    return proxy.getMetadata();
+  }
+
+  @Override
+  public ConnectionFactory unwrap() {
+    return pool;
+  }
+
+  @Override
+  public void dispose() {
+    pool.dispose();
+  }
+
+  @Override
+  public boolean isDisposed() {
+    return pool.isDisposed();
+  }
+}
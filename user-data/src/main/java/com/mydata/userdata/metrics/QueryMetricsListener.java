@@ -0,0 +1,195 @@
+package com.mydata.userdata.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.proxy.core.Binding;
+import io.r2dbc.proxy.core.Bindings;
+import io.r2dbc.proxy.core.BoundValue;
+import io.r2dbc.proxy.core.ConnectionInfo;
+import io.r2dbc.proxy.core.MethodExecutionInfo;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Wrapped;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records the queries run on the proxied connections to Micrometer, once their results are
+ * consumed:
+ *
+ * <ul>
+ *   <li>{@code r2dbc.query}: the execution time, by {@code outcome}
+ *   <li>{@code r2dbc.query.rows}: the rows fetched by an execution
+ *   <li>{@code r2dbc.query.batch}: the parameter sets of an execution with more than one
+ * </ul>
+ *
+ * <p>All are tagged with the {@code statement}, its whitespace collapsed, the {@code bindings}, the
+ * types of its bind parameters without their values, and the {@code api} the connection was
+ * acquired for, {@value NONE} when it was not acquired for an endpoint. The endpoint of a
+ * connection is dropped when the connection is closed, which releases it to the pool. A query which
+ * takes the slow query threshold or more is logged with the same details and its number of
+ * parameter sets.
+ */
+@Slf4j
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class QueryMetricsListener implements ProxyExecutionListener {
+
+  static final String QUERY_METER = "r2dbc.query";
+  static final String ROWS_METER = "r2dbc.query.rows";
+  static final String BATCH_METER = "r2dbc.query.batch";
+  static final String NONE = "none";
+  private static final String API_TAG = "api";
+  private static final String STATEMENT_TAG = "statement";
+  private static final String BINDINGS_TAG = "bindings";
+  private static final int MAX_STATEMENT_LENGTH = 256;
+  private static final int MIN_BATCH_SIZE = 2;
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final String CLOSE = "close";
+
+  private final MeterRegistry registry;
+  private final Duration slowQueryThreshold;
+
+  /**
+   * The endpoint of the connections, a connection is dropped when it is closed, or when it is
+   * collected without being closed
+   */
+  private final Cache<Connection, String> apis = Caffeine.newBuilder().weakKeys().build();
+
+  /**
+   * Create the listener
+   *
+   * @param registry the meter registry
+   * @param slowQueryThreshold the execution time from which a query is logged, null for none
+   */
+  public QueryMetricsListener(final MeterRegistry registry, final Duration slowQueryThreshold) {
+    this.registry = registry;
+    this.slowQueryThreshold = slowQueryThreshold;
+  }
+
+  /**
+   * Tag the queries of a proxied connection with an endpoint
+   *
+   * @param connection the proxied connection
+   * @param api the name of the endpoint
+   */
+  void bind(final Connection connection, final String api) {
+    if (connection instanceof Wrapped<?> wrapped
+        && wrapped.unwrap() instanceof Connection original) {
+      apis.put(original, api);
+    }
+  }
+
+  /**
+   * Drop the endpoint of a connection once it is closed, so the queries of its next use are not
+   * tagged with it
+   *
+   * @param execution the method execution
+   */
+  @Override
+  public void afterMethod(final MethodExecutionInfo execution) {
+    if (execution.getTarget() instanceof Connection connection
+        && CLOSE.equals(execution.getMethod().getName())) {
+      apis.invalidate(connection);
+    }
+  }
+
+  @Override
+  public void afterQuery(final QueryExecutionInfo execution) {
+    var api =
+        Optional.ofNullable(execution.getConnectionInfo())
+            .map(ConnectionInfo::getOriginalConnection)
+            .map(apis::getIfPresent)
+            .orElse(NONE);
+    var sql = statement(execution);
+    var bindingsList =
+        execution.getQueries().stream().flatMap(query -> query.getBindingsList().stream()).toList();
+    var bindings = bindings(bindingsList);
+    var rows = execution.getCurrentResultCount();
+    var duration = execution.getExecuteDuration();
+    Timer.builder(QUERY_METER)
+        .description("Execution time of the queries")
+        .tags(
+            API_TAG,
+            api,
+            STATEMENT_TAG,
+            sql,
+            BINDINGS_TAG,
+            bindings,
+            "outcome",
+            execution.isSuccess() ? "success" : "failure")
+        .register(registry)
+        .record(duration);
+    DistributionSummary.builder(ROWS_METER)
+        .description("Number of rows fetched by the queries")
+        .tags(API_TAG, api, STATEMENT_TAG, sql, BINDINGS_TAG, bindings)
+        .register(registry)
+        .record(rows);
+    if (bindingsList.size() >= MIN_BATCH_SIZE) {
+      DistributionSummary.builder(BATCH_METER)
+          .description("Number of parameter sets of the queries executed as a batch")
+          .tags(API_TAG, api, STATEMENT_TAG, sql, BINDINGS_TAG, bindings)
+          .register(registry)
+          .record(bindingsList.size());
+    }
+    if (null != slowQueryThreshold && duration.compareTo(slowQueryThreshold) >= 0) {
+      log.warn(
+          "Slow query for {} took {} ms and fetched {} rows, bindings [{}] x {}: {}",
+          api,
+          duration.toMillis(),
+          rows,
+          bindings,
+          Math.max(1, bindingsList.size()),
+          sql);
+    }
+  }
+
+  /**
+   * The statements of a query, a batch joins them with semicolons
+   *
+   * @param execution the query execution
+   * @return the statements, their whitespace collapsed and cut to {@value MAX_STATEMENT_LENGTH}
+   *     characters
+   */
+  private static String statement(final QueryExecutionInfo execution) {
+    var sql =
+        execution.getQueries().stream()
+            .map(QueryInfo::getQuery)
+            .map(query -> WHITESPACE.matcher(query.strip()).replaceAll(" "))
+            .collect(Collectors.joining("; "));
+    return sql.length() > MAX_STATEMENT_LENGTH ? sql.substring(0, MAX_STATEMENT_LENGTH) : sql;
+  }
+
+  /**
+   * The shape of the bind parameters of a query, the types of its first parameter set. The number
+   * of parameter sets is left out, so a batch has the same tag whatever its size.
+   *
+   * @param bindingsList the parameter sets of the query
+   * @return the types, like {@code Integer,Boolean}
+   */
+  private static String bindings(final List<Bindings> bindingsList) {
+    if (bindingsList.isEmpty()) {
+      return NONE;
+    }
+    var first = bindingsList.get(0);
+    return Stream.concat(first.getIndexBindings().stream(), first.getNamedBindings().stream())
+        .map(Binding::getBoundValue)
+        .map(QueryMetricsListener::type)
+        .collect(Collectors.joining(","));
+  }
+
+  private static String type(final BoundValue value) {
+    return value.isNull()
+        ? "null " + value.getNullType().getSimpleName()
+        : value.getValue().getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,59 @@
+package com.mydata.userdata.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import reactor.core.publisher.Mono;
+
+/**
+ * Connection pool which records the time taken to acquire a connection, including the time spent
+ * waiting for a connection when all connections are in use.
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class TimedConnectionPool extends ConnectionPool {
+
+  private static final String ACQUIRE_TIMER = "r2dbc.pool.acquire";
+  private static final String ACQUIRE_DESCRIPTION = "Time taken to acquire a connection";
+
+  private final MeterRegistry registry;
+  private final Timer acquireSuccess;
+  private final Timer acquireFailure;
+
+  /**
+   * Create the connection pool
+   *
+   * @param configuration the pool configuration
+   * @param registry the meter registry
+   * @param poolName the pool name, used as the {@code name} tag
+   */
+  public TimedConnectionPool(
+      final ConnectionPoolConfiguration configuration,
+      final MeterRegistry registry,
+      final String poolName) {
+    super(configuration);
+    this.registry = registry;
+    acquireSuccess =
+        Timer.builder(ACQUIRE_TIMER)
+            .description(ACQUIRE_DESCRIPTION)
+            .tags("name", poolName, "outcome", "success")
+            .register(registry);
+    acquireFailure =
+        Timer.builder(ACQUIRE_TIMER)
+            .description(ACQUIRE_DESCRIPTION)
+            .tags("name", poolName, "outcome", "failure")
+            .register(registry);
+  }
+
+  @Override
+  public Mono<Connection> create() {
+    return Mono.defer(
+        () -> {
+          var sample = Timer.start(registry);
+          return super.create()
+              .doOnSuccess(connection -> sample.stop(acquireSuccess))
+              .doOnError(error -> sample.stop(acquireFailure));
+        });
+  }
+}
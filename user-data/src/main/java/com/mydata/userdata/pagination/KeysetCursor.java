@@ -0,0 +1,67 @@
+package com.mydata.userdata.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Position of the last record of a page, used for keyset pagination. The next page starts after the
+ * record with this sort key and id, so fetching any page is an index range scan and never an offset
+ * scan.
+ *
+ * @param sortKey the sort key of the last record, {@link #FIRST} sort key for id only ordering
+ * @param id the id of the last record
+ */
+public record KeysetCursor(Instant sortKey, Integer id) {
+
+  /** Cursor positioned before the first record */
+  public static final KeysetCursor FIRST =
+      new KeysetCursor(Instant.parse("0001-01-01T00:00:00Z"), 0);
+
+  private static final String SEPARATOR = "|";
+
+  /**
+   * Create a cursor for pages ordered by id only
+   *
+   * @param id the id of the last record
+   * @return {@link KeysetCursor}
+   */
+  public static KeysetCursor ofId(final Integer id) {
+    return new KeysetCursor(FIRST.sortKey(), id);
+  }
+
+  /**
+   * Encode the cursor to an opaque url safe token
+   *
+   * @return the cursor token
+   */
+  public String encode() {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString((sortKey + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode a cursor token received in a request
+   *
+   * @param token the cursor token, null or blank for the first page
+   * @return {@link KeysetCursor}
+   * @throws ServerWebInputException if the token is not a valid cursor
+   */
+  public static KeysetCursor decode(final String token) {
+    if (null == token || token.isBlank()) {
+      return FIRST;
+    }
+    try {
+      var value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      var separatorIndex = value.indexOf(SEPARATOR);
+      return new KeysetCursor(
+          Instant.parse(value.substring(0, separatorIndex)),
+          Integer.valueOf(value.substring(separatorIndex + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+      throw new ServerWebInputException("Invalid page cursor : " + token);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.mydata.userdata.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of records fetched with keyset pagination
+ *
+ * @param items the records in the page
+ * @param nextCursor the cursor token for the next page, null if this is the last page
+ * @param <T> the record type
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+  /**
+   * Create a page from the records fetched for it. The records should be fetched with a limit one
+   * more than the page size, the extra record only tells that a next page exists.
+   *
+   * @param fetched the fetched records, at most {@code size + 1}
+   * @param size the page size
+   * @param cursorOf function for getting the cursor of a record
+   * @param <T> the record type
+   * @return {@link KeysetPage}
+   */
+  public static <T> KeysetPage<T> of(
+      final List<T> fetched, final int size, final Function<T, KeysetCursor> cursorOf) {
+    if (fetched.size() <= size) {
+      return new KeysetPage<>(fetched, null);
+    }
+    var items = fetched.subList(0, size);
+    return new KeysetPage<>(items, cursorOf.apply(items.get(size - 1)).encode());
+  }
+
+  /**
+   * Check if there is a next page
+   *
+   * @return true if there is a next page
+   */
+  public boolean hasNext() {
+    return null != nextCursor;
+  }
+}
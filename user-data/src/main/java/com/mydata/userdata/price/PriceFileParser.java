@@ -0,0 +1,122 @@
+package com.mydata.userdata.price;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Parser of AMFI-style price files, the layout of the daily {@code NAVAll.txt} and of the NAV
+ * history reports: semicolon separated lines with dates like {@code 31-Jan-2022}, after a header
+ * naming the columns. The code, price and date columns are found by their name in the header, see
+ * {@link PriceKind}, so the column order of the file does not matter.
+ *
+ * <p>The lines before the header, the scheme category and fund house headings between the prices
+ * and the prices which are not a positive number, like {@code N.A.}, are skipped.
+ *
+ * <p>A parser reads one file, its lines are given in order.
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public final class PriceFileParser {
+
+  /** The header of the date column */
+  public static final String DATE_COLUMN = "Date";
+
+  private static final String SEPARATOR = ";";
+  private static final DateTimeFormatter DATE_FORMAT =
+      new DateTimeFormatterBuilder()
+          .parseCaseInsensitive()
+          .appendPattern("dd-MMM-yyyy")
+          .toFormatter(Locale.ENGLISH);
+
+  private final PriceKind kind;
+  private Header header;
+
+  /**
+   * Constructor
+   *
+   * @param kind the kind of the instruments priced by the file
+   */
+  public PriceFileParser(final PriceKind kind) {
+    this.kind = kind;
+  }
+
+  /**
+   * Whether the header of the file was read
+   *
+   * @return true once the header is found
+   */
+  public boolean hasHeader() {
+    return null != header;
+  }
+
+  /**
+   * Parse the next line of the file
+   *
+   * @param line the line
+   * @return {@link Optional<PriceRecord>}, empty for the header and the skipped lines
+   */
+  public Optional<PriceRecord> parse(final String line) {
+    var fields = line.split(SEPARATOR, -1);
+    if (null == header) {
+      header = Header.of(kind, fields);
+      return Optional.empty();
+    }
+    return header.parse(fields);
+  }
+
+  /**
+   * The indexes of the columns read from a price file
+   *
+   * @param code the index of the code column
+   * @param price the index of the price column
+   * @param date the index of the date column
+   */
+  private record Header(int code, int price, int date) {
+
+    /**
+     * Find the columns in a header line
+     *
+     * @param kind the kind of the instruments priced by the file
+     * @param fields the fields of the line
+     * @return {@link Header}, null when the line is not the header
+     */
+    private static Header of(final PriceKind kind, final String... fields) {
+      List<String> names = Arrays.stream(fields).map(String::trim).toList();
+      var header =
+          new Header(
+              names.indexOf(kind.codeColumn()),
+              names.indexOf(kind.priceColumn()),
+              names.indexOf(DATE_COLUMN));
+      return header.code() < 0 || header.price() < 0 || header.date() < 0 ? null : header;
+    }
+
+    /**
+     * Parse the fields of a price line
+     *
+     * @param fields the fields of the line
+     * @return {@link Optional<PriceRecord>}, empty when the line has no valid price
+     */
+    private Optional<PriceRecord> parse(final String... fields) {
+      if (fields.length <= Math.max(code, Math.max(price, date)) || fields[code].isBlank()) {
+        return Optional.empty();
+      }
+      try {
+        var value = new BigDecimal(fields[price].trim());
+        return value.signum() > 0
+            ? Optional.of(
+                new PriceRecord(
+                    fields[code].trim(),
+                    PricePoint.of(LocalDate.parse(fields[date].trim(), DATE_FORMAT), value)))
+            : Optional.empty();
+      } catch (NumberFormatException | DateTimeParseException | ArithmeticException e) {
+        return Optional.empty();
+      }
+    }
+  }
+}
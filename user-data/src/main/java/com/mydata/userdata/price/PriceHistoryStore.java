@@ -0,0 +1,184 @@
+package com.mydata.userdata.price;
+
+import com.mydata.userdata.property.PriceHistoryProperties;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only store of the daily price histories, one series per instrument code. A series is kept
+ * in two column files under {@code <price-history.directory>/<kind>/}: {@code <code>.days} with the
+ * epoch day of every price as a 4 byte int and {@code <code>.prices} with the price scaled by
+ * {@value PricePoint#PRICE_SCALE} decimal places as an 8 byte long, both big-endian and in
+ * ascending order of day.
+ *
+ * <p>The files are memory-mapped when a series is first read and the mapped series is kept, so a
+ * price lookup does not touch the file system. A code without files is not kept, so the codes asked
+ * for do not grow the store, only the instruments with prices. Appends are serialized and map the
+ * series again once written. An append interrupted between the two files leaves the longer column
+ * with values the series ignores, they are cut off by the next append.
+ */
+@Component
+@Slf4j
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class PriceHistoryStore {
+
+  static final String DAYS_SUFFIX = ".days";
+  static final String PRICES_SUFFIX = ".prices";
+
+  private final Path directory;
+  private final Map<Path, PriceSeries> mappedSeries = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor
+   *
+   * @param priceHistoryProps the price history properties
+   */
+  public PriceHistoryStore(final PriceHistoryProperties priceHistoryProps) {
+    directory = priceHistoryProps.directory();
+  }
+
+  /**
+   * Get the price history of an instrument
+   *
+   * @param kind the instrument kind
+   * @param code the instrument code
+   * @return {@link PriceSeries}, empty when the instrument has no prices
+   */
+  public PriceSeries series(final PriceKind kind, final String code) {
+    var series =
+        mappedSeries.computeIfAbsent(
+            file(kind, code),
+            file -> Files.exists(column(file, DAYS_SUFFIX)) ? mapSeries(file) : null);
+    return null == series ? PriceSeries.EMPTY : series;
+  }
+
+  /**
+   * Append prices to the history of an instrument. Only the prices after the last day of the
+   * history are appended, the first price of a day being kept when a day is repeated.
+   *
+   * @param kind the instrument kind
+   * @param code the instrument code
+   * @param points the prices, in any order
+   * @return the number of prices appended
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public synchronized int append(
+      final PriceKind kind, final String code, final List<PricePoint> points) {
+    var file = file(kind, code);
+    var current = series(kind, code);
+    var days = ByteBuffer.allocate(points.size() * Integer.BYTES);
+    var prices = ByteBuffer.allocate(points.size() * Long.BYTES);
+    var lastEpochDay = current.lastEpochDay();
+    for (var point :
+        points.stream().sorted(Comparator.comparingInt(PricePoint::epochDay)).toList()) {
+      if (point.epochDay() > lastEpochDay) {
+        days.putInt(point.epochDay());
+        prices.putLong(point.scaledPrice());
+        lastEpochDay = point.epochDay();
+      }
+    }
+    var appended = days.position() / Integer.BYTES;
+    if (appended > 0) {
+      try {
+        Files.createDirectories(file.getParent());
+        write(column(file, DAYS_SUFFIX), (long) current.size() * Integer.BYTES, days.flip());
+        write(column(file, PRICES_SUFFIX), (long) current.size() * Long.BYTES, prices.flip());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      mappedSeries.put(file, mapSeries(file));
+      log.debug("Appended {} {} prices of {}", appended, kind, code);
+    }
+    return appended;
+  }
+
+  /**
+   * The path of the column files of an instrument, without their suffix. The code is URL encoded,
+   * so any code is a plain file name.
+   *
+   * @param kind the instrument kind
+   * @param code the instrument code
+   * @return {@link Path}
+   */
+  private Path file(final PriceKind kind, final String code) {
+    return directory
+        .resolve(kind.directory())
+        .resolve(URLEncoder.encode(code, StandardCharsets.UTF_8))
+        .toAbsolutePath();
+  }
+
+  /**
+   * Write values at the end of the series values of a column file
+   *
+   * @param column the column file
+   * @param size the size of the series values in the file
+   * @param values the values to write
+   * @throws IOException when the file can't be written
+   */
+  private static void write(final Path column, final long size, final ByteBuffer values)
+      throws IOException {
+    try (var channel =
+        FileChannel.open(column, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      channel.truncate(size).position(size);
+      while (values.hasRemaining()) {
+        channel.write(values);
+      }
+    }
+  }
+
+  /**
+   * Map the column files of an instrument
+   *
+   * @param file the path of the column files, without their suffix
+   * @return {@link PriceSeries}
+   */
+  private static PriceSeries mapSeries(final Path file) {
+    try {
+      return new PriceSeries(
+          mapColumn(column(file, DAYS_SUFFIX)).asIntBuffer(),
+          mapColumn(column(file, PRICES_SUFFIX)).asLongBuffer());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Map a column file read-only, the mapping stays valid once the channel is closed
+   *
+   * @param column the column file
+   * @return {@link ByteBuffer}, empty when the file does not exist
+   * @throws IOException when the file can't be mapped
+   */
+  private static ByteBuffer mapColumn(final Path column) throws IOException {
+    if (!Files.exists(column)) {
+      return ByteBuffer.allocate(0);
+    }
+    try (var channel = FileChannel.open(column, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  /**
+   * The path of a column file
+   *
+   * @param file the path of the column files, without their suffix
+   * @param suffix the column suffix
+   * @return {@link Path}
+   */
+  private static Path column(final Path file, final String suffix) {
+    return file.resolveSibling(file.getFileName() + suffix);
+  }
+}
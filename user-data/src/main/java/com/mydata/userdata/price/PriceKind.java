@@ -0,0 +1,49 @@
+package com.mydata.userdata.price;
+
+/**
+ * The kinds of instruments with a price history. Each kind keeps its series in its own directory
+ * and names the code and price columns of its price files.
+ *
+ * @see PriceFileParser
+ */
+public enum PriceKind {
+  MUTUAL_FUND("mutualfunds", "Scheme Code", "Net Asset Value"),
+  STOCK("stocks", "Symbol", "Close Price");
+
+  private final String directory;
+  private final String codeColumn;
+  private final String priceColumn;
+
+  PriceKind(final String directory, final String codeColumn, final String priceColumn) {
+    this.directory = directory;
+    this.codeColumn = codeColumn;
+    this.priceColumn = priceColumn;
+  }
+
+  /**
+   * The directory of the series of this kind, under the price history directory
+   *
+   * @return the directory name
+   */
+  public String directory() {
+    return directory;
+  }
+
+  /**
+   * The header of the instrument code column of a price file
+   *
+   * @return the column name
+   */
+  public String codeColumn() {
+    return codeColumn;
+  }
+
+  /**
+   * The header of the price column of a price file
+   *
+   * @return the column name
+   */
+  public String priceColumn() {
+    return priceColumn;
+  }
+}
@@ -0,0 +1,50 @@
+package com.mydata.userdata.price;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * The price of an instrument on a day, in the layout of the price history files: the date as its
+ * epoch day and the price as a long scaled by {@value #PRICE_SCALE} decimal places.
+ *
+ * @param epochDay the day, counted from 1970-01-01
+ * @param scaledPrice the price multiplied by 10^{@value #PRICE_SCALE}
+ */
+public record PricePoint(int epochDay, long scaledPrice) {
+
+  /** The decimal places kept of a price, the precision of a published NAV */
+  public static final int PRICE_SCALE = 4;
+
+  /**
+   * Create the price point of a day, rounding the price to {@value #PRICE_SCALE} decimal places
+   *
+   * @param date the day
+   * @param price the price
+   * @return {@link PricePoint}
+   * @throws ArithmeticException when the price does not fit in a scaled long
+   */
+  public static PricePoint of(final LocalDate date, final BigDecimal price) {
+    return new PricePoint(
+        Math.toIntExact(date.toEpochDay()),
+        price.setScale(PRICE_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+  }
+
+  /**
+   * The day of the price
+   *
+   * @return {@link LocalDate}
+   */
+  public LocalDate date() {
+    return LocalDate.ofEpochDay(epochDay);
+  }
+
+  /**
+   * The price
+   *
+   * @return {@link BigDecimal}
+   */
+  public BigDecimal price() {
+    return BigDecimal.valueOf(scaledPrice, PRICE_SCALE);
+  }
+}
@@ -0,0 +1,9 @@
+package com.mydata.userdata.price;
+
+/**
+ * A price read from a price file
+ *
+ * @param code the instrument code
+ * @param point the day and price
+ */
+public record PriceRecord(String code, PricePoint point) {}
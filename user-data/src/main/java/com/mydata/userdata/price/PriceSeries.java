@@ -0,0 +1,134 @@
+package com.mydata.userdata.price;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The daily price history of an instrument, read from its memory-mapped column files. The days are
+ * ascending, so the price on a day is a binary search over the day column followed by a read of the
+ * price column at the same index. Nothing is copied to the heap and the reads are served from the
+ * page cache.
+ *
+ * <p>A series is immutable and safe to share between threads, appending to the history maps a new
+ * series.
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public final class PriceSeries {
+
+  /** The price returned for a day before the history starts, a price is never negative */
+  public static final long NO_PRICE = -1L;
+
+  /** The series of an instrument without prices */
+  public static final PriceSeries EMPTY =
+      new PriceSeries(IntBuffer.allocate(0), LongBuffer.allocate(0));
+
+  private final IntBuffer epochDays;
+  private final LongBuffer scaledPrices;
+  private final int count;
+
+  /**
+   * Constructor, the series has as many prices as both columns have values
+   *
+   * @param epochDays the ascending days column
+   * @param scaledPrices the scaled prices column
+   */
+  PriceSeries(final IntBuffer epochDays, final LongBuffer scaledPrices) {
+    this.epochDays = epochDays;
+    this.scaledPrices = scaledPrices;
+    count = Math.min(epochDays.limit(), scaledPrices.limit());
+  }
+
+  /**
+   * The number of prices in the series
+   *
+   * @return the size
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * The day of a price
+   *
+   * @param index the index of the price
+   * @return the epoch day
+   */
+  public int epochDay(final int index) {
+    return epochDays.get(index);
+  }
+
+  /**
+   * The scaled value of a price
+   *
+   * @param index the index of the price
+   * @return the price scaled by {@value PricePoint#PRICE_SCALE} decimal places
+   */
+  public long scaledPrice(final int index) {
+    return scaledPrices.get(index);
+  }
+
+  /**
+   * The last day with a price, new prices are appended after it
+   *
+   * @return the epoch day, {@link Integer#MIN_VALUE} for an empty series
+   */
+  public int lastEpochDay() {
+    return count == 0 ? Integer.MIN_VALUE : epochDay(count - 1);
+  }
+
+  /**
+   * Find the last price on or before a day
+   *
+   * @param epochDay the day
+   * @return the index of the price, -1 when the series starts after the day
+   */
+  public int floorIndex(final int epochDay) {
+    var low = 0;
+    var high = count - 1;
+    while (low <= high) {
+      var mid = (low + high) >>> 1;
+      if (epochDays.get(mid) <= epochDay) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return high;
+  }
+
+  /**
+   * Get the price on a day, the last price published on or before it as no price is published on
+   * holidays
+   *
+   * @param epochDay the day
+   * @return the scaled price, {@link #NO_PRICE} when the series starts after the day
+   */
+  public long priceOn(final int epochDay) {
+    var index = floorIndex(epochDay);
+    return index < 0 ? NO_PRICE : scaledPrice(index);
+  }
+
+  /**
+   * Get the latest price of the series
+   *
+   * @return the scaled price, {@link #NO_PRICE} for an empty series
+   */
+  public long latestPrice() {
+    return count == 0 ? NO_PRICE : scaledPrice(count - 1);
+  }
+
+  /**
+   * Get the prices published between two days
+   *
+   * @param fromEpochDay the first day, inclusive
+   * @param toEpochDay the last day, inclusive
+   * @return the prices in ascending order of day
+   */
+  public List<PricePoint> range(final int fromEpochDay, final int toEpochDay) {
+    return IntStream.rangeClosed(floorIndex(fromEpochDay - 1) + 1, floorIndex(toEpochDay))
+        .mapToObj(index -> new PricePoint(epochDay(index), scaledPrice(index)))
+        .toList();
+  }
+}
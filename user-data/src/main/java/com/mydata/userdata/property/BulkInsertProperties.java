@@ -0,0 +1,13 @@
+package com.mydata.userdata.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+
+/**
+ * This Record holds the property values for bulk inserts
+ *
+ * @param chunkSize the number of records written by one batched insert statement
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "db.bulk-insert")
+public record BulkInsertProperties(Integer chunkSize) {}
@@ -0,0 +1,13 @@
+package com.mydata.userdata.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+
+/**
+ * This Record holds the property values for the capital gains report
+ *
+ * @param longTermDays the units held more days than this are long term
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "capital-gains")
+public record CapitalGainsProperties(Integer longTermDays) {}
@@ -0,0 +1,26 @@
+package com.mydata.userdata.property;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+
+/**
+ * This Record holds the property values for the Postgresql connection pool. A property which is not
+ * set keeps the r2dbc-pool default.
+ *
+ * @param initialSize the number of connections created when the pool is warmed up
+ * @param maxSize the maximum number of connections in the pool
+ * @param maxIdleTime the time a connection can stay idle before it is evicted
+ * @param maxAcquireTime the time to wait for a connection before the acquire fails
+ * @param maxLifeTime the maximum lifetime of a connection
+ * @param validationQuery the query used for validating a connection before it is handed out
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "db.postgresql.pool")
+public record DatabasePoolProperties(
+    Integer initialSize,
+    Integer maxSize,
+    Duration maxIdleTime,
+    Duration maxAcquireTime,
+    Duration maxLifeTime,
+    String validationQuery) {}
@@ -17,6 +17,7 @@ public record DatabaseProperties(
     CharSequence password,
     String protocol,
     Boolean ssl,
-    Long connectionTimeout) {
+    Long connectionTimeout,
+    Integer fetchSize) {
   public static final Option<String> DB_SCHEMA = Option.valueOf("schema");
 }
@@ -0,0 +1,13 @@
+package com.mydata.userdata.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+
+/**
+ * This Record holds the property values for matching sells to the open buy lots
+ *
+ * @param batchSize the number of open lots read and locked by one query
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "db.lot-matching")
+public record LotMatchingProperties(Integer batchSize) {}
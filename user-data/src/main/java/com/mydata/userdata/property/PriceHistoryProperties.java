@@ -0,0 +1,15 @@
+package com.mydata.userdata.property;
+
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+
+/**
+ * This Record holds the property values for the price history store
+ *
+ * @param directory the directory of the price history files
+ * @param inbox the directory the price files are ingested from
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "price-history")
+public record PriceHistoryProperties(Path directory, Path inbox) {}
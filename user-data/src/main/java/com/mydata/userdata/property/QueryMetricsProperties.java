@@ -0,0 +1,17 @@
+package com.mydata.userdata.property;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+
+/**
+ * This Record holds the property values for the metrics of the database queries
+ *
+ * @param enabled if true the connections are proxied and every query is measured, the connections
+ *     are not proxied when it is not set
+ * @param slowQueryThreshold the execution time from which a query is logged as slow, no query is
+ *     logged when it is not set
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "db.query-metrics")
+public record QueryMetricsProperties(Boolean enabled, Duration slowQueryThreshold) {}
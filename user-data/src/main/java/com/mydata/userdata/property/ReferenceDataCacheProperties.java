@@ -0,0 +1,16 @@
+package com.mydata.userdata.property;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+
+/**
+ * This Record holds the property values for the reference data cache. A property which is not set
+ * leaves the cache unbounded by it.
+ *
+ * @param maximumSize the maximum number of cached lists
+ * @param expireAfterWrite the time a list is kept after it was loaded
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "cache.reference-data")
+public record ReferenceDataCacheProperties(Long maximumSize, Duration expireAfterWrite) {}
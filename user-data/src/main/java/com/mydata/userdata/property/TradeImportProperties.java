@@ -0,0 +1,13 @@
+package com.mydata.userdata.property;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+
+/**
+ * This Record holds the property values for importing trade statements
+ *
+ * @param maxRejections the maximum number of rejected rows listed in the import result
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "trade-import")
+public record TradeImportProperties(Integer maxRejections) {}
@@ -0,0 +1,162 @@
+package com.mydata.userdata.report;
+
+import com.mydata.userdata.dto.CapitalGainDto;
+import com.mydata.userdata.dto.CapitalGainRow;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lays out the capital gains report while the lots are streamed. The lots of a fund are followed by
+ * its subtotal, which is the only state kept, so the report is written in constant memory.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CapitalGainsReport {
+
+  /** The header of the CSV report */
+  public static final String CSV_HEADER =
+      "row,mfId,mfCode,sellId,buyId,buyDate,soldDate,holdingDays,units,cost,proceeds,"
+          + "shortTermGain,longTermGain\n";
+
+  private static final String QUOTE = "\"";
+
+  /**
+   * Add the subtotal of every fund after its lots
+   *
+   * @param lots the lots in order of fund
+   * @return {@link Flux<CapitalGainDto>}
+   */
+  public static Flux<CapitalGainDto> withSubtotals(final Flux<CapitalGainDto> lots) {
+    return Flux.defer(
+        () -> {
+          var subtotal = new Subtotal();
+          return lots.concatMapIterable(subtotal::add)
+              .concatWith(Mono.fromCallable(subtotal::close));
+        });
+  }
+
+  /**
+   * Write the rows as CSV lines, after the header
+   *
+   * @param rows the rows
+   * @return {@link Flux<String>}, a line per element
+   */
+  public static Flux<String> toCsv(final Flux<CapitalGainDto> rows) {
+    return rows.map(CapitalGainsReport::csvLine).startWith(CSV_HEADER);
+  }
+
+  /**
+   * Write a row as a CSV line
+   *
+   * @param row the row
+   * @return the line, with a line break
+   */
+  static String csvLine(final CapitalGainDto row) {
+    return Stream.of(
+                row.row(),
+                row.mfId(),
+                row.mfCode(),
+                row.sellId(),
+                row.buyId(),
+                row.buyDate(),
+                row.soldDate(),
+                row.holdingDays(),
+                row.units(),
+                row.cost(),
+                row.proceeds(),
+                row.shortTermGain(),
+                row.longTermGain())
+            .map(CapitalGainsReport::csvField)
+            .collect(Collectors.joining(","))
+        + "\n";
+  }
+
+  /**
+   * Write a CSV field, quoted when it has a separator, a quote or a line break
+   *
+   * @param value the value, empty when null
+   * @return the field
+   */
+  private static String csvField(final Object value) {
+    var field =
+        value instanceof BigDecimal decimal ? decimal.toPlainString() : Objects.toString(value, "");
+    return field.contains(",") || field.contains(QUOTE) || field.contains("\n")
+        ? QUOTE + field.replace(QUOTE, QUOTE + QUOTE) + QUOTE
+        : field;
+  }
+
+  /** The running subtotal of the lots of the current fund */
+  @SuppressWarnings("PMD.BeanMembersShouldSerialize")
+  private static final class Subtotal {
+
+    private boolean open;
+    private Integer mfId;
+    private String mfCode;
+    private BigDecimal units;
+    private BigDecimal cost;
+    private BigDecimal proceeds;
+    private BigDecimal shortTermGain;
+    private BigDecimal longTermGain;
+
+    /**
+     * Add a lot to the subtotal of its fund
+     *
+     * @param lot the lot
+     * @return the subtotal of the previous fund when the lot is of another fund, then the lot
+     */
+    private List<CapitalGainDto> add(final CapitalGainDto lot) {
+      var previous = open && !lot.mfId().equals(mfId) ? close() : null;
+      if (!open) {
+        open = true;
+        mfId = lot.mfId();
+        mfCode = lot.mfCode();
+        units = lot.units();
+        cost = lot.cost();
+        proceeds = lot.proceeds();
+        shortTermGain = lot.shortTermGain();
+        longTermGain = lot.longTermGain();
+      } else {
+        units = units.add(lot.units());
+        cost = cost.add(lot.cost());
+        proceeds = proceeds.add(lot.proceeds());
+        shortTermGain = shortTermGain.add(lot.shortTermGain());
+        longTermGain = longTermGain.add(lot.longTermGain());
+      }
+      return null == previous ? List.of(lot) : List.of(previous, lot);
+    }
+
+    /**
+     * Close the subtotal of the current fund
+     *
+     * @return the subtotal, null when there is no lot
+     */
+    private CapitalGainDto close() {
+      if (!open) {
+        return null;
+      }
+      var subtotal =
+          new CapitalGainDto(
+              CapitalGainRow.SUBTOTAL,
+              mfId,
+              mfCode,
+              null,
+              null,
+              null,
+              null,
+              null,
+              units,
+              cost,
+              proceeds,
+              shortTermGain,
+              longTermGain);
+      open = false;
+      return subtotal;
+    }
+  }
+}
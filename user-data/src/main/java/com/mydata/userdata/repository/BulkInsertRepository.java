@@ -0,0 +1,68 @@
+package com.mydata.userdata.repository;
+
+import com.mydata.userdata.bulk.BulkInsertTable;
+import io.r2dbc.spi.Result;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repository for inserting many records with one batched statement. The connection is taken from
+ * the current reactive transaction if there is one.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkInsertRepository {
+
+  private final DatabaseClient databaseClient;
+
+  /**
+   * Insert the records with one batched insert statement
+   *
+   * @param table the table to insert to
+   * @param records the records to insert
+   * @param <T> the record type
+   * @return {@link Mono<Long>} the number of rows inserted
+   */
+  public <T> Mono<Long> insert(final BulkInsertTable<T> table, final List<T> records) {
+    return databaseClient.inConnection(
+        connection ->
+            Flux.from(table.bind(connection.createStatement(table.insertSql()), records).execute())
+                .flatMap(Result::getRowsUpdated)
+                .reduce(0L, (inserted, rows) -> inserted + rows));
+  }
+
+  /**
+   * Insert the records with one batched insert statement, skipping the records whose unique key is
+   * already in the table. Of records sharing a key only the first one is inserted.
+   *
+   * @param table the table to insert to, with a {@link BulkInsertTable#uniqueKey()}
+   * @param records the records to insert
+   * @param <T> the record type
+   * @return {@link Mono<List>} of the records inserted, in the order they were given
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public <T> Mono<List<T>> insertIgnoringDuplicates(
+      final BulkInsertTable<T> table, final List<T> records) {
+    var key = table.uniqueKey();
+    return databaseClient.inConnection(
+        connection ->
+            Flux.from(
+                    table
+                        .bind(connection.createStatement(table.insertSql()), records)
+                        .returnGeneratedValues(key.name())
+                        .execute())
+                .flatMap(result -> result.map((row, metadata) -> row.get(0, key.type())))
+                .collect(Collectors.toCollection(HashSet::new))
+                .map(
+                    inserted ->
+                        records.stream()
+                            .filter(record -> inserted.remove(key.value().apply(record)))
+                            .toList()));
+  }
+}
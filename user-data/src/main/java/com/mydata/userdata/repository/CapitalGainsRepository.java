@@ -0,0 +1,115 @@
+package com.mydata.userdata.repository;
+
+import com.mydata.userdata.dto.CapitalGainDto;
+import com.mydata.userdata.dto.CapitalGainRow;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Repository for the capital gains realized by the mutual fund sells. A sell stores the units it
+ * took from each of its buy lots when it is matched to them, and every lot of a sell is a row with
+ * those units. The lots are joined to the sells by the database, and the rows are streamed with the
+ * fetch size of the connection, whatever the length of the history.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CapitalGainsRepository {
+
+  private static final String SOLD_IN_PERIOD =
+      " s.mf_id is not null and s.sold_date >= :from and s.sold_date < :to";
+
+  private static final String MUTUAL_FUND_CAPITAL_GAINS_SQL =
+      "with lot as (select s.mf_id, s.id as sell_id, b.id as buy_id,"
+          + " b.buy_date::date as buy_date, s.sold_date::date as sold_date, l.units,"
+          + " b.units as buy_units, b.nav as buy_nav, b.charge as buy_charge,"
+          + " s.units as sell_units, s.nav as sell_nav, s.charge as sell_charge"
+          + " from mutual_fund_sell_transaction s"
+          + " cross join lateral unnest(s.buy_ids, s.buy_units) as l(buy_id, units)"
+          + " join mutual_fund_buy_transaction b on b.id = l.buy_id and b.mf_id = s.mf_id"
+          + " where"
+          + SOLD_IN_PERIOD
+          + "),"
+          + " gain as (select mf_id, sell_id, buy_id, buy_date, sold_date, units,"
+          + " sold_date - buy_date as holding_days,"
+          + " round(units * buy_nav"
+          + " + coalesce(buy_charge * units / nullif(buy_units, 0), 0), 2) as cost,"
+          + " round(units * sell_nav"
+          + " - coalesce(sell_charge * units / nullif(sell_units, 0), 0), 2) as proceeds"
+          + " from lot)"
+          + " select g.mf_id, f.mf_code, g.sell_id, g.buy_id, g.buy_date, g.sold_date,"
+          + " g.holding_days, g.units, g.cost, g.proceeds,"
+          + " case when g.holding_days > :longTermDays then 0.00"
+          + " else g.proceeds - g.cost end as short_term_gain,"
+          + " case when g.holding_days > :longTermDays then g.proceeds - g.cost"
+          + " else 0.00 end as long_term_gain"
+          + " from gain g join mutual_fund f on f.id = g.mf_id"
+          + " order by g.mf_id, g.sell_id, g.buy_date, g.buy_id";
+
+  private static final String UNMATCHED_MUTUAL_FUND_SELLS_SQL =
+      "select s.id from mutual_fund_sell_transaction s where"
+          + SOLD_IN_PERIOD
+          + " and (s.buy_units is null"
+          + " or cardinality(s.buy_units) is distinct from cardinality(s.buy_ids)"
+          + " or (select coalesce(sum(u), 0) from unnest(s.buy_units) as u) <> s.units"
+          + " or exists (select 1 from unnest(s.buy_ids) as i(buy_id)"
+          + " where not exists (select 1 from mutual_fund_buy_transaction b"
+          + " where b.id = i.buy_id and b.mf_id = s.mf_id)))"
+          + " order by s.id";
+
+  private final DatabaseClient databaseClient;
+
+  /**
+   * Find the capital gains of the lots realized by the mutual fund sells of a period
+   *
+   * @param from the first sold date, inclusive
+   * @param to the last sold date, exclusive
+   * @param longTermDays the units held more days than this are long term
+   * @return {@link Flux<CapitalGainDto>} in order of fund, sell and lot
+   */
+  public Flux<CapitalGainDto> findMutualFundCapitalGains(
+      final LocalDate from, final LocalDate to, final int longTermDays) {
+    return databaseClient
+        .sql(MUTUAL_FUND_CAPITAL_GAINS_SQL)
+        .bind("from", from)
+        .bind("to", to)
+        .bind("longTermDays", longTermDays)
+        .map(
+            row ->
+                new CapitalGainDto(
+                    CapitalGainRow.LOT,
+                    row.get("mf_id", Integer.class),
+                    row.get("mf_code", String.class),
+                    row.get("sell_id", Integer.class),
+                    row.get("buy_id", Integer.class),
+                    row.get("buy_date", LocalDate.class),
+                    row.get("sold_date", LocalDate.class),
+                    row.get("holding_days", Integer.class),
+                    row.get("units", BigDecimal.class),
+                    row.get("cost", BigDecimal.class),
+                    row.get("proceeds", BigDecimal.class),
+                    row.get("short_term_gain", BigDecimal.class),
+                    row.get("long_term_gain", BigDecimal.class)))
+        .all();
+  }
+
+  /**
+   * Find the mutual fund sells of a period whose lots can not be reported: the units taken from
+   * their lots are missing or do not add up to the units sold, or a lot is not a buy of the fund
+   *
+   * @param from the first sold date, inclusive
+   * @param to the last sold date, exclusive
+   * @return {@link Flux<Integer>} of the sell ids, in order
+   */
+  public Flux<Integer> findUnmatchedMutualFundSellIds(final LocalDate from, final LocalDate to) {
+    return databaseClient
+        .sql(UNMATCHED_MUTUAL_FUND_SELLS_SQL)
+        .bind("from", from)
+        .bind("to", to)
+        .map(row -> row.get("id", Integer.class))
+        .all();
+  }
+}
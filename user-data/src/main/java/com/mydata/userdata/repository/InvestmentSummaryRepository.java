@@ -0,0 +1,62 @@
+package com.mydata.userdata.repository;
+
+import static java.util.stream.Collectors.joining;
+
+import com.mydata.userdata.dto.AssetClass;
+import com.mydata.userdata.dto.AssetClassTotalDto;
+import java.math.BigDecimal;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Repository for the account totals. The totals are aggregated by the database, so only one row per
+ * asset class is read, whatever the number of accounts.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InvestmentSummaryRepository {
+
+  private static final String ASSET_CLASS = "asset_class";
+  private static final String COUNT = "count";
+  private static final String TOTAL = "total";
+
+  private static final Map<AssetClass, String> ACCOUNT_TABLES =
+      Map.of(
+          AssetClass.DEPOSIT_ACCOUNT, "deposit_account",
+          AssetClass.LOAN_ACCOUNT, "loan_account",
+          AssetClass.MISCELLANEOUS, "miscellaneous",
+          AssetClass.SAVING_ACCOUNT, "saving_account");
+
+  private static final String ACCOUNT_TOTAL_SQL =
+      "select '%s' as asset_class, count(*) as count, coalesce(sum(balance), 0) as total"
+          + " from %s where active";
+
+  /** One row per account table, in the order of the asset classes */
+  private static final String ACCOUNT_TOTALS_SQL =
+      ACCOUNT_TABLES.entrySet().stream()
+          .sorted(Map.Entry.comparingByKey())
+          .map(table -> ACCOUNT_TOTAL_SQL.formatted(table.getKey().name(), table.getValue()))
+          .collect(joining(" union all "));
+
+  private final DatabaseClient databaseClient;
+
+  /**
+   * Find the number of active accounts and their total balance, per account asset class
+   *
+   * @return {@link Flux<AssetClassTotalDto>}
+   */
+  public Flux<AssetClassTotalDto> findAccountTotals() {
+    return databaseClient
+        .sql(ACCOUNT_TOTALS_SQL)
+        .map(
+            row ->
+                new AssetClassTotalDto(
+                    AssetClass.valueOf(row.get(ASSET_CLASS, String.class)),
+                    row.get(COUNT, Long.class),
+                    row.get(TOTAL, BigDecimal.class)))
+        .all();
+  }
+}
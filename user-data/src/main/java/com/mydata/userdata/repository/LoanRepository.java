@@ -1,6 +1,7 @@
 package com.mydata.userdata.repository;
 
 import com.mydata.userdata.entity.Loan;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 
@@ -8,4 +9,10 @@ public interface LoanRepository extends ReactiveCrudRepository<Loan, Integer> {
 
   /** Find Records By Active Column */
   Flux<Loan> findByActive(Boolean active);
+
+  /** Find a page of Records By Active Column, after the given id ordered by id */
+  @Query(
+      "select * from loan_account where active = :active and id > :afterId"
+          + " order by id limit :limit")
+  Flux<Loan> findPageByActive(Boolean active, Integer afterId, int limit);
 }
@@ -1,6 +1,7 @@
 package com.mydata.userdata.repository;
 
 import com.mydata.userdata.entity.Miscellaneous;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 
@@ -8,4 +9,10 @@ public interface MiscellaneousRepository extends ReactiveCrudRepository<Miscella
 
   /** Find Records By Active Column */
   Flux<Miscellaneous> findByActive(Boolean active);
+
+  /** Find a page of Records By Active Column, after the given id ordered by id */
+  @Query(
+      "select * from miscellaneous where active = :active and id > :afterId"
+          + " order by id limit :limit")
+  Flux<Miscellaneous> findPageByActive(Boolean active, Integer afterId, int limit);
 }
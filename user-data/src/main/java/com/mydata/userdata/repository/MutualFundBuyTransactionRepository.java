@@ -1,12 +1,55 @@
 package com.mydata.userdata.repository;
 
 import com.mydata.userdata.entity.MutualFundBuyTransaction;
+import java.time.Instant;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface MutualFundBuyTransactionRepository
     extends ReactiveCrudRepository<MutualFundBuyTransaction, Integer> {
 
   /** Find Records By is_sold_out Column */
   Flux<MutualFundBuyTransaction> findByIsSoldOut(Boolean active);
+
+  /**
+   * Find a page of Records By is_sold_out Column, after the given buy date and id ordered by buy
+   * date and id
+   */
+  @Query(
+      "select * from mutual_fund_buy_transaction where is_sold_out = :isSoldOut"
+          + " and (buy_date, id) > (:afterBuyDate, :afterId) order by buy_date, id limit :limit")
+  Flux<MutualFundBuyTransaction> findPageByIsSoldOut(
+      Boolean isSoldOut, Instant afterBuyDate, Integer afterId, int limit);
+
+  /**
+   * Find a batch of the open lots of a Mutual Fund bought by the given sold date, now when it is
+   * null, after the given buy date and id, in FIFO order of buy date and id, locking them until the
+   * end of the transaction
+   */
+  @Query(
+      "select * from mutual_fund_buy_transaction where mf_id = :mfId and is_sold_out = false"
+          + " and buy_date <= coalesce(:soldDate, current_timestamp)"
+          + " and (buy_date, id) > (:afterBuyDate, :afterId) order by buy_date, id limit :limit"
+          + " for update")
+  Flux<MutualFundBuyTransaction> findOpenLotsForUpdate(
+      Integer mfId, Instant soldDate, Instant afterBuyDate, Integer afterId, int limit);
+
+  /**
+   * Add sold units to buy transactions with one statement, a buy transaction with all of its units
+   * sold is marked as sold out
+   *
+   * @param ids the ids of the buy transactions
+   * @param soldUnits the units sold from each buy transaction, as numeric strings
+   * @return the number of updated records
+   */
+  @Modifying
+  @Query(
+      "update mutual_fund_buy_transaction b set sold_units = b.sold_units + s.units,"
+          + " is_sold_out = b.sold_units + s.units >= b.units, modified_at = current_timestamp"
+          + " from unnest(:ids::integer[], :soldUnits::numeric[]) as s(id, units)"
+          + " where b.id = s.id")
+  Mono<Integer> addSoldUnits(Integer[] ids, String[] soldUnits);
 }
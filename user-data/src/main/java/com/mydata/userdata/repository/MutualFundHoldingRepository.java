@@ -0,0 +1,77 @@
+package com.mydata.userdata.repository;
+
+import com.mydata.userdata.entity.MutualFundHolding;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface MutualFundHoldingRepository
+    extends ReactiveCrudRepository<MutualFundHolding, Integer> {
+
+  /** The open units and their cost per mutual fund, computed from the buy transactions */
+  String OPEN_POSITIONS_SQL =
+      "select mf_id, sum(units - sold_units) as open_units,"
+          + " sum((units - sold_units) * nav"
+          + " + coalesce(round(charge * (units - sold_units) / nullif(units, 0), 10), 0))"
+          + " as invested"
+          + " from mutual_fund_buy_transaction where is_sold_out = false group by mf_id";
+
+  /** Find the holdings with open units ordered by mf_id */
+  @Query("select * from mutual_fund_holding where open_units > 0 order by mf_id")
+  Flux<MutualFundHolding> findOpen();
+
+  /**
+   * Add open units and their cost to the holdings with one statement, the holding of a mutual fund
+   * is created by its first buy. Sold units are added as negative units.
+   *
+   * @param mfIds the mutual fund ids, a mutual fund may be repeated
+   * @param openUnits the units to add for each mutual fund id, as numeric strings
+   * @param invested the cost to add for each mutual fund id, as numeric strings
+   * @return the number of inserted or updated holdings
+   */
+  @Modifying
+  @Query(
+      "insert into mutual_fund_holding as h (mf_id, open_units, invested)"
+          + " select mf_id, sum(units), sum(invested)"
+          + " from unnest(:mfIds::integer[], :openUnits::numeric[], :invested::numeric[])"
+          + " as d(mf_id, units, invested) group by mf_id"
+          + " on conflict (mf_id) do update set open_units = h.open_units + excluded.open_units,"
+          + " invested = h.invested + excluded.invested, modified_at = current_timestamp")
+  Mono<Integer> addOpenUnits(Integer[] mfIds, String[] openUnits, String[] invested);
+
+  /**
+   * Lock the holdings until the end of the transaction. Buys and sells wait for the rebuild, and
+   * the rebuild waits for the buys and sells already writing the holdings to commit.
+   */
+  @Modifying
+  @Query("lock table mutual_fund_holding in share row exclusive mode")
+  Mono<Void> lockForRebuild();
+
+  /** Find the ids of the mutual funds whose holding differs from their buy transactions */
+  @Query(
+      "select f.id from mutual_fund f left join mutual_fund_holding h on h.mf_id = f.id"
+          + " left join ("
+          + OPEN_POSITIONS_SQL
+          + ") t on t.mf_id = f.id"
+          + " where coalesce(h.open_units, 0) <> coalesce(t.open_units, 0)"
+          + " or abs(coalesce(h.invested, 0) - coalesce(t.invested, 0)) > 0.0001 order by f.id")
+  Flux<Integer> findDriftedMfIds();
+
+  /**
+   * Recompute the holding of every mutual fund from its buy transactions
+   *
+   * @return the number of rebuilt holdings
+   */
+  @Modifying
+  @Query(
+      "insert into mutual_fund_holding (mf_id, open_units, invested)"
+          + " select f.id, coalesce(t.open_units, 0), coalesce(t.invested, 0)"
+          + " from mutual_fund f left join ("
+          + OPEN_POSITIONS_SQL
+          + ") t on t.mf_id = f.id"
+          + " on conflict (mf_id) do update set open_units = excluded.open_units,"
+          + " invested = excluded.invested, modified_at = current_timestamp")
+  Mono<Integer> rebuild();
+}
@@ -1,7 +1,16 @@
 package com.mydata.userdata.repository;
 
 import com.mydata.userdata.entity.MutualFundSellTransaction;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
 
 public interface MutualFundSellTransactionRepository
-    extends ReactiveCrudRepository<MutualFundSellTransaction, Integer> {}
+    extends ReactiveCrudRepository<MutualFundSellTransaction, Integer> {
+
+  /** Find a page of Records after the given id ordered by id */
+  @Query(
+      "select * from mutual_fund_sell_transaction where id > :afterId"
+          + " order by id limit :limit")
+  Flux<MutualFundSellTransaction> findPage(Integer afterId, int limit);
+}
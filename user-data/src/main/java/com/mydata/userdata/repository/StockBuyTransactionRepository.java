@@ -0,0 +1,56 @@
+package com.mydata.userdata.repository;
+
+import com.mydata.userdata.entity.StockBuyTransaction;
+import java.time.Instant;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface StockBuyTransactionRepository
+    extends ReactiveCrudRepository<StockBuyTransaction, Integer> {
+
+  /** Find Records By is_sold_out Column */
+  Flux<StockBuyTransaction> findByIsSoldOut(Boolean isSoldOut);
+
+  /**
+   * Find a page of Records By is_sold_out Column, after the given buy date and id ordered by buy
+   * date and id
+   */
+  @Query(
+      "select * from stock_buy_transaction where is_sold_out = :isSoldOut"
+          + " and (buy_date, id) > (:afterBuyDate, :afterId) order by buy_date, id limit :limit")
+  Flux<StockBuyTransaction> findPageByIsSoldOut(
+      Boolean isSoldOut, Instant afterBuyDate, Integer afterId, int limit);
+
+  /**
+   * Find a batch of the open lots of a Stock bought by the given sold date, now when it is null,
+   * after the given buy date and id, in FIFO order of buy date and id, locking them until the end
+   * of the transaction
+   */
+  @Query(
+      "select * from stock_buy_transaction where stock_id = :stockId and is_sold_out = false"
+          + " and buy_date <= coalesce(:soldDate, current_timestamp)"
+          + " and (buy_date, id) > (:afterBuyDate, :afterId) order by buy_date, id limit :limit"
+          + " for update")
+  Flux<StockBuyTransaction> findOpenLotsForUpdate(
+      Integer stockId, Instant soldDate, Instant afterBuyDate, Integer afterId, int limit);
+
+  /**
+   * Add sold quantities to buy transactions with one statement, a buy transaction with all of its
+   * quantity sold is marked as sold out
+   *
+   * @param ids the ids of the buy transactions
+   * @param soldQuantities the quantity sold from each buy transaction
+   * @return the number of updated records
+   */
+  @Modifying
+  @Query(
+      "update stock_buy_transaction b set sold_quantity = b.sold_quantity + s.quantity,"
+          + " is_sold_out = b.sold_quantity + s.quantity >= b.quantity,"
+          + " modified_at = current_timestamp"
+          + " from unnest(:ids::integer[], :soldQuantities::integer[]) as s(id, quantity)"
+          + " where b.id = s.id")
+  Mono<Integer> addSoldQuantities(Integer[] ids, Integer[] soldQuantities);
+}
@@ -0,0 +1,14 @@
+package com.mydata.userdata.repository;
+
+import com.mydata.userdata.entity.StockSellTransaction;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+public interface StockSellTransactionRepository
+    extends ReactiveCrudRepository<StockSellTransaction, Integer> {
+
+  /** Find a page of Records after the given id ordered by id */
+  @Query("select * from stock_sell_transaction where id > :afterId order by id limit :limit")
+  Flux<StockSellTransaction> findPage(Integer afterId, int limit);
+}
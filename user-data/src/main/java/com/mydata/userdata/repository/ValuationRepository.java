@@ -0,0 +1,108 @@
+package com.mydata.userdata.repository;
+
+import com.mydata.userdata.valuation.CashFlow;
+import com.mydata.userdata.valuation.CashFlows;
+import com.mydata.userdata.valuation.OpenPosition;
+import java.math.BigDecimal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repository for the open positions valued by the portfolio valuation, one row per mutual fund or
+ * stock with open units. The mutual fund positions are read from the maintained holdings, the stock
+ * positions are aggregated by the database from the open buy lots. The dated cash flows of the
+ * mutual funds are read for their annualized returns.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ValuationRepository {
+
+  private static final String ID = "id";
+  private static final String CODE = "code";
+  private static final String OPEN_UNITS = "open_units";
+  private static final String INVESTED = "invested";
+
+  private static final String MUTUAL_FUND_POSITIONS_SQL =
+      "select h.mf_id as id, f.mf_code as code, h.open_units, h.invested"
+          + " from mutual_fund_holding h join mutual_fund f on f.id = h.mf_id"
+          + " where h.open_units > 0";
+
+  private static final String STOCK_POSITIONS_SQL =
+      "select s.id, s.stock_code as code,"
+          + " sum(b.quantity - b.sold_quantity)::numeric as open_units,"
+          + " sum((b.quantity - b.sold_quantity) * b.price"
+          + " + coalesce(round(b.charge * (b.quantity - b.sold_quantity) / nullif(b.quantity, 0),"
+          + " 10), 0)) as invested"
+          + " from stock_buy_transaction b join stock s on s.id = b.stock_id"
+          + " where b.is_sold_out = false group by s.id, s.stock_code";
+
+  private static final String MUTUAL_FUND_CASH_FLOWS_SQL =
+      "select mf_id, (buy_date::date - date '1970-01-01') as epoch_day,"
+          + " (-(nav * units + charge))::float8 as amount"
+          + " from mutual_fund_buy_transaction where mf_id is not null"
+          + " union all"
+          + " select mf_id, (sold_date::date - date '1970-01-01'), (nav * units - charge)::float8"
+          + " from mutual_fund_sell_transaction where mf_id is not null"
+          + " order by mf_id";
+
+  private final DatabaseClient databaseClient;
+
+  /**
+   * Find the open positions of the mutual funds
+   *
+   * @return {@link Flux<OpenPosition>}
+   */
+  public Flux<OpenPosition> findMutualFundPositions() {
+    return findPositions(MUTUAL_FUND_POSITIONS_SQL);
+  }
+
+  /**
+   * Find the open positions of the stocks
+   *
+   * @return {@link Flux<OpenPosition>}
+   */
+  public Flux<OpenPosition> findStockPositions() {
+    return findPositions(STOCK_POSITIONS_SQL);
+  }
+
+  /**
+   * Find the cash flows of the mutual funds, the buys as outflows and the sells as inflows,
+   * streamed into primitive columns
+   *
+   * @return {@link Mono<CashFlows>} in order of mutual fund
+   */
+  public Mono<CashFlows> findMutualFundCashFlows() {
+    return databaseClient
+        .sql(MUTUAL_FUND_CASH_FLOWS_SQL)
+        .map(
+            row ->
+                new CashFlow(
+                    row.get("mf_id", Integer.class),
+                    row.get("epoch_day", Integer.class),
+                    row.get("amount", Double.class)))
+        .all()
+        .collect(CashFlows::new, CashFlows::add);
+  }
+
+  /**
+   * Find open positions
+   *
+   * @param sql the query
+   * @return {@link Flux<OpenPosition>}
+   */
+  private Flux<OpenPosition> findPositions(final String sql) {
+    return databaseClient
+        .sql(sql)
+        .map(
+            row ->
+                new OpenPosition(
+                    row.get(ID, Integer.class),
+                    row.get(CODE, String.class),
+                    row.get(OPEN_UNITS, BigDecimal.class),
+                    row.get(INVESTED, BigDecimal.class)))
+        .all();
+  }
+}
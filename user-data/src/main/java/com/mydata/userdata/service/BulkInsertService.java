@@ -0,0 +1,239 @@
+package com.mydata.userdata.service;
+
+import static com.mydata.userdata.cache.ReferenceData.*;
+
+import com.mydata.userdata.bulk.BulkInsertTable;
+import com.mydata.userdata.bulk.BulkInsertTables;
+import com.mydata.userdata.cache.ReferenceDataCache;
+import com.mydata.userdata.dto.*;
+import com.mydata.userdata.mapper.InvestmentMapper;
+import com.mydata.userdata.property.BulkInsertProperties;
+import com.mydata.userdata.repository.BulkInsertRepository;
+import java.util.List;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * This class bulk inserts the Investment data. The records are written in chunks of {@link
+ * BulkInsertProperties#chunkSize()}, each chunk with one batched insert statement, and all chunks
+ * of a request in one transaction. The cached reference data of the table is invalidated once the
+ * transaction is committed.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BulkInsertService {
+
+  private final BulkInsertRepository bulkInsertRepository;
+  private final BulkInsertProperties bulkInsertProps;
+  private final TransactionalOperator transactionalOperator;
+  private final ReferenceDataCache referenceDataCache;
+  private final MutualFundHoldingService mutualFundHoldingService;
+  private final LotMatchingService lotMatchingService;
+
+  /**
+   * Add Deposit Accounts
+   *
+   * @param depositAccounts the deposit account dto objects
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  public Mono<BulkInsertResultDto> addDepositAccounts(final Flux<AccountDto> depositAccounts) {
+    log.debug("Bulk add Deposit Accounts");
+    return insert(
+            BulkInsertTables.DEPOSIT_ACCOUNT,
+            depositAccounts.map(InvestmentMapper::toDepositAccount))
+        .doOnSuccess(result -> referenceDataCache.invalidate(DEPOSIT_ACCOUNTS));
+  }
+
+  /**
+   * Add Loan Accounts
+   *
+   * @param loanAccounts the loan account dto objects
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  public Mono<BulkInsertResultDto> addLoanAccounts(final Flux<AccountDto> loanAccounts) {
+    log.debug("Bulk add Loan Accounts");
+    return insert(BulkInsertTables.LOAN_ACCOUNT, loanAccounts.map(InvestmentMapper::toLoan))
+        .doOnSuccess(result -> referenceDataCache.invalidate(LOAN_ACCOUNTS));
+  }
+
+  /**
+   * Add Miscellaneous Accounts
+   *
+   * @param miscellaneousAccounts the miscellaneous dto objects
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  public Mono<BulkInsertResultDto> addMiscellaneousAccounts(
+      final Flux<MiscellaneousDto> miscellaneousAccounts) {
+    log.debug("Bulk add Miscellaneous Accounts");
+    return insert(
+            BulkInsertTables.MISCELLANEOUS,
+            miscellaneousAccounts.map(InvestmentMapper::toMiscellaneous))
+        .doOnSuccess(result -> referenceDataCache.invalidate(MISC_ACCOUNTS));
+  }
+
+  /**
+   * Add Mutual Fund Buy Transactions, the units of each chunk are added to the holdings of their
+   * funds
+   *
+   * @param mfBuyTransactions the mutual fund buy transaction dto objects
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  public Mono<BulkInsertResultDto> addMutualFundBuyTransactions(
+      final Flux<MutualFundBuyTransactionDto> mfBuyTransactions) {
+    log.debug("Bulk add Mutual Fund Buy Transactions");
+    return insert(
+        BulkInsertTables.MUTUAL_FUND_BUY_TRANSACTION,
+        mfBuyTransactions.map(InvestmentMapper::toMutualFundBuyTransaction),
+        mutualFundHoldingService::addBuys);
+  }
+
+  /**
+   * Add Mutual Fund Sell Transactions, the sells of each chunk are matched FIFO to the open buy
+   * lots of their funds before they are inserted, see {@link
+   * LotMatchingService#sellMutualFunds(List)}
+   *
+   * @param mfSellTransactions the mutual fund sell transaction dto objects
+   * @return {@link Mono<BulkInsertResultDto>}, error if a fund has fewer open units than sold
+   */
+  public Mono<BulkInsertResultDto> addMutualFundSellTransactions(
+      final Flux<MutualFundSellTransactionDto> mfSellTransactions) {
+    log.debug("Bulk add Mutual Fund Sell Transactions");
+    return insert(
+        BulkInsertTables.MUTUAL_FUND_SELL_TRANSACTION,
+        mfSellTransactions,
+        lotMatchingService::sellMutualFunds,
+        chunk -> Mono.empty());
+  }
+
+  /**
+   * Add Saving Accounts
+   *
+   * @param savingAccounts the saving account dto objects
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  public Mono<BulkInsertResultDto> addSavingAccounts(final Flux<AccountDto> savingAccounts) {
+    log.debug("Bulk add Saving Accounts");
+    return insert(
+            BulkInsertTables.SAVING_ACCOUNT, savingAccounts.map(InvestmentMapper::toSavingAccount))
+        .doOnSuccess(result -> referenceDataCache.invalidate(SAVING_ACCOUNTS));
+  }
+
+  /**
+   * Add Stocks
+   *
+   * @param stocks the stock dto objects
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  public Mono<BulkInsertResultDto> addStocks(final Flux<StockDto> stocks) {
+    log.debug("Bulk add Stocks");
+    return insert(BulkInsertTables.STOCK, stocks.map(InvestmentMapper::toStock))
+        .doOnSuccess(result -> referenceDataCache.invalidate(STOCKS));
+  }
+
+  /**
+   * Add Stock Buy Transactions
+   *
+   * @param stockBuyTransactions the stock buy transaction dto objects
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  public Mono<BulkInsertResultDto> addStockBuyTransactions(
+      final Flux<StockBuyTransactionDto> stockBuyTransactions) {
+    log.debug("Bulk add Stock Buy Transactions");
+    return insert(
+        BulkInsertTables.STOCK_BUY_TRANSACTION,
+        stockBuyTransactions.map(InvestmentMapper::toStockBuyTransaction));
+  }
+
+  /**
+   * Add Stock Sell Transactions, the sells of each chunk are matched FIFO to the open buy lots of
+   * their stocks before they are inserted, see {@link LotMatchingService#sellStocks(List)}
+   *
+   * @param stockSellTransactions the stock sell transaction dto objects
+   * @return {@link Mono<BulkInsertResultDto>}, error if a stock has less open quantity than sold
+   */
+  public Mono<BulkInsertResultDto> addStockSellTransactions(
+      final Flux<StockSellTransactionDto> stockSellTransactions) {
+    log.debug("Bulk add Stock Sell Transactions");
+    return insert(
+        BulkInsertTables.STOCK_SELL_TRANSACTION,
+        stockSellTransactions,
+        lotMatchingService::sellStocks,
+        chunk -> Mono.empty());
+  }
+
+  /**
+   * Insert the records chunk by chunk in one transaction
+   *
+   * @param table the table to insert to
+   * @param records the records to insert
+   * @param <T> the record type
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  private <T> Mono<BulkInsertResultDto> insert(
+      final BulkInsertTable<T> table, final Flux<T> records) {
+    return insert(table, records, chunk -> Mono.empty());
+  }
+
+  /**
+   * Insert the records chunk by chunk in one transaction, writing what derives from each chunk once
+   * it is inserted
+   *
+   * @param table the table to insert to
+   * @param records the records to insert
+   * @param afterChunk writes what derives from an inserted chunk
+   * @param <T> the record type
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  private <T> Mono<BulkInsertResultDto> insert(
+      final BulkInsertTable<T> table,
+      final Flux<T> records,
+      final Function<List<T>, Mono<Void>> afterChunk) {
+    return insert(table, records, Mono::just, afterChunk);
+  }
+
+  /**
+   * Insert the records chunk by chunk in one transaction, writing what each chunk derives from
+   * before and after it is inserted
+   *
+   * @param table the table to insert to
+   * @param records the requested records
+   * @param beforeChunk writes what a requested chunk derives from and gets the records to insert
+   * @param afterChunk writes what derives from an inserted chunk
+   * @param <R> the requested record type
+   * @param <T> the inserted record type
+   * @return {@link Mono<BulkInsertResultDto>}
+   */
+  private <R, T> Mono<BulkInsertResultDto> insert(
+      final BulkInsertTable<T> table,
+      final Flux<R> records,
+      final Function<List<R>, Mono<List<T>>> beforeChunk,
+      final Function<List<T>, Mono<Void>> afterChunk) {
+    return records
+        .buffer(bulkInsertProps.chunkSize())
+        .index()
+        .concatMap(
+            chunk ->
+                beforeChunk
+                    .apply(chunk.getT2())
+                    .flatMap(
+                        toInsert ->
+                            bulkInsertRepository
+                                .insert(table, toInsert)
+                                .flatMap(
+                                    inserted ->
+                                        afterChunk
+                                            .apply(toInsert)
+                                            .thenReturn(
+                                                new BulkInsertChunkDto(
+                                                    chunk.getT1(), toInsert.size(), inserted)))))
+        .as(transactionalOperator::transactional)
+        .collectList()
+        .map(BulkInsertResultDto::of);
+  }
+}
@@ -0,0 +1,125 @@
+package com.mydata.userdata.service;
+
+import com.mydata.userdata.dto.CapitalGainDto;
+import com.mydata.userdata.property.CapitalGainsProperties;
+import com.mydata.userdata.report.CapitalGainsReport;
+import com.mydata.userdata.repository.CapitalGainsRepository;
+import java.time.LocalDate;
+import java.time.Month;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * This class reports the capital gains realized by the mutual fund sells of a range of financial
+ * years, starting in April. Every lot realized by a sell is a row with its short term or long term
+ * gain, and the lots of a fund are followed by their subtotal. The rows are streamed from the
+ * database as the report is written, as JSON or as CSV, once the lot units of every sell of the
+ * years are known to add up to its units.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class CapitalGainsService {
+
+  private static final Month FINANCIAL_YEAR_START = Month.APRIL;
+  private static final int MAX_UNMATCHED_SELL_IDS = 10;
+
+  private final CapitalGainsRepository capitalGainsRepository;
+  private final CapitalGainsProperties capitalGainsProps;
+
+  /**
+   * Get the Mutual Fund Capital Gains of a range of financial years
+   *
+   * @param fromYear the year the first financial year starts in
+   * @param toYear the year the last financial year starts in
+   * @return {@link Flux<CapitalGainDto>}, the lots and subtotals in order of fund
+   */
+  public Flux<CapitalGainDto> getMutualFundCapitalGains(final int fromYear, final int toYear) {
+    log.debug("Fetching the Mutual Fund Capital Gains of the years {} to {}", fromYear, toYear);
+    return checkYears(fromYear, toYear)
+        .then(Mono.defer(() -> checkSells(fromYear, toYear)))
+        .thenMany(Flux.defer(() -> capitalGains(fromYear, toYear)));
+  }
+
+  /**
+   * Get the Mutual Fund Capital Gains of a range of financial years as CSV
+   *
+   * @param fromYear the year the first financial year starts in
+   * @param toYear the year the last financial year starts in
+   * @return {@link Flux<String>}, the header then a line per lot or subtotal
+   */
+  public Flux<String> getMutualFundCapitalGainsCsv(final int fromYear, final int toYear) {
+    log.debug(
+        "Fetching the Mutual Fund Capital Gains of the years {} to {} as CSV", fromYear, toYear);
+    return checkYears(fromYear, toYear)
+        .then(Mono.defer(() -> checkSells(fromYear, toYear)))
+        .thenMany(Flux.defer(() -> CapitalGainsReport.toCsv(capitalGains(fromYear, toYear))));
+  }
+
+  /**
+   * Check the range of financial years, before anything is written
+   *
+   * @param fromYear the year the first financial year starts in
+   * @param toYear the year the last financial year starts in
+   * @return {@link Mono<Void>}, error if the range is empty
+   */
+  private static Mono<Void> checkYears(final int fromYear, final int toYear) {
+    return fromYear > toYear
+        ? Mono.error(
+            new ServerWebInputException(
+                "From year should not be after to year : " + fromYear + " > " + toYear))
+        : Mono.empty();
+  }
+
+  /**
+   * Check the lot units of the sells of a range of financial years add up to their units, before
+   * anything is written. A report leaving out the units of a sell would be wrong without showing.
+   *
+   * @param fromYear the year the first financial year starts in
+   * @param toYear the year the last financial year starts in
+   * @return {@link Mono<Void>}, error with the first unmatched sell ids if any
+   */
+  private Mono<Void> checkSells(final int fromYear, final int toYear) {
+    return capitalGainsRepository
+        .findUnmatchedMutualFundSellIds(start(fromYear), start(toYear + 1))
+        .take(MAX_UNMATCHED_SELL_IDS)
+        .collectList()
+        .flatMap(
+            sellIds ->
+                sellIds.isEmpty()
+                    ? Mono.<Void>empty()
+                    : Mono.error(
+                        new IllegalStateException(
+                            "The lot units of the Mutual Fund Sell Transactions "
+                                + sellIds
+                                + " do not add up to their units")));
+  }
+
+  /**
+   * The lots realized in a range of financial years, each fund followed by its subtotal
+   *
+   * @param fromYear the year the first financial year starts in
+   * @param toYear the year the last financial year starts in
+   * @return {@link Flux<CapitalGainDto>}
+   */
+  private Flux<CapitalGainDto> capitalGains(final int fromYear, final int toYear) {
+    return CapitalGainsReport.withSubtotals(
+        capitalGainsRepository.findMutualFundCapitalGains(
+            start(fromYear), start(toYear + 1), capitalGainsProps.longTermDays()));
+  }
+
+  /**
+   * The first day of a financial year
+   *
+   * @param year the year the financial year starts in
+   * @return the start date of the financial year
+   */
+  private static LocalDate start(final int year) {
+    return LocalDate.of(year, FINANCIAL_YEAR_START, 1);
+  }
+}
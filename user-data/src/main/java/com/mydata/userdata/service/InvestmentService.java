@@ -1,28 +1,30 @@
 package com.mydata.userdata.service;
 
-import static com.mydata.userdata.common.ObjectProperties.*;
+import static com.mydata.userdata.cache.ReferenceData.*;
 
-import com.expediagroup.beans.BeanUtils;
-import com.expediagroup.transformer.model.FieldTransformer;
+import com.mydata.userdata.cache.ReferenceDataCache;
 import com.mydata.userdata.dto.*;
-import com.mydata.userdata.entity.*;
+import com.mydata.userdata.mapper.InvestmentMapper;
+import com.mydata.userdata.pagination.KeysetCursor;
+import com.mydata.userdata.pagination.KeysetPage;
 import com.mydata.userdata.repository.*;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-/** This class the process the Investment data */
+/**
+ * This class the process the Investment data. The active accounts, mutual funds and stocks are
+ * served from the {@link ReferenceDataCache}, which is invalidated when one of them is added.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class InvestmentService {
 
-  private static final FieldTransformer<Boolean, Boolean> ACTIVE_TRUE_TRNSFMR =
-      new FieldTransformer<>(ACCOUNT_ACTIVE, () -> Boolean.TRUE);
-  private static final FieldTransformer<String, String> ID_NULL_TRNSFMR =
-      new FieldTransformer<>(ACCOUNT_ID, () -> null);
   private final DepositAccountRepository depositAccountRepository;
   private final LoanRepository loanRepository;
   private final MiscellaneousRepository miscellaneousRepository;
@@ -31,16 +33,12 @@ public class InvestmentService {
   private final MutualFundSellTransactionRepository mutualFundSellTransactionRepository;
   private final SavingAccountRepository savingAccountRepository;
   private final StockRepository stockRepository;
-
-  private <T> T dtoToEntitySkipId(Object dto, Class<T> entityType) {
-    return new BeanUtils()
-        .getTransformer()
-        .withFieldTransformer(ID_NULL_TRNSFMR, ACTIVE_TRUE_TRNSFMR)
-        .skipTransformationForField(ACCOUNT_MODIFIED_AT, ACCOUNT_CREATED_AT)
-        .setDefaultValueForMissingField(false)
-        .setDefaultValueForMissingPrimitiveField(false)
-        .transform(dto, entityType);
-  }
+  private final StockBuyTransactionRepository stockBuyTransactionRepository;
+  private final StockSellTransactionRepository stockSellTransactionRepository;
+  private final ReferenceDataCache referenceDataCache;
+  private final LotMatchingService lotMatchingService;
+  private final MutualFundHoldingService mutualFundHoldingService;
+  private final TransactionalOperator transactionalOperator;
 
   /**
    * Get all Deposit Accounts
@@ -48,14 +46,27 @@ public class InvestmentService {
    * @return {@link Flux<AccountDto>}
    */
   public Flux<AccountDto> getDepositAccounts() {
-    log.info("Fetching all Active Deposit Accounts");
-    return depositAccountRepository
-        .findByActive(Boolean.TRUE)
-        .map(da -> entityToDto(da, AccountDto.class));
+    log.debug("Fetching all Active Deposit Accounts");
+    return referenceDataCache.get(
+        DEPOSIT_ACCOUNTS,
+        () -> depositAccountRepository.findByActive(Boolean.TRUE).map(InvestmentMapper::toDto));
   }
 
-  private <T> T entityToDto(Object entity, Class<T> dtoType) {
-    return BeanUtils.getTransformer(dtoType).apply(entity);
+  /**
+   * Get a page of Deposit Accounts, ordered by id
+   *
+   * @param after the cursor of the last record of the previous page
+   * @param size the page size
+   * @return {@link Mono<KeysetPage<AccountDto>>}
+   */
+  public Mono<KeysetPage<AccountDto>> getDepositAccountsPage(
+      final KeysetCursor after, final int size) {
+    log.debug("Fetching a page of Active Deposit Accounts");
+    return depositAccountRepository
+        .findPageByActive(Boolean.TRUE, after.id(), size + 1)
+        .map(InvestmentMapper::toDto)
+        .collectList()
+        .map(dtos -> KeysetPage.of(dtos, size, dto -> KeysetCursor.ofId(dto.id())));
   }
 
   /**
@@ -65,10 +76,11 @@ public class InvestmentService {
    * @return {@link Mono<AccountDto>}
    */
   public Mono<AccountDto> addDepositAccount(final AccountDto depositAccount) {
-    log.info("Add a Deposit Account");
+    log.debug("Add a Deposit Account");
     return depositAccountRepository
-        .save(dtoToEntitySkipId(depositAccount, DepositAccount.class))
-        .map(da -> entityToDto(da, AccountDto.class));
+        .save(InvestmentMapper.toDepositAccount(depositAccount))
+        .map(InvestmentMapper::toDto)
+        .doOnSuccess(dto -> referenceDataCache.invalidate(DEPOSIT_ACCOUNTS));
   }
 
   /**
@@ -77,10 +89,27 @@ public class InvestmentService {
    * @return {@link Flux<AccountDto>}
    */
   public Flux<AccountDto> getLoanAccounts() {
-    log.info("Fetching all Active Loan Accounts");
+    log.debug("Fetching all Active Loan Accounts");
+    return referenceDataCache.get(
+        LOAN_ACCOUNTS,
+        () -> loanRepository.findByActive(Boolean.TRUE).map(InvestmentMapper::toDto));
+  }
+
+  /**
+   * Get a page of Loan Accounts, ordered by id
+   *
+   * @param after the cursor of the last record of the previous page
+   * @param size the page size
+   * @return {@link Mono<KeysetPage<AccountDto>>}
+   */
+  public Mono<KeysetPage<AccountDto>> getLoanAccountsPage(
+      final KeysetCursor after, final int size) {
+    log.debug("Fetching a page of Active Loan Accounts");
     return loanRepository
-        .findByActive(Boolean.TRUE)
-        .map(loan -> entityToDto(loan, AccountDto.class));
+        .findPageByActive(Boolean.TRUE, after.id(), size + 1)
+        .map(InvestmentMapper::toDto)
+        .collectList()
+        .map(dtos -> KeysetPage.of(dtos, size, dto -> KeysetCursor.ofId(dto.id())));
   }
 
   /**
@@ -90,10 +119,11 @@ public class InvestmentService {
    * @return {@link Mono<AccountDto>}
    */
   public Mono<AccountDto> addLoanAccount(final AccountDto loanAccount) {
-    log.info("Add a Loan Account");
+    log.debug("Add a Loan Account");
     return loanRepository
-        .save(dtoToEntitySkipId(loanAccount, Loan.class))
-        .map(loan -> entityToDto(loan, AccountDto.class));
+        .save(InvestmentMapper.toLoan(loanAccount))
+        .map(InvestmentMapper::toDto)
+        .doOnSuccess(dto -> referenceDataCache.invalidate(LOAN_ACCOUNTS));
   }
 
   /**
@@ -102,10 +132,27 @@ public class InvestmentService {
    * @return {@link Flux<MiscellaneousDto>}
    */
   public Flux<MiscellaneousDto> getMiscellaneousAccounts() {
-    log.info("Fetching all Active Miscellaneous Accounts");
+    log.debug("Fetching all Active Miscellaneous Accounts");
+    return referenceDataCache.get(
+        MISC_ACCOUNTS,
+        () -> miscellaneousRepository.findByActive(Boolean.TRUE).map(InvestmentMapper::toDto));
+  }
+
+  /**
+   * Get a page of Miscellaneous Accounts, ordered by id
+   *
+   * @param after the cursor of the last record of the previous page
+   * @param size the page size
+   * @return {@link Mono<KeysetPage<MiscellaneousDto>>}
+   */
+  public Mono<KeysetPage<MiscellaneousDto>> getMiscellaneousAccountsPage(
+      final KeysetCursor after, final int size) {
+    log.debug("Fetching a page of Active Miscellaneous Accounts");
     return miscellaneousRepository
-        .findByActive(Boolean.TRUE)
-        .map(misc -> entityToDto(misc, MiscellaneousDto.class));
+        .findPageByActive(Boolean.TRUE, after.id(), size + 1)
+        .map(InvestmentMapper::toDto)
+        .collectList()
+        .map(dtos -> KeysetPage.of(dtos, size, dto -> KeysetCursor.ofId(dto.id())));
   }
 
   /**
@@ -116,10 +163,11 @@ public class InvestmentService {
    */
   public Mono<MiscellaneousDto> addMiscellaneousAccount(
       final MiscellaneousDto miscellaneousAccount) {
-    log.info("Add a Miscellaneous Account");
+    log.debug("Add a Miscellaneous Account");
     return miscellaneousRepository
-        .save(dtoToEntitySkipId(miscellaneousAccount, Miscellaneous.class))
-        .map(misc -> entityToDto(misc, MiscellaneousDto.class));
+        .save(InvestmentMapper.toMiscellaneous(miscellaneousAccount))
+        .map(InvestmentMapper::toDto)
+        .doOnSuccess(dto -> referenceDataCache.invalidate(MISC_ACCOUNTS));
   }
 
   /**
@@ -128,10 +176,10 @@ public class InvestmentService {
    * @return {@link Flux<MutualFundDto>}
    */
   public Flux<MutualFundDto> getMutualFunds() {
-    log.info("Fetching all Active MutualFunds");
-    return mutualFundRepository
-        .findByActive(Boolean.TRUE)
-        .map(mf -> entityToDto(mf, MutualFundDto.class));
+    log.debug("Fetching all Active MutualFunds");
+    return referenceDataCache.get(
+        MUTUAL_FUNDS,
+        () -> mutualFundRepository.findByActive(Boolean.TRUE).map(InvestmentMapper::toDto));
   }
 
   /**
@@ -141,10 +189,11 @@ public class InvestmentService {
    * @return {@link Mono<MutualFundDto>}
    */
   public Mono<MutualFundDto> addMutualFund(final MutualFundDto mutualFund) {
-    log.info("Add a Mutual Fund");
+    log.debug("Add a Mutual Fund");
     return mutualFundRepository
-        .save(dtoToEntitySkipId(mutualFund, MutualFund.class))
-        .map(mf -> entityToDto(mf, MutualFundDto.class));
+        .save(InvestmentMapper.toMutualFund(mutualFund))
+        .map(InvestmentMapper::toDto)
+        .doOnSuccess(dto -> referenceDataCache.invalidate(MUTUAL_FUNDS));
   }
 
   /**
@@ -154,24 +203,45 @@ public class InvestmentService {
    * @return {@link Flux<MutualFundBuyTransactionDto>}
    */
   public Flux<MutualFundBuyTransactionDto> getMutualFundBuyTransactions(Boolean fetchSoldOut) {
-    log.info("Fetching all Mutual Fund Buy Transaction based on sold out value");
+    log.debug("Fetching all Mutual Fund Buy Transaction based on sold out value");
     return mutualFundBuyTransactionRepository
         .findByIsSoldOut(fetchSoldOut)
-        .map(mf -> entityToDto(mf, MutualFundBuyTransactionDto.class));
+        .map(InvestmentMapper::toDto);
   }
 
   /**
-   * Add a Mutual Fund Buy Transactions
+   * Get a page of Mutual Funds Buy Transaction, ordered by buy date and id
+   *
+   * @param fetchSoldOut if true fetch sold out buy transaction else un sold out transaction
+   * @param after the cursor of the last record of the previous page
+   * @param size the page size
+   * @return {@link Mono<KeysetPage<MutualFundBuyTransactionDto>>}
+   */
+  public Mono<KeysetPage<MutualFundBuyTransactionDto>> getMutualFundBuyTransactionsPage(
+      final Boolean fetchSoldOut, final KeysetCursor after, final int size) {
+    log.debug("Fetching a page of Mutual Fund Buy Transaction based on sold out value");
+    return mutualFundBuyTransactionRepository
+        .findPageByIsSoldOut(fetchSoldOut, after.sortKey(), after.id(), size + 1)
+        .map(InvestmentMapper::toDto)
+        .collectList()
+        .map(dtos -> KeysetPage.of(dtos, size, dto -> new KeysetCursor(dto.buyDate(), dto.id())));
+  }
+
+  /**
+   * Add a Mutual Fund Buy Transactions, its units are added to the holding of the fund in the same
+   * transaction
    *
    * @param mfBuyTransaction the mutual fund buy transaction dto
    * @return {@link Mono<MutualFundBuyTransactionDto>}
    */
   public Mono<MutualFundBuyTransactionDto> addMutualFundBuyTransaction(
       final MutualFundBuyTransactionDto mfBuyTransaction) {
-    log.info("Add a Mutual Fund Buy Transaction");
+    log.debug("Add a Mutual Fund Buy Transaction");
     return mutualFundBuyTransactionRepository
-        .save(dtoToEntitySkipId(mfBuyTransaction, MutualFundBuyTransaction.class))
-        .map(mfBuy -> entityToDto(mfBuy, MutualFundBuyTransactionDto.class));
+        .save(InvestmentMapper.toMutualFundBuyTransaction(mfBuyTransaction))
+        .flatMap(mfBuy -> mutualFundHoldingService.addBuys(List.of(mfBuy)).thenReturn(mfBuy))
+        .as(transactionalOperator::transactional)
+        .map(InvestmentMapper::toDto);
   }
 
   /**
@@ -180,24 +250,38 @@ public class InvestmentService {
    * @return {@link Flux<MutualFundSellTransactionDto>}
    */
   public Flux<MutualFundSellTransactionDto> getMutualFundSellTransactions() {
-    log.info("Fetching all Mutual Fund Sell Transactions");
+    log.debug("Fetching all Mutual Fund Sell Transactions");
+    return mutualFundSellTransactionRepository.findAll().map(InvestmentMapper::toDto);
+  }
+
+  /**
+   * Get a page of Mutual Funds Sell Transactions, ordered by id
+   *
+   * @param after the cursor of the last record of the previous page
+   * @param size the page size
+   * @return {@link Mono<KeysetPage<MutualFundSellTransactionDto>>}
+   */
+  public Mono<KeysetPage<MutualFundSellTransactionDto>> getMutualFundSellTransactionsPage(
+      final KeysetCursor after, final int size) {
+    log.debug("Fetching a page of Mutual Fund Sell Transactions");
     return mutualFundSellTransactionRepository
-        .findAll()
-        .map(mf -> entityToDto(mf, MutualFundSellTransactionDto.class));
+        .findPage(after.id(), size + 1)
+        .map(InvestmentMapper::toDto)
+        .collectList()
+        .map(dtos -> KeysetPage.of(dtos, size, dto -> KeysetCursor.ofId(dto.id())));
   }
 
   /**
-   * Add a Mutual Fund Sell Transaction
+   * Add a Mutual Fund Sell Transaction, matched FIFO to the open buy lots of the fund by {@link
+   * LotMatchingService#sellMutualFund(MutualFundSellTransactionDto)}
    *
    * @param mfSellTransaction the mutual fund sell transaction dto
    * @return {@link Mono<MutualFundSellTransactionDto>}
    */
   public Mono<MutualFundSellTransactionDto> addMutualFundSellTransaction(
       final MutualFundSellTransactionDto mfSellTransaction) {
-    log.info("Add a Mutual Fund Sell Transaction");
-    return mutualFundSellTransactionRepository
-        .save(dtoToEntitySkipId(mfSellTransaction, MutualFundSellTransaction.class))
-        .map(mfSell -> entityToDto(mfSell, MutualFundSellTransactionDto.class));
+    log.debug("Add a Mutual Fund Sell Transaction");
+    return lotMatchingService.sellMutualFund(mfSellTransaction);
   }
 
   /**
@@ -206,10 +290,27 @@ public class InvestmentService {
    * @return {@link Flux<AccountDto>}
    */
   public Flux<AccountDto> getSavingAccounts() {
-    log.info("Fetching all Active Saving Accounts");
+    log.debug("Fetching all Active Saving Accounts");
+    return referenceDataCache.get(
+        SAVING_ACCOUNTS,
+        () -> savingAccountRepository.findByActive(Boolean.TRUE).map(InvestmentMapper::toDto));
+  }
+
+  /**
+   * Get a page of Saving Accounts, ordered by id
+   *
+   * @param after the cursor of the last record of the previous page
+   * @param size the page size
+   * @return {@link Mono<KeysetPage<AccountDto>>}
+   */
+  public Mono<KeysetPage<AccountDto>> getSavingAccountsPage(
+      final KeysetCursor after, final int size) {
+    log.debug("Fetching a page of Active Saving Accounts");
     return savingAccountRepository
-        .findByActive(Boolean.TRUE)
-        .map(sa -> entityToDto(sa, AccountDto.class));
+        .findPageByActive(Boolean.TRUE, after.id(), size + 1)
+        .map(InvestmentMapper::toDto)
+        .collectList()
+        .map(dtos -> KeysetPage.of(dtos, size, dto -> KeysetCursor.ofId(dto.id())));
   }
 
   /**
@@ -219,10 +320,11 @@ public class InvestmentService {
    * @return {@link Mono<AccountDto>}
    */
   public Mono<AccountDto> addSavingAccount(final AccountDto savingAccount) {
-    log.info("Add a Saving Account");
+    log.debug("Add a Saving Account");
     return savingAccountRepository
-        .save(dtoToEntitySkipId(savingAccount, SavingAccount.class))
-        .map(sa -> entityToDto(sa, AccountDto.class));
+        .save(InvestmentMapper.toSavingAccount(savingAccount))
+        .map(InvestmentMapper::toDto)
+        .doOnSuccess(dto -> referenceDataCache.invalidate(SAVING_ACCOUNTS));
   }
 
   /**
@@ -231,10 +333,9 @@ public class InvestmentService {
    * @return {@link Flux<StockDto>}
    */
   public Flux<StockDto> getStocks() {
-    log.info("Fetching all Active Stocks");
-    return stockRepository
-        .findByActive(Boolean.TRUE)
-        .map(stock -> entityToDto(stock, StockDto.class));
+    log.debug("Fetching all Active Stocks");
+    return referenceDataCache.get(
+        STOCKS, () -> stockRepository.findByActive(Boolean.TRUE).map(InvestmentMapper::toDto));
   }
 
   /**
@@ -244,9 +345,93 @@ public class InvestmentService {
    * @return {@link Mono<StockDto>}
    */
   public Mono<StockDto> addStock(final StockDto stock) {
-    log.info("Add a Stock");
+    log.debug("Add a Stock");
     return stockRepository
-        .save(dtoToEntitySkipId(stock, Stock.class))
-        .map(sa -> entityToDto(sa, StockDto.class));
+        .save(InvestmentMapper.toStock(stock))
+        .map(InvestmentMapper::toDto)
+        .doOnSuccess(dto -> referenceDataCache.invalidate(STOCKS));
+  }
+
+  /**
+   * Get Stock Buy Transactions
+   *
+   * @param fetchSoldOut if true fetch sold out buy transaction else un sold out transaction
+   * @return {@link Flux<StockBuyTransactionDto>}
+   */
+  public Flux<StockBuyTransactionDto> getStockBuyTransactions(final Boolean fetchSoldOut) {
+    log.debug("Fetching all Stock Buy Transaction based on sold out value");
+    return stockBuyTransactionRepository.findByIsSoldOut(fetchSoldOut).map(InvestmentMapper::toDto);
+  }
+
+  /**
+   * Get a page of Stock Buy Transactions, ordered by buy date and id
+   *
+   * @param fetchSoldOut if true fetch sold out buy transaction else un sold out transaction
+   * @param after the cursor of the last record of the previous page
+   * @param size the page size
+   * @return {@link Mono<KeysetPage<StockBuyTransactionDto>>}
+   */
+  public Mono<KeysetPage<StockBuyTransactionDto>> getStockBuyTransactionsPage(
+      final Boolean fetchSoldOut, final KeysetCursor after, final int size) {
+    log.debug("Fetching a page of Stock Buy Transaction based on sold out value");
+    return stockBuyTransactionRepository
+        .findPageByIsSoldOut(fetchSoldOut, after.sortKey(), after.id(), size + 1)
+        .map(InvestmentMapper::toDto)
+        .collectList()
+        .map(dtos -> KeysetPage.of(dtos, size, dto -> new KeysetCursor(dto.buyDate(), dto.id())));
+  }
+
+  /**
+   * Add a Stock Buy Transaction
+   *
+   * @param stockBuyTransaction the stock buy transaction dto
+   * @return {@link Mono<StockBuyTransactionDto>}
+   */
+  public Mono<StockBuyTransactionDto> addStockBuyTransaction(
+      final StockBuyTransactionDto stockBuyTransaction) {
+    log.debug("Add a Stock Buy Transaction");
+    return stockBuyTransactionRepository
+        .save(InvestmentMapper.toStockBuyTransaction(stockBuyTransaction))
+        .map(InvestmentMapper::toDto);
+  }
+
+  /**
+   * Get Stock Sell Transactions
+   *
+   * @return {@link Flux<StockSellTransactionDto>}
+   */
+  public Flux<StockSellTransactionDto> getStockSellTransactions() {
+    log.debug("Fetching all Stock Sell Transactions");
+    return stockSellTransactionRepository.findAll().map(InvestmentMapper::toDto);
+  }
+
+  /**
+   * Get a page of Stock Sell Transactions, ordered by id
+   *
+   * @param after the cursor of the last record of the previous page
+   * @param size the page size
+   * @return {@link Mono<KeysetPage<StockSellTransactionDto>>}
+   */
+  public Mono<KeysetPage<StockSellTransactionDto>> getStockSellTransactionsPage(
+      final KeysetCursor after, final int size) {
+    log.debug("Fetching a page of Stock Sell Transactions");
+    return stockSellTransactionRepository
+        .findPage(after.id(), size + 1)
+        .map(InvestmentMapper::toDto)
+        .collectList()
+        .map(dtos -> KeysetPage.of(dtos, size, dto -> KeysetCursor.ofId(dto.id())));
+  }
+
+  /**
+   * Add a Stock Sell Transaction, matched FIFO to the open buy lots of the stock by {@link
+   * LotMatchingService#sellStock(StockSellTransactionDto)}
+   *
+   * @param stockSellTransaction the stock sell transaction dto
+   * @return {@link Mono<StockSellTransactionDto>}
+   */
+  public Mono<StockSellTransactionDto> addStockSellTransaction(
+      final StockSellTransactionDto stockSellTransaction) {
+    log.debug("Add a Stock Sell Transaction");
+    return lotMatchingService.sellStock(stockSellTransaction);
   }
 }
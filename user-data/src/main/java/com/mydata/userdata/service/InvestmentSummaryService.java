@@ -0,0 +1,32 @@
+package com.mydata.userdata.service;
+
+import com.mydata.userdata.dto.InvestmentSummaryDto;
+import com.mydata.userdata.repository.InvestmentSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/** This class summarizes the Investment data */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class InvestmentSummaryService {
+
+  private final InvestmentSummaryRepository investmentSummaryRepository;
+  private final MutualFundHoldingService mutualFundHoldingService;
+
+  /**
+   * Get the Investment Summary. The account totals and the mutual fund holdings are queried
+   * concurrently, each on its own pooled connection.
+   *
+   * @return {@link Mono<InvestmentSummaryDto>}
+   */
+  public Mono<InvestmentSummaryDto> getInvestmentSummary() {
+    log.debug("Fetching the Investment Summary");
+    return Mono.zip(
+            investmentSummaryRepository.findAccountTotals().collectList(),
+            mutualFundHoldingService.getMutualFundHoldings().collectList())
+        .map(totals -> InvestmentSummaryDto.of(totals.getT1(), totals.getT2()));
+  }
+}
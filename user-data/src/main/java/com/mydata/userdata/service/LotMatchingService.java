@@ -0,0 +1,435 @@
+package com.mydata.userdata.service;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.dto.MutualFundSellTransactionDto;
+import com.mydata.userdata.dto.StockSellTransactionDto;
+import com.mydata.userdata.entity.MutualFundSellTransaction;
+import com.mydata.userdata.entity.StockSellTransaction;
+import com.mydata.userdata.lot.FifoLotMatcher;
+import com.mydata.userdata.lot.LotMatch;
+import com.mydata.userdata.lot.OpenLot;
+import com.mydata.userdata.mapper.InvestmentMapper;
+import com.mydata.userdata.pagination.KeysetCursor;
+import com.mydata.userdata.property.LotMatchingProperties;
+import com.mydata.userdata.repository.MutualFundBuyTransactionRepository;
+import com.mydata.userdata.repository.MutualFundSellTransactionRepository;
+import com.mydata.userdata.repository.StockBuyTransactionRepository;
+import com.mydata.userdata.repository.StockSellTransactionRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * This class matches the sell transactions to the open buy lots, first in first out. The lots are
+ * read with {@code select ... for update} in batches of {@link LotMatchingProperties#batchSize()},
+ * so concurrent sells of the same instrument wait for each other, and the sold units of the lots,
+ * the holding of the instrument and the sell transaction are written in the same transaction. Only
+ * the lots bought by the sold date of a sell are read, a sell without a sold date is dated now.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class LotMatchingService {
+
+  private static final int AMOUNT_SCALE = 2;
+
+  private final MutualFundBuyTransactionRepository mutualFundBuyTransactionRepository;
+  private final MutualFundSellTransactionRepository mutualFundSellTransactionRepository;
+  private final StockBuyTransactionRepository stockBuyTransactionRepository;
+  private final StockSellTransactionRepository stockSellTransactionRepository;
+  private final MutualFundHoldingService mutualFundHoldingService;
+  private final LotMatchingProperties lotMatchingProps;
+  private final TransactionalOperator transactionalOperator;
+
+  /**
+   * Sell Mutual Fund units from the open buy lots. The buy ids and the realized profit / loss of
+   * the request are replaced by the matched lots and the profit / loss computed from them.
+   *
+   * @param mfSellTransaction the mutual fund sell transaction dto
+   * @return {@link Mono<MutualFundSellTransactionDto>}, error if the fund has fewer open units
+   */
+  public Mono<MutualFundSellTransactionDto> sellMutualFund(
+      final MutualFundSellTransactionDto mfSellTransaction) {
+    log.debug("Match a Mutual Fund Sell Transaction to the open buy lots");
+    if (null == mfSellTransaction.mfId()
+        || null == mfSellTransaction.nav()
+        || null == mfSellTransaction.charge()) {
+      return Mono.error(new ServerWebInputException("mfId, nav and charge are required"));
+    }
+    return sell(
+            (after, limit) ->
+                mutualFundBuyTransactionRepository
+                    .findOpenLotsForUpdate(
+                        mfSellTransaction.mfId(),
+                        mfSellTransaction.soldDate(),
+                        after.sortKey(),
+                        after.id(),
+                        limit)
+                    .map(InvestmentMapper::toOpenLot),
+            toBigDecimal(mfSellTransaction.units()),
+            mfSellTransaction.soldDate(),
+            toBigDecimal(mfSellTransaction.nav()),
+            toBigDecimal(mfSellTransaction.charge()),
+            (matches, profitLoss) ->
+                mutualFundBuyTransactionRepository
+                    .addSoldUnits(
+                        buyIds(matches).toArray(Integer[]::new),
+                        matches.stream()
+                            .map(match -> match.units().toPlainString())
+                            .toArray(String[]::new))
+                    .then(mutualFundHoldingService.removeSold(mfSellTransaction.mfId(), matches))
+                    .then(
+                        mutualFundSellTransactionRepository.save(
+                            InvestmentMapper.toMutualFundSellTransaction(
+                                mfSellTransaction,
+                                buyIds(matches),
+                                buyUnits(matches),
+                                profitLoss))))
+        .map(InvestmentMapper::toDto);
+  }
+
+  /**
+   * Sell Stock quantity from the open buy lots. The buy ids and the realized profit / loss of the
+   * request are replaced by the matched lots and the profit / loss computed from them.
+   *
+   * @param stockSellTransaction the stock sell transaction dto
+   * @return {@link Mono<StockSellTransactionDto>}, error if the stock has less open quantity
+   */
+  public Mono<StockSellTransactionDto> sellStock(
+      final StockSellTransactionDto stockSellTransaction) {
+    log.debug("Match a Stock Sell Transaction to the open buy lots");
+    if (null == stockSellTransaction.stockId()
+        || null == stockSellTransaction.price()
+        || null == stockSellTransaction.charge()) {
+      return Mono.error(new ServerWebInputException("stockId, price and charge are required"));
+    }
+    return sell(
+            (after, limit) ->
+                stockBuyTransactionRepository
+                    .findOpenLotsForUpdate(
+                        stockSellTransaction.stockId(),
+                        stockSellTransaction.soldDate(),
+                        after.sortKey(),
+                        after.id(),
+                        limit)
+                    .map(InvestmentMapper::toOpenLot),
+            null == stockSellTransaction.quantity()
+                ? null
+                : BigDecimal.valueOf(stockSellTransaction.quantity()),
+            stockSellTransaction.soldDate(),
+            toBigDecimal(stockSellTransaction.price()),
+            toBigDecimal(stockSellTransaction.charge()),
+            (matches, profitLoss) ->
+                stockBuyTransactionRepository
+                    .addSoldQuantities(
+                        buyIds(matches).toArray(Integer[]::new),
+                        matches.stream()
+                            .map(match -> match.units().intValueExact())
+                            .toArray(Integer[]::new))
+                    .then(
+                        stockSellTransactionRepository.save(
+                            InvestmentMapper.toStockSellTransaction(
+                                stockSellTransaction, buyIds(matches), profitLoss))))
+        .map(InvestmentMapper::toDto);
+  }
+
+  /**
+   * Sell the Mutual Fund units of a chunk of bulk sells from the open buy lots, to be called in the
+   * transaction inserting them. The sells of a fund are matched together, the later sells to the
+   * lots left by the earlier ones, and the sold units of the matched lots and of the holding are
+   * written with one update each per fund. The buy ids and the realized profit / loss of the
+   * requests are replaced by the matched lots and the profit / loss computed from them.
+   *
+   * @param mfSellTransactions the mutual fund sell transaction dtos
+   * @return {@link Mono<List>} of the sell transactions to insert, in the order they were given,
+   *     error if a sell is invalid or a fund has fewer open units than sold
+   */
+  public Mono<List<MutualFundSellTransaction>> sellMutualFunds(
+      final List<MutualFundSellTransactionDto> mfSellTransactions) {
+    log.debug("Match a chunk of Mutual Fund Sell Transactions to the open buy lots");
+    if (mfSellTransactions.stream()
+        .anyMatch(
+            sell ->
+                null == sell.mfId()
+                    || null == sell.nav()
+                    || null == sell.charge()
+                    || null == sell.units()
+                    || sell.units().signum() <= 0)) {
+      return Mono.error(
+          new ServerWebInputException("mfId, nav, charge and positive units are required"));
+    }
+    return sellAll(
+        mfSellTransactions,
+        MutualFundSellTransactionDto::mfId,
+        sell -> sell.units().toBigDecimal(),
+        MutualFundSellTransactionDto::soldDate,
+        (mfId, soldDate, after, limit) ->
+            mutualFundBuyTransactionRepository
+                .findOpenLotsForUpdate(mfId, soldDate, after.sortKey(), after.id(), limit)
+                .map(InvestmentMapper::toOpenLot),
+        (mfId, matches) ->
+            mutualFundBuyTransactionRepository
+                .addSoldUnits(
+                    buyIds(matches).toArray(Integer[]::new),
+                    matches.stream()
+                        .map(match -> match.units().toPlainString())
+                        .toArray(String[]::new))
+                .then(mutualFundHoldingService.removeSold(mfId, matches)),
+        (sell, matches) ->
+            InvestmentMapper.toMutualFundSellTransaction(
+                sell,
+                buyIds(matches),
+                buyUnits(matches),
+                FixedDecimal.valueOf(
+                    profitLoss(
+                        sell.units().toBigDecimal(),
+                        sell.nav().toBigDecimal(),
+                        sell.charge().toBigDecimal(),
+                        matches))));
+  }
+
+  /**
+   * Sell the Stock quantity of a chunk of bulk sells from the open buy lots, to be called in the
+   * transaction inserting them, like {@link #sellMutualFunds(List)}.
+   *
+   * @param stockSellTransactions the stock sell transaction dtos
+   * @return {@link Mono<List>} of the sell transactions to insert, in the order they were given,
+   *     error if a sell is invalid or a stock has less open quantity than sold
+   */
+  public Mono<List<StockSellTransaction>> sellStocks(
+      final List<StockSellTransactionDto> stockSellTransactions) {
+    log.debug("Match a chunk of Stock Sell Transactions to the open buy lots");
+    if (stockSellTransactions.stream()
+        .anyMatch(
+            sell ->
+                null == sell.stockId()
+                    || null == sell.price()
+                    || null == sell.charge()
+                    || null == sell.quantity()
+                    || sell.quantity() <= 0)) {
+      return Mono.error(
+          new ServerWebInputException("stockId, price, charge and positive quantity are required"));
+    }
+    return sellAll(
+        stockSellTransactions,
+        StockSellTransactionDto::stockId,
+        sell -> BigDecimal.valueOf(sell.quantity()),
+        StockSellTransactionDto::soldDate,
+        (stockId, soldDate, after, limit) ->
+            stockBuyTransactionRepository
+                .findOpenLotsForUpdate(stockId, soldDate, after.sortKey(), after.id(), limit)
+                .map(InvestmentMapper::toOpenLot),
+        (stockId, matches) ->
+            stockBuyTransactionRepository
+                .addSoldQuantities(
+                    buyIds(matches).toArray(Integer[]::new),
+                    matches.stream()
+                        .map(match -> match.units().intValueExact())
+                        .toArray(Integer[]::new))
+                .then(),
+        (sell, matches) ->
+            InvestmentMapper.toStockSellTransaction(
+                sell,
+                buyIds(matches),
+                FixedDecimal.valueOf(
+                    profitLoss(
+                        BigDecimal.valueOf(sell.quantity()),
+                        sell.price().toBigDecimal(),
+                        sell.charge().toBigDecimal(),
+                        matches))));
+  }
+
+  /**
+   * Match the sells of a chunk to the open lots of their instruments, instrument by instrument. The
+   * lots of an instrument are read up to the latest sold date of its sells, and a sell only takes
+   * the lots bought by its own sold date.
+   *
+   * @param sells the sells
+   * @param instrumentId the instrument of a sell
+   * @param units the sold units of a sell
+   * @param soldDate the sold date of a sell, null when it is dated now
+   * @param fetchBatch fetches a batch of open lots of an instrument bought by a sold date after the
+   *     cursor, in FIFO order
+   * @param writeLots writes the sold units of the matched lots of an instrument
+   * @param toSell the sell transaction of a sell and its matched lots
+   * @param <D> the sell transaction dto type
+   * @param <T> the sell transaction entity type
+   * @return {@link Mono<List>} of the sell transactions, in the order of the sells
+   */
+  private <D, T> Mono<List<T>> sellAll(
+      final List<D> sells,
+      final Function<D, Integer> instrumentId,
+      final Function<D, BigDecimal> units,
+      final Function<D, Instant> soldDate,
+      final LotBatchFetcher fetchBatch,
+      final BiFunction<Integer, List<LotMatch>, Mono<Void>> writeLots,
+      final BiFunction<D, List<LotMatch>, T> toSell) {
+    return Mono.defer(
+        () -> {
+          var sellsByInstrument =
+              IntStream.range(0, sells.size())
+                  .boxed()
+                  .collect(
+                      Collectors.groupingBy(
+                          i -> instrumentId.apply(sells.get(i)),
+                          LinkedHashMap::new,
+                          Collectors.toList()));
+          var matched = new ArrayList<T>(Collections.nCopies(sells.size(), null));
+          return Flux.fromIterable(sellsByInstrument.entrySet())
+              .concatMap(
+                  instrument -> {
+                    var soldUnits =
+                        instrument.getValue().stream().map(i -> units.apply(sells.get(i))).toList();
+                    var soldDates =
+                        instrument.getValue().stream()
+                            .map(i -> soldDate.apply(sells.get(i)))
+                            .toList();
+                    var latestSoldDate = latest(soldDates);
+                    return FifoLotMatcher.match(
+                            FifoLotMatcher.openLots(
+                                (after, limit) ->
+                                    fetchBatch.fetch(
+                                        instrument.getKey(), latestSoldDate, after, limit),
+                                lotMatchingProps.batchSize()),
+                            soldUnits.stream().reduce(BigDecimal.ZERO, BigDecimal::add),
+                            latestSoldDate)
+                        .flatMap(
+                            matches -> {
+                              var split = FifoLotMatcher.split(matches, soldUnits, soldDates);
+                              for (var i = 0; i < split.size(); i++) {
+                                var index = instrument.getValue().get(i);
+                                matched.set(index, toSell.apply(sells.get(index), split.get(i)));
+                              }
+                              return writeLots.apply(instrument.getKey(), matches);
+                            });
+                  })
+              .then(Mono.fromSupplier(() -> List.copyOf(matched)));
+        });
+  }
+
+  /**
+   * Match a sell to the open lots and write it in one transaction
+   *
+   * @param fetchBatch fetches a batch of open lots after the cursor, in FIFO order
+   * @param units the sold units
+   * @param soldDate the sold date, null when the sell is dated now
+   * @param price the sell price of one unit
+   * @param charge the charge paid for the sell
+   * @param write writes the sold units of the matched lots and the sell, with its profit / loss
+   * @param <T> the sell transaction entity type
+   * @return {@link Mono} of the written sell transaction
+   */
+  private <T> Mono<T> sell(
+      final BiFunction<KeysetCursor, Integer, Flux<OpenLot>> fetchBatch,
+      final BigDecimal units,
+      final Instant soldDate,
+      final BigDecimal price,
+      final BigDecimal charge,
+      final BiFunction<List<LotMatch>, FixedDecimal, Mono<T>> write) {
+    return FifoLotMatcher.match(
+            FifoLotMatcher.openLots(fetchBatch, lotMatchingProps.batchSize()), units, soldDate)
+        .flatMap(
+            matches ->
+                write.apply(
+                    matches, FixedDecimal.valueOf(profitLoss(units, price, charge, matches))))
+        .as(transactionalOperator::transactional);
+  }
+
+  /**
+   * The realized profit / loss of a sell, the sell value less the sell charge and the cost of the
+   * matched lots
+   *
+   * @param units the sold units
+   * @param price the sell price of one unit
+   * @param charge the charge paid for the sell
+   * @param matches the matched lots
+   * @return the profit / loss, rounded to the scale of the amount columns
+   */
+  private static BigDecimal profitLoss(
+      final BigDecimal units,
+      final BigDecimal price,
+      final BigDecimal charge,
+      final List<LotMatch> matches) {
+    var cost = matches.stream().map(LotMatch::cost).reduce(BigDecimal.ZERO, BigDecimal::add);
+    return units
+        .multiply(price)
+        .subtract(charge)
+        .subtract(cost)
+        .setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN);
+  }
+
+  /** Fetches a batch of the open lots of an instrument */
+  @FunctionalInterface
+  private interface LotBatchFetcher {
+
+    /**
+     * Fetch a batch of the open lots of an instrument bought by a sold date after the cursor, in
+     * FIFO order
+     *
+     * @param instrumentId the id of the mutual fund or stock
+     * @param soldDate the sold date, null for now
+     * @param after the cursor
+     * @param limit the batch size
+     * @return {@link Flux<OpenLot>}
+     */
+    Flux<OpenLot> fetch(Integer instrumentId, Instant soldDate, KeysetCursor after, int limit);
+  }
+
+  /**
+   * The latest of some sold dates
+   *
+   * @param soldDates the sold dates, null for now
+   * @return the latest sold date, null when one of them is now
+   */
+  private static Instant latest(final List<Instant> soldDates) {
+    return soldDates.contains(null)
+        ? null
+        : soldDates.stream().max(Comparator.naturalOrder()).orElse(null);
+  }
+
+  /**
+   * The ids of the matched lots
+   *
+   * @param matches the lots matched to a sell
+   * @return the buy transaction ids, in the order of the matches
+   */
+  private static List<Integer> buyIds(final List<LotMatch> matches) {
+    return matches.stream().map(match -> match.lot().id()).toList();
+  }
+
+  /**
+   * The units taken from the matched lots
+   *
+   * @param matches the lots matched to a sell
+   * @return the units taken from each lot, in the order of the matches
+   */
+  private static List<FixedDecimal> buyUnits(final List<LotMatch> matches) {
+    return matches.stream().map(match -> FixedDecimal.valueOf(match.units())).toList();
+  }
+
+  /**
+   * Convert an amount of a dto for the lot matching
+   *
+   * @param value the amount, may be null
+   * @return {@link BigDecimal}, null when the amount is null
+   */
+  private static BigDecimal toBigDecimal(final FixedDecimal value) {
+    return null == value ? null : value.toBigDecimal();
+  }
+}
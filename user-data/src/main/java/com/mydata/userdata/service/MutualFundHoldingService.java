@@ -0,0 +1,144 @@
+package com.mydata.userdata.service;
+
+import com.mydata.userdata.dto.MutualFundHoldingRebuildDto;
+import com.mydata.userdata.dto.MutualFundPositionDto;
+import com.mydata.userdata.entity.MutualFundBuyTransaction;
+import com.mydata.userdata.etag.ListVersions;
+import com.mydata.userdata.etag.VersionedList;
+import com.mydata.userdata.lot.LotMatch;
+import com.mydata.userdata.lot.OpenLot;
+import com.mydata.userdata.mapper.InvestmentMapper;
+import com.mydata.userdata.repository.MutualFundHoldingRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * This class maintains the open units and their cost per mutual fund. Every buy and sell adds its
+ * units to the holding of the fund in the transaction writing it, so the holdings are read without
+ * aggregating the buy transactions. The holdings can be rebuilt from the buy transactions, on
+ * demand and on the {@code db.holdings.rebuild-cron} schedule. A rebuild which corrects drifted
+ * holdings bumps the version of the mutual fund trades, as it is not a request to their URLs.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MutualFundHoldingService {
+
+  private final MutualFundHoldingRepository mutualFundHoldingRepository;
+  private final TransactionalOperator transactionalOperator;
+  private final ListVersions listVersions;
+
+  /**
+   * Get the Mutual Fund Holdings with open units
+   *
+   * @return {@link Flux<MutualFundPositionDto>}
+   */
+  public Flux<MutualFundPositionDto> getMutualFundHoldings() {
+    log.debug("Fetching the Mutual Fund Holdings");
+    return mutualFundHoldingRepository.findOpen().map(InvestmentMapper::toDto);
+  }
+
+  /**
+   * Add the open units of buy transactions to the holdings, to be called in the transaction
+   * inserting them. Sold out buys have no open units.
+   *
+   * @param mfBuyTransactions the inserted mutual fund buy transactions
+   * @return {@link Mono<Void>}
+   */
+  public Mono<Void> addBuys(final List<MutualFundBuyTransaction> mfBuyTransactions) {
+    var buys =
+        mfBuyTransactions.stream()
+            .filter(buy -> null != buy.mfId() && !Boolean.TRUE.equals(buy.isSoldOut()))
+            .toList();
+    var lots = buys.stream().map(InvestmentMapper::toOpenLot).toList();
+    return addOpenUnits(
+        buys.stream().map(MutualFundBuyTransaction::mfId).toArray(Integer[]::new),
+        lots.stream().map(OpenLot::openUnits).toList(),
+        lots.stream().map(lot -> lot.costOf(lot.openUnits())).toList());
+  }
+
+  /**
+   * Remove the units sold from the open lots of a fund from its holding, to be called in the
+   * transaction selling them
+   *
+   * @param mfId the mutual fund id
+   * @param matches the open lots matched to the sell
+   * @return {@link Mono<Void>}
+   */
+  public Mono<Void> removeSold(final Integer mfId, final List<LotMatch> matches) {
+    return addOpenUnits(
+        new Integer[] {mfId},
+        List.of(
+            matches.stream()
+                .map(LotMatch::units)
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .negate()),
+        List.of(
+            matches.stream()
+                .map(LotMatch::cost)
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .negate()));
+  }
+
+  /**
+   * Rebuild the Mutual Fund Holdings from the buy transactions. The holdings are locked for the
+   * rebuild, so the buys and sells running meanwhile are added to the rebuilt holdings instead of
+   * being lost.
+   *
+   * @return {@link Mono<MutualFundHoldingRebuildDto>} with the funds whose holding had drifted
+   */
+  public Mono<MutualFundHoldingRebuildDto> rebuildMutualFundHoldings() {
+    log.info("Rebuild the Mutual Fund Holdings");
+    return mutualFundHoldingRepository
+        .lockForRebuild()
+        .thenMany(mutualFundHoldingRepository.findDriftedMfIds())
+        .collectList()
+        .flatMap(
+            drifted ->
+                mutualFundHoldingRepository
+                    .rebuild()
+                    .map(holdings -> new MutualFundHoldingRebuildDto(holdings, drifted)))
+        .as(transactionalOperator::transactional)
+        .doOnNext(
+            result -> {
+              if (!result.driftedMfIds().isEmpty()) {
+                log.warn("Rebuilt drifted Mutual Fund Holdings : {}", result.driftedMfIds());
+                listVersions.bump(VersionedList.MUTUAL_FUND_TRADES);
+              }
+            });
+  }
+
+  /** Rebuild the Mutual Fund Holdings on the {@code db.holdings.rebuild-cron} schedule */
+  @Scheduled(cron = "${db.holdings.rebuild-cron}")
+  public void rebuildMutualFundHoldingsOnSchedule() {
+    rebuildMutualFundHoldings().block();
+  }
+
+  /**
+   * Add open units and their cost to the holdings
+   *
+   * @param mfIds the mutual fund ids
+   * @param openUnits the units to add for each mutual fund id
+   * @param invested the cost to add for each mutual fund id
+   * @return {@link Mono<Void>}
+   */
+  private Mono<Void> addOpenUnits(
+      final Integer[] mfIds, final List<BigDecimal> openUnits, final List<BigDecimal> invested) {
+    if (mfIds.length == 0) {
+      return Mono.empty();
+    }
+    return mutualFundHoldingRepository
+        .addOpenUnits(
+            mfIds,
+            openUnits.stream().map(BigDecimal::toPlainString).toArray(String[]::new),
+            invested.stream().map(BigDecimal::toPlainString).toArray(String[]::new))
+        .then();
+  }
+}
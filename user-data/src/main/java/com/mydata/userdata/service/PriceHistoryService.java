@@ -0,0 +1,203 @@
+package com.mydata.userdata.service;
+
+import com.mydata.userdata.dto.PriceDto;
+import com.mydata.userdata.dto.PriceIngestResultDto;
+import com.mydata.userdata.entity.MutualFund;
+import com.mydata.userdata.entity.Stock;
+import com.mydata.userdata.price.PriceFileParser;
+import com.mydata.userdata.price.PriceHistoryStore;
+import com.mydata.userdata.price.PriceKind;
+import com.mydata.userdata.price.PricePoint;
+import com.mydata.userdata.property.PriceHistoryProperties;
+import com.mydata.userdata.repository.MutualFundRepository;
+import com.mydata.userdata.repository.StockRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * This class serves the daily price histories of the mutual funds and stocks, keyed by their code.
+ * The prices are read from the memory-mapped {@link PriceHistoryStore} and are ingested from
+ * AMFI-style price files dropped in the {@code price-history.inbox} directory. The portfolio is
+ * revalued once a file appends new prices.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PriceHistoryService {
+
+  private final MutualFundRepository mutualFundRepository;
+  private final StockRepository stockRepository;
+  private final PriceHistoryStore priceHistoryStore;
+  private final PriceHistoryProperties priceHistoryProps;
+  private final ValuationService valuationService;
+
+  /**
+   * Get the price of an instrument on a day, the last price published on or before it
+   *
+   * @param kind the instrument kind
+   * @param code the instrument code
+   * @param date the day
+   * @return {@link Mono<PriceDto>}, failing with 404 when there is no price on or before the day
+   */
+  public Mono<PriceDto> getPrice(final PriceKind kind, final String code, final LocalDate date) {
+    log.debug("Fetching the {} price of {} on {}", kind, code, date);
+    return Mono.fromSupplier(
+            () -> {
+              var series = priceHistoryStore.series(kind, code);
+              var index = series.floorIndex(Math.toIntExact(date.toEpochDay()));
+              return index < 0
+                  ? null
+                  : toDto(code, new PricePoint(series.epochDay(index), series.scaledPrice(index)));
+            })
+        .switchIfEmpty(
+            Mono.error(
+                () ->
+                    new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "There is no price of " + code + " on " + date)));
+  }
+
+  /**
+   * Get the prices of an instrument published between two days
+   *
+   * @param kind the instrument kind
+   * @param code the instrument code
+   * @param from the first day, inclusive
+   * @param to the last day, inclusive
+   * @return {@link Flux<PriceDto>} in ascending order of day
+   */
+  public Flux<PriceDto> getPrices(
+      final PriceKind kind, final String code, final LocalDate from, final LocalDate to) {
+    log.debug("Fetching the {} prices of {} from {} to {}", kind, code, from, to);
+    return Flux.defer(
+            () ->
+                Flux.fromIterable(
+                    priceHistoryStore
+                        .series(kind, code)
+                        .range(
+                            Math.toIntExact(from.toEpochDay()), Math.toIntExact(to.toEpochDay()))))
+        .map(point -> toDto(code, point));
+  }
+
+  /**
+   * Ingest a price file from the inbox. The prices of known codes are appended to their history,
+   * the file being read on a worker thread as the price files are large, and the portfolio is
+   * revalued at the new prices.
+   *
+   * @param kind the kind of the instruments priced by the file
+   * @param fileName the name of the file in the inbox
+   * @return {@link Mono<PriceIngestResultDto>}
+   */
+  public Mono<PriceIngestResultDto> ingest(final PriceKind kind, final String fileName) {
+    log.info("Ingesting the {} prices of {}", kind, fileName);
+    return Mono.fromCallable(() -> inboxFile(fileName))
+        .zipWith(codes(kind).collect(Collectors.toSet()))
+        .publishOn(Schedulers.boundedElastic())
+        .map(file -> ingest(kind, file.getT1(), file.getT2()))
+        .flatMap(
+            result ->
+                result.appended() > 0
+                    ? valuationService.revalue().thenReturn(result)
+                    : Mono.just(result));
+  }
+
+  /**
+   * Get the codes of the instruments of a kind
+   *
+   * @param kind the instrument kind
+   * @return {@link Flux<String>}
+   */
+  private Flux<String> codes(final PriceKind kind) {
+    return kind == PriceKind.MUTUAL_FUND
+        ? mutualFundRepository.findAll().map(MutualFund::mfCode)
+        : stockRepository.findAll().map(Stock::stockCode);
+  }
+
+  /**
+   * Resolve a file in the inbox, the name should be a plain file name
+   *
+   * @param fileName the file name
+   * @return {@link Path}
+   */
+  private Path inboxFile(final String fileName) {
+    var inbox = priceHistoryProps.inbox().toAbsolutePath().normalize();
+    var file = inbox.resolve(fileName).normalize();
+    if (!inbox.equals(file.getParent()) || !Files.isRegularFile(file)) {
+      throw new ServerWebInputException("The price file is not in the inbox : " + fileName);
+    }
+    return file;
+  }
+
+  /**
+   * Read a price file and append the prices of the known codes to their history
+   *
+   * @param kind the kind of the instruments priced by the file
+   * @param file the price file
+   * @param codes the known codes
+   * @return {@link PriceIngestResultDto}
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  private PriceIngestResultDto ingest(
+      final PriceKind kind, final Path file, final Set<String> codes) {
+    var parser = new PriceFileParser(kind);
+    Map<String, List<PricePoint>> points = new HashMap<>();
+    var read = 0L;
+    var unknown = 0L;
+    try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+      var prices = lines.map(parser::parse).flatMap(Optional::stream).iterator();
+      while (prices.hasNext()) {
+        var price = prices.next();
+        read++;
+        if (codes.contains(price.code())) {
+          points.computeIfAbsent(price.code(), code -> new ArrayList<>()).add(price.point());
+        } else {
+          unknown++;
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (!parser.hasHeader()) {
+      throw new ServerWebInputException(
+          "The price file should have a header with the columns : "
+              + String.join(
+                  ", ", kind.codeColumn(), kind.priceColumn(), PriceFileParser.DATE_COLUMN));
+    }
+    var appended =
+        points.entrySet().stream()
+            .mapToLong(series -> priceHistoryStore.append(kind, series.getKey(), series.getValue()))
+            .sum();
+    log.info("Appended {} of the {} {} prices of {}", appended, read, kind, file.getFileName());
+    return new PriceIngestResultDto(read, appended, unknown);
+  }
+
+  /**
+   * Convert a price point to its DTO
+   *
+   * @param code the instrument code
+   * @param point the price point
+   * @return {@link PriceDto}
+   */
+  private static PriceDto toDto(final String code, final PricePoint point) {
+    return new PriceDto(code, point.date(), point.price());
+  }
+}
@@ -0,0 +1,201 @@
+package com.mydata.userdata.service;
+
+import com.mydata.userdata.bulk.BulkInsertTable;
+import com.mydata.userdata.bulk.BulkInsertTables;
+import com.mydata.userdata.bulk.ImportedRecord;
+import com.mydata.userdata.bulk.TradeOccurrences;
+import com.mydata.userdata.csv.CsvFormat;
+import com.mydata.userdata.csv.CsvParser;
+import com.mydata.userdata.csv.ParsedRow;
+import com.mydata.userdata.csv.TradeCsvFormats;
+import com.mydata.userdata.dto.TradeImportRejectionDto;
+import com.mydata.userdata.dto.TradeImportResultDto;
+import com.mydata.userdata.entity.MutualFund;
+import com.mydata.userdata.entity.MutualFundBuyTransaction;
+import com.mydata.userdata.entity.Stock;
+import com.mydata.userdata.entity.StockBuyTransaction;
+import com.mydata.userdata.property.BulkInsertProperties;
+import com.mydata.userdata.property.TradeImportProperties;
+import com.mydata.userdata.repository.BulkInsertRepository;
+import com.mydata.userdata.repository.MutualFundRepository;
+import com.mydata.userdata.repository.StockRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * This class imports trade statements uploaded as CSV files. The file is parsed while it is
+ * uploaded and the valid rows are written in chunks of {@link BulkInsertProperties#chunkSize()},
+ * each chunk with one batched insert statement, so the memory used does not grow with the size of
+ * the file. The codes in the file are resolved with one read of the funds or stocks. A trade
+ * imported before is counted as a duplicate and an invalid row is rejected without failing the
+ * import. Trades repeated in the file are all imported: the repeats of a trade are numbered in the
+ * order of the file by {@link TradeOccurrences}, and only a trade whose number is already in the
+ * table is a duplicate.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TradeImportService {
+
+  private final MutualFundRepository mutualFundRepository;
+  private final StockRepository stockRepository;
+  private final BulkInsertRepository bulkInsertRepository;
+  private final BulkInsertProperties bulkInsertProps;
+  private final TradeImportProperties tradeImportProps;
+  private final TransactionalOperator transactionalOperator;
+  private final MutualFundHoldingService mutualFundHoldingService;
+
+  /**
+   * Import Mutual Fund Buy Transactions, the units of the trades added are added to the holdings of
+   * their funds
+   *
+   * @param csv the CSV file content, in the {@link TradeCsvFormats#MUTUAL_FUND_BUY_TRANSACTION}
+   *     layout
+   * @return {@link Mono<TradeImportResultDto>}
+   */
+  public Mono<TradeImportResultDto> importMutualFundBuyTransactions(final Flux<DataBuffer> csv) {
+    log.debug("Import Mutual Fund Buy Transactions");
+    return importTrades(
+        csv,
+        TradeCsvFormats.MUTUAL_FUND_BUY_TRANSACTION,
+        mutualFundRepository.findAll().collectMap(MutualFund::mfCode, MutualFund::id),
+        BulkInsertTables.MUTUAL_FUND_BUY_TRANSACTION_IMPORT,
+        BulkInsertTables::tradeKey,
+        MutualFundBuyTransaction::buyDate,
+        mutualFundHoldingService::addBuys);
+  }
+
+  /**
+   * Import Stock Buy Transactions
+   *
+   * @param csv the CSV file content, in the {@link TradeCsvFormats#STOCK_BUY_TRANSACTION} layout
+   * @return {@link Mono<TradeImportResultDto>}
+   */
+  public Mono<TradeImportResultDto> importStockBuyTransactions(final Flux<DataBuffer> csv) {
+    log.debug("Import Stock Buy Transactions");
+    return importTrades(
+        csv,
+        TradeCsvFormats.STOCK_BUY_TRANSACTION,
+        stockRepository.findAll().collectMap(Stock::stockCode, Stock::id),
+        BulkInsertTables.STOCK_BUY_TRANSACTION_IMPORT,
+        BulkInsertTables::tradeKey,
+        StockBuyTransaction::buyDate,
+        trades -> Mono.empty());
+  }
+
+  /**
+   * Import the trades of a CSV file chunk by chunk in one transaction
+   *
+   * @param csv the CSV file content
+   * @param format the CSV layout
+   * @param ids the ids by the codes used in the file
+   * @param table the table to insert to
+   * @param tradeKey the key of the values of a trade
+   * @param tradeDate the date of a trade
+   * @param afterChunk writes what derives from the trades added by a chunk
+   * @param <T> the trade record type
+   * @return {@link Mono<TradeImportResultDto>}
+   */
+  private <T> Mono<TradeImportResultDto> importTrades(
+      final Flux<DataBuffer> csv,
+      final CsvFormat<T> format,
+      final Mono<Map<String, Integer>> ids,
+      final BulkInsertTable<ImportedRecord<T>> table,
+      final Function<T, String> tradeKey,
+      final Function<T, Instant> tradeDate,
+      final Function<List<T>, Mono<Void>> afterChunk) {
+    return ids.flatMap(
+            idsByCode -> {
+              var occurrences = new TradeOccurrences();
+              return CsvParser.rows(csv, format.columns())
+                  .map(
+                      row ->
+                          numbered(format.parse(row, idsByCode), occurrences, tradeKey, tradeDate))
+                  .buffer(bulkInsertProps.chunkSize())
+                  .concatMap(rows -> write(rows, table, afterChunk))
+                  .reduce(
+                      TradeImportResultDto.EMPTY,
+                      (result, next) -> result.add(next, tradeImportProps.maxRejections()));
+            })
+        .as(transactionalOperator::transactional);
+  }
+
+  /**
+   * Give a valid trade its import key, the key of its values and its number among the repeats of
+   * the trade in the file. A trade which can not be numbered is rejected.
+   *
+   * @param row the parsed row
+   * @param occurrences the repeats of the trades read before
+   * @param tradeKey the key of the values of a trade
+   * @param tradeDate the date of a trade
+   * @param <T> the trade record type
+   * @return {@link ParsedRow} of the trade with its import key
+   */
+  private static <T> ParsedRow<ImportedRecord<T>> numbered(
+      final ParsedRow<T> row,
+      final TradeOccurrences occurrences,
+      final Function<T, String> tradeKey,
+      final Function<T, Instant> tradeDate) {
+    if (row.isRejected()) {
+      return new ParsedRow<>(row.line(), null, row.rejection());
+    }
+    var key = tradeKey.apply(row.record());
+    try {
+      var occurrence = occurrences.next(key, tradeDate.apply(row.record()));
+      return new ParsedRow<>(
+          row.line(),
+          new ImportedRecord<>(row.record(), BulkInsertTables.importKey(key, occurrence)),
+          null);
+    } catch (IllegalArgumentException e) {
+      return new ParsedRow<>(row.line(), null, e.getMessage());
+    }
+  }
+
+  /**
+   * Write the valid trades of a chunk of rows, skipping the ones imported before
+   *
+   * @param rows the chunk of rows, the trades with their import key
+   * @param table the table to insert to
+   * @param afterChunk writes what derives from the trades added
+   * @param <T> the trade record type
+   * @return {@link Mono<TradeImportResultDto>} of the chunk
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  private <T> Mono<TradeImportResultDto> write(
+      final List<ParsedRow<ImportedRecord<T>>> rows,
+      final BulkInsertTable<ImportedRecord<T>> table,
+      final Function<List<T>, Mono<Void>> afterChunk) {
+    var trades = rows.stream().filter(row -> !row.isRejected()).map(ParsedRow::record).toList();
+    var rejections =
+        rows.stream()
+            .filter(ParsedRow::isRejected)
+            .map(row -> new TradeImportRejectionDto(row.line(), row.rejection()))
+            .toList();
+    var inserted =
+        trades.isEmpty()
+            ? Mono.just(List.<ImportedRecord<T>>of())
+            : bulkInsertRepository
+                .insertIgnoringDuplicates(table, trades)
+                .flatMap(
+                    added ->
+                        afterChunk
+                            .apply(added.stream().map(ImportedRecord::record).toList())
+                            .thenReturn(added));
+    return inserted.map(
+        added ->
+            new TradeImportResultDto(
+                (long) added.size(),
+                (long) trades.size() - added.size(),
+                (long) rejections.size(),
+                rejections));
+  }
+}
@@ -0,0 +1,216 @@
+package com.mydata.userdata.service;
+
+import com.mydata.userdata.dto.FundReturnDto;
+import com.mydata.userdata.dto.PortfolioReturnsDto;
+import com.mydata.userdata.dto.PortfolioValuationDto;
+import com.mydata.userdata.price.PriceHistoryStore;
+import com.mydata.userdata.price.PriceKind;
+import com.mydata.userdata.repository.ValuationRepository;
+import com.mydata.userdata.valuation.PortfolioValuation;
+import com.mydata.userdata.valuation.ValuationBook;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * This class values the mutual fund and stock holdings at their latest price, from the price
+ * history store. The whole portfolio is valued in one pass whenever it is read. It is revalued
+ * when a price file is ingested, and the revaluation is pushed to the subscribers of the valuation
+ * updates with only the holdings which changed, so clients don't poll for new prices. The
+ * annualized returns of the mutual funds are solved from their cash flows and current value.
+ *
+ * <p>Every valuation is stamped with the sequence of the revaluations started before it. The
+ * revaluations can complete out of order, so one older than the valuation last published is
+ * dropped, and a subscriber skips the updates no newer than the valuation it started from.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class ValuationService {
+
+  private static final int PERCENTAGE_SCALE = 2;
+
+  private final ValuationRepository valuationRepository;
+  private final PriceHistoryStore priceHistoryStore;
+
+  /** The latest valuation, replayed to every new subscriber */
+  private final Sinks.Many<Revaluation> valuations = Sinks.many().replay().latest();
+
+  /** The sequence of the last revaluation started */
+  private final AtomicLong revaluations = new AtomicLong();
+
+  /** The sequence of the last revaluation published */
+  private long published;
+
+  /**
+   * Get the Portfolio Valuation with every holding
+   *
+   * @return {@link Mono<PortfolioValuationDto>}
+   */
+  public Mono<PortfolioValuationDto> getPortfolioValuation() {
+    log.debug("Fetching the Portfolio Valuation");
+    return value().map(PortfolioValuation::toDto);
+  }
+
+  /**
+   * Get the Portfolio Valuation updates. The first update has every holding, the next ones only
+   * have the holdings which changed since the previous update.
+   *
+   * @return {@link Flux<PortfolioValuationDto>}, never completing
+   */
+  public Flux<PortfolioValuationDto> getPortfolioValuationUpdates() {
+    log.debug("Subscribing to the Portfolio Valuation updates");
+    return Mono.defer(
+            () -> {
+              var sequence = revaluations.get();
+              return value().map(valuation -> new Revaluation(sequence, valuation));
+            })
+        .flatMapMany(
+            first -> {
+              var previous = new AtomicReference<Revaluation>();
+              return valuations
+                  .asFlux()
+                  .startWith(first)
+                  .handle(
+                      (revaluation, sink) -> {
+                        var last = previous.get();
+                        if (null != last && revaluation.sequence() <= last.sequence()) {
+                          return;
+                        }
+                        previous.set(revaluation);
+                        var update =
+                            revaluation
+                                .valuation()
+                                .changesSince(
+                                    null == last ? PortfolioValuation.EMPTY : last.valuation());
+                        if (null == last || !update.holdings().isEmpty()) {
+                          sink.next(update);
+                        }
+                      });
+            });
+  }
+
+  /**
+   * Get the Portfolio Returns, the XIRR of the cash flows of every mutual fund and of all of them
+   * together. The units still held are an inflow of their current value as of today, and the funds
+   * are solved in parallel on the fork-join pool.
+   *
+   * @return {@link Mono<PortfolioReturnsDto>}
+   */
+  public Mono<PortfolioReturnsDto> getPortfolioReturns() {
+    log.debug("Fetching the Portfolio Returns");
+    return Mono.zip(valuationRepository.findMutualFundCashFlows(), value())
+        .publishOn(Schedulers.boundedElastic())
+        .map(
+            flowsAndValuation -> {
+              var flows =
+                  flowsAndValuation
+                      .getT1()
+                      .withTerminalValues(
+                          flowsAndValuation.getT2().mutualFunds()::valueAsDouble,
+                          (int) LocalDate.now().toEpochDay());
+              var fundIds = flows.fundIds();
+              var rates = flows.xirrByFund();
+              return new PortfolioReturnsDto(
+                  percentage(flows.xirr()),
+                  IntStream.range(0, fundIds.length)
+                      .mapToObj(fund -> new FundReturnDto(fundIds[fund], percentage(rates[fund])))
+                      .toList());
+            });
+  }
+
+  /**
+   * Convert a rate to a percentage
+   *
+   * @param rate the rate
+   * @return the percentage, null when the rate is undefined
+   */
+  private static BigDecimal percentage(final double rate) {
+    return Double.isNaN(rate)
+        ? null
+        : BigDecimal.valueOf(rate * 100).setScale(PERCENTAGE_SCALE, RoundingMode.HALF_EVEN);
+  }
+
+  /**
+   * Revalue the whole portfolio and publish the valuation, once new prices are appended
+   *
+   * @return {@link Mono<PortfolioValuation>}
+   */
+  public Mono<PortfolioValuation> revalue() {
+    return Mono.defer(
+        () -> {
+          var sequence = revaluations.incrementAndGet();
+          return value()
+              .map(valuation -> new Revaluation(sequence, valuation))
+              .doOnNext(this::publish)
+              .map(Revaluation::valuation);
+        });
+  }
+
+  /**
+   * Value the whole portfolio. The open positions are read with one query per instrument kind and
+   * valued at the latest price of the memory-mapped price histories.
+   *
+   * @return {@link Mono<PortfolioValuation>}
+   */
+  private Mono<PortfolioValuation> value() {
+    return Mono.zip(
+            valuationRepository.findMutualFundPositions().collectList(),
+            valuationRepository.findStockPositions().collectList())
+        .publishOn(Schedulers.boundedElastic())
+        .map(
+            positions ->
+                new PortfolioValuation(
+                    ValuationBook.of(
+                        PriceKind.MUTUAL_FUND,
+                        positions.getT1(),
+                        code -> latestPrice(PriceKind.MUTUAL_FUND, code)),
+                    ValuationBook.of(
+                        PriceKind.STOCK,
+                        positions.getT2(),
+                        code -> latestPrice(PriceKind.STOCK, code))));
+  }
+
+  /**
+   * Get the latest price of an instrument
+   *
+   * @param kind the instrument kind
+   * @param code the instrument code
+   * @return the scaled price
+   */
+  private long latestPrice(final PriceKind kind, final String code) {
+    return priceHistoryStore.series(kind, code).latestPrice();
+  }
+
+  /**
+   * Publish a revaluation to the subscribers, unless a newer one was published. The emissions are
+   * serialized.
+   *
+   * @param revaluation the revaluation
+   */
+  private synchronized void publish(final Revaluation revaluation) {
+    if (revaluation.sequence() > published) {
+      published = revaluation.sequence();
+      valuations.emitNext(revaluation, Sinks.EmitFailureHandler.FAIL_FAST);
+    }
+  }
+
+  /**
+   * A valuation of the portfolio
+   *
+   * @param sequence the sequence of the last revaluation started before it
+   * @param valuation the valuation
+   */
+  private record Revaluation(long sequence, PortfolioValuation valuation) {}
+}
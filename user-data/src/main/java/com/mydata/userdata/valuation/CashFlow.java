@@ -0,0 +1,10 @@
+package com.mydata.userdata.valuation;
+
+/**
+ * A dated cash flow of a fund, negative for a buy and positive for a sell
+ *
+ * @param fundId the fund id
+ * @param epochDay the day of the cash flow
+ * @param amount the amount
+ */
+public record CashFlow(int fundId, int epochDay, double amount) {}
@@ -0,0 +1,139 @@
+package com.mydata.userdata.valuation;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * The dated cash flows of the funds, in growable primitive columns so thousands of funds are solved
+ * without boxing. The cash flows are added in order of fund, so the flows of a fund are contiguous.
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public final class CashFlows {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private int[] flowFundIds;
+  private int[] epochDays;
+  private double[] amounts;
+  private int count;
+
+  /** Constructor */
+  public CashFlows() {
+    flowFundIds = new int[INITIAL_CAPACITY];
+    epochDays = new int[INITIAL_CAPACITY];
+    amounts = new double[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Add a cash flow after the ones of the same fund
+   *
+   * @param cashFlow the cash flow
+   */
+  public void add(final CashFlow cashFlow) {
+    add(cashFlow.fundId(), cashFlow.epochDay(), cashFlow.amount());
+  }
+
+  /**
+   * Add a cash flow after the ones of the same fund
+   *
+   * @param fundId the fund id
+   * @param epochDay the day
+   * @param amount the amount
+   */
+  public void add(final int fundId, final int epochDay, final double amount) {
+    if (count == flowFundIds.length) {
+      flowFundIds = Arrays.copyOf(flowFundIds, count * 2);
+      epochDays = Arrays.copyOf(epochDays, count * 2);
+      amounts = Arrays.copyOf(amounts, count * 2);
+    }
+    flowFundIds[count] = fundId;
+    epochDays[count] = epochDay;
+    amounts[count] = amount;
+    count++;
+  }
+
+  /**
+   * The number of cash flows
+   *
+   * @return the count
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * Copy the cash flows with the value of what is still held as a last inflow of every fund, as
+   * though it was sold on a day
+   *
+   * @param currentValue the current value of a fund id, zero when nothing is held
+   * @param epochDay the day of the valuation
+   * @return {@link CashFlows}
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public CashFlows withTerminalValues(final IntToDoubleFunction currentValue, final int epochDay) {
+    var flows = new CashFlows();
+    for (var i = 0; i < count; i++) {
+      flows.add(flowFundIds[i], epochDays[i], amounts[i]);
+      if (i == count - 1 || flowFundIds[i + 1] != flowFundIds[i]) {
+        var value = currentValue.applyAsDouble(flowFundIds[i]);
+        if (value != 0) {
+          flows.add(flowFundIds[i], epochDay, value);
+        }
+      }
+    }
+    return flows;
+  }
+
+  /**
+   * The index of the first cash flow of every fund, followed by the number of cash flows
+   *
+   * @return the fund boundaries
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  private int[] fundStarts() {
+    var starts = new int[count + 1];
+    var funds = 0;
+    for (var i = 0; i < count; i++) {
+      if (i == 0 || flowFundIds[i] != flowFundIds[i - 1]) {
+        starts[funds++] = i;
+      }
+    }
+    starts[funds] = count;
+    return Arrays.copyOf(starts, funds + 1);
+  }
+
+  /**
+   * The ids of the funds, in the order of their cash flows
+   *
+   * @return the fund ids
+   */
+  public int[] fundIds() {
+    var starts = fundStarts();
+    var ids = new int[starts.length - 1];
+    Arrays.setAll(ids, fund -> flowFundIds[starts[fund]]);
+    return ids;
+  }
+
+  /**
+   * Solve the rate of every fund in parallel, on the common fork-join pool
+   *
+   * @return the rate of every fund in the order of {@link #fundIds()}, {@link Xirr#NO_RATE} when
+   *     undefined
+   */
+  public double[] xirrByFund() {
+    var starts = fundStarts();
+    var rates = new double[starts.length - 1];
+    Arrays.parallelSetAll(
+        rates, fund -> Xirr.solve(epochDays, amounts, starts[fund], starts[fund + 1]));
+    return rates;
+  }
+
+  /**
+   * Solve the rate of all the cash flows together
+   *
+   * @return the rate, {@link Xirr#NO_RATE} when undefined
+   */
+  public double xirr() {
+    return Xirr.solve(epochDays, amounts, 0, count);
+  }
+}
@@ -0,0 +1,13 @@
+package com.mydata.userdata.valuation;
+
+import java.math.BigDecimal;
+
+/**
+ * The open units of an instrument and their cost
+ *
+ * @param id the mutual fund or stock id
+ * @param code the mutual fund or stock code, the key of its price history
+ * @param openUnits the bought units or quantity not sold yet
+ * @param invested the cost of the open units, their buy price with their share of the buy charge
+ */
+public record OpenPosition(Integer id, String code, BigDecimal openUnits, BigDecimal invested) {}
@@ -0,0 +1,60 @@
+package com.mydata.userdata.valuation;
+
+import com.mydata.userdata.dto.HoldingValuationDto;
+import com.mydata.userdata.dto.PortfolioValuationDto;
+import com.mydata.userdata.price.PriceKind;
+import java.util.stream.Stream;
+
+/**
+ * The valuation of the whole portfolio, the mutual fund and stock holdings at their latest price
+ *
+ * @param mutualFunds the valuation of the mutual fund holdings, indexed by mf_id
+ * @param stocks the valuation of the stock holdings, indexed by stock id
+ */
+public record PortfolioValuation(ValuationBook mutualFunds, ValuationBook stocks) {
+
+  /** The valuation of a portfolio without holdings */
+  public static final PortfolioValuation EMPTY =
+      new PortfolioValuation(
+          ValuationBook.empty(PriceKind.MUTUAL_FUND), ValuationBook.empty(PriceKind.STOCK));
+
+  /**
+   * The valuation with every holding
+   *
+   * @return {@link PortfolioValuationDto}
+   */
+  public PortfolioValuationDto toDto() {
+    return toDto(Stream.concat(mutualFunds.holdings(), stocks.holdings()));
+  }
+
+  /**
+   * The valuation with the holdings which changed since a previous valuation
+   *
+   * @param previous the previous valuation
+   * @return {@link PortfolioValuationDto}
+   */
+  public PortfolioValuationDto changesSince(final PortfolioValuation previous) {
+    return toDto(
+        Stream.concat(
+            mutualFunds.changesSince(previous.mutualFunds()),
+            stocks.changesSince(previous.stocks())));
+  }
+
+  /**
+   * The valuation totals with some holdings
+   *
+   * @param holdings the holdings
+   * @return {@link PortfolioValuationDto}
+   */
+  private PortfolioValuationDto toDto(final Stream<HoldingValuationDto> holdings) {
+    var value = ValuationBook.amount(Math.addExact(mutualFunds.totalValue(), stocks.totalValue()));
+    var cost =
+        ValuationBook.amount(Math.addExact(mutualFunds.totalInvested(), stocks.totalInvested()));
+    return new PortfolioValuationDto(
+        value,
+        cost,
+        value.subtract(cost),
+        ValuationBook.absoluteReturn(value, cost),
+        holdings.toList());
+  }
+}
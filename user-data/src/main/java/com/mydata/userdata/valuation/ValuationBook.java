@@ -0,0 +1,286 @@
+package com.mydata.userdata.valuation;
+
+import com.mydata.userdata.dto.HoldingValuationDto;
+import com.mydata.userdata.price.PriceKind;
+import com.mydata.userdata.price.PricePoint;
+import com.mydata.userdata.price.PriceSeries;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The valuation of the open positions of one kind of instrument. The positions are kept in
+ * primitive arrays indexed by the instrument id, so the book is valued with one pass over the
+ * arrays and two valuations are compared id by id without any lookup.
+ *
+ * <p>The units are longs scaled by {@value #UNITS_SCALE} decimal places, the prices by {@link
+ * PricePoint#PRICE_SCALE} and the amounts by {@value #AMOUNT_SCALE}, so the valuation is exact to
+ * the paisa. The cost of a position is rounded like the invested amount of the holdings, and a
+ * total is the sum of the rounded amounts of the positions, like the totals of the summary. A
+ * position without price is valued at its cost.
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public final class ValuationBook {
+
+  static final int UNITS_SCALE = 4;
+  static final int AMOUNT_SCALE = 2;
+  /** The value of units times a price is scaled by their two scales, down to the amount scale */
+  private static final long VALUE_DIVISOR =
+      BigDecimal.ONE
+          .movePointRight(UNITS_SCALE + PricePoint.PRICE_SCALE - AMOUNT_SCALE)
+          .longValueExact();
+
+  private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+  private final PriceKind kind;
+  private final String[] codes;
+  private final long[] openUnits;
+  private final long[] invested;
+  private final long[] prices;
+  private final long[] values;
+  private final long valueTotal;
+  private final long investedTotal;
+
+  /**
+   * Constructor, values the positions
+   *
+   * @param kind the instrument kind
+   * @param codes the instrument code by id, null for an id without position
+   * @param openUnits the scaled open units by id
+   * @param invested the scaled cost of the open units by id
+   * @param prices the scaled latest price by id, {@link PriceSeries#NO_PRICE} when there is none
+   * @throws ArithmeticException when a value does not fit in a scaled long
+   */
+  @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+  private ValuationBook(
+      final PriceKind kind,
+      final String[] codes,
+      final long[] openUnits,
+      final long[] invested,
+      final long[] prices) {
+    this.kind = kind;
+    this.codes = codes;
+    this.openUnits = openUnits;
+    this.invested = invested;
+    this.prices = prices;
+    values = new long[codes.length];
+    var value = 0L;
+    var cost = 0L;
+    for (var id = 0; id < codes.length; id++) {
+      values[id] =
+          PriceSeries.NO_PRICE == prices[id]
+              ? invested[id]
+              : divideHalfEven(Math.multiplyExact(openUnits[id], prices[id]), VALUE_DIVISOR);
+      value = Math.addExact(value, values[id]);
+      cost = Math.addExact(cost, invested[id]);
+    }
+    valueTotal = value;
+    investedTotal = cost;
+  }
+
+  /**
+   * Create the book of the open positions of a kind of instrument
+   *
+   * @param kind the instrument kind
+   * @param positions the open positions
+   * @param latestPrice the scaled latest price of an instrument code, {@link PriceSeries#NO_PRICE}
+   *     when it has no price
+   * @return {@link ValuationBook}
+   * @throws ArithmeticException when a position does not fit in scaled longs
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  public static ValuationBook of(
+      final PriceKind kind,
+      final List<OpenPosition> positions,
+      final ToLongFunction<String> latestPrice) {
+    var size = positions.stream().mapToInt(OpenPosition::id).max().orElse(-1) + 1;
+    var codes = new String[size];
+    var openUnits = new long[size];
+    var invested = new long[size];
+    var prices = new long[size];
+    for (var position : positions) {
+      codes[position.id()] = position.code();
+      openUnits[position.id()] = scaled(position.openUnits(), UNITS_SCALE);
+      invested[position.id()] = scaled(position.invested(), AMOUNT_SCALE);
+      prices[position.id()] = latestPrice.applyAsLong(position.code());
+    }
+    return new ValuationBook(kind, codes, openUnits, invested, prices);
+  }
+
+  /**
+   * Create an empty book
+   *
+   * @param kind the instrument kind
+   * @return {@link ValuationBook}
+   */
+  public static ValuationBook empty(final PriceKind kind) {
+    return of(kind, List.of(), code -> PriceSeries.NO_PRICE);
+  }
+
+  /**
+   * The total current value of the positions
+   *
+   * @return the value scaled by {@value #AMOUNT_SCALE} decimal places
+   */
+  public long totalValue() {
+    return valueTotal;
+  }
+
+  /**
+   * The total cost of the positions
+   *
+   * @return the cost scaled by {@value #AMOUNT_SCALE} decimal places
+   */
+  public long totalInvested() {
+    return investedTotal;
+  }
+
+  /**
+   * The current value of the position of an id
+   *
+   * @param id the instrument id
+   * @return the value scaled by {@value #AMOUNT_SCALE} decimal places, zero when there is no open
+   *     position
+   */
+  public long value(final int id) {
+    return id >= 0 && id < values.length ? values[id] : 0L;
+  }
+
+  /**
+   * The current value of the position of an id as a double, for the floating point arithmetic of
+   * the returns
+   *
+   * @param id the instrument id
+   * @return the value, zero when there is no open position
+   */
+  public double valueAsDouble(final int id) {
+    return amount(value(id)).doubleValue();
+  }
+
+  /**
+   * The valuation of every position
+   *
+   * @return {@link Stream<HoldingValuationDto>} in order of id
+   */
+  public Stream<HoldingValuationDto> holdings() {
+    return IntStream.range(0, codes.length).filter(id -> null != codes[id]).mapToObj(this::toDto);
+  }
+
+  /**
+   * The valuation of the positions which changed since a previous valuation: opened, closed, with
+   * other open units, cost or price
+   *
+   * @param previous the previous valuation of the same kind
+   * @return {@link Stream<HoldingValuationDto>} in order of id
+   */
+  public Stream<HoldingValuationDto> changesSince(final ValuationBook previous) {
+    return IntStream.range(0, Math.max(codes.length, previous.codes.length))
+        .filter(id -> changed(previous, id))
+        .mapToObj(id -> id < codes.length && null != codes[id] ? toDto(id) : previous.closed(id));
+  }
+
+  /**
+   * Whether the position of an id changed since a previous valuation
+   *
+   * @param previous the previous valuation
+   * @param id the instrument id
+   * @return true when changed
+   */
+  private boolean changed(final ValuationBook previous, final int id) {
+    var current = id < codes.length && null != codes[id];
+    var before = id < previous.codes.length && null != previous.codes[id];
+    if (current && before) {
+      return openUnits[id] != previous.openUnits[id]
+          || invested[id] != previous.invested[id]
+          || prices[id] != previous.prices[id];
+    }
+    return current || before;
+  }
+
+  /**
+   * The valuation of a position
+   *
+   * @param id the instrument id
+   * @return {@link HoldingValuationDto}
+   */
+  private HoldingValuationDto toDto(final int id) {
+    var cost = amount(invested[id]);
+    var value = amount(values[id]);
+    return new HoldingValuationDto(
+        kind,
+        id,
+        codes[id],
+        BigDecimal.valueOf(openUnits[id], UNITS_SCALE),
+        cost,
+        PriceSeries.NO_PRICE == prices[id]
+            ? null
+            : BigDecimal.valueOf(prices[id], PricePoint.PRICE_SCALE),
+        value,
+        value.subtract(cost),
+        absoluteReturn(value, cost));
+  }
+
+  /**
+   * The valuation of a position which is closed, nothing is left open
+   *
+   * @param id the instrument id
+   * @return {@link HoldingValuationDto}
+   */
+  private HoldingValuationDto closed(final int id) {
+    var zero = BigDecimal.ZERO.setScale(AMOUNT_SCALE);
+    return new HoldingValuationDto(
+        kind, id, codes[id], BigDecimal.ZERO.setScale(UNITS_SCALE), zero, null, zero, zero, zero);
+  }
+
+  /**
+   * An amount of the book as a decimal
+   *
+   * @param amount the amount scaled by {@value #AMOUNT_SCALE} decimal places
+   * @return {@link BigDecimal}
+   */
+  static BigDecimal amount(final long amount) {
+    return BigDecimal.valueOf(amount, AMOUNT_SCALE);
+  }
+
+  /**
+   * Round a decimal to a number of decimal places, as a scaled long
+   *
+   * @param decimal the decimal
+   * @param scale the number of decimal places
+   * @return the decimal multiplied by 10^scale
+   * @throws ArithmeticException when it does not fit in a long
+   */
+  private static long scaled(final BigDecimal decimal, final int scale) {
+    return decimal.setScale(scale, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+  }
+
+  /**
+   * Divide rounding half to even, like {@link RoundingMode#HALF_EVEN}
+   *
+   * @param dividend the dividend
+   * @param divisor the positive divisor
+   * @return the rounded quotient
+   */
+  static long divideHalfEven(final long dividend, final long divisor) {
+    var quotient = dividend / divisor;
+    var twiceRemainder = Math.abs(dividend % divisor) * 2;
+    var roundAway = twiceRemainder > divisor || twiceRemainder == divisor && (quotient & 1) != 0;
+    return roundAway ? quotient + Long.signum(dividend) : quotient;
+  }
+
+  /**
+   * The gain of a value over its cost as a percentage of the cost
+   *
+   * @param value the value
+   * @param cost the cost
+   * @return {@link BigDecimal}, zero when there is no cost
+   */
+  static BigDecimal absoluteReturn(final BigDecimal value, final BigDecimal cost) {
+    return cost.signum() == 0
+        ? BigDecimal.ZERO.setScale(AMOUNT_SCALE)
+        : value.subtract(cost).multiply(HUNDRED).divide(cost, AMOUNT_SCALE, RoundingMode.HALF_EVEN);
+  }
+}
@@ -0,0 +1,158 @@
+package com.mydata.userdata.valuation;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Solver of the extended internal rate of return of dated cash flows, the annual rate at which
+ * their net present value is zero, the same as the XIRR function of spreadsheets. The rate is found
+ * with Newton's method and, when it does not converge, by bisection. The solver reads the cash
+ * flows in place from primitive arrays and allocates nothing, so it can run for thousands of funds
+ * in parallel.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Xirr {
+
+  /** The rate is undefined without both an outflow and an inflow */
+  public static final double NO_RATE = Double.NaN;
+
+  static final double TOLERANCE = 1e-10;
+  private static final double DAYS_PER_YEAR = 365.0;
+  private static final double GUESS = 0.1;
+  private static final int MAX_NEWTON_ITERATIONS = 50;
+  private static final int MAX_BISECTION_ITERATIONS = 200;
+  private static final double LOWEST_RATE = -0.9999;
+  private static final double HIGHEST_RATE = 1e6;
+
+  /**
+   * Solve the rate of a range of cash flows. Outflows are negative, inflows are positive and the
+   * flows don't need to be in order of day.
+   *
+   * @param epochDays the day of every cash flow
+   * @param amounts the amount of every cash flow
+   * @param from the index of the first cash flow, inclusive
+   * @param to the index of the last cash flow, exclusive
+   * @return the annual rate, {@link #NO_RATE} when it is undefined
+   */
+  public static double solve(
+      final int[] epochDays, final double[] amounts, final int from, final int to) {
+    if (!hasBothSigns(amounts, from, to)) {
+      return NO_RATE;
+    }
+    var rate = newton(epochDays, amounts, from, to);
+    return Double.isNaN(rate) ? bisection(epochDays, amounts, from, to) : rate;
+  }
+
+  /**
+   * Whether the cash flows have both an outflow and an inflow
+   *
+   * @param amounts the amounts
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @return true when there is a sign change
+   */
+  private static boolean hasBothSigns(final double[] amounts, final int from, final int to) {
+    var outflow = false;
+    var inflow = false;
+    for (var i = from; i < to; i++) {
+      outflow |= amounts[i] < 0;
+      inflow |= amounts[i] > 0;
+    }
+    return outflow && inflow;
+  }
+
+  /**
+   * Find the rate with Newton's method, starting from {@link #GUESS}
+   *
+   * @param epochDays the days
+   * @param amounts the amounts
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @return the rate, NaN when the method does not converge
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  private static double newton(
+      final int[] epochDays, final double[] amounts, final int from, final int to) {
+    var rate = GUESS;
+    for (var iteration = 0; iteration < MAX_NEWTON_ITERATIONS; iteration++) {
+      var value = 0.0;
+      var derivative = 0.0;
+      for (var i = from; i < to; i++) {
+        var years = (epochDays[i] - epochDays[from]) / DAYS_PER_YEAR;
+        var discounted = amounts[i] * Math.pow(1 + rate, -years);
+        value += discounted;
+        derivative -= years * discounted / (1 + rate);
+      }
+      var next = rate - value / derivative;
+      if (!Double.isFinite(next) || next <= LOWEST_RATE) {
+        return Double.NaN;
+      }
+      if (Math.abs(next - rate) < TOLERANCE) {
+        return next;
+      }
+      rate = next;
+    }
+    return Double.NaN;
+  }
+
+  /**
+   * Find the rate by bisection, after widening the upper bound until the net present value changes
+   * its sign
+   *
+   * @param epochDays the days
+   * @param amounts the amounts
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @return the rate, {@link #NO_RATE} when there is no sign change
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  private static double bisection(
+      final int[] epochDays, final double[] amounts, final int from, final int to) {
+    var low = LOWEST_RATE;
+    var high = 1.0;
+    var lowValue = netPresentValue(epochDays, amounts, from, to, low);
+    while (Math.signum(lowValue) == Math.signum(netPresentValue(epochDays, amounts, from, to, high))
+        && high < HIGHEST_RATE) {
+      high *= 2;
+    }
+    if (Math.signum(lowValue) == Math.signum(netPresentValue(epochDays, amounts, from, to, high))) {
+      return NO_RATE;
+    }
+    for (var iteration = 0;
+        iteration < MAX_BISECTION_ITERATIONS && high - low > TOLERANCE;
+        iteration++) {
+      var middle = (low + high) / 2;
+      var value = netPresentValue(epochDays, amounts, from, to, middle);
+      if (Math.signum(value) == Math.signum(lowValue)) {
+        low = middle;
+        lowValue = value;
+      } else {
+        high = middle;
+      }
+    }
+    return (low + high) / 2;
+  }
+
+  /**
+   * The net present value of the cash flows at a rate, discounted to the day of the first flow
+   *
+   * @param epochDays the days
+   * @param amounts the amounts
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @param rate the annual rate
+   * @return the net present value
+   */
+  static double netPresentValue(
+      final int[] epochDays,
+      final double[] amounts,
+      final int from,
+      final int to,
+      final double rate) {
+    var value = 0.0;
+    for (var i = from; i < to; i++) {
+      value += amounts[i] * Math.pow(1 + rate, -(epochDays[i] - epochDays[from]) / DAYS_PER_YEAR);
+    }
+    return value;
+  }
+}
@@ -0,0 +1,22 @@
+-- Indexes for the hot read paths. Account and instrument reads only ever ask for active rows, so
+-- the partial indexes stay small and also serve the keyset pages ordered by id.
+create index if not exists deposit_account_active_idx on deposit_account (id) where active;
+create index if not exists loan_account_active_idx on loan_account (id) where active;
+create index if not exists miscellaneous_active_idx on miscellaneous (id) where active;
+create index if not exists saving_account_active_idx on saving_account (id) where active;
+create index if not exists mutual_fund_active_idx on mutual_fund (id) where active;
+create index if not exists stock_active_idx on stock (id) where active;
+
+-- Buy transactions are read by sold out flag in (buy_date, id) order and matched per fund.
+create index if not exists mutual_fund_buy_transaction_sold_out_idx
+    on mutual_fund_buy_transaction (is_sold_out, buy_date, id);
+create index if not exists mutual_fund_buy_transaction_mf_id_idx
+    on mutual_fund_buy_transaction (mf_id, is_sold_out, buy_date);
+create index if not exists stock_buy_transaction_stock_id_idx
+    on stock_buy_transaction (stock_id, is_sold_out, buy_date);
+
+-- Sell transactions are looked up per fund / stock in sold date order.
+create index if not exists mutual_fund_sell_transaction_mf_id_idx
+    on mutual_fund_sell_transaction (mf_id, sold_date);
+create index if not exists stock_sell_transaction_stock_id_idx
+    on stock_sell_transaction (stock_id, sold_date);
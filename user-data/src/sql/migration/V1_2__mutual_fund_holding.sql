@@ -0,0 +1,17 @@
+-- Open units and their cost per mutual fund, kept up to date by every buy and sell so the holdings
+-- are read without aggregating the buy transactions. The cost of the open units of a lot is their
+-- price with their share of the buy charge, the same as the cost of the units sold from the lot.
+create table if not exists mutual_fund_holding(
+    mf_id integer primary key references mutual_fund(id),
+    open_units numeric(14,4) not null default 0,
+    invested numeric not null default 0,
+    modified_at timestamp not null default current_timestamp
+);
+
+insert into mutual_fund_holding (mf_id, open_units, invested)
+select mf_id, sum(units - sold_units),
+       sum((units - sold_units) * nav + coalesce(round(charge * (units - sold_units) / nullif(units, 0), 10), 0))
+from mutual_fund_buy_transaction
+where is_sold_out = false and mf_id is not null
+group by mf_id
+on conflict (mf_id) do nothing;
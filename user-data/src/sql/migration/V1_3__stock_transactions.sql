@@ -0,0 +1,20 @@
+-- The quantities of stock transactions are not unique, a buy starts with nothing sold and every
+-- amount is non negative, the same as the mutual fund transactions.
+alter table stock_buy_transaction drop constraint if exists stock_buy_transaction_quantity_key;
+alter table stock_buy_transaction drop constraint if exists stock_buy_transaction_sold_quantity_key;
+alter table stock_buy_transaction alter column sold_quantity set default 0;
+alter table stock_buy_transaction add constraint price_non_negative check (price >= 0);
+alter table stock_buy_transaction add constraint quantity_non_negative check (quantity >= 0);
+alter table stock_buy_transaction add constraint charge_non_negative check (charge >= 0);
+alter table stock_buy_transaction add constraint sold_quantity_non_negative check (sold_quantity >= 0);
+
+alter table stock_sell_transaction drop constraint if exists stock_sell_transaction_quantity_key;
+alter table stock_sell_transaction alter column profit_loss set default 0;
+alter table stock_sell_transaction add constraint price_non_negative check (price >= 0);
+alter table stock_sell_transaction add constraint quantity_non_negative check (quantity >= 0);
+alter table stock_sell_transaction add constraint charge_non_negative check (charge >= 0);
+
+-- Buy transactions are paged by sold out flag in (buy_date, id) order, the FIFO lots of a stock are
+-- read with stock_buy_transaction_stock_id_idx.
+create index if not exists stock_buy_transaction_sold_out_idx
+    on stock_buy_transaction (is_sold_out, buy_date, id);
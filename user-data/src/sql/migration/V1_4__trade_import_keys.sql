@@ -0,0 +1,10 @@
+-- Buy transactions imported from a statement file carry a key made of their values. Importing the
+-- same statement again skips the trades it already added instead of adding them twice. Trades
+-- added through the API have no key; nulls never conflict.
+alter table mutual_fund_buy_transaction add column if not exists import_key text;
+create unique index if not exists mutual_fund_buy_transaction_import_key_idx
+    on mutual_fund_buy_transaction (import_key);
+
+alter table stock_buy_transaction add column if not exists import_key text;
+create unique index if not exists stock_buy_transaction_import_key_idx
+    on stock_buy_transaction (import_key);
@@ -0,0 +1,22 @@
+-- The units a sell took from each of its buy lots, in the order of buy_ids, written when the sell
+-- is matched to the lots. The capital gains are reported from them instead of being rebuilt from
+-- the running totals of the fund, which only hold for sells matched first in first out.
+alter table mutual_fund_sell_transaction add column if not exists buy_units numeric(12,4)[];
+
+-- The sells added before are assumed first in first out. A sell whose units do not add up to the
+-- units of its lots is refused by the capital gains report instead of being reported wrong.
+with sell as (select id, mf_id, buy_ids, units,
+                     sum(units) over (partition by mf_id order by id) - units as sold_before
+              from mutual_fund_sell_transaction where mf_id is not null),
+     buy as (select id, mf_id, units,
+                    sum(units) over (partition by mf_id order by buy_date, id) - units as bought_before
+             from mutual_fund_buy_transaction where mf_id is not null),
+     lot as (select s.id as sell_id, b.id as buy_id,
+                    greatest(least(s.sold_before + s.units, b.bought_before + b.units)
+                             - greatest(s.sold_before, b.bought_before), 0) as units
+             from sell s join buy b on b.mf_id = s.mf_id and b.id = any(s.buy_ids))
+update mutual_fund_sell_transaction t
+set buy_units = coalesce((select array_agg(coalesce(l.units, 0) order by k.ord)
+                          from unnest(t.buy_ids) with ordinality as k(buy_id, ord)
+                          left join lot l on l.sell_id = t.id and l.buy_id = k.buy_id), '{}')
+where t.buy_units is null;
@@ -0,0 +1,8 @@
+-- The import key of a trade ends with the number of the trades with the same values in its
+-- statement up to it, so a statement holding the same trade twice adds both. A key imported before
+-- is the first of its trade in the statement.
+update mutual_fund_buy_transaction set import_key = import_key || '|1'
+where cardinality(string_to_array(import_key, '|')) = 5;
+
+update stock_buy_transaction set import_key = import_key || '|1'
+where cardinality(string_to_array(import_key, '|')) = 5;
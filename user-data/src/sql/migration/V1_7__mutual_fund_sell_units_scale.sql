@@ -0,0 +1,3 @@
+-- The units of a sell have the scale of the units of the buys and of the units it took from each
+-- lot, so the units taken from the lots add up to the units sold instead of to their rounding.
+alter table mutual_fund_sell_transaction alter column units type numeric(12,4);
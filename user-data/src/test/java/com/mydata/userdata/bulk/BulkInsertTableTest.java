@@ -0,0 +1,122 @@
+package com.mydata.userdata.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.entity.MutualFundBuyTransaction;
+import com.mydata.userdata.entity.MutualFundSellTransaction;
+import com.mydata.userdata.utils.InvestmentParameterResolver;
+import io.r2dbc.spi.Statement;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+/** Test class for {@link BulkInsertTable} */
+@ExtendWith(InvestmentParameterResolver.class)
+class BulkInsertTableTest {
+
+  /** Test for {@link BulkInsertTable#insertSql()} */
+  @Test
+  @DisplayName("Insert SQL has a bind marker per column and defaults for nullable values")
+  void insertSql() {
+    assertEquals(
+        "insert into mutual_fund_buy_transaction"
+            + " (mf_id, nav, units, charge, buy_date, sold_units, is_sold_out)"
+            + " values ($1, coalesce($2, 0), $3, $4, coalesce($5, current_timestamp),"
+            + " coalesce($6, 0), coalesce($7, false))",
+        BulkInsertTables.MUTUAL_FUND_BUY_TRANSACTION.insertSql());
+  }
+
+  /** Test for {@link BulkInsertTable#insertSql()} of a table ignoring duplicates */
+  @Test
+  @DisplayName("Insert SQL of a table ignoring duplicates skips rows with a known unique key")
+  void insertSqlIgnoringDuplicates() {
+    var table = BulkInsertTables.STOCK_BUY_TRANSACTION_IMPORT;
+    assertEquals("import_key", table.uniqueKey().name());
+    assertEquals(
+        "insert into stock_buy_transaction"
+            + " (stock_id, price, quantity, charge, buy_date, sold_quantity, is_sold_out,"
+            + " import_key)"
+            + " values ($1, $2, $3, $4, coalesce($5, current_timestamp),"
+            + " coalesce($6, 0), coalesce($7, false), $8)"
+            + " on conflict (import_key) do nothing",
+        table.insertSql());
+  }
+
+  /** Test for the import key of {@link BulkInsertTables#MUTUAL_FUND_BUY_TRANSACTION_IMPORT} */
+  @Test
+  @DisplayName("The import key of a trade is its values and its number among the same trades")
+  void importKey() {
+    var buyDate = Instant.parse("2022-01-31T00:00:00Z");
+    var buy =
+        new MutualFundBuyTransaction(
+            null,
+            1,
+            FixedDecimal.of(1050, 2),
+            FixedDecimal.of(20, 1),
+            FixedDecimal.ZERO,
+            buyDate,
+            FixedDecimal.ZERO,
+            false,
+            null,
+            null);
+    var key = BulkInsertTables.MUTUAL_FUND_BUY_TRANSACTION_IMPORT.uniqueKey().value();
+    assertEquals(
+        "1|2022-01-31T00:00:00Z|10.5|2|0|2",
+        key.apply(
+            new ImportedRecord<>(
+                buy, BulkInsertTables.importKey(BulkInsertTables.tradeKey(buy), 2))));
+    assertEquals(
+        "1|null|1|2|0",
+        BulkInsertTables.valuesKey(1, null, FixedDecimal.of(100, 2), 2, FixedDecimal.of(0, 4)));
+  }
+
+  /**
+   * Test for {@link BulkInsertTable#bind(Statement, List)}
+   *
+   * @param records the records to bind
+   */
+  @Test
+  @DisplayName("Bind one parameter set per record")
+  void bind(final List<MutualFundSellTransaction> records) {
+    var statement = mock(Statement.class);
+    var table = BulkInsertTables.MUTUAL_FUND_SELL_TRANSACTION;
+    table.bind(statement, records);
+    verify(statement, times(records.size() - 1)).add();
+    var buyIds = ArgumentCaptor.forClass(Object.class);
+    verify(statement, times(records.size())).bind(eq(1), buyIds.capture());
+    assertThat(buyIds.getAllValues())
+        .containsExactlyElementsOf(
+            records.stream().map(sell -> sell.buyIds().toArray(Integer[]::new)).toList());
+  }
+
+  /** Test for {@link BulkInsertTable#bind(Statement, List)} with null values */
+  @Test
+  @DisplayName("Bind null for null values")
+  void bindNull() {
+    var statement = mock(Statement.class);
+    var record =
+        new MutualFundBuyTransaction(
+            null,
+            1,
+            FixedDecimal.of(105, 1),
+            FixedDecimal.of(20, 1),
+            FixedDecimal.ZERO,
+            Instant.now(),
+            null,
+            null,
+            null,
+            null);
+    BulkInsertTables.MUTUAL_FUND_BUY_TRANSACTION.bind(statement, List.of(record));
+    verify(statement, never()).add();
+    verify(statement).bindNull(5, FixedDecimal.class);
+    verify(statement).bindNull(6, Boolean.class);
+    verify(statement).bind(0, 1);
+  }
+}
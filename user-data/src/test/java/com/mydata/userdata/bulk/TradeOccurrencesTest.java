@@ -0,0 +1,35 @@
+package com.mydata.userdata.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link TradeOccurrences} */
+class TradeOccurrencesTest {
+
+  private static final Instant DAY = Instant.parse("2022-01-31T00:00:00Z");
+
+  /** Test for {@link TradeOccurrences#next(String, Instant)} */
+  @Test
+  @DisplayName("The repeats of a trade are numbered in the order they are read")
+  void next() {
+    var occurrences = new TradeOccurrences();
+    assertEquals(1, occurrences.next("A", DAY));
+    assertEquals(1, occurrences.next("B", DAY.plusSeconds(60)));
+    assertEquals(2, occurrences.next("A", DAY));
+    assertEquals(1, occurrences.next("A", DAY.plusSeconds(86_400)));
+  }
+
+  /** Test for {@link TradeOccurrences#next(String, Instant)} with a day read again */
+  @Test
+  @DisplayName("A trade of a day left before is refused")
+  void nextDayReadAgain() {
+    var occurrences = new TradeOccurrences();
+    occurrences.next("A", DAY);
+    occurrences.next("A", DAY.plusSeconds(86_400));
+    assertThrows(IllegalArgumentException.class, () -> occurrences.next("A", DAY));
+  }
+}
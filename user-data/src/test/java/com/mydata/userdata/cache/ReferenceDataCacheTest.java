@@ -0,0 +1,106 @@
+package com.mydata.userdata.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.userdata.property.ReferenceDataCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link ReferenceDataCache} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class ReferenceDataCacheTest {
+
+  private static final List<String> STOCKS = List.of("stock1", "stock2");
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private final Supplier<Flux<String>> loader =
+      () ->
+          Flux.defer(
+              () -> {
+                loads.incrementAndGet();
+                return Flux.fromIterable(STOCKS);
+              });
+
+  private SimpleMeterRegistry meterRegistry;
+  private ReferenceDataCache referenceDataCache;
+
+  /** Executes before each test */
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    referenceDataCache =
+        new ReferenceDataCache(
+            new ReferenceDataCacheProperties(10L, Duration.ofMinutes(10)), meterRegistry);
+  }
+
+  /** Test for {@link ReferenceDataCache#get(ReferenceData, Supplier)} */
+  @Test
+  @DisplayName("List is loaded once and then served from the cache")
+  void get() {
+    var stocks = referenceDataCache.get(ReferenceData.STOCKS, loader);
+    assertEquals(0, loads.get());
+    StepVerifier.create(stocks).expectNextSequence(STOCKS).verifyComplete();
+    StepVerifier.create(referenceDataCache.get(ReferenceData.STOCKS, loader))
+        .expectNextSequence(STOCKS)
+        .verifyComplete();
+    assertEquals(1, loads.get());
+    assertEquals(
+        1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    assertEquals(
+        1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+  }
+
+  /** Test for {@link ReferenceDataCache#invalidate(ReferenceData)} */
+  @Test
+  @DisplayName("Invalidated list is loaded again")
+  void invalidate() {
+    StepVerifier.create(referenceDataCache.get(ReferenceData.STOCKS, loader))
+        .expectNextCount(STOCKS.size())
+        .verifyComplete();
+    referenceDataCache.invalidate(ReferenceData.MUTUAL_FUNDS);
+    StepVerifier.create(referenceDataCache.get(ReferenceData.STOCKS, loader))
+        .expectNextCount(STOCKS.size())
+        .verifyComplete();
+    assertEquals(1, loads.get());
+    referenceDataCache.invalidate(ReferenceData.STOCKS);
+    StepVerifier.create(referenceDataCache.get(ReferenceData.STOCKS, loader))
+        .expectNextSequence(STOCKS)
+        .verifyComplete();
+    assertEquals(2, loads.get());
+  }
+
+  /** Test for {@link ReferenceDataCache#get(ReferenceData, Supplier)} when the load fails */
+  @Test
+  @DisplayName("Failed load is not cached")
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  void getError() {
+    var failure = new IllegalStateException("load failed");
+    StepVerifier.create(referenceDataCache.get(ReferenceData.STOCKS, () -> Flux.error(failure)))
+        .verifyErrorSatisfies(e -> assertEquals(failure, e));
+    StepVerifier.create(referenceDataCache.get(ReferenceData.STOCKS, loader))
+        .expectNextSequence(STOCKS)
+        .verifyComplete();
+    assertEquals(1, loads.get());
+  }
+
+  /** Test for {@link ReferenceDataCache} without eviction properties */
+  @Test
+  @DisplayName("Cache without eviction properties")
+  void unbounded() {
+    var unbounded =
+        new ReferenceDataCache(new ReferenceDataCacheProperties(null, null), meterRegistry);
+    StepVerifier.create(unbounded.get(ReferenceData.MUTUAL_FUNDS, loader))
+        .expectNextSequence(STOCKS)
+        .verifyComplete();
+    assertThat(meterRegistry.find("cache.evictions").functionCounters()).isNotEmpty();
+  }
+}
@@ -13,21 +13,60 @@ public final class TestConstants {
   public static final Map<String, String> API_NAME_URL_MAP =
       Map.ofEntries(
           Map.entry(GET_DEPOSIT_ACCOUNTS, DEPOSIT_ACCOUNTS_URL),
+          Map.entry(GET_DEPOSIT_ACCOUNTS_PAGE, DEPOSIT_ACCOUNTS_URL),
           Map.entry(ADD_DEPOSIT_ACCOUNT, DEPOSIT_ACCOUNTS_URL),
           Map.entry(GET_LOAN_ACCOUNTS, LOAN_ACCOUNTS_URL),
+          Map.entry(GET_LOAN_ACCOUNTS_PAGE, LOAN_ACCOUNTS_URL),
           Map.entry(ADD_LOAN_ACCOUNT, LOAN_ACCOUNTS_URL),
           Map.entry(GET_MISC_ACCOUNTS, MISC_ACCOUNTS_URL),
+          Map.entry(GET_MISC_ACCOUNTS_PAGE, MISC_ACCOUNTS_URL),
           Map.entry(ADD_MISC_ACCOUNT, MISC_ACCOUNTS_URL),
           Map.entry(GET_MUTUAL_FUNDS, MUTUAL_FUNDS_URL),
           Map.entry(ADD_MUTUAL_FUND, MUTUAL_FUNDS_URL),
           Map.entry(GET_MF_BUY_TRANSACTIONS, MF_BUY_TRANSACTION_URL),
+          Map.entry(GET_MF_BUY_TRANSACTIONS_PAGE, MF_BUY_TRANSACTION_URL),
           Map.entry(ADD_MF_BUY_TRANSACTIONS, MF_BUY_TRANSACTION_URL),
           Map.entry(GET_MF_SELL_TRANSACTIONS, MF_SELL_TRANSACTION_URL),
+          Map.entry(GET_MF_SELL_TRANSACTIONS_PAGE, MF_SELL_TRANSACTION_URL),
           Map.entry(ADD_MF_SELL_TRANSACTIONS, MF_SELL_TRANSACTION_URL),
+          Map.entry(GET_MF_HOLDINGS, MF_HOLDINGS_URL),
+          Map.entry(REBUILD_MF_HOLDINGS, MF_HOLDINGS_REBUILD_URL),
           Map.entry(GET_SAVING_ACCOUNTS, SAVING_ACCOUNTS_URL),
+          Map.entry(GET_SAVING_ACCOUNTS_PAGE, SAVING_ACCOUNTS_URL),
           Map.entry(ADD_SAVING_ACCOUNT, SAVING_ACCOUNTS_URL),
           Map.entry(GET_STOCKS, STOCKS_URL),
-          Map.entry(ADD_STOCK, STOCKS_URL));
+          Map.entry(ADD_STOCK, STOCKS_URL),
+          Map.entry(GET_STOCK_BUY_TRANSACTIONS, STOCK_BUY_TRANSACTION_URL),
+          Map.entry(GET_STOCK_BUY_TRANSACTIONS_PAGE, STOCK_BUY_TRANSACTION_URL),
+          Map.entry(ADD_STOCK_BUY_TRANSACTIONS, STOCK_BUY_TRANSACTION_URL),
+          Map.entry(GET_STOCK_SELL_TRANSACTIONS, STOCK_SELL_TRANSACTION_URL),
+          Map.entry(GET_STOCK_SELL_TRANSACTIONS_PAGE, STOCK_SELL_TRANSACTION_URL),
+          Map.entry(ADD_STOCK_SELL_TRANSACTIONS, STOCK_SELL_TRANSACTION_URL),
+          Map.entry(ADD_DEPOSIT_ACCOUNTS_BULK, DEPOSIT_ACCOUNTS_BULK_URL),
+          Map.entry(ADD_LOAN_ACCOUNTS_BULK, LOAN_ACCOUNTS_BULK_URL),
+          Map.entry(ADD_MISC_ACCOUNTS_BULK, MISC_ACCOUNTS_BULK_URL),
+          Map.entry(ADD_MF_BUY_TRANSACTIONS_BULK, MF_BUY_TRANSACTION_BULK_URL),
+          Map.entry(ADD_MF_SELL_TRANSACTIONS_BULK, MF_SELL_TRANSACTION_BULK_URL),
+          Map.entry(ADD_SAVING_ACCOUNTS_BULK, SAVING_ACCOUNTS_BULK_URL),
+          Map.entry(ADD_STOCKS_BULK, STOCKS_BULK_URL),
+          Map.entry(ADD_STOCK_BUY_TRANSACTIONS_BULK, STOCK_BUY_TRANSACTION_BULK_URL),
+          Map.entry(ADD_STOCK_SELL_TRANSACTIONS_BULK, STOCK_SELL_TRANSACTION_BULK_URL),
+          Map.entry(GET_INVESTMENT_SUMMARY, SUMMARY_URL),
+          Map.entry(GET_PORTFOLIO_VALUATION, VALUATION_URL),
+          Map.entry(GET_PORTFOLIO_VALUATION_UPDATES, VALUATION_URL),
+          Map.entry(GET_PORTFOLIO_RETURNS, RETURNS_URL),
+          Map.entry(IMPORT_MF_BUY_TRANSACTIONS, MF_BUY_TRANSACTION_IMPORT_URL),
+          Map.entry(IMPORT_MF_BUY_TRANSACTIONS_FILE, MF_BUY_TRANSACTION_IMPORT_URL),
+          Map.entry(IMPORT_STOCK_BUY_TRANSACTIONS, STOCK_BUY_TRANSACTION_IMPORT_URL),
+          Map.entry(IMPORT_STOCK_BUY_TRANSACTIONS_FILE, STOCK_BUY_TRANSACTION_IMPORT_URL),
+          Map.entry(GET_MF_PRICE, MF_PRICES_URL),
+          Map.entry(GET_MF_PRICES, MF_PRICES_URL),
+          Map.entry(INGEST_MF_PRICES, MF_PRICES_INGEST_URL),
+          Map.entry(GET_STOCK_PRICE, STOCK_PRICES_URL),
+          Map.entry(GET_STOCK_PRICES, STOCK_PRICES_URL),
+          Map.entry(INGEST_STOCK_PRICES, STOCK_PRICES_INGEST_URL),
+          Map.entry(GET_MF_CAPITAL_GAINS, MF_CAPITAL_GAINS_URL),
+          Map.entry(GET_MF_CAPITAL_GAINS_CSV, MF_CAPITAL_GAINS_URL));
 
   public static final String POSTGRESQL_DB_PROPERTY_PREFIX = "db.postgresql.";
 }
@@ -1,9 +1,20 @@
 package com.mydata.userdata.config;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.decimal.FixedDecimalReadingConverter;
+import com.mydata.userdata.metrics.QueryMetricsConnectionFactory;
+import com.mydata.userdata.metrics.TimedConnectionPool;
+import com.mydata.userdata.property.DatabasePoolProperties;
 import com.mydata.userdata.property.DatabaseProperties;
+import com.mydata.userdata.property.QueryMetricsProperties;
 import com.mydata.utilities.spring.YamlPropertySourceFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import java.math.BigDecimal;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,13 +23,18 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
 /** Test class for {@link DatabaseConfig} */
 @MockitoSettings
 @SpringJUnitConfig
-@Import({WebFluxConfig.class, DatabaseConfig.class})
-@EnableConfigurationProperties(DatabaseProperties.class)
+@Import({WebFluxConfig.class, DatabaseConfig.class, SimpleMeterRegistry.class})
+@EnableConfigurationProperties({
+  DatabaseProperties.class,
+  DatabasePoolProperties.class,
+  QueryMetricsProperties.class
+})
 @PropertySource(
     value = "classpath:application-test.yaml",
     factory = YamlPropertySourceFactory.class)
@@ -35,4 +51,81 @@ class DatabaseConfigTest {
         context.getBean(DatabaseConfig.class),
         "DatabaseConfig should be present in the Application Context");
   }
+
+  /**
+   * Test the connection factory proxies a connection pool configured from the pool properties, as
+   * the query metrics are enabled
+   */
+  @Test
+  @DisplayName("Test Connection Factory is a proxied Connection Pool")
+  void connectionPool() {
+    var connectionFactory = context.getBean(ConnectionFactory.class);
+    assertInstanceOf(QueryMetricsConnectionFactory.class, connectionFactory);
+    var connectionPool = ((QueryMetricsConnectionFactory) connectionFactory).unwrap();
+    assertInstanceOf(TimedConnectionPool.class, connectionPool);
+    var poolProps = context.getBean(DatabasePoolProperties.class);
+    assertEquals(
+        poolProps.maxSize(),
+        ((ConnectionPool) connectionPool)
+            .getMetrics()
+            .map(PoolMetrics::getMaxAllocatedSize)
+            .orElseThrow());
+  }
+
+  /** Test the {@link FixedDecimal} properties are bound as they are and read as BigDecimal */
+  @Test
+  @DisplayName("Test FixedDecimal conversions")
+  void fixedDecimalConversions() {
+    var conversions = context.getBean(R2dbcCustomConversions.class);
+    assertTrue(conversions.isSimpleType(FixedDecimal.class));
+    assertTrue(conversions.hasCustomReadTarget(FixedDecimal.class, BigDecimal.class));
+    assertEquals(
+        new BigDecimal("10.50"),
+        FixedDecimalReadingConverter.INSTANCE.convert(FixedDecimal.of(1050, 2)));
+  }
+
+  /** Test the {@link FixedDecimal} list properties are bound as arrays by the dialect */
+  @Test
+  @DisplayName("Test FixedDecimal arrays")
+  void fixedDecimalArrays() {
+    var dialect =
+        context
+            .getBean(DatabaseConfig.class)
+            .getDialect(context.getBean(ConnectionFactory.class));
+    assertTrue(dialect.getSimpleTypeHolder().isSimpleType(FixedDecimal.class));
+    assertEquals(FixedDecimal.class, dialect.getArraySupport().getArrayType(FixedDecimal.class));
+  }
+
+  /**
+   * Test the connection pool is created when the optional properties are not set, and is not
+   * proxied without the query metrics
+   */
+  @Test
+  @DisplayName("Test Connection Pool without optional properties")
+  void connectionPoolWithoutOptionalProperties() {
+    var dbProps = context.getBean(DatabaseProperties.class);
+    var requiredDbProps =
+        new DatabaseProperties(
+            dbProps.driver(),
+            dbProps.host(),
+            dbProps.database(),
+            dbProps.schema(),
+            dbProps.port(),
+            dbProps.user(),
+            dbProps.password(),
+            null,
+            null,
+            null,
+            null);
+    var poolProps = new DatabasePoolProperties(null, null, null, null, null, null);
+    var connectionFactory =
+        new DatabaseConfig(
+                requiredDbProps,
+                poolProps,
+                new QueryMetricsProperties(null, null),
+                new SimpleMeterRegistry())
+            .connectionFactory();
+    assertInstanceOf(ConnectionPool.class, connectionFactory);
+    ((ConnectionPool) connectionFactory).dispose();
+  }
 }
@@ -1,13 +1,27 @@
 package com.mydata.userdata.config;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.codec.DecoderHttpMessageReader;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2CodecSupport;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
 /** Test class for {@link WebFluxConfig} */
@@ -27,4 +41,60 @@ class WebFluxConfigTest {
         context.getBean(WebFluxConfig.class),
         "WebFluxConfig should be present in the Application Context");
   }
+
+  /** Test the shared object mapper keeps the JSON settings and installs the Blackbird module */
+  @Test
+  @DisplayName("Test the shared Object Mapper")
+  void objectMapper() {
+    var objectMapper = context.getBean(ObjectMapper.class);
+    assertTrue(objectMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    assertInstanceOf(StdDateFormat.class, objectMapper.getDateFormat());
+    assertThat(objectMapper.getRegisteredModuleIds()).contains(BlackbirdModule.class.getName());
+  }
+
+  /** Test the JSON encoder and decoder use the shared object mapper */
+  @Test
+  @DisplayName("Test the JSON codecs share the Object Mapper")
+  void jsonCodecs() {
+    var objectMapper = context.getBean(ObjectMapper.class);
+    var configurer = ServerCodecConfigurer.create();
+    context.getBean(WebFluxConfig.class).configureHttpMessageCodecs(configurer);
+    assertThat(configurer.getWriters())
+        .filteredOn(EncoderHttpMessageWriter.class::isInstance)
+        .extracting(writer -> ((EncoderHttpMessageWriter<?>) writer).getEncoder())
+        .filteredOn(Jackson2JsonEncoder.class::isInstance)
+        .extracting(encoder -> ((Jackson2CodecSupport) encoder).getObjectMapper())
+        .containsExactly(objectMapper);
+    assertThat(configurer.getReaders())
+        .filteredOn(DecoderHttpMessageReader.class::isInstance)
+        .extracting(reader -> ((DecoderHttpMessageReader<?>) reader).getDecoder())
+        .filteredOn(Jackson2JsonDecoder.class::isInstance)
+        .extracting(decoder -> ((Jackson2CodecSupport) decoder).getObjectMapper())
+        .containsExactly(objectMapper);
+  }
+
+  /** Test the Smile encoder and decoder share a Smile object mapper with the JSON settings */
+  @Test
+  @DisplayName("Test the Smile codecs share a Smile Object Mapper")
+  void smileCodecs() {
+    var configurer = ServerCodecConfigurer.create();
+    context.getBean(WebFluxConfig.class).configureHttpMessageCodecs(configurer);
+    var smileMapper =
+        configurer.getWriters().stream()
+            .filter(EncoderHttpMessageWriter.class::isInstance)
+            .map(writer -> ((EncoderHttpMessageWriter<?>) writer).getEncoder())
+            .filter(Jackson2SmileEncoder.class::isInstance)
+            .map(encoder -> ((Jackson2CodecSupport) encoder).getObjectMapper())
+            .findFirst()
+            .orElseThrow();
+    assertInstanceOf(SmileFactory.class, smileMapper.getFactory());
+    assertTrue(smileMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    assertThat(smileMapper.getRegisteredModuleIds()).contains(BlackbirdModule.class.getName());
+    assertThat(configurer.getReaders())
+        .filteredOn(DecoderHttpMessageReader.class::isInstance)
+        .extracting(reader -> ((DecoderHttpMessageReader<?>) reader).getDecoder())
+        .filteredOn(Jackson2SmileDecoder.class::isInstance)
+        .extracting(decoder -> ((Jackson2CodecSupport) decoder).getObjectMapper())
+        .containsExactly(smileMapper);
+  }
 }
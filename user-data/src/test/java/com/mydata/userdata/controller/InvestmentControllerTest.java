@@ -1,19 +1,42 @@
 package com.mydata.userdata.controller;
 
 import static com.mydata.userdata.common.ApiNames.*;
+import static com.mydata.userdata.common.ApiParams.MAX_PAGE_SIZE;
+import static com.mydata.userdata.common.ApiParams.PAGE_CURSOR;
 import static com.mydata.userdata.common.ApiUrls.INVESTMENT_BASE_URL;
 import static com.mydata.userdata.common.ObjectProperties.ACCOUNT_ID;
 import static com.mydata.userdata.common.TestConstants.API_NAME_URL_MAP;
 import static org.mockito.Mockito.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+import static org.springframework.restdocs.webtestclient.WebTestClientRestDocumentation.document;
 
 import com.expediagroup.beans.BeanUtils;
 import com.expediagroup.beans.transformer.BeanTransformer;
+import com.mydata.userdata.common.ApiParams;
+import com.mydata.userdata.decimal.FixedDecimal;
 import com.mydata.userdata.dto.*;
+import com.mydata.userdata.etag.ListVersions;
+import com.mydata.userdata.pagination.KeysetCursor;
+import com.mydata.userdata.pagination.KeysetPage;
+import com.mydata.userdata.price.PriceKind;
+import com.mydata.userdata.service.BulkInsertService;
+import com.mydata.userdata.service.CapitalGainsService;
 import com.mydata.userdata.service.InvestmentService;
+import com.mydata.userdata.service.InvestmentSummaryService;
+import com.mydata.userdata.service.MutualFundHoldingService;
+import com.mydata.userdata.service.PriceHistoryService;
+import com.mydata.userdata.service.TradeImportService;
+import com.mydata.userdata.service.ValuationService;
 import com.mydata.userdata.utils.InvestmentParameterResolver;
 import com.mydata.userdata.utils.NegativeBalance;
 import com.mydata.utilities.test.conroller.ControllerTest;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.regex.Pattern;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,22 +46,55 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 /** Test class for {@link InvestmentController} */
 @MockitoSettings
 @WebFluxTest(controllers = InvestmentController.class)
 @AutoConfigureRestDocs
+@Import(ListVersions.class)
 @ExtendWith(InvestmentParameterResolver.class)
 @SuppressWarnings("PMD.BeanMembersShouldSerialize")
 class InvestmentControllerTest implements ControllerTest {
 
+  private static final int PAGE_SIZE = 10;
+  private static final MediaType TEXT_CSV = MediaType.parseMediaType(ApiParams.TEXT_CSV_VALUE);
+  private static final MediaType APPLICATION_SMILE =
+      MediaType.parseMediaType(ApiParams.APPLICATION_SMILE_VALUE);
+  private static final MediaType APPLICATION_STREAM_SMILE =
+      MediaType.parseMediaType(ApiParams.APPLICATION_STREAM_SMILE_VALUE);
+  private static final String INSTRUMENT_CODE = "119551";
+  private static final LocalDate PRICE_DATE = LocalDate.of(2022, 10, 14);
+  private static final String NAV_FILE = "NAVAll.txt";
+  private static final String CAPITAL_GAINS_YEARS = "?fromYear=2022&toYear=2022";
+  private static final PriceIngestResultDto INGEST_RESULT = new PriceIngestResultDto(3L, 2L, 1L);
+  private static final TradeImportResultDto IMPORT_RESULT =
+      new TradeImportResultDto(
+          1L, 0L, 1L, List.of(new TradeImportRejectionDto(3L, "units should be a number : x")));
+
   private final BeanTransformer dtoToDtoSkipId =
       new BeanUtils().getTransformer().skipTransformationForField(ACCOUNT_ID);
   @Autowired private WebTestClient webTestClient;
   @MockBean private InvestmentService investmentService;
+  @MockBean private BulkInsertService bulkInsertService;
+  @MockBean private InvestmentSummaryService investmentSummaryService;
+  @MockBean private MutualFundHoldingService mutualFundHoldingService;
+  @MockBean private TradeImportService tradeImportService;
+  @MockBean private PriceHistoryService priceHistoryService;
+  @MockBean private ValuationService valuationService;
+  @MockBean private CapitalGainsService capitalGainsService;
 
   @Override
   public WebTestClient getWebTestClient() {
@@ -58,7 +114,15 @@ class InvestmentControllerTest implements ControllerTest {
   /** Executes after each test */
   @AfterEach
   void tearDown() {
-    verifyNoMoreInteractions(investmentService);
+    verifyNoMoreInteractions(
+        investmentService,
+        bulkInsertService,
+        investmentSummaryService,
+        mutualFundHoldingService,
+        tradeImportService,
+        priceHistoryService,
+        valuationService,
+        capitalGainsService);
   }
 
   /**
@@ -74,6 +138,71 @@ class InvestmentControllerTest implements ControllerTest {
     verify(investmentService, times(1)).getDepositAccounts();
   }
 
+  /**
+   * Test for {@link InvestmentController#getDepositAccounts()} with the ETag of a previous read,
+   * before and after a deposit account is added
+   *
+   * @param accounts list of expected deposit accounts
+   */
+  @Test
+  @DisplayName("Happy Path: Get Deposit Accounts not modified since the last read")
+  void getDepositAccountsNotModified(final List<AccountDto> accounts) {
+    when(investmentService.getDepositAccounts()).thenReturn(Flux.fromIterable(accounts));
+    when(investmentService.addDepositAccount(any(AccountDto.class)))
+        .thenReturn(Mono.just(accounts.get(0)));
+    var url = getBaseUrl() + getApiUrl(GET_DEPOSIT_ACCOUNTS);
+    var etag =
+        webTestClient
+            .get()
+            .uri(url)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+            .returnResult(AccountDto.class)
+            .getResponseHeaders()
+            .getETag();
+    webTestClient
+        .get()
+        .uri(url)
+        .ifNoneMatch(etag)
+        .exchange()
+        .expectStatus()
+        .isNotModified()
+        .expectHeader()
+        .valueEquals(HttpHeaders.ETAG, etag)
+        .expectBody()
+        .isEmpty();
+    verify(investmentService, times(1)).getDepositAccounts();
+    webTestClient
+        .post()
+        .uri(getBaseUrl() + getApiUrl(ADD_DEPOSIT_ACCOUNT))
+        .bodyValue(accounts.get(0))
+        .exchange()
+        .expectStatus()
+        .isOk();
+    webTestClient.get().uri(url).ifNoneMatch(etag).exchange().expectStatus().isOk();
+    verify(investmentService, times(2)).getDepositAccounts();
+    verify(investmentService, times(1)).addDepositAccount(any(AccountDto.class));
+  }
+
+  /**
+   * Test for {@link InvestmentController#getDepositAccountsPage(int, String, ServerHttpRequest)}
+   *
+   * @param accounts list of expected deposit accounts
+   */
+  @Test
+  @DisplayName("Happy Path: Get a page of Deposit Accounts")
+  void getDepositAccountsPage(final List<AccountDto> accounts) {
+    var page =
+        new KeysetPage<>(accounts, KeysetCursor.ofId(accounts.get(PAGE_SIZE - 1).id()).encode());
+    when(investmentService.getDepositAccountsPage(KeysetCursor.FIRST, PAGE_SIZE))
+        .thenReturn(Mono.just(page));
+    verifyPageAndDocument(GET_DEPOSIT_ACCOUNTS_PAGE, null, page, AccountDto.class);
+    verify(investmentService, times(1)).getDepositAccountsPage(KeysetCursor.FIRST, PAGE_SIZE);
+  }
+
   /**
    * Test for {@link InvestmentController#addDepositAccount(AccountDto)}
    *
@@ -88,6 +217,21 @@ class InvestmentControllerTest implements ControllerTest {
     verify(investmentService, times(1)).addDepositAccount(any(AccountDto.class));
   }
 
+  /**
+   * Test for {@link InvestmentController#addDepositAccounts(Flux)} with a JSON array
+   *
+   * @param depositAccounts the deposit accounts to add
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Deposit Accounts as JSON array")
+  void addDepositAccounts(final List<AccountDto> depositAccounts) {
+    when(bulkInsertService.addDepositAccounts(any()))
+        .thenReturn(Mono.just(bulkResult(depositAccounts)));
+    verifyBulkPostAndDocument(
+        ADD_DEPOSIT_ACCOUNTS_BULK, APPLICATION_JSON, depositAccounts, AccountDto.class);
+    verify(bulkInsertService, times(1)).addDepositAccounts(any());
+  }
+
   /**
    * Verify Post request and document
    *
@@ -114,6 +258,22 @@ class InvestmentControllerTest implements ControllerTest {
     verify(investmentService, times(1)).getLoanAccounts();
   }
 
+  /**
+   * Test for {@link InvestmentController#getLoanAccountsPage(int, String, ServerHttpRequest)}
+   *
+   * @param accounts list of expected loan accounts
+   */
+  @Test
+  @DisplayName("Happy Path: Get a page of Loan Accounts")
+  void getLoanAccountsPage(@NegativeBalance final List<AccountDto> accounts) {
+    var page =
+        new KeysetPage<>(accounts, KeysetCursor.ofId(accounts.get(PAGE_SIZE - 1).id()).encode());
+    when(investmentService.getLoanAccountsPage(KeysetCursor.FIRST, PAGE_SIZE))
+        .thenReturn(Mono.just(page));
+    verifyPageAndDocument(GET_LOAN_ACCOUNTS_PAGE, null, page, AccountDto.class);
+    verify(investmentService, times(1)).getLoanAccountsPage(KeysetCursor.FIRST, PAGE_SIZE);
+  }
+
   /**
    * Test for {@link InvestmentController#addLoanAccount(AccountDto)}
    *
@@ -128,6 +288,20 @@ class InvestmentControllerTest implements ControllerTest {
     verify(investmentService, times(1)).addLoanAccount(any(AccountDto.class));
   }
 
+  /**
+   * Test for {@link InvestmentController#addLoanAccounts(Flux)} with a NDJSON stream
+   *
+   * @param loanAccounts the loan accounts to add
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Loan Accounts as NDJSON stream")
+  void addLoanAccounts(@NegativeBalance final List<AccountDto> loanAccounts) {
+    when(bulkInsertService.addLoanAccounts(any())).thenReturn(Mono.just(bulkResult(loanAccounts)));
+    verifyBulkPostAndDocument(
+        ADD_LOAN_ACCOUNTS_BULK, APPLICATION_NDJSON, loanAccounts, AccountDto.class);
+    verify(bulkInsertService, times(1)).addLoanAccounts(any());
+  }
+
   /**
    * Test for {@link InvestmentController#getMiscellaneousAccounts()}
    *
@@ -141,6 +315,23 @@ class InvestmentControllerTest implements ControllerTest {
     verify(investmentService, times(1)).getMiscellaneousAccounts();
   }
 
+  /**
+   * Test for {@link InvestmentController#getMiscellaneousAccountsPage(int, String,
+   * ServerHttpRequest)}
+   *
+   * @param accounts list of expected miscellaneous accounts
+   */
+  @Test
+  @DisplayName("Happy Path: Get a page of Miscellaneous Accounts")
+  void getMiscellaneousAccountsPage(final List<MiscellaneousDto> accounts) {
+    var page =
+        new KeysetPage<>(accounts, KeysetCursor.ofId(accounts.get(PAGE_SIZE - 1).id()).encode());
+    when(investmentService.getMiscellaneousAccountsPage(KeysetCursor.FIRST, PAGE_SIZE))
+        .thenReturn(Mono.just(page));
+    verifyPageAndDocument(GET_MISC_ACCOUNTS_PAGE, null, page, MiscellaneousDto.class);
+    verify(investmentService, times(1)).getMiscellaneousAccountsPage(KeysetCursor.FIRST, PAGE_SIZE);
+  }
+
   /**
    * Test for {@link InvestmentController#addMiscellaneousAccount(MiscellaneousDto)}
    *
@@ -155,6 +346,21 @@ class InvestmentControllerTest implements ControllerTest {
     verify(investmentService, times(1)).addMiscellaneousAccount(any(MiscellaneousDto.class));
   }
 
+  /**
+   * Test for {@link InvestmentController#addMiscellaneousAccounts(Flux)} with a JSON array
+   *
+   * @param miscellaneousAccounts the miscellaneous accounts to add
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Miscellaneous Accounts as JSON array")
+  void addMiscellaneousAccounts(final List<MiscellaneousDto> miscellaneousAccounts) {
+    when(bulkInsertService.addMiscellaneousAccounts(any()))
+        .thenReturn(Mono.just(bulkResult(miscellaneousAccounts)));
+    verifyBulkPostAndDocument(
+        ADD_MISC_ACCOUNTS_BULK, APPLICATION_JSON, miscellaneousAccounts, MiscellaneousDto.class);
+    verify(bulkInsertService, times(1)).addMiscellaneousAccounts(any());
+  }
+
   /**
    * Test for {@link InvestmentController#getMutualFunds()}
    *
@@ -214,6 +420,24 @@ class InvestmentControllerTest implements ControllerTest {
         .addMutualFundBuyTransaction(any(MutualFundBuyTransactionDto.class));
   }
 
+  /**
+   * Test for {@link InvestmentController#addMutualFundBuyTransactions(Flux)} with a NDJSON stream
+   *
+   * @param mfBuyTransactions the mutual fund buy transactions to add
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Mutual Fund Buy Transactions as NDJSON stream")
+  void addMutualFundBuyTransactions(final List<MutualFundBuyTransactionDto> mfBuyTransactions) {
+    when(bulkInsertService.addMutualFundBuyTransactions(any()))
+        .thenReturn(Mono.just(bulkResult(mfBuyTransactions)));
+    verifyBulkPostAndDocument(
+        ADD_MF_BUY_TRANSACTIONS_BULK,
+        APPLICATION_NDJSON,
+        mfBuyTransactions,
+        MutualFundBuyTransactionDto.class);
+    verify(bulkInsertService, times(1)).addMutualFundBuyTransactions(any());
+  }
+
   /**
    * Test for {@link InvestmentController#getMutualFundSellTransactions()}
    *
@@ -229,6 +453,260 @@ class InvestmentControllerTest implements ControllerTest {
     verify(investmentService, times(1)).getMutualFundSellTransactions();
   }
 
+  /**
+   * Test for {@link InvestmentController#getMutualFundBuyTransactions()} streamed as NDJSON
+   *
+   * @param mfBuyTransactions list of expected mutual fund buy transactions.
+   */
+  @Test
+  @DisplayName("Happy Path: Stream Mutual Fund Buy Transactions as NDJSON")
+  void streamMutualFundBuyTransactions(final List<MutualFundBuyTransactionDto> mfBuyTransactions) {
+    when(investmentService.getMutualFundBuyTransactions(Boolean.FALSE))
+        .thenReturn(Flux.fromIterable(mfBuyTransactions));
+    verifyStream(
+        GET_MF_BUY_TRANSACTIONS,
+        APPLICATION_NDJSON,
+        mfBuyTransactions,
+        MutualFundBuyTransactionDto.class);
+    verify(investmentService, times(1)).getMutualFundBuyTransactions(Boolean.FALSE);
+  }
+
+  /**
+   * Test for {@link InvestmentController#getMutualFundBuyTransactions()} streamed as Smile
+   *
+   * @param mfBuyTransactions list of expected mutual fund buy transactions.
+   */
+  @Test
+  @DisplayName("Happy Path: Stream Mutual Fund Buy Transactions as Smile")
+  void streamMutualFundBuyTransactionsAsSmile(
+      final List<MutualFundBuyTransactionDto> mfBuyTransactions) {
+    when(investmentService.getMutualFundBuyTransactions(Boolean.FALSE))
+        .thenReturn(Flux.fromIterable(mfBuyTransactions));
+    verifyStream(
+        GET_MF_BUY_TRANSACTIONS,
+        APPLICATION_STREAM_SMILE,
+        mfBuyTransactions,
+        MutualFundBuyTransactionDto.class);
+    verify(investmentService, times(1)).getMutualFundBuyTransactions(Boolean.FALSE);
+  }
+
+  /**
+   * Test for {@link InvestmentController#getStockSellTransactions()} as a Smile array
+   *
+   * @param stockSellTransactions list of expected stock sell transactions
+   */
+  @Test
+  @DisplayName("Happy Path: Get Stock Sell Transactions as Smile")
+  void getStockSellTransactionsAsSmile(final List<StockSellTransactionDto> stockSellTransactions) {
+    when(investmentService.getStockSellTransactions())
+        .thenReturn(Flux.fromIterable(stockSellTransactions));
+    verifyStream(
+        GET_STOCK_SELL_TRANSACTIONS,
+        APPLICATION_SMILE,
+        stockSellTransactions,
+        StockSellTransactionDto.class);
+    verify(investmentService, times(1)).getStockSellTransactions();
+  }
+
+  /**
+   * Test for {@link InvestmentController#addStockBuyTransactions(Flux)} with a Smile stream
+   *
+   * @param stockBuyTransactions the stock buy transactions to add
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Stock Buy Transactions as Smile stream")
+  void addStockBuyTransactionsAsSmile(final List<StockBuyTransactionDto> stockBuyTransactions) {
+    when(bulkInsertService.addStockBuyTransactions(any()))
+        .thenReturn(Mono.just(bulkResult(stockBuyTransactions)));
+    webTestClient
+        .post()
+        .uri(getBaseUrl() + getApiUrl(ADD_STOCK_BUY_TRANSACTIONS_BULK))
+        .contentType(APPLICATION_STREAM_SMILE)
+        .accept(APPLICATION_SMILE)
+        .body(Flux.fromIterable(stockBuyTransactions), StockBuyTransactionDto.class)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .contentTypeCompatibleWith(APPLICATION_SMILE)
+        .expectBody(BulkInsertResultDto.class)
+        .isEqualTo(bulkResult(stockBuyTransactions));
+    verify(bulkInsertService, times(1)).addStockBuyTransactions(any());
+  }
+
+  /**
+   * Test for {@link InvestmentController#getMutualFundSellTransactions()} streamed as server sent
+   * events
+   *
+   * @param mfSellTransactions list of expected mutual fund sell transactions
+   */
+  @Test
+  @DisplayName("Happy Path: Stream Mutual Fund Sell Transactions as Server Sent Events")
+  void streamMutualFundSellTransactions(
+      final List<MutualFundSellTransactionDto> mfSellTransactions) {
+    when(investmentService.getMutualFundSellTransactions())
+        .thenReturn(Flux.fromIterable(mfSellTransactions));
+    verifyStream(
+        GET_MF_SELL_TRANSACTIONS,
+        TEXT_EVENT_STREAM,
+        mfSellTransactions,
+        MutualFundSellTransactionDto.class);
+    verify(investmentService, times(1)).getMutualFundSellTransactions();
+  }
+
+  /**
+   * Test for {@link InvestmentController#getMutualFundBuyTransactionsPage(int, String,
+   * ServerHttpRequest)} requesting the page after a cursor
+   *
+   * @param mfBuyTransactions list of expected mutual fund buy transactions
+   */
+  @Test
+  @DisplayName("Happy Path: Get a page of Mutual Fund Buy Transactions after a cursor")
+  void getMutualFundBuyTransactionsPage(final List<MutualFundBuyTransactionDto> mfBuyTransactions) {
+    var first = mfBuyTransactions.get(0);
+    var after = new KeysetCursor(first.buyDate(), first.id());
+    var last = mfBuyTransactions.get(PAGE_SIZE - 1);
+    var page =
+        new KeysetPage<>(mfBuyTransactions, new KeysetCursor(last.buyDate(), last.id()).encode());
+    when(investmentService.getMutualFundBuyTransactionsPage(Boolean.FALSE, after, PAGE_SIZE))
+        .thenReturn(Mono.just(page));
+    verifyPageAndDocument(
+        GET_MF_BUY_TRANSACTIONS_PAGE, after.encode(), page, MutualFundBuyTransactionDto.class);
+    verify(investmentService, times(1))
+        .getMutualFundBuyTransactionsPage(Boolean.FALSE, after, PAGE_SIZE);
+  }
+
+  /**
+   * Test for {@link InvestmentController#getMutualFundSellTransactionsPage(int, String,
+   * ServerHttpRequest)} when the page is the last page
+   *
+   * @param mfSellTransactions list of expected mutual fund sell transactions
+   */
+  @Test
+  @DisplayName("Happy Path: Get the last page of Mutual Fund Sell Transactions")
+  void getMutualFundSellTransactionsPage(
+      final List<MutualFundSellTransactionDto> mfSellTransactions) {
+    var page = new KeysetPage<>(mfSellTransactions, null);
+    when(investmentService.getMutualFundSellTransactionsPage(KeysetCursor.FIRST, PAGE_SIZE))
+        .thenReturn(Mono.just(page));
+    verifyPageAndDocument(
+        GET_MF_SELL_TRANSACTIONS_PAGE, null, page, MutualFundSellTransactionDto.class);
+    verify(investmentService, times(1))
+        .getMutualFundSellTransactionsPage(KeysetCursor.FIRST, PAGE_SIZE);
+  }
+
+  /**
+   * Test for {@link InvestmentController#getMutualFundSellTransactionsPage(int, String,
+   * ServerHttpRequest)} when the requested page size is more than the maximum page size
+   */
+  @Test
+  @DisplayName("Get a page of Mutual Fund Sell Transactions with page size over the maximum")
+  void getMutualFundSellTransactionsPageOverMaxSize() {
+    when(investmentService.getMutualFundSellTransactionsPage(KeysetCursor.FIRST, MAX_PAGE_SIZE))
+        .thenReturn(Mono.just(new KeysetPage<>(List.of(), null)));
+    getPage(GET_MF_SELL_TRANSACTIONS_PAGE, MAX_PAGE_SIZE + 1, null).expectStatus().isOk();
+    verify(investmentService, times(1))
+        .getMutualFundSellTransactionsPage(KeysetCursor.FIRST, MAX_PAGE_SIZE);
+  }
+
+  /** Test for a page request with an invalid page size */
+  @Test
+  @DisplayName("Get a page of Mutual Fund Sell Transactions with invalid page size")
+  void getMutualFundSellTransactionsPageInvalidSize() {
+    getPage(GET_MF_SELL_TRANSACTIONS_PAGE, 0, null).expectStatus().isBadRequest();
+  }
+
+  /** Test for a page request with an invalid cursor */
+  @Test
+  @DisplayName("Get a page of Mutual Fund Sell Transactions with invalid cursor")
+  void getMutualFundSellTransactionsPageInvalidCursor() {
+    getPage(GET_MF_SELL_TRANSACTIONS_PAGE, PAGE_SIZE, "invalid").expectStatus().isBadRequest();
+  }
+
+  /**
+   * Send a page request and verify the page items, the {@code next} link and document it
+   *
+   * @param apiName the API Name
+   * @param cursor the cursor of the page, null for the first page
+   * @param page the expected page
+   * @param elementType the element type
+   * @param <T> the element type
+   */
+  private <T> void verifyPageAndDocument(
+      final String apiName,
+      final String cursor,
+      final KeysetPage<T> page,
+      final Class<T> elementType) {
+    var response = getPage(apiName, PAGE_SIZE, cursor).expectStatus().isOk();
+    if (page.hasNext()) {
+      response
+          .expectHeader()
+          .valueMatches(
+              HttpHeaders.LINK,
+              "<https?://[^/]+"
+                  + Pattern.quote(pageUrl(apiName, PAGE_SIZE, page.nextCursor()))
+                  + ">; rel=\"next\"");
+    } else {
+      response.expectHeader().doesNotExist(HttpHeaders.LINK);
+    }
+    response.expectBodyList(elementType).isEqualTo(page.items()).consumeWith(document(apiName));
+  }
+
+  /**
+   * Send a page request
+   *
+   * @param apiName the API Name
+   * @param size the page size
+   * @param cursor the cursor of the page, null for the first page
+   * @return {@link WebTestClient.ResponseSpec}
+   */
+  private WebTestClient.ResponseSpec getPage(
+      final String apiName, final int size, final String cursor) {
+    return webTestClient.get().uri(pageUrl(apiName, size, cursor)).exchange();
+  }
+
+  /**
+   * Build the url of a page
+   *
+   * @param apiName the API Name
+   * @param size the page size
+   * @param cursor the cursor of the page, null for the first page
+   * @return the page url
+   */
+  private String pageUrl(final String apiName, final int size, final String cursor) {
+    var url = getBaseUrl() + getApiUrl(apiName) + "?" + ApiParams.PAGE_SIZE + "=" + size;
+    return null == cursor ? url : url + "&" + PAGE_CURSOR + "=" + cursor;
+  }
+
+  /**
+   * Send a Get request accepting a streaming media type and verify the streamed elements
+   *
+   * @param apiName the API Name
+   * @param mediaType the streaming media type
+   * @param expected the expected elements in order
+   * @param elementType the element type
+   * @param <T> the element type
+   */
+  private <T> void verifyStream(
+      final String apiName,
+      final MediaType mediaType,
+      final List<T> expected,
+      final Class<T> elementType) {
+    var body =
+        webTestClient
+            .get()
+            .uri(getBaseUrl() + getApiUrl(apiName))
+            .accept(mediaType)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(mediaType)
+            .returnResult(elementType)
+            .getResponseBody();
+    StepVerifier.create(body).expectNextSequence(expected).verifyComplete();
+  }
+
   /**
    * Test for {@link
    * InvestmentController#addMutualFundSellTransaction(MutualFundSellTransactionDto)}
@@ -245,6 +723,54 @@ class InvestmentControllerTest implements ControllerTest {
     verify(investmentService, times(1))
         .addMutualFundSellTransaction(any(MutualFundSellTransactionDto.class));
   }
+
+  /**
+   * Test for {@link
+   * InvestmentController#addMutualFundSellTransaction(MutualFundSellTransactionDto)} with a nav of
+   * more decimal places than its column
+   *
+   * @param mfSellTransactionDto the mutual fund sell transaction dto
+   */
+  @Test
+  @DisplayName("A Mutual Fund Sell Transaction with a nav of three decimal places is refused")
+  void addMutualFundSellTransactionNavScale(
+      final MutualFundSellTransactionDto mfSellTransactionDto) {
+    webTestClient
+        .post()
+        .uri(getBaseUrl() + getApiUrl(ADD_MF_SELL_TRANSACTIONS))
+        .bodyValue(
+            new MutualFundSellTransactionDto(
+                mfSellTransactionDto.id(),
+                mfSellTransactionDto.mfId(),
+                mfSellTransactionDto.buyIds(),
+                FixedDecimal.of(10_505, 3),
+                mfSellTransactionDto.units(),
+                mfSellTransactionDto.charge(),
+                mfSellTransactionDto.soldDate(),
+                mfSellTransactionDto.profitLoss()))
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+  }
+
+  /**
+   * Test for {@link InvestmentController#addMutualFundSellTransactions(Flux)} with a JSON array
+   *
+   * @param mfSellTransactions the mutual fund sell transactions to add
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Mutual Fund Sell Transactions as JSON array")
+  void addMutualFundSellTransactions(final List<MutualFundSellTransactionDto> mfSellTransactions) {
+    when(bulkInsertService.addMutualFundSellTransactions(any()))
+        .thenReturn(Mono.just(bulkResult(mfSellTransactions)));
+    verifyBulkPostAndDocument(
+        ADD_MF_SELL_TRANSACTIONS_BULK,
+        APPLICATION_JSON,
+        mfSellTransactions,
+        MutualFundSellTransactionDto.class);
+    verify(bulkInsertService, times(1)).addMutualFundSellTransactions(any());
+  }
+
   /**
    * Test for {@link InvestmentController#getSavingAccounts()}
    *
@@ -258,6 +784,22 @@ class InvestmentControllerTest implements ControllerTest {
     verify(investmentService, times(1)).getSavingAccounts();
   }
 
+  /**
+   * Test for {@link InvestmentController#getSavingAccountsPage(int, String, ServerHttpRequest)}
+   *
+   * @param accounts list of expected saving accounts
+   */
+  @Test
+  @DisplayName("Happy Path: Get a page of Saving Accounts")
+  void getSavingAccountsPage(final List<AccountDto> accounts) {
+    var page =
+        new KeysetPage<>(accounts, KeysetCursor.ofId(accounts.get(PAGE_SIZE - 1).id()).encode());
+    when(investmentService.getSavingAccountsPage(KeysetCursor.FIRST, PAGE_SIZE))
+        .thenReturn(Mono.just(page));
+    verifyPageAndDocument(GET_SAVING_ACCOUNTS_PAGE, null, page, AccountDto.class);
+    verify(investmentService, times(1)).getSavingAccountsPage(KeysetCursor.FIRST, PAGE_SIZE);
+  }
+
   /**
    * Test for {@link InvestmentController#addSavingAccount(AccountDto)}
    *
@@ -272,6 +814,21 @@ class InvestmentControllerTest implements ControllerTest {
     verify(investmentService, times(1)).addSavingAccount(any(AccountDto.class));
   }
 
+  /**
+   * Test for {@link InvestmentController#addSavingAccounts(Flux)} with a JSON array
+   *
+   * @param savingAccounts the saving accounts to add
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Saving Accounts as JSON array")
+  void addSavingAccounts(final List<AccountDto> savingAccounts) {
+    when(bulkInsertService.addSavingAccounts(any()))
+        .thenReturn(Mono.just(bulkResult(savingAccounts)));
+    verifyBulkPostAndDocument(
+        ADD_SAVING_ACCOUNTS_BULK, APPLICATION_JSON, savingAccounts, AccountDto.class);
+    verify(bulkInsertService, times(1)).addSavingAccounts(any());
+  }
+
   /**
    * Test for {@link InvestmentController#getStocks()}
    *
@@ -298,4 +855,637 @@ class InvestmentControllerTest implements ControllerTest {
         ADD_STOCK, dtoToDtoSkipId.transform(stockDto, StockDto.class), stockDto, StockDto.class);
     verify(investmentService, times(1)).addStock(any(StockDto.class));
   }
+
+  /**
+   * Test for {@link InvestmentController#addStocks(Flux)} with a NDJSON stream
+   *
+   * @param stocks the stocks to add
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Stocks as NDJSON stream")
+  void addStocks(final List<StockDto> stocks) {
+    when(bulkInsertService.addStocks(any())).thenReturn(Mono.just(bulkResult(stocks)));
+    verifyBulkPostAndDocument(ADD_STOCKS_BULK, APPLICATION_NDJSON, stocks, StockDto.class);
+    verify(bulkInsertService, times(1)).addStocks(any());
+  }
+
+  /**
+   * Test for {@link InvestmentController#getStockBuyTransactions()}
+   *
+   * @param stockBuyTransactions list of expected stock buy transactions
+   */
+  @Test
+  @DisplayName("Happy Path: Get Stock Buy Transactions")
+  void getStockBuyTransactions(final List<StockBuyTransactionDto> stockBuyTransactions) {
+    when(investmentService.getStockBuyTransactions(Boolean.FALSE))
+        .thenReturn(Flux.fromIterable(stockBuyTransactions));
+    verifyGetAndDocument(
+        GET_STOCK_BUY_TRANSACTIONS, stockBuyTransactions, StockBuyTransactionDto.class);
+    verify(investmentService, times(1)).getStockBuyTransactions(Boolean.FALSE);
+  }
+
+  /**
+   * Test for {@link InvestmentController#getStockSellTransactions()} streamed as NDJSON
+   *
+   * @param stockSellTransactions list of expected stock sell transactions
+   */
+  @Test
+  @DisplayName("Happy Path: Stream Stock Sell Transactions as NDJSON")
+  void streamStockSellTransactions(final List<StockSellTransactionDto> stockSellTransactions) {
+    when(investmentService.getStockSellTransactions())
+        .thenReturn(Flux.fromIterable(stockSellTransactions));
+    verifyStream(
+        GET_STOCK_SELL_TRANSACTIONS,
+        APPLICATION_NDJSON,
+        stockSellTransactions,
+        StockSellTransactionDto.class);
+    verify(investmentService, times(1)).getStockSellTransactions();
+  }
+
+  /**
+   * Test for {@link InvestmentController#getStockBuyTransactionsPage(int, String,
+   * ServerHttpRequest)} requesting the page after a cursor
+   *
+   * @param stockBuyTransactions list of expected stock buy transactions
+   */
+  @Test
+  @DisplayName("Happy Path: Get a page of Stock Buy Transactions after a cursor")
+  void getStockBuyTransactionsPage(final List<StockBuyTransactionDto> stockBuyTransactions) {
+    var first = stockBuyTransactions.get(0);
+    var after = new KeysetCursor(first.buyDate(), first.id());
+    var last = stockBuyTransactions.get(PAGE_SIZE - 1);
+    var page =
+        new KeysetPage<>(
+            stockBuyTransactions, new KeysetCursor(last.buyDate(), last.id()).encode());
+    when(investmentService.getStockBuyTransactionsPage(Boolean.FALSE, after, PAGE_SIZE))
+        .thenReturn(Mono.just(page));
+    verifyPageAndDocument(
+        GET_STOCK_BUY_TRANSACTIONS_PAGE, after.encode(), page, StockBuyTransactionDto.class);
+    verify(investmentService, times(1))
+        .getStockBuyTransactionsPage(Boolean.FALSE, after, PAGE_SIZE);
+  }
+
+  /**
+   * Test for {@link InvestmentController#getStockSellTransactionsPage(int, String,
+   * ServerHttpRequest)} when the page is the last page
+   *
+   * @param stockSellTransactions list of expected stock sell transactions
+   */
+  @Test
+  @DisplayName("Happy Path: Get the last page of Stock Sell Transactions")
+  void getStockSellTransactionsPage(final List<StockSellTransactionDto> stockSellTransactions) {
+    var page = new KeysetPage<>(stockSellTransactions, null);
+    when(investmentService.getStockSellTransactionsPage(KeysetCursor.FIRST, PAGE_SIZE))
+        .thenReturn(Mono.just(page));
+    verifyPageAndDocument(
+        GET_STOCK_SELL_TRANSACTIONS_PAGE, null, page, StockSellTransactionDto.class);
+    verify(investmentService, times(1)).getStockSellTransactionsPage(KeysetCursor.FIRST, PAGE_SIZE);
+  }
+
+  /**
+   * Test for {@link InvestmentController#addStockBuyTransaction(StockBuyTransactionDto)}
+   *
+   * @param stockBuyTransactionDto the expected stock buy transaction dto
+   */
+  @Test
+  @DisplayName("Happy Path: Add Stock Buy Transaction")
+  void addStockBuyTransaction(final StockBuyTransactionDto stockBuyTransactionDto) {
+    when(investmentService.addStockBuyTransaction(any(StockBuyTransactionDto.class)))
+        .thenReturn(Mono.just(stockBuyTransactionDto));
+    verifyPostAndDocument(
+        ADD_STOCK_BUY_TRANSACTIONS, stockBuyTransactionDto, StockBuyTransactionDto.class);
+    verify(investmentService, times(1)).addStockBuyTransaction(any(StockBuyTransactionDto.class));
+  }
+
+  /**
+   * Test for {@link InvestmentController#addStockSellTransaction(StockSellTransactionDto)}
+   *
+   * @param stockSellTransactionDto the expected stock sell transaction dto
+   */
+  @Test
+  @DisplayName("Happy Path: Add Stock Sell Transaction")
+  void addStockSellTransaction(final StockSellTransactionDto stockSellTransactionDto) {
+    when(investmentService.addStockSellTransaction(any(StockSellTransactionDto.class)))
+        .thenReturn(Mono.just(stockSellTransactionDto));
+    verifyPostAndDocument(
+        ADD_STOCK_SELL_TRANSACTIONS, stockSellTransactionDto, StockSellTransactionDto.class);
+    verify(investmentService, times(1)).addStockSellTransaction(any(StockSellTransactionDto.class));
+  }
+
+  /**
+   * Test for {@link InvestmentController#addStockBuyTransactions(Flux)} with a NDJSON stream
+   *
+   * @param stockBuyTransactions the stock buy transactions to add
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Stock Buy Transactions as NDJSON stream")
+  void addStockBuyTransactions(final List<StockBuyTransactionDto> stockBuyTransactions) {
+    when(bulkInsertService.addStockBuyTransactions(any()))
+        .thenReturn(Mono.just(bulkResult(stockBuyTransactions)));
+    verifyBulkPostAndDocument(
+        ADD_STOCK_BUY_TRANSACTIONS_BULK,
+        APPLICATION_NDJSON,
+        stockBuyTransactions,
+        StockBuyTransactionDto.class);
+    verify(bulkInsertService, times(1)).addStockBuyTransactions(any());
+  }
+
+  /**
+   * Test for {@link InvestmentController#addStockSellTransactions(Flux)} with a JSON array
+   *
+   * @param stockSellTransactions the stock sell transactions to add
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Stock Sell Transactions as JSON array")
+  void addStockSellTransactions(final List<StockSellTransactionDto> stockSellTransactions) {
+    when(bulkInsertService.addStockSellTransactions(any()))
+        .thenReturn(Mono.just(bulkResult(stockSellTransactions)));
+    verifyBulkPostAndDocument(
+        ADD_STOCK_SELL_TRANSACTIONS_BULK,
+        APPLICATION_JSON,
+        stockSellTransactions,
+        StockSellTransactionDto.class);
+    verify(bulkInsertService, times(1)).addStockSellTransactions(any());
+  }
+
+  /** Test for {@link InvestmentController#getMutualFundHoldings()} */
+  @Test
+  @DisplayName("Happy Path: Get Mutual Fund Holdings")
+  void getMutualFundHoldings() {
+    var holdings =
+        List.of(
+            new MutualFundPositionDto(
+                1, new BigDecimal("10.5"), new BigDecimal("105.1"), new BigDecimal("10.0095")),
+            new MutualFundPositionDto(
+                2, new BigDecimal("2.25"), new BigDecimal("24.9"), new BigDecimal("11.0667")));
+    when(mutualFundHoldingService.getMutualFundHoldings()).thenReturn(Flux.fromIterable(holdings));
+    verifyGetAndDocument(GET_MF_HOLDINGS, holdings, MutualFundPositionDto.class);
+    verify(mutualFundHoldingService, times(1)).getMutualFundHoldings();
+  }
+
+  /** Test for {@link InvestmentController#rebuildMutualFundHoldings()} */
+  @Test
+  @DisplayName("Happy Path: Rebuild Mutual Fund Holdings")
+  void rebuildMutualFundHoldings() {
+    var result = new MutualFundHoldingRebuildDto(4, List.of(2));
+    when(mutualFundHoldingService.rebuildMutualFundHoldings()).thenReturn(Mono.just(result));
+    webTestClient
+        .post()
+        .uri(getBaseUrl() + getApiUrl(REBUILD_MF_HOLDINGS))
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(MutualFundHoldingRebuildDto.class)
+        .isEqualTo(result)
+        .consumeWith(document(REBUILD_MF_HOLDINGS));
+    verify(mutualFundHoldingService, times(1)).rebuildMutualFundHoldings();
+  }
+
+  /** Test for {@link InvestmentController#getInvestmentSummary()} */
+  @Test
+  @DisplayName("Happy Path: Get Investment Summary")
+  void getInvestmentSummary() {
+    var summary =
+        InvestmentSummaryDto.of(
+            List.of(
+                new AssetClassTotalDto(AssetClass.DEPOSIT_ACCOUNT, 1L, new BigDecimal("1000.50")),
+                new AssetClassTotalDto(AssetClass.LOAN_ACCOUNT, 1L, new BigDecimal("-400.25"))),
+            List.of(
+                new MutualFundPositionDto(
+                    1,
+                    new BigDecimal("10.5"),
+                    new BigDecimal("105.10"),
+                    new BigDecimal("10.0095"))));
+    when(investmentSummaryService.getInvestmentSummary()).thenReturn(Mono.just(summary));
+    get(getApiUrl(GET_INVESTMENT_SUMMARY))
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .contentType(APPLICATION_JSON)
+        .expectBody(InvestmentSummaryDto.class)
+        .isEqualTo(summary)
+        .consumeWith(document(GET_INVESTMENT_SUMMARY));
+    verify(investmentSummaryService, times(1)).getInvestmentSummary();
+  }
+
+  /** Test for {@link InvestmentController#getPortfolioValuation()} */
+  @Test
+  @DisplayName("Happy Path: Get Portfolio Valuation")
+  void getPortfolioValuation() {
+    var valuation = portfolioValuation();
+    when(valuationService.getPortfolioValuation()).thenReturn(Mono.just(valuation));
+    get(getApiUrl(GET_PORTFOLIO_VALUATION))
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .contentType(APPLICATION_JSON)
+        .expectBody(PortfolioValuationDto.class)
+        .isEqualTo(valuation)
+        .consumeWith(document(GET_PORTFOLIO_VALUATION));
+    verify(valuationService, times(1)).getPortfolioValuation();
+  }
+
+  /**
+   * Test for {@link InvestmentController#getPortfolioValuationUpdates()} streamed as server sent
+   * events
+   */
+  @Test
+  @DisplayName("Happy Path: Stream Portfolio Valuation updates as Server Sent Events")
+  void getPortfolioValuationUpdates() {
+    var valuation = portfolioValuation();
+    var update =
+        new PortfolioValuationDto(
+            new BigDecimal("1100.00"),
+            valuation.invested(),
+            new BigDecimal("100.00"),
+            new BigDecimal("10.00"),
+            List.of());
+    when(valuationService.getPortfolioValuationUpdates()).thenReturn(Flux.just(valuation, update));
+    verifyStream(
+        GET_PORTFOLIO_VALUATION_UPDATES,
+        TEXT_EVENT_STREAM,
+        List.of(valuation, update),
+        PortfolioValuationDto.class);
+    verify(valuationService, times(1)).getPortfolioValuationUpdates();
+  }
+
+  /** Test for {@link InvestmentController#getPortfolioReturns()} */
+  @Test
+  @DisplayName("Happy Path: Get Portfolio Returns")
+  void getPortfolioReturns() {
+    var returns =
+        new PortfolioReturnsDto(
+            new BigDecimal("6.79"),
+            List.of(
+                new FundReturnDto(1, new BigDecimal("6.10")),
+                new FundReturnDto(5, new BigDecimal("10.00"))));
+    when(valuationService.getPortfolioReturns()).thenReturn(Mono.just(returns));
+    get(getApiUrl(GET_PORTFOLIO_RETURNS))
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .contentType(APPLICATION_JSON)
+        .expectBody(PortfolioReturnsDto.class)
+        .isEqualTo(returns)
+        .consumeWith(document(GET_PORTFOLIO_RETURNS));
+    verify(valuationService, times(1)).getPortfolioReturns();
+  }
+
+  /**
+   * Test for {@link InvestmentController#getMutualFundCapitalGains(int, int)} streamed as NDJSON
+   */
+  @Test
+  @DisplayName("Happy Path: Stream Mutual Fund Capital Gains as NDJSON")
+  void getMutualFundCapitalGains() {
+    var lot =
+        new CapitalGainDto(
+            CapitalGainRow.LOT,
+            1,
+            INSTRUMENT_CODE,
+            7,
+            3,
+            PRICE_DATE.minusYears(2),
+            PRICE_DATE,
+            731,
+            BigDecimal.ONE,
+            BigDecimal.TEN,
+            new BigDecimal("12"),
+            BigDecimal.ZERO,
+            new BigDecimal("2"));
+    when(capitalGainsService.getMutualFundCapitalGains(2022, 2022)).thenReturn(Flux.just(lot));
+    var body =
+        webTestClient
+            .get()
+            .uri(getBaseUrl() + getApiUrl(GET_MF_CAPITAL_GAINS) + CAPITAL_GAINS_YEARS)
+            .accept(APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(APPLICATION_NDJSON)
+            .returnResult(CapitalGainDto.class)
+            .getResponseBody();
+    StepVerifier.create(body).expectNext(lot).verifyComplete();
+    verify(capitalGainsService, times(1)).getMutualFundCapitalGains(2022, 2022);
+  }
+
+  /** Test for {@link InvestmentController#getMutualFundCapitalGainsCsv(int, int)} */
+  @Test
+  @DisplayName("Happy Path: Get Mutual Fund Capital Gains as CSV")
+  void getMutualFundCapitalGainsCsv() {
+    var lines =
+        List.of("row,mfId,mfCode\n", "LOT,1," + INSTRUMENT_CODE + "\n", "SUBTOTAL,1,119551\n");
+    when(capitalGainsService.getMutualFundCapitalGainsCsv(2022, 2022))
+        .thenReturn(Flux.fromIterable(lines));
+    webTestClient
+        .get()
+        .uri(getBaseUrl() + getApiUrl(GET_MF_CAPITAL_GAINS_CSV) + CAPITAL_GAINS_YEARS)
+        .accept(TEXT_CSV)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .contentTypeCompatibleWith(TEXT_CSV)
+        .expectBody(String.class)
+        .isEqualTo(String.join("", lines))
+        .consumeWith(document(GET_MF_CAPITAL_GAINS_CSV));
+    verify(capitalGainsService, times(1)).getMutualFundCapitalGainsCsv(2022, 2022);
+  }
+
+  /**
+   * Create a Portfolio Valuation with a mutual fund holding
+   *
+   * @return {@link PortfolioValuationDto}
+   */
+  private static PortfolioValuationDto portfolioValuation() {
+    var holding =
+        new HoldingValuationDto(
+            PriceKind.MUTUAL_FUND,
+            1,
+            INSTRUMENT_CODE,
+            new BigDecimal("10.0000"),
+            new BigDecimal("1000.00"),
+            new BigDecimal("106.1000"),
+            new BigDecimal("1061.00"),
+            new BigDecimal("61.00"),
+            new BigDecimal("6.10"));
+    return new PortfolioValuationDto(
+        holding.currentValue(),
+        holding.invested(),
+        holding.unrealizedGain(),
+        holding.absoluteReturn(),
+        List.of(holding));
+  }
+
+  /** Test for {@link InvestmentController#importMutualFundBuyTransactions(Flux)} */
+  @Test
+  @DisplayName("Happy Path: Import Mutual Fund Buy Transactions from a CSV stream")
+  void importMutualFundBuyTransactions() {
+    when(tradeImportService.importMutualFundBuyTransactions(any()))
+        .thenReturn(Mono.just(IMPORT_RESULT));
+    verifyImportAndDocument(
+        IMPORT_MF_BUY_TRANSACTIONS,
+        BodyInserters.fromValue(
+            "mfCode,nav,units,charge,buyDate\nONE,10.5,2,0,2022-01-31\nTWO,10.5,x,0,2022-01-31\n"),
+        TEXT_CSV);
+    verify(tradeImportService, times(1)).importMutualFundBuyTransactions(any());
+  }
+
+  /** Test for {@link InvestmentController#importMutualFundBuyTransactionsFile(Mono)} */
+  @Test
+  @DisplayName("Happy Path: Import Mutual Fund Buy Transactions from an uploaded CSV file")
+  void importMutualFundBuyTransactionsFile() {
+    when(tradeImportService.importMutualFundBuyTransactions(any()))
+        .thenReturn(Mono.just(IMPORT_RESULT));
+    verifyImportAndDocument(
+        IMPORT_MF_BUY_TRANSACTIONS_FILE,
+        csvFile("mfCode,nav,units,charge,buyDate\nONE,10.5,2,0,2022-01-31\n"),
+        MediaType.MULTIPART_FORM_DATA);
+    verify(tradeImportService, times(1)).importMutualFundBuyTransactions(any());
+  }
+
+  /** Test for {@link InvestmentController#importStockBuyTransactions(Flux)} */
+  @Test
+  @DisplayName("Happy Path: Import Stock Buy Transactions from a CSV stream")
+  void importStockBuyTransactions() {
+    when(tradeImportService.importStockBuyTransactions(any())).thenReturn(Mono.just(IMPORT_RESULT));
+    verifyImportAndDocument(
+        IMPORT_STOCK_BUY_TRANSACTIONS,
+        BodyInserters.fromValue(
+            "stockCode,price,quantity,charge,buyDate\nONE,101.5,10,5.5,2022-01-31\n"),
+        TEXT_CSV);
+    verify(tradeImportService, times(1)).importStockBuyTransactions(any());
+  }
+
+  /** Test for {@link InvestmentController#importStockBuyTransactionsFile(Mono)} */
+  @Test
+  @DisplayName("Happy Path: Import Stock Buy Transactions from an uploaded CSV file")
+  void importStockBuyTransactionsFile() {
+    when(tradeImportService.importStockBuyTransactions(any())).thenReturn(Mono.just(IMPORT_RESULT));
+    verifyImportAndDocument(
+        IMPORT_STOCK_BUY_TRANSACTIONS_FILE,
+        csvFile("stockCode,price,quantity,charge,buyDate\nONE,101.5,10,5.5,2022-01-31\n"),
+        MediaType.MULTIPART_FORM_DATA);
+    verify(tradeImportService, times(1)).importStockBuyTransactions(any());
+  }
+
+  /** Test for {@link InvestmentController#getMutualFundPrice(String, LocalDate)} */
+  @Test
+  @DisplayName("Happy Path: Get Mutual Fund Price")
+  void getMutualFundPrice() {
+    var price = new PriceDto(INSTRUMENT_CODE, PRICE_DATE, new BigDecimal("105.8886"));
+    when(priceHistoryService.getPrice(PriceKind.MUTUAL_FUND, INSTRUMENT_CODE, PRICE_DATE))
+        .thenReturn(Mono.just(price));
+    verifyPriceAndDocument(GET_MF_PRICE, "&date=2022-10-14", price);
+    verify(priceHistoryService, times(1))
+        .getPrice(PriceKind.MUTUAL_FUND, INSTRUMENT_CODE, PRICE_DATE);
+  }
+
+  /** Test for {@link InvestmentController#getMutualFundPrices(String, LocalDate, LocalDate)} */
+  @Test
+  @DisplayName("Happy Path: Get Mutual Fund Prices")
+  void getMutualFundPrices() {
+    var prices = prices();
+    when(priceHistoryService.getPrices(
+            PriceKind.MUTUAL_FUND, INSTRUMENT_CODE, PRICE_DATE, PRICE_DATE.plusDays(1)))
+        .thenReturn(Flux.fromIterable(prices));
+    verifyPricesAndDocument(GET_MF_PRICES, prices);
+    verify(priceHistoryService, times(1))
+        .getPrices(PriceKind.MUTUAL_FUND, INSTRUMENT_CODE, PRICE_DATE, PRICE_DATE.plusDays(1));
+  }
+
+  /** Test for {@link InvestmentController#ingestMutualFundPrices(String)} */
+  @Test
+  @DisplayName("Happy Path: Ingest Mutual Fund Prices")
+  void ingestMutualFundPrices() {
+    when(priceHistoryService.ingest(PriceKind.MUTUAL_FUND, NAV_FILE))
+        .thenReturn(Mono.just(INGEST_RESULT));
+    verifyIngestAndDocument(INGEST_MF_PRICES);
+    verify(priceHistoryService, times(1)).ingest(PriceKind.MUTUAL_FUND, NAV_FILE);
+  }
+
+  /** Test for {@link InvestmentController#getStockPrice(String, LocalDate)} */
+  @Test
+  @DisplayName("Happy Path: Get Stock Price")
+  void getStockPrice() {
+    var price = new PriceDto(INSTRUMENT_CODE, PRICE_DATE, new BigDecimal("3120.5"));
+    when(priceHistoryService.getPrice(PriceKind.STOCK, INSTRUMENT_CODE, PRICE_DATE))
+        .thenReturn(Mono.just(price));
+    verifyPriceAndDocument(GET_STOCK_PRICE, "&date=2022-10-14", price);
+    verify(priceHistoryService, times(1)).getPrice(PriceKind.STOCK, INSTRUMENT_CODE, PRICE_DATE);
+  }
+
+  /** Test for {@link InvestmentController#getStockPrice(String, LocalDate)} with an invalid date */
+  @Test
+  @DisplayName("A price date should be an ISO date")
+  void getStockPriceInvalidDate() {
+    get(getApiUrl(GET_STOCK_PRICE) + "?code=" + INSTRUMENT_CODE + "&date=14-Oct-2022")
+        .expectStatus()
+        .isBadRequest();
+  }
+
+  /** Test for {@link InvestmentController#getStockPrices(String, LocalDate, LocalDate)} */
+  @Test
+  @DisplayName("Happy Path: Get Stock Prices")
+  void getStockPrices() {
+    var prices = prices();
+    when(priceHistoryService.getPrices(
+            PriceKind.STOCK, INSTRUMENT_CODE, PRICE_DATE, PRICE_DATE.plusDays(1)))
+        .thenReturn(Flux.fromIterable(prices));
+    verifyPricesAndDocument(GET_STOCK_PRICES, prices);
+    verify(priceHistoryService, times(1))
+        .getPrices(PriceKind.STOCK, INSTRUMENT_CODE, PRICE_DATE, PRICE_DATE.plusDays(1));
+  }
+
+  /** Test for {@link InvestmentController#ingestStockPrices(String)} */
+  @Test
+  @DisplayName("Happy Path: Ingest Stock Prices")
+  void ingestStockPrices() {
+    when(priceHistoryService.ingest(PriceKind.STOCK, NAV_FILE))
+        .thenReturn(Mono.just(INGEST_RESULT));
+    verifyIngestAndDocument(INGEST_STOCK_PRICES);
+    verify(priceHistoryService, times(1)).ingest(PriceKind.STOCK, NAV_FILE);
+  }
+
+  /**
+   * Create the prices of two days
+   *
+   * @return the prices
+   */
+  private static List<PriceDto> prices() {
+    return List.of(
+        new PriceDto(INSTRUMENT_CODE, PRICE_DATE, new BigDecimal("105.8886")),
+        new PriceDto(INSTRUMENT_CODE, PRICE_DATE.plusDays(1), new BigDecimal("106.1")));
+  }
+
+  /**
+   * Send a price request and verify the response and document it
+   *
+   * @param apiName the API Name
+   * @param query the query parameters after the code
+   * @param price the expected price
+   */
+  private void verifyPriceAndDocument(
+      final String apiName, final String query, final PriceDto price) {
+    get(getApiUrl(apiName) + "?code=" + INSTRUMENT_CODE + query)
+        .expectStatus()
+        .isOk()
+        .expectBody(PriceDto.class)
+        .isEqualTo(price)
+        .consumeWith(document(apiName));
+  }
+
+  /**
+   * Send a price range request and verify the response and document it
+   *
+   * @param apiName the API Name
+   * @param prices the expected prices
+   */
+  private void verifyPricesAndDocument(final String apiName, final List<PriceDto> prices) {
+    get(getApiUrl(apiName) + "?code=" + INSTRUMENT_CODE + "&from=2022-10-14&to=2022-10-15")
+        .expectStatus()
+        .isOk()
+        .expectBodyList(PriceDto.class)
+        .isEqualTo(prices)
+        .consumeWith(document(apiName));
+  }
+
+  /**
+   * Send a price ingest request and verify the response and document it
+   *
+   * @param apiName the API Name
+   */
+  private void verifyIngestAndDocument(final String apiName) {
+    webTestClient
+        .post()
+        .uri(getBaseUrl() + getApiUrl(apiName) + "?file=" + NAV_FILE)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(PriceIngestResultDto.class)
+        .isEqualTo(INGEST_RESULT)
+        .consumeWith(document(apiName));
+  }
+
+  /**
+   * Create a multipart body with the CSV content as the uploaded file
+   *
+   * @param content the CSV content
+   * @return {@link BodyInserter}
+   */
+  private static BodyInserter<?, ? super ClientHttpRequest> csvFile(final String content) {
+    var body = new MultipartBodyBuilder();
+    body.part(
+            ApiParams.IMPORT_FILE,
+            new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8)) {
+              @Override
+              public String getFilename() {
+                return "trades.csv";
+              }
+            })
+        .contentType(TEXT_CSV);
+    return BodyInserters.fromMultipartData(body.build());
+  }
+
+  /**
+   * Send an import request and verify the response and document it
+   *
+   * @param apiName the API Name
+   * @param body the request body
+   * @param contentType the request content type
+   */
+  private void verifyImportAndDocument(
+      final String apiName,
+      final BodyInserter<?, ? super ClientHttpRequest> body,
+      final MediaType contentType) {
+    webTestClient
+        .post()
+        .uri(getBaseUrl() + getApiUrl(apiName))
+        .contentType(contentType)
+        .body(body)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(TradeImportResultDto.class)
+        .isEqualTo(IMPORT_RESULT)
+        .consumeWith(document(apiName));
+  }
+
+  /**
+   * Create the bulk insert result for the records, inserted in a single chunk
+   *
+   * @param records the records
+   * @return {@link BulkInsertResultDto}
+   */
+  private static BulkInsertResultDto bulkResult(final List<?> records) {
+    return BulkInsertResultDto.of(
+        List.of(new BulkInsertChunkDto(0L, records.size(), (long) records.size())));
+  }
+
+  /**
+   * Send a bulk Post request and verify the response and document it
+   *
+   * @param apiName the API Name
+   * @param contentType the request content type, JSON array or NDJSON stream
+   * @param records the records to post
+   * @param elementType the record type
+   * @param <T> the record type
+   */
+  private <T> void verifyBulkPostAndDocument(
+      final String apiName,
+      final MediaType contentType,
+      final List<T> records,
+      final Class<T> elementType) {
+    webTestClient
+        .post()
+        .uri(getBaseUrl() + getApiUrl(apiName))
+        .contentType(contentType)
+        .body(Flux.fromIterable(records), elementType)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(BulkInsertResultDto.class)
+        .isEqualTo(bulkResult(records))
+        .consumeWith(document(apiName));
+  }
 }
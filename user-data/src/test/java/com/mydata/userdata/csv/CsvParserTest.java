@@ -0,0 +1,77 @@
+package com.mydata.userdata.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link CsvParser} */
+class CsvParserTest {
+
+  private static final List<String> COLUMNS = List.of("code", "price");
+
+  /**
+   * Get the content of a file as buffers of the given texts
+   *
+   * @param parts the texts of the buffers
+   * @return {@link Flux<DataBuffer>}
+   */
+  private static Flux<DataBuffer> content(final String... parts) {
+    return Flux.fromArray(parts)
+        .map(
+            part ->
+                DefaultDataBufferFactory.sharedInstance.wrap(
+                    part.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /** Test for {@link CsvParser#rows(Flux, List)} */
+  @Test
+  @DisplayName("Rows are parsed as the buffers arrive, lines may span buffers")
+  void rows() {
+    StepVerifier.create(
+            CsvParser.rows(content("\uFEFFCode, PRICE\r\nONE,1", "0.5\n\nTW", "O,20\n"), COLUMNS))
+        .expectNext(new CsvRow(2, COLUMNS, List.of("ONE", "10.5")))
+        .expectNext(new CsvRow(4, COLUMNS, List.of("TWO", "20")))
+        .verifyComplete();
+  }
+
+  /**
+   * Test for {@link CsvParser#rows(Flux, List)} without the expected header
+   *
+   * @param csv the file content
+   */
+  @ParameterizedTest
+  @ValueSource(strings = {"", "price,code\nONE,1\n", "code\nONE\n", "code,price,charge\n"})
+  @DisplayName("A file without the expected header is rejected")
+  void rowsInvalidHeader(final String csv) {
+    StepVerifier.create(CsvParser.rows(content(csv), COLUMNS))
+        .verifyError(ServerWebInputException.class);
+  }
+
+  /** Test for {@link CsvParser#rows(Flux, List)} when the content fails */
+  @Test
+  @DisplayName("An error reading the file is passed on")
+  void rowsContentError() {
+    StepVerifier.create(CsvParser.rows(Flux.error(new IllegalStateException()), COLUMNS))
+        .verifyError(IllegalStateException.class);
+  }
+
+  /** Test for {@link CsvParser#split(String)} */
+  @Test
+  @DisplayName("Split a line into fields, quoted fields may have separators and quotes")
+  void split() {
+    assertEquals(
+        List.of("ONE", "A, B", "say \"hi\"", "", "2"),
+        CsvParser.split("ONE,\"A, B\",\"say \"\"hi\"\"\",,2"));
+    assertEquals(List.of(""), CsvParser.split(""));
+  }
+}
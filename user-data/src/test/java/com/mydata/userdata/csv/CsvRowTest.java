@@ -0,0 +1,90 @@
+package com.mydata.userdata.csv;
+
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Test class for {@link CsvRow} */
+class CsvRowTest {
+
+  private static final String VALUE = "value";
+  private static final String CODE = "ONE";
+
+  /**
+   * Get a row with one value
+   *
+   * @param value the value
+   * @return {@link CsvRow}
+   */
+  private static CsvRow row(final String value) {
+    return new CsvRow(2, List.of(VALUE), List.of(value));
+  }
+
+  /** Test for the {@link CsvRow} getters with valid values */
+  @Test
+  @DisplayName("Get typed values of a row")
+  void values() {
+    assertEquals(CODE, row(" ONE ").text(0));
+    assertEquals(1, row(CODE).id(0, Map.of(CODE, 1)));
+    assertEquals(FixedDecimal.of(105, 1), row("10.500").positive(0, 2));
+    assertEquals(FixedDecimal.ZERO, row("0").nonNegative(0, 2));
+    assertEquals(7, row("7").positiveInteger(0));
+    assertEquals(Instant.parse("2022-01-31T00:00:00Z"), row("2022-01-31").date(0));
+    assertEquals(Instant.parse("2022-01-31T09:15:00Z"), row("2022-01-31T09:15:00Z").date(0));
+  }
+
+  /** Test for the {@link CsvRow} getters with invalid values, the message names the column */
+  @Test
+  @DisplayName("Invalid values are rejected naming the column")
+  void invalidValues() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> row(" ").text(0))
+        .withMessage("value is required");
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> row("TWO").id(0, Map.of(CODE, 1)))
+        .withMessage("value is not known : TWO");
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> row("0").positive(0, 2))
+        .withMessageStartingWith("value should be positive");
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> row("-1").nonNegative(0, 2))
+        .withMessageStartingWith("value should not be negative");
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> row("10.505").positive(0, 2))
+        .withMessage("value should have at most 2 decimal places : 10.505");
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> row("1.23456").nonNegative(0, 4))
+        .withMessage("value should have at most 4 decimal places : 1.23456");
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> row("-1").positiveInteger(0))
+        .withMessage("value should be positive : -1");
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> row("1.5").positiveInteger(0))
+        .withMessage("value should be a whole number : 1.5");
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> row("31-01-2022").date(0))
+        .withMessageStartingWith("value should be a date");
+  }
+
+  /**
+   * Test for {@link CsvRow#positive(int, int)} with values which are not numbers
+   *
+   * @param value the value
+   */
+  @ParameterizedTest
+  @ValueSource(strings = {"ten", "NaN", "Infinity"})
+  @DisplayName("Values which are not numbers are rejected")
+  void notNumbers(final String value) {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> row(value).positive(0, 2))
+        .withMessage("value should be a number : " + value);
+  }
+}
@@ -0,0 +1,91 @@
+package com.mydata.userdata.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.entity.MutualFundBuyTransaction;
+import com.mydata.userdata.entity.StockBuyTransaction;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link TradeCsvFormats} and {@link CsvFormat} */
+class TradeCsvFormatsTest {
+
+  private static final String CODE = "ONE";
+  private static final Map<String, Integer> IDS = Map.of(CODE, 1);
+  private static final Instant BUY_DATE = Instant.parse("2022-01-31T00:00:00Z");
+
+  /**
+   * Get a data row of a format
+   *
+   * @param format the CSV format
+   * @param fields the field values
+   * @return {@link CsvRow}
+   */
+  private static CsvRow row(final CsvFormat<?> format, final String... fields) {
+    return new CsvRow(2, format.columns(), List.of(fields));
+  }
+
+  /** Test for {@link TradeCsvFormats#MUTUAL_FUND_BUY_TRANSACTION} */
+  @Test
+  @DisplayName("Map a mutual fund buy row to a new open buy transaction")
+  void mutualFundBuyTransaction() {
+    var format = TradeCsvFormats.MUTUAL_FUND_BUY_TRANSACTION;
+    assertEquals(
+        new ParsedRow<>(
+            2,
+            new MutualFundBuyTransaction(
+                null,
+                1,
+                FixedDecimal.of(105, 1),
+                FixedDecimal.of(225, 2),
+                FixedDecimal.ZERO,
+                BUY_DATE,
+                FixedDecimal.ZERO,
+                false,
+                null,
+                null),
+            null),
+        format.parse(row(format, CODE, "10.5", "2.25", "0", "2022-01-31"), IDS));
+  }
+
+  /** Test for {@link TradeCsvFormats#STOCK_BUY_TRANSACTION} */
+  @Test
+  @DisplayName("Map a stock buy row to a new open buy transaction")
+  void stockBuyTransaction() {
+    var format = TradeCsvFormats.STOCK_BUY_TRANSACTION;
+    assertEquals(
+        new ParsedRow<>(
+            2,
+            new StockBuyTransaction(
+                null,
+                1,
+                FixedDecimal.of(1015, 1),
+                10,
+                FixedDecimal.of(55, 1),
+                BUY_DATE,
+                0,
+                false,
+                null,
+                null),
+            null),
+        format.parse(row(format, CODE, "101.5", "10", "5.5", "2022-01-31T00:00:00Z"), IDS));
+  }
+
+  /** Test for {@link CsvFormat#parse(CsvRow, Map)} with invalid rows */
+  @Test
+  @DisplayName("Invalid rows are rejected with the reason")
+  void parseInvalid() {
+    var format = TradeCsvFormats.STOCK_BUY_TRANSACTION;
+    assertEquals(
+        new ParsedRow<>(2, null, "Expected 5 fields, found 2"),
+        format.parse(row(format, CODE, "101.5"), IDS));
+    var rejected = format.parse(row(format, "TWO", "101.5", "10", "5.5", "2022-01-31"), IDS);
+    assertEquals(new ParsedRow<>(2, null, "stockCode is not known : TWO"), rejected);
+    assertTrue(rejected.isRejected());
+  }
+}
@@ -0,0 +1,87 @@
+package com.mydata.userdata.decimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.r2dbc.postgresql.client.Parameter;
+import io.r2dbc.postgresql.message.Format;
+import io.r2dbc.postgresql.type.PostgresqlObjectId;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link FixedDecimalArrayCodec} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class FixedDecimalArrayCodecTest {
+
+  private static final int NUMERIC_ARRAY = PostgresqlObjectId.NUMERIC_ARRAY.getObjectId();
+
+  private final FixedDecimalArrayCodec codec = new FixedDecimalArrayCodec(ByteBufAllocator.DEFAULT);
+
+  /** Test for {@link FixedDecimalArrayCodec#canDecode(int, Format, Class)} */
+  @Test
+  @DisplayName("Decode numeric array text values read as FixedDecimal[] or without a type")
+  void canDecode() {
+    assertTrue(codec.canDecode(NUMERIC_ARRAY, Format.FORMAT_TEXT, FixedDecimal[].class));
+    assertTrue(codec.canDecode(NUMERIC_ARRAY, Format.FORMAT_TEXT, Object.class));
+    assertFalse(codec.canDecode(NUMERIC_ARRAY, Format.FORMAT_TEXT, BigDecimal[].class));
+    assertFalse(codec.canDecode(NUMERIC_ARRAY, Format.FORMAT_BINARY, FixedDecimal[].class));
+    assertFalse(
+        codec.canDecode(
+            PostgresqlObjectId.NUMERIC.getObjectId(), Format.FORMAT_TEXT, Object.class));
+  }
+
+  /** Test for {@link FixedDecimalArrayCodec#decode(ByteBuf, int, Format, Class)} */
+  @Test
+  @DisplayName("Decode the text of a numeric array value")
+  void decode() {
+    assertArrayEquals(
+        new FixedDecimal[] {FixedDecimal.of(15_000, 4), null, FixedDecimal.of(-225, 2)},
+        (FixedDecimal[])
+            codec.decode(
+                ascii("{1.5000,NULL,-2.25}"), NUMERIC_ARRAY, Format.FORMAT_TEXT, Object.class));
+    assertArrayEquals(
+        new FixedDecimal[0],
+        (FixedDecimal[])
+            codec.decode(ascii("{}"), NUMERIC_ARRAY, Format.FORMAT_TEXT, FixedDecimal[].class));
+    assertNull(codec.decode(null, NUMERIC_ARRAY, Format.FORMAT_TEXT, FixedDecimal[].class));
+  }
+
+  /** Test for {@link FixedDecimalArrayCodec#encode(Object)} */
+  @Test
+  @DisplayName("Encode a FixedDecimal array as numeric array text")
+  void encode() {
+    var value = new FixedDecimal[] {FixedDecimal.of(-1_050, 2), null, FixedDecimal.of(3, 0)};
+    assertTrue(codec.canEncode(value));
+    assertFalse(codec.canEncode(new BigDecimal[] {BigDecimal.ONE}));
+    var parameter = codec.encode(value);
+    Publisher<ByteBuf> encoded = ReflectionTestUtils.invokeMethod(parameter, "getValue");
+    StepVerifier.create(Mono.from(encoded))
+        .assertNext(
+            buffer -> assertEquals("{-10.50,NULL,3.0}", buffer.toString(StandardCharsets.US_ASCII)))
+        .verifyComplete();
+    assertEquals(NUMERIC_ARRAY, (int) ReflectionTestUtils.invokeMethod(parameter, "getType"));
+  }
+
+  /** Test for {@link FixedDecimalArrayCodec#encodeNull()} */
+  @Test
+  @DisplayName("Encode a null FixedDecimal array as a null numeric array")
+  void encodeNull() {
+    assertTrue(codec.canEncodeNull(FixedDecimal[].class));
+    assertFalse(codec.canEncodeNull(FixedDecimal.class));
+    assertEquals(
+        new Parameter(Format.FORMAT_TEXT, NUMERIC_ARRAY, Parameter.NULL_VALUE),
+        codec.encodeNull());
+  }
+
+  private static ByteBuf ascii(final String text) {
+    return Unpooled.copiedBuffer(text, StandardCharsets.US_ASCII);
+  }
+}
@@ -0,0 +1,114 @@
+package com.mydata.userdata.decimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.client.Parameter;
+import io.r2dbc.postgresql.codec.CodecRegistry;
+import io.r2dbc.postgresql.message.Format;
+import io.r2dbc.postgresql.type.PostgresqlObjectId;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.reactivestreams.Publisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link FixedDecimalCodec} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class FixedDecimalCodecTest {
+
+  private static final int NUMERIC = PostgresqlObjectId.NUMERIC.getObjectId();
+
+  private final FixedDecimalCodec codec = new FixedDecimalCodec(ByteBufAllocator.DEFAULT);
+
+  /** Test for {@link FixedDecimalCodec#canDecode(int, Format, Class)} */
+  @Test
+  @DisplayName("Decode numeric text values read as FixedDecimal or without a type")
+  void canDecode() {
+    assertTrue(codec.canDecode(NUMERIC, Format.FORMAT_TEXT, FixedDecimal.class));
+    assertTrue(codec.canDecode(NUMERIC, Format.FORMAT_TEXT, Object.class));
+    assertFalse(codec.canDecode(NUMERIC, Format.FORMAT_TEXT, BigDecimal.class));
+    assertFalse(codec.canDecode(NUMERIC, Format.FORMAT_BINARY, FixedDecimal.class));
+    assertFalse(
+        codec.canDecode(PostgresqlObjectId.FLOAT8.getObjectId(), Format.FORMAT_TEXT, Object.class));
+  }
+
+  /** Test for {@link FixedDecimalCodec#decode(ByteBuf, int, Format, Class)} */
+  @Test
+  @DisplayName("Decode the text of a numeric value")
+  void decode() {
+    assertEquals(
+        FixedDecimal.of(-105_000, 4),
+        codec.decode(ascii("-10.5000"), NUMERIC, Format.FORMAT_TEXT, FixedDecimal.class));
+    assertEquals(
+        FixedDecimal.of(12_345, 2),
+        codec.decode(ascii("123.45"), NUMERIC, Format.FORMAT_TEXT, Object.class));
+    assertNull(codec.decode(null, NUMERIC, Format.FORMAT_TEXT, FixedDecimal.class));
+  }
+
+  /** Test for {@link FixedDecimalCodec#decode(ByteBuf, int, Format, Class)} with a large value */
+  @Test
+  @DisplayName("A numeric value of more than 18 digits is decoded as BigDecimal without a type")
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  void decodeLarge() {
+    var text = "123456789012345678901.5";
+    assertEquals(
+        new BigDecimal(text), codec.decode(ascii(text), NUMERIC, Format.FORMAT_TEXT, Object.class));
+    var buffer = ascii(text);
+    assertThrows(
+        ArithmeticException.class,
+        () -> codec.decode(buffer, NUMERIC, Format.FORMAT_TEXT, FixedDecimal.class));
+  }
+
+  /** Test for {@link FixedDecimalCodec#encode(Object)} */
+  @Test
+  @DisplayName("Encode a FixedDecimal as numeric text")
+  void encode() {
+    var value = FixedDecimal.of(-1_050, 2);
+    assertTrue(codec.canEncode(value));
+    assertFalse(codec.canEncode(new BigDecimal("-10.50")));
+    var parameter = codec.encode(value);
+    Publisher<ByteBuf> encoded = ReflectionTestUtils.invokeMethod(parameter, "getValue");
+    StepVerifier.create(Mono.from(encoded))
+        .assertNext(buffer -> assertEquals("-10.50", buffer.toString(StandardCharsets.US_ASCII)))
+        .verifyComplete();
+    assertEquals(Format.FORMAT_TEXT, ReflectionTestUtils.invokeMethod(parameter, "getFormat"));
+    assertEquals(NUMERIC, (int) ReflectionTestUtils.invokeMethod(parameter, "getType"));
+  }
+
+  /** Test for {@link FixedDecimalCodec#encodeNull()} */
+  @Test
+  @DisplayName("Encode a null FixedDecimal as a null numeric")
+  void encodeNull() {
+    assertTrue(codec.canEncodeNull(FixedDecimal.class));
+    assertFalse(codec.canEncodeNull(BigDecimal.class));
+    assertEquals(
+        new Parameter(Format.FORMAT_TEXT, NUMERIC, Parameter.NULL_VALUE), codec.encodeNull());
+  }
+
+  /** Test for {@link FixedDecimalCodec#registrar()} */
+  @Test
+  @DisplayName("The registrar adds the codecs before the codecs of the driver")
+  void registrar() {
+    var registry = mock(CodecRegistry.class);
+    StepVerifier.create(
+            FixedDecimalCodec.registrar()
+                .register(mock(PostgresqlConnection.class), ByteBufAllocator.DEFAULT, registry))
+        .verifyComplete();
+    verify(registry).addFirst(ArgumentMatchers.any(FixedDecimalCodec.class));
+    verify(registry).addFirst(ArgumentMatchers.any(FixedDecimalArrayCodec.class));
+  }
+
+  private static ByteBuf ascii(final String text) {
+    return Unpooled.copiedBuffer(text, StandardCharsets.US_ASCII);
+  }
+}
@@ -0,0 +1,71 @@
+package com.mydata.userdata.decimal;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link FixedDecimalSerializer} and {@link FixedDecimalDeserializer} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class FixedDecimalJsonTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /** Test for {@link FixedDecimalSerializer} */
+  @Test
+  @DisplayName("A FixedDecimal is written as a JSON number")
+  void serialize() throws JsonProcessingException {
+    assertEquals(
+        "[10.50,-0.0500,3.0]",
+        objectMapper.writeValueAsString(
+            List.of(FixedDecimal.of(1050, 2), FixedDecimal.of(-500, 4), FixedDecimal.of(3, 0))));
+  }
+
+  /** Test for {@link FixedDecimalDeserializer} */
+  @Test
+  @DisplayName("A FixedDecimal is read from a JSON number or string")
+  void deserialize() throws JsonProcessingException {
+    assertEquals(FixedDecimal.of(1050, 2), objectMapper.readValue("10.50", FixedDecimal.class));
+    assertEquals(FixedDecimal.of(7, 0), objectMapper.readValue("7", FixedDecimal.class));
+    assertEquals(FixedDecimal.of(-25, 1), objectMapper.readValue("\"-2.5\"", FixedDecimal.class));
+    assertEquals(FixedDecimal.of(1500, 0), objectMapper.readValue("1.5e3", FixedDecimal.class));
+  }
+
+  /** Test for {@link FixedDecimalDeserializer} with values which are not decimal numbers */
+  @Test
+  @DisplayName("Values which are not decimal numbers are refused")
+  void deserializeInvalid() {
+    assertThatExceptionOfType(InvalidFormatException.class)
+        .isThrownBy(() -> objectMapper.readValue("\"ten\"", FixedDecimal.class));
+    assertThatExceptionOfType(InvalidFormatException.class)
+        .isThrownBy(() -> objectMapper.readValue("1e30", FixedDecimal.class));
+    assertThatExceptionOfType(MismatchedInputException.class)
+        .isThrownBy(() -> objectMapper.readValue("true", FixedDecimal.class));
+  }
+
+  /** Test for {@link FixedDecimalDeserializer} of a property with a {@link DecimalScale} */
+  @Test
+  @DisplayName("A value with more decimal places than its column is refused")
+  void deserializeScale() throws JsonProcessingException {
+    assertEquals(
+        new Amount(FixedDecimal.of(1050, 2)),
+        objectMapper.readValue("{\"value\":10.500}", Amount.class));
+    assertThatExceptionOfType(InvalidFormatException.class)
+        .isThrownBy(() -> objectMapper.readValue("{\"value\":10.505}", Amount.class));
+    assertThatExceptionOfType(InvalidFormatException.class)
+        .isThrownBy(() -> objectMapper.readValue("{\"value\":\"10.505\"}", Amount.class));
+  }
+
+  /**
+   * An amount stored with two decimal places
+   *
+   * @param value the amount
+   */
+  record Amount(@DecimalScale(2) FixedDecimal value) {}
+}
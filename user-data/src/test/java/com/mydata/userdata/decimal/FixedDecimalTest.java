@@ -0,0 +1,114 @@
+package com.mydata.userdata.decimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Test class for {@link FixedDecimal} */
+class FixedDecimalTest {
+
+  /**
+   * Test for {@link FixedDecimal#parse(CharSequence)} and {@link FixedDecimal#toString()}
+   *
+   * @param text the number parsed
+   * @param unscaled the unscaled value expected
+   * @param scale the scale expected
+   * @param written the number written
+   */
+  @ParameterizedTest
+  @CsvSource({
+    "10.50, 1050, 2, 10.50",
+    "-0.05, -5, 2, -0.05",
+    "+7, 7, 0, 7.0",
+    "0, 0, 0, 0.0",
+    ".5, 5, 1, 0.5",
+    "1e2, 100, 0, 100.0",
+    "-9223372036854775808, -9223372036854775808, 0, -9223372036854775808.0",
+    "0.000000000000000001, 1, 18, 0.000000000000000001"
+  })
+  @DisplayName("A number is parsed with the decimal places written and written back plain")
+  void parse(final String text, final long unscaled, final int scale, final String written) {
+    var value = FixedDecimal.parse(text);
+    assertThat(value)
+        .extracting(FixedDecimal::unscaledValue, FixedDecimal::scale)
+        .containsExactly(unscaled, scale);
+    assertEquals(written, value.toString());
+    var chars = ("[" + text + "]").toCharArray();
+    assertEquals(value, FixedDecimal.parse(chars, 1, text.length()));
+  }
+
+  /**
+   * Test for {@link FixedDecimal#parse(CharSequence)} with text which is not a number
+   *
+   * @param text the text
+   */
+  @ParameterizedTest
+  @ValueSource(strings = {"", "ten", "1.2.3", "1-", "NaN"})
+  @DisplayName("Text which is not a number is refused")
+  void parseNotNumber(final String text) {
+    assertThatExceptionOfType(NumberFormatException.class)
+        .isThrownBy(() -> FixedDecimal.parse(text));
+  }
+
+  /** Test for {@link FixedDecimal#parse(CharSequence)} with numbers out of range */
+  @Test
+  @DisplayName("A number which does not fit in a scaled long is refused")
+  void parseOutOfRange() {
+    assertThatExceptionOfType(ArithmeticException.class)
+        .isThrownBy(() -> FixedDecimal.parse("92233720368547758070"));
+    assertThatExceptionOfType(ArithmeticException.class)
+        .isThrownBy(() -> FixedDecimal.parse("0.0000000000000000001"));
+    assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> FixedDecimal.of(1, -1));
+  }
+
+  /** Test for {@link FixedDecimal#valueOf(BigDecimal)} and {@link FixedDecimal#toBigDecimal()} */
+  @Test
+  @DisplayName("A number converts to and from BigDecimal exactly")
+  void bigDecimal() {
+    var value = new BigDecimal("-123.4500");
+    assertEquals(FixedDecimal.of(-1_234_500, 4), FixedDecimal.valueOf(value));
+    assertEquals(value, FixedDecimal.valueOf(value).toBigDecimal());
+    assertEquals(4, FixedDecimal.valueOf(value).scale());
+    assertEquals(FixedDecimal.of(1200, 0), FixedDecimal.valueOf(new BigDecimal("1.2E+3")));
+  }
+
+  /**
+   * Test for {@link FixedDecimal#compareTo(FixedDecimal)}, {@link FixedDecimal#equals(Object)} and
+   * {@link FixedDecimal#hashCode()}
+   */
+  @Test
+  @DisplayName("Numbers compare by value whatever their scale")
+  void compare() {
+    var value = FixedDecimal.parse("10.5");
+    assertEquals(0, value.compareTo(FixedDecimal.parse("10.50")));
+    assertEquals(value, FixedDecimal.parse("10.5000"));
+    assertEquals(value.hashCode(), FixedDecimal.parse("10.5000").hashCode());
+    assertEquals(FixedDecimal.ZERO.hashCode(), FixedDecimal.parse("0.00").hashCode());
+    assertThat(value).isLessThan(FixedDecimal.parse("10.51")).isGreaterThan(FixedDecimal.ZERO);
+    assertThat(FixedDecimal.of(Long.MAX_VALUE, 0)).isGreaterThan(FixedDecimal.parse("0.5"));
+    assertNotEquals(value, FixedDecimal.parse("10.05"));
+    assertNotEquals(value, new BigDecimal("10.5"));
+    assertEquals(-1, FixedDecimal.parse("-0.01").signum());
+    assertEquals(0, FixedDecimal.ZERO.signum());
+  }
+
+  /** Test for {@link FixedDecimal#fitsScale(int)} */
+  @Test
+  @DisplayName("A number fits a scale when the decimal places after it are zeros")
+  void fitsScale() {
+    assertThat(FixedDecimal.parse("10.5").fitsScale(2)).isTrue();
+    assertThat(FixedDecimal.parse("10.500").fitsScale(2)).isTrue();
+    assertThat(FixedDecimal.parse("-10.5000").fitsScale(0)).isFalse();
+    assertThat(FixedDecimal.parse("10.505").fitsScale(2)).isFalse();
+    assertThat(FixedDecimal.parse("1.2345").fitsScale(4)).isTrue();
+    assertThat(FixedDecimal.parse("1.23456").fitsScale(4)).isFalse();
+  }
+}
@@ -0,0 +1,76 @@
+package com.mydata.userdata.etag;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link ConditionalGetFilter} */
+@MockitoSettings
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class ConditionalGetFilterTest {
+
+  private static final String STOCKS = "/investments/stocks";
+
+  private final ListVersions listVersions = new ListVersions();
+  private final ConditionalGetFilter filter = new ConditionalGetFilter(listVersions);
+  private final WebFilterChain chain = mock(WebFilterChain.class);
+
+  /** Test for {@link ConditionalGetFilter#filter} of a read with the current ETag */
+  @Test
+  @DisplayName("A read with the current ETag is not modified and skips the chain")
+  void notModified() {
+    var etag = listVersions.etag(VersionedList.STOCKS);
+    var exchange = MockServerWebExchange.from(MockServerHttpRequest.head(STOCKS).ifNoneMatch(etag));
+    StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+    assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+    assertEquals(etag, exchange.getResponse().getHeaders().getETag());
+    verifyNoInteractions(chain);
+  }
+
+  /** Test for {@link ConditionalGetFilter#filter} of a read with an old ETag */
+  @Test
+  @DisplayName("A read with an old ETag goes through the chain with the current ETag")
+  void modified() {
+    var etag = listVersions.etag(VersionedList.STOCKS);
+    listVersions.bump(VersionedList.STOCKS);
+    var exchange = MockServerWebExchange.from(MockServerHttpRequest.get(STOCKS).ifNoneMatch(etag));
+    when(chain.filter(exchange)).thenReturn(Mono.empty());
+    StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+    assertNull(exchange.getResponse().getStatusCode());
+    var headers = exchange.getResponse().getHeaders();
+    assertEquals(listVersions.etag(VersionedList.STOCKS), headers.getETag());
+    assertEquals(HttpHeaders.ACCEPT, headers.getFirst(HttpHeaders.VARY));
+  }
+
+  /** Test for {@link ConditionalGetFilter#filter} of a write */
+  @Test
+  @DisplayName("A write bumps the version of its list once it is done, even when it fails")
+  void write() {
+    var etag = listVersions.etag(VersionedList.STOCKS);
+    var exchange = MockServerWebExchange.from(MockServerHttpRequest.post(STOCKS + "/bulk"));
+    when(chain.filter(exchange)).thenReturn(Mono.error(new IllegalStateException()));
+    StepVerifier.create(filter.filter(exchange, chain)).verifyError(IllegalStateException.class);
+    assertNotEquals(etag, listVersions.etag(VersionedList.STOCKS));
+    assertNull(exchange.getResponse().getHeaders().getETag());
+  }
+
+  /** Test for {@link ConditionalGetFilter#filter} of a URL which is not of a list */
+  @Test
+  @DisplayName("Other URLs go through the chain unchanged")
+  void otherUrl() {
+    var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/investments/summary"));
+    when(chain.filter(exchange)).thenReturn(Mono.empty());
+    StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+    assertTrue(exchange.getResponse().getHeaders().isEmpty());
+  }
+}
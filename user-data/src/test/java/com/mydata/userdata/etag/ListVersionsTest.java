@@ -0,0 +1,29 @@
+package com.mydata.userdata.etag;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link ListVersions} */
+class ListVersionsTest {
+
+  /**
+   * Test for {@link ListVersions#etag(VersionedList)} and {@link ListVersions#bump(VersionedList)}
+   */
+  @Test
+  @DisplayName("A bump changes the ETag of its list only")
+  void bump() {
+    var listVersions = new ListVersions();
+    var stocks = listVersions.etag(VersionedList.STOCKS);
+    var trades = listVersions.etag(VersionedList.STOCK_TRADES);
+    assertThat(stocks).startsWith("W/\"").endsWith("-0\"");
+    assertEquals(stocks, listVersions.etag(VersionedList.STOCKS));
+    listVersions.bump(VersionedList.STOCKS);
+    assertNotEquals(stocks, listVersions.etag(VersionedList.STOCKS));
+    assertThat(listVersions.etag(VersionedList.STOCKS)).endsWith("-1\"");
+    assertEquals(trades, listVersions.etag(VersionedList.STOCK_TRADES));
+  }
+}
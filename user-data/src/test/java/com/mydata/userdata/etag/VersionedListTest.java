@@ -0,0 +1,52 @@
+package com.mydata.userdata.etag;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Test class for {@link VersionedList} */
+class VersionedListTest {
+
+  /**
+   * Test for {@link VersionedList#of(String)} with the URLs of a list
+   *
+   * @param path the request path
+   * @param list the list expected
+   */
+  @ParameterizedTest
+  @CsvSource({
+    "/investments/depositaccounts, DEPOSIT_ACCOUNTS",
+    "/investments/depositaccounts/, DEPOSIT_ACCOUNTS",
+    "/investments/savingaccounts/bulk, SAVING_ACCOUNTS",
+    "/investments/mutualfunds, MUTUAL_FUNDS",
+    "/investments/mutualfunds/transactions/sell, MUTUAL_FUND_TRADES",
+    "/investments/mutualfunds/holdings/rebuild, MUTUAL_FUND_TRADES",
+    "/investments/stocks/transactions/buy/import, STOCK_TRADES"
+  })
+  @DisplayName("The URLs of a list are mapped to the list")
+  void of(final String path, final VersionedList list) {
+    assertEquals(Optional.of(list), VersionedList.of(path));
+  }
+
+  /**
+   * Test for {@link VersionedList#of(String)} with URLs which are not of a list
+   *
+   * @param path the request path
+   */
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "/investments/summary",
+        "/investments/mutualfunds/prices",
+        "/depositaccounts",
+        "/investments/depositaccounts/1"
+      })
+  @DisplayName("Other URLs are not mapped to a list")
+  void ofOtherPath(final String path) {
+    assertEquals(Optional.empty(), VersionedList.of(path));
+  }
+}
@@ -0,0 +1,38 @@
+package com.mydata.userdata.fixtures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link CopyWriter} */
+class CopyWriterTest {
+
+  /** Test for {@link CopyWriter#row(Object...)} */
+  @Test
+  @DisplayName("The rows are written in the COPY text format")
+  void row() throws IOException {
+    var out = new ByteArrayOutputStream();
+    try (var writer = new CopyWriter(out)) {
+      writer.row(
+          1,
+          "Tab\tNew\nLine\\ Fund",
+          FixedDecimal.of(123_4567L, 4),
+          Instant.parse("2022-03-01T10:15:30Z"),
+          List.of(3, 4),
+          Boolean.TRUE,
+          null);
+      writer.row(2, "Flexi Cap", FixedDecimal.ZERO, null, List.of(), Boolean.FALSE, "\u20b9");
+    }
+    assertEquals(
+        "1\tTab\\tNew\\nLine\\\\ Fund\t123.4567\t2022-03-01T10:15:30\t{3,4}\tt\t\\N\n"
+            + "2\tFlexi Cap\t0.0\t\\N\t{}\tf\t\u20b9\n",
+        out.toString(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,101 @@
+package com.mydata.userdata.fixtures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.entity.MutualFundBuyTransaction;
+import com.mydata.userdata.entity.StockBuyTransaction;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link InvestmentDataset} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class InvestmentDatasetTest {
+
+  private static final int BUYS = 200;
+  private static final int FIRST_BUY_ID = 1001;
+
+  private final InvestmentDataset dataset = new InvestmentDataset(3, BUYS, 42L);
+
+  /** Test for {@link InvestmentDataset#mutualFundTrades(int, int)} */
+  @Test
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  @DisplayName("The mutual fund sells take their units from the oldest open buys of the fund")
+  void mutualFundTrades() {
+    var trades = dataset.mutualFundTrades(7, FIRST_BUY_ID);
+    assertThat(trades.buys())
+        .hasSize(BUYS)
+        .allMatch(buy -> buy.mfId() == 7)
+        .allMatch(buy -> buy.soldUnits().compareTo(buy.units()) <= 0)
+        .allMatch(buy -> buy.isSoldOut() == buy.soldUnits().equals(buy.units()));
+    assertEquals(FIRST_BUY_ID, trades.buys().get(0).id());
+    assertEquals(FIRST_BUY_ID + BUYS - 1, trades.buys().get(BUYS - 1).id());
+    assertThat(trades.sells()).isNotEmpty().allMatch(sell -> sell.mfId() == 7);
+    Map<Integer, MutualFundBuyTransaction> buys =
+        trades.buys().stream()
+            .collect(Collectors.toMap(MutualFundBuyTransaction::id, Function.identity()));
+    trades
+        .sells()
+        .forEach(
+            sell ->
+                assertThat(sell.buyIds())
+                    .isNotEmpty()
+                    .isSorted()
+                    .allMatch(buys::containsKey)
+                    .allMatch(id -> buys.get(id).buyDate().isBefore(sell.soldDate()))
+                    .allMatch(id -> buys.get(id).soldUnits().signum() > 0));
+    var sold =
+        trades.buys().stream()
+            .map(MutualFundBuyTransaction::soldUnits)
+            .map(FixedDecimal::toBigDecimal)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    var sellUnits =
+        trades.sells().stream()
+            .map(sell -> sell.units().toBigDecimal())
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    assertEquals(0, sold.compareTo(sellUnits));
+  }
+
+  /** Test for {@link InvestmentDataset#stockTrades(int, int)} */
+  @Test
+  @DisplayName("The stock sells take their quantity from the oldest open buys of the stock")
+  void stockTrades() {
+    var trades = dataset.stockTrades(3, FIRST_BUY_ID);
+    assertThat(trades.buys())
+        .hasSize(BUYS)
+        .allMatch(buy -> buy.stockId() == 3)
+        .allMatch(buy -> buy.soldQuantity() <= buy.quantity())
+        .allMatch(buy -> buy.isSoldOut() == buy.soldQuantity().equals(buy.quantity()));
+    assertThat(trades.sells()).isNotEmpty().allMatch(sell -> sell.stockId() == 3);
+    assertEquals(
+        trades.buys().stream().mapToInt(StockBuyTransaction::soldQuantity).sum(),
+        trades.sells().stream().mapToInt(sell -> sell.quantity()).sum());
+  }
+
+  /** Test for the trades generated again */
+  @Test
+  @DisplayName("The trades of an instrument are the same every time they are generated")
+  void sameTrades() {
+    assertEquals(dataset.mutualFundTrades(5, 1), dataset.mutualFundTrades(5, 1));
+    assertEquals(dataset.stockTrades(5, 1), new InvestmentDataset(3, BUYS, 42L).stockTrades(5, 1));
+  }
+
+  /** Test for {@link InvestmentDataset#mutualFund(int)} and {@link InvestmentDataset#stock(int)} */
+  @Test
+  @DisplayName("The instrument codes and names end with their ids")
+  void instruments() {
+    var mutualFund = dataset.mutualFund(12);
+    var stock = dataset.stock(13);
+    assertEquals(12, mutualFund.id());
+    assertThat(mutualFund.mfCode()).endsWith("-12");
+    assertThat(mutualFund.mfName()).endsWith(" 12");
+    assertEquals(13, stock.id());
+    assertThat(stock.stockCode()).endsWith("-13");
+    assertThat(stock.stockName()).endsWith(" 13");
+  }
+}
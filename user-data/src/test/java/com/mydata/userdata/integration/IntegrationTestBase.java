@@ -1,17 +1,26 @@
 package com.mydata.userdata.integration;
 
+import static com.mydata.userdata.common.ApiParams.PAGE_SIZE;
 import static com.mydata.userdata.common.TestConstants.API_NAME_URL_MAP;
 import static com.mydata.userdata.common.TestConstants.POSTGRESQL_DB_PROPERTY_PREFIX;
 import static io.r2dbc.spi.ConnectionFactoryOptions.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 
+import com.mydata.userdata.dto.BulkInsertResultDto;
 import com.mydata.utilities.test.conroller.ControllerTest;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 import lombok.Getter;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -19,6 +28,8 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.containers.PostgreSQLR2DBCDatabaseContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
 
 @MockitoSettings
 @Testcontainers
@@ -27,6 +38,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 public abstract class IntegrationTestBase implements ControllerTest {
 
   public static final int MIN_RECORDS_RESULT = 5;
+  private static final int TEST_PAGE_SIZE = 2;
 
   private static final String INIT_SQL = "db-init.sql";
 
@@ -97,6 +109,115 @@ public abstract class IntegrationTestBase implements ControllerTest {
                                     >= MIN_RECORDS_RESULT)));
   }
 
+  /**
+   * Verify the Get response streamed as NDJSON
+   *
+   * @param apiName the API Name
+   * @param respType the streamed element Type
+   */
+  protected void verifyGetStreamResponse(final String apiName, final Class<?> respType) {
+    var body =
+        getWebTestClient()
+            .get()
+            .uri(getBaseUrl() + API_NAME_URL_MAP.get(apiName))
+            .accept(APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(APPLICATION_NDJSON)
+            .returnResult(respType)
+            .getResponseBody();
+    StepVerifier.create(body.count())
+        .assertNext(count -> assertTrue(count >= MIN_RECORDS_RESULT))
+        .verifyComplete();
+  }
+
+  /**
+   * Verify the Get response is paged, by following the {@code next} links until the last page
+   *
+   * @param apiName the API Name
+   * @param respType the response element Type
+   * @param idOf function for getting the id of a response element
+   * @param <T> the response element Type
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  protected <T> void verifyGetPagedResponse(
+      final String apiName, final Class<T> respType, final Function<T, Integer> idOf) {
+    var ids = new ArrayList<Integer>();
+    var url = getBaseUrl() + API_NAME_URL_MAP.get(apiName) + "?" + PAGE_SIZE + "=" + TEST_PAGE_SIZE;
+    while (null != url) {
+      var result =
+          getWebTestClient()
+              .get()
+              .uri(url)
+              .exchange()
+              .expectStatus()
+              .isOk()
+              .expectBodyList(respType)
+              .returnResult();
+      var items = Objects.requireNonNull(result.getResponseBody());
+      assertTrue(items.size() <= TEST_PAGE_SIZE);
+      items.forEach(item -> ids.add(idOf.apply(item)));
+      var link = result.getResponseHeaders().getFirst(HttpHeaders.LINK);
+      url = null == link ? null : link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+    }
+    assertThat(ids).hasSizeGreaterThanOrEqualTo(MIN_RECORDS_RESULT).doesNotHaveDuplicates();
+  }
+
+  /**
+   * Verify the bulk Post response, every posted record should be inserted
+   *
+   * @param apiName the API Name
+   * @param contentType the request content type, JSON array or NDJSON stream
+   * @param records the records to post
+   * @param elementType the record type
+   * @param <T> the record type
+   */
+  protected <T> void verifyBulkPostResponse(
+      final String apiName,
+      final MediaType contentType,
+      final List<T> records,
+      final Class<T> elementType) {
+    getWebTestClient()
+        .post()
+        .uri(getBaseUrl() + API_NAME_URL_MAP.get(apiName))
+        .contentType(contentType)
+        .body(Flux.fromIterable(records), elementType)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(BulkInsertResultDto.class)
+        .consumeWith(
+            r -> {
+              var result = Objects.requireNonNull(r.getResponseBody());
+              assertEquals(records.size(), result.inserted());
+              assertThat(result.chunks()).hasSizeGreaterThan(1);
+            });
+  }
+
+  /**
+   * Post a request which should succeed and get the response body
+   *
+   * @param apiName the API Name
+   * @param reqObject the request object
+   * @param respType the response object type
+   * @param <T> the response object type
+   * @return the response body
+   */
+  protected <T> T postForBody(
+      final String apiName, final Object reqObject, final Class<T> respType) {
+    var response =
+        post(API_NAME_URL_MAP.get(apiName), reqObject)
+            .expectStatus()
+            .isOk()
+            .expectBody(respType)
+            .returnResult()
+            .getResponseBody();
+    assertNotNull(response);
+    return response;
+  }
+
   /**
    * Verify the Post response
    *
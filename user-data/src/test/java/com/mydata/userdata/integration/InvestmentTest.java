@@ -4,25 +4,55 @@ import static com.mydata.userdata.common.ApiNames.*;
 import static com.mydata.userdata.common.ApiUrls.INVESTMENT_BASE_URL;
 import static com.mydata.userdata.common.ObjectProperties.ACCOUNT_ID;
 import static com.mydata.userdata.common.TestConstants.API_NAME_URL_MAP;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 
 import com.expediagroup.beans.BeanUtils;
 import com.expediagroup.beans.transformer.BeanTransformer;
+import com.mydata.userdata.common.ApiParams;
 import com.mydata.userdata.controller.InvestmentController;
+import com.mydata.userdata.decimal.FixedDecimal;
 import com.mydata.userdata.dto.*;
+import com.mydata.userdata.property.PriceHistoryProperties;
 import com.mydata.userdata.utils.InvestmentParameterResolver;
 import com.mydata.userdata.utils.NegativeBalance;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @SpringBootTest(
     webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
-    properties = {"server.port=0", "server.ssl.enabled=false"})
+    properties = {"server.port=0", "server.ssl.enabled=false", "db.bulk-insert.chunk-size=4"})
 @ExtendWith(InvestmentParameterResolver.class)
 @SuppressWarnings("PMD.BeanMembersShouldSerialize")
 class InvestmentTest extends IntegrationTestBase {
 
+  @Autowired private PriceHistoryProperties priceHistoryProps;
+
   private final BeanTransformer dtoToDtoSkipId =
       new BeanUtils().getTransformer().skipTransformationForField(ACCOUNT_ID);
 
@@ -57,6 +87,18 @@ class InvestmentTest extends IntegrationTestBase {
         AccountDto.class);
   }
 
+  /**
+   * Test for {@link InvestmentController#addDepositAccounts(Flux)} with a JSON array
+   *
+   * @param depositAccounts the deposit accounts to add
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Deposit Accounts")
+  void addDepositAccounts(final List<AccountDto> depositAccounts) {
+    verifyBulkPostResponse(
+        ADD_DEPOSIT_ACCOUNTS_BULK, APPLICATION_JSON, depositAccounts, AccountDto.class);
+  }
+
   /** Test for {@link InvestmentController#getLoanAccounts()} */
   @Test
   @DisplayName("Happy Path: Get Loan Accounts")
@@ -127,6 +169,36 @@ class InvestmentTest extends IntegrationTestBase {
     verifyGetListResponse(GET_MF_BUY_TRANSACTIONS, MutualFundBuyTransactionDto.class);
   }
 
+  /** Test for {@link InvestmentController#getMutualFundBuyTransactions()} streamed as NDJSON */
+  @Test
+  @DisplayName("Happy Path: Stream Mutual Fund Buy Transactions")
+  void streamMutualFundBuyTransactions() {
+    verifyGetStreamResponse(GET_MF_BUY_TRANSACTIONS, MutualFundBuyTransactionDto.class);
+  }
+
+  /**
+   * Test for {@link InvestmentController#getMutualFundBuyTransactionsPage(int, String,
+   * ServerHttpRequest)} following the next links till the last page
+   */
+  @Test
+  @DisplayName("Happy Path: Get Mutual Fund Buy Transactions page by page")
+  void getMutualFundBuyTransactionsPages() {
+    verifyGetPagedResponse(
+        GET_MF_BUY_TRANSACTIONS_PAGE,
+        MutualFundBuyTransactionDto.class,
+        MutualFundBuyTransactionDto::id);
+  }
+
+  /**
+   * Test for {@link InvestmentController#getDepositAccountsPage(int, String, ServerHttpRequest)}
+   * following the next links till the last page
+   */
+  @Test
+  @DisplayName("Happy Path: Get Deposit Accounts page by page")
+  void getDepositAccountsPages() {
+    verifyGetPagedResponse(GET_DEPOSIT_ACCOUNTS_PAGE, AccountDto.class, AccountDto::id);
+  }
+
   /**
    * Test for {@link InvestmentController#addMutualFundBuyTransaction(MutualFundBuyTransactionDto)}
    *
@@ -141,6 +213,21 @@ class InvestmentTest extends IntegrationTestBase {
         MutualFundBuyTransactionDto.class);
   }
 
+  /**
+   * Test for {@link InvestmentController#addMutualFundBuyTransactions(Flux)} with a NDJSON stream
+   *
+   * @param mfBuyTransactions the mutual fund buy transactions to add
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Mutual Fund Buy Transactions")
+  void addMutualFundBuyTransactions(final List<MutualFundBuyTransactionDto> mfBuyTransactions) {
+    verifyBulkPostResponse(
+        ADD_MF_BUY_TRANSACTIONS_BULK,
+        APPLICATION_NDJSON,
+        mfBuyTransactions,
+        MutualFundBuyTransactionDto.class);
+  }
+
   /** Test for {@link InvestmentController#getMutualFundSellTransactions()} */
   @Test
   @DisplayName("Happy Path: Get Mutual Fund Sell Transactions")
@@ -150,18 +237,379 @@ class InvestmentTest extends IntegrationTestBase {
 
   /**
    * Test for {@link
-   * InvestmentController#addMutualFundSellTransaction(MutualFundSellTransactionDto)}
+   * InvestmentController#addMutualFundSellTransaction(MutualFundSellTransactionDto)}, the sell is
+   * matched FIFO to the open buy lots of a new fund
    *
-   * @param mfSellTransactionDto the input / expected mutual fund buy transaction dto
+   * @param mutualFund the mutual fund to sell from
    */
   @Test
   @DisplayName("Happy Path: Add Mutual Fund Sell Transaction")
-  void addMutualFundSellTransaction(final MutualFundSellTransactionDto mfSellTransactionDto) {
-    verifyPostResponse(
+  void addMutualFundSellTransaction(final MutualFundDto mutualFund) {
+    var mfId =
+        postForBody(
+                ADD_MUTUAL_FUND,
+                dtoToDtoSkipId.transform(mutualFund, MutualFundDto.class),
+                MutualFundDto.class)
+            .id();
+    var buyDate = Instant.parse("2022-01-01T00:00:00Z");
+    var firstLot =
+        postForBody(
+                ADD_MF_BUY_TRANSACTIONS,
+                new MutualFundBuyTransactionDto(
+                    null,
+                    mfId,
+                    FixedDecimal.of(10, 0),
+                    FixedDecimal.of(10, 0),
+                    FixedDecimal.of(1, 0),
+                    buyDate,
+                    FixedDecimal.ZERO,
+                    false),
+                MutualFundBuyTransactionDto.class)
+            .id();
+    var secondLot =
+        postForBody(
+                ADD_MF_BUY_TRANSACTIONS,
+                new MutualFundBuyTransactionDto(
+                    null,
+                    mfId,
+                    FixedDecimal.of(12, 0),
+                    FixedDecimal.of(10, 0),
+                    FixedDecimal.of(2, 0),
+                    buyDate.plusSeconds(1),
+                    FixedDecimal.ZERO,
+                    false),
+                MutualFundBuyTransactionDto.class)
+            .id();
+
+    var sold =
+        postForBody(
+            ADD_MF_SELL_TRANSACTIONS,
+            new MutualFundSellTransactionDto(
+                null,
+                mfId,
+                null,
+                FixedDecimal.of(15, 0),
+                FixedDecimal.of(13, 0),
+                FixedDecimal.of(5, 1),
+                null,
+                null),
+            MutualFundSellTransactionDto.class);
+    assertEquals(List.of(firstLot, secondLot), sold.buyIds());
+    assertEquals(FixedDecimal.of(5690, 2), sold.profitLoss());
+    // 7 units of the second lot are left at 12 with 7 / 10 of the charge 2
+    assertThat(getMutualFundHoldings())
+        .filteredOn(holding -> mfId.equals(holding.mfId()))
+        .usingRecursiveFieldByFieldElementComparator(
+            RecursiveComparisonConfiguration.builder()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .build())
+        .containsExactly(
+            new MutualFundPositionDto(
+                mfId, new BigDecimal("7"), new BigDecimal("85.4"), new BigDecimal("12.2")));
+
+    post(
+            API_NAME_URL_MAP.get(ADD_MF_SELL_TRANSACTIONS),
+            new MutualFundSellTransactionDto(
+                null,
+                mfId,
+                null,
+                FixedDecimal.of(15, 0),
+                FixedDecimal.of(8, 0),
+                FixedDecimal.of(5, 1),
+                null,
+                null))
+        .expectStatus()
+        .isBadRequest();
+  }
+
+  /**
+   * Test for {@link InvestmentController#getMutualFundCapitalGains(int, int)} and {@link
+   * InvestmentController#getMutualFundCapitalGainsCsv(int, int)}, a sell realizes the lots it
+   * consumed first in first out with their share of the charges
+   *
+   * @param mutualFund the mutual fund to sell from
+   */
+  @Test
+  @DisplayName("Happy Path: Get Mutual Fund Capital Gains")
+  void getMutualFundCapitalGains(final MutualFundDto mutualFund) {
+    var mfId =
+        postForBody(
+                ADD_MUTUAL_FUND,
+                dtoToDtoSkipId.transform(mutualFund, MutualFundDto.class),
+                MutualFundDto.class)
+            .id();
+    var buyDate = Instant.parse("2022-01-01T00:00:00Z");
+    postForBody(
+        ADD_MF_BUY_TRANSACTIONS,
+        new MutualFundBuyTransactionDto(
+            null,
+            mfId,
+            FixedDecimal.of(10, 0),
+            FixedDecimal.of(10, 0),
+            FixedDecimal.of(1, 0),
+            buyDate,
+            FixedDecimal.ZERO,
+            false),
+        MutualFundBuyTransactionDto.class);
+    postForBody(
+        ADD_MF_BUY_TRANSACTIONS,
+        new MutualFundBuyTransactionDto(
+            null,
+            mfId,
+            FixedDecimal.of(12, 0),
+            FixedDecimal.of(10, 0),
+            FixedDecimal.of(2, 0),
+            buyDate.plusSeconds(1),
+            FixedDecimal.ZERO,
+            false),
+        MutualFundBuyTransactionDto.class);
+    postForBody(
         ADD_MF_SELL_TRANSACTIONS,
-        dtoToDtoSkipId.transform(mfSellTransactionDto, MutualFundSellTransactionDto.class),
+        new MutualFundSellTransactionDto(
+            null,
+            mfId,
+            null,
+            FixedDecimal.of(15, 0),
+            FixedDecimal.of(13, 0),
+            FixedDecimal.of(5, 1),
+            Instant.parse("2023-06-01T00:00:00Z"),
+            null),
         MutualFundSellTransactionDto.class);
+
+    var years = "?fromYear=2023&toYear=2023";
+    var rows =
+        get(API_NAME_URL_MAP.get(GET_MF_CAPITAL_GAINS) + years)
+            .expectStatus()
+            .isOk()
+            .expectBodyList(CapitalGainDto.class)
+            .returnResult()
+            .getResponseBody();
+    assertNotNull(rows);
+    // The 10 units of the first lot and 3 of the second, held for more than a year
+    assertThat(rows)
+        .filteredOn(row -> mfId.equals(row.mfId()))
+        .extracting(CapitalGainDto::row, CapitalGainDto::units, CapitalGainDto::longTermGain)
+        .usingRecursiveFieldByFieldElementComparator(
+            RecursiveComparisonConfiguration.builder()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .build())
+        .containsExactly(
+            tuple(CapitalGainRow.LOT, new BigDecimal("10"), new BigDecimal("48.62")),
+            tuple(CapitalGainRow.LOT, new BigDecimal("3"), new BigDecimal("8.28")),
+            tuple(CapitalGainRow.SUBTOTAL, new BigDecimal("13"), new BigDecimal("56.90")));
+
+    var csv =
+        getWebTestClient()
+            .get()
+            .uri(getBaseUrl() + API_NAME_URL_MAP.get(GET_MF_CAPITAL_GAINS_CSV) + years)
+            .accept(MediaType.parseMediaType(ApiParams.TEXT_CSV_VALUE))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+    assertThat(csv)
+        .startsWith("row,mfId,mfCode,")
+        .contains(
+            "SUBTOTAL,"
+                + mfId
+                + ","
+                + mutualFund.mfCode()
+                + ",,,,,,13.0000,137.60,194.50,0.00,56.90\n");
   }
+
+  /**
+   * Test for {@link InvestmentController#getMutualFundCapitalGains(int, int)} of a sell of
+   * fractional units, the units taken from the lots add up to the units stored with the sell
+   *
+   * @param mutualFund the mutual fund to sell from
+   */
+  @Test
+  @DisplayName("Happy Path: Get Mutual Fund Capital Gains of fractional units")
+  void getMutualFundCapitalGainsFractionalUnits(final MutualFundDto mutualFund) {
+    var mfId =
+        postForBody(
+                ADD_MUTUAL_FUND,
+                dtoToDtoSkipId.transform(mutualFund, MutualFundDto.class),
+                MutualFundDto.class)
+            .id();
+    var buyDate = Instant.parse("2018-01-01T00:00:00Z");
+    for (var nav = 10; nav <= 12; nav += 2) {
+      postForBody(
+          ADD_MF_BUY_TRANSACTIONS,
+          new MutualFundBuyTransactionDto(
+              null,
+              mfId,
+              FixedDecimal.of(nav, 0),
+              FixedDecimal.of(10, 0),
+              FixedDecimal.ZERO,
+              buyDate.plusSeconds(nav),
+              FixedDecimal.ZERO,
+              false),
+          MutualFundBuyTransactionDto.class);
+    }
+    var sold =
+        postForBody(
+            ADD_MF_SELL_TRANSACTIONS,
+            new MutualFundSellTransactionDto(
+                null,
+                mfId,
+                null,
+                FixedDecimal.of(15, 0),
+                FixedDecimal.of(123_456, 4),
+                FixedDecimal.ZERO,
+                Instant.parse("2019-06-01T00:00:00Z"),
+                null),
+            MutualFundSellTransactionDto.class);
+    assertEquals(FixedDecimal.of(123_456, 4), sold.units());
+
+    var rows =
+        get(API_NAME_URL_MAP.get(GET_MF_CAPITAL_GAINS) + "?fromYear=2019&toYear=2019")
+            .expectStatus()
+            .isOk()
+            .expectBodyList(CapitalGainDto.class)
+            .returnResult()
+            .getResponseBody();
+    assertNotNull(rows);
+    // 10 units of the first lot and 2.3456 of the second, 2.3456 * 15 - 2.3456 * 12 = 7.03
+    assertThat(rows)
+        .filteredOn(row -> mfId.equals(row.mfId()))
+        .extracting(CapitalGainDto::row, CapitalGainDto::units, CapitalGainDto::longTermGain)
+        .usingRecursiveFieldByFieldElementComparator(
+            RecursiveComparisonConfiguration.builder()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .build())
+        .containsExactly(
+            tuple(CapitalGainRow.LOT, new BigDecimal("10"), new BigDecimal("50.00")),
+            tuple(CapitalGainRow.LOT, new BigDecimal("2.3456"), new BigDecimal("7.03")),
+            tuple(CapitalGainRow.SUBTOTAL, new BigDecimal("12.3456"), new BigDecimal("57.03")));
+  }
+
+  /**
+   * Test for {@link InvestmentController#rebuildMutualFundHoldings()}, the holdings kept by the
+   * buys and sells match the buy transactions once rebuilt
+   */
+  @Test
+  @DisplayName("Happy Path: Rebuild Mutual Fund Holdings")
+  void rebuildMutualFundHoldings() {
+    assertNotNull(rebuildMutualFundHoldingsForBody());
+    assertEquals(List.of(), rebuildMutualFundHoldingsForBody().driftedMfIds());
+  }
+
+  /**
+   * Get the mutual fund holdings
+   *
+   * @return the holdings
+   */
+  private List<MutualFundPositionDto> getMutualFundHoldings() {
+    return get(API_NAME_URL_MAP.get(GET_MF_HOLDINGS))
+        .expectStatus()
+        .isOk()
+        .expectBodyList(MutualFundPositionDto.class)
+        .returnResult()
+        .getResponseBody();
+  }
+
+  /**
+   * Rebuild the mutual fund holdings
+   *
+   * @return the rebuild result
+   */
+  private MutualFundHoldingRebuildDto rebuildMutualFundHoldingsForBody() {
+    return getWebTestClient()
+        .post()
+        .uri(getBaseUrl() + API_NAME_URL_MAP.get(REBUILD_MF_HOLDINGS))
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(MutualFundHoldingRebuildDto.class)
+        .returnResult()
+        .getResponseBody();
+  }
+
+  /**
+   * Test for {@link InvestmentController#addMutualFundSellTransactions(Flux)} with a JSON array,
+   * the sells of every chunk are matched FIFO to the open buy lots of a new fund and removed from
+   * its holding, and the units they sold can not be sold again
+   *
+   * @param mutualFund the mutual fund to sell from
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Mutual Fund Sell Transactions")
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  void addMutualFundSellTransactions(final MutualFundDto mutualFund) {
+    var mfId =
+        postForBody(
+                ADD_MUTUAL_FUND,
+                dtoToDtoSkipId.transform(mutualFund, MutualFundDto.class),
+                MutualFundDto.class)
+            .id();
+    var buyDate = Instant.parse("2022-02-01T00:00:00Z");
+    // 3 lots of 4 units at 10 with charge 2
+    for (var i = 0; i < 3; i++) {
+      postForBody(
+          ADD_MF_BUY_TRANSACTIONS,
+          new MutualFundBuyTransactionDto(
+              null,
+              mfId,
+              FixedDecimal.of(10, 0),
+              FixedDecimal.of(4, 0),
+              FixedDecimal.of(2, 0),
+              buyDate.plusSeconds(i),
+              FixedDecimal.ZERO,
+              false),
+          MutualFundBuyTransactionDto.class);
+    }
+
+    verifyBulkPostResponse(
+        ADD_MF_SELL_TRANSACTIONS_BULK,
+        APPLICATION_JSON,
+        mfSells(mfId, 10),
+        MutualFundSellTransactionDto.class);
+    // 2 units of the third lot are left at 10 with 2 / 4 of the charge 2
+    assertThat(getMutualFundHoldings())
+        .filteredOn(holding -> mfId.equals(holding.mfId()))
+        .usingRecursiveFieldByFieldElementComparator(
+            RecursiveComparisonConfiguration.builder()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .build())
+        .containsExactly(
+            new MutualFundPositionDto(
+                mfId, new BigDecimal("2"), new BigDecimal("21"), new BigDecimal("10.5")));
+    getWebTestClient()
+        .post()
+        .uri(getBaseUrl() + API_NAME_URL_MAP.get(ADD_MF_SELL_TRANSACTIONS_BULK))
+        .contentType(APPLICATION_JSON)
+        .body(Flux.fromIterable(mfSells(mfId, 3)), MutualFundSellTransactionDto.class)
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+  }
+
+  /**
+   * Sells of one unit of a mutual fund at 15 with charge 0.5
+   *
+   * @param mfId the mutual fund id
+   * @param count the number of sells
+   * @return the sells
+   */
+  private static List<MutualFundSellTransactionDto> mfSells(final Integer mfId, final int count) {
+    return IntStream.range(0, count)
+        .mapToObj(
+            i ->
+                new MutualFundSellTransactionDto(
+                    null,
+                    mfId,
+                    null,
+                    FixedDecimal.of(15, 0),
+                    FixedDecimal.of(1, 0),
+                    FixedDecimal.of(5, 1),
+                    null,
+                    null))
+        .toList();
+  }
+
   /** Test for {@link InvestmentController#getSavingAccounts()} */
   @Test
   @DisplayName("Happy Path: Get Saving Accounts")
@@ -201,4 +649,487 @@ class InvestmentTest extends IntegrationTestBase {
     verifyPostResponse(
         ADD_STOCK, dtoToDtoSkipId.transform(stockDto, StockDto.class), StockDto.class);
   }
+
+  /** Test for {@link InvestmentController#getStockBuyTransactions()} */
+  @Test
+  @DisplayName("Happy Path: Get Stock Buy Transactions")
+  void getStockBuyTransactions() {
+    verifyGetListResponse(GET_STOCK_BUY_TRANSACTIONS, StockBuyTransactionDto.class);
+  }
+
+  /**
+   * Test for {@link InvestmentController#getStockBuyTransactionsPage(int, String,
+   * ServerHttpRequest)} following the next links till the last page
+   */
+  @Test
+  @DisplayName("Happy Path: Get Stock Buy Transactions page by page")
+  void getStockBuyTransactionsPages() {
+    verifyGetPagedResponse(
+        GET_STOCK_BUY_TRANSACTIONS_PAGE, StockBuyTransactionDto.class, StockBuyTransactionDto::id);
+  }
+
+  /** Test for {@link InvestmentController#getStockSellTransactions()} streamed as NDJSON */
+  @Test
+  @DisplayName("Happy Path: Stream Stock Sell Transactions")
+  void streamStockSellTransactions() {
+    verifyGetStreamResponse(GET_STOCK_SELL_TRANSACTIONS, StockSellTransactionDto.class);
+  }
+
+  /**
+   * Test for {@link InvestmentController#getStockSellTransactionsPage(int, String,
+   * ServerHttpRequest)} following the next links till the last page
+   */
+  @Test
+  @DisplayName("Happy Path: Get Stock Sell Transactions page by page")
+  void getStockSellTransactionsPages() {
+    verifyGetPagedResponse(
+        GET_STOCK_SELL_TRANSACTIONS_PAGE,
+        StockSellTransactionDto.class,
+        StockSellTransactionDto::id);
+  }
+
+  /**
+   * Test for {@link InvestmentController#addStockBuyTransaction(StockBuyTransactionDto)}
+   *
+   * @param stockBuyTransactionDto the input / expected stock buy transaction dto
+   */
+  @Test
+  @DisplayName("Happy Path: Add Stock Buy Transaction")
+  void addStockBuyTransaction(final StockBuyTransactionDto stockBuyTransactionDto) {
+    verifyPostResponse(
+        ADD_STOCK_BUY_TRANSACTIONS,
+        dtoToDtoSkipId.transform(stockBuyTransactionDto, StockBuyTransactionDto.class),
+        StockBuyTransactionDto.class);
+  }
+
+  /**
+   * Test for {@link InvestmentController#addStockBuyTransactions(Flux)} with a NDJSON stream
+   *
+   * @param stockBuyTransactions the stock buy transactions to add
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Stock Buy Transactions")
+  void addStockBuyTransactions(final List<StockBuyTransactionDto> stockBuyTransactions) {
+    verifyBulkPostResponse(
+        ADD_STOCK_BUY_TRANSACTIONS_BULK,
+        APPLICATION_NDJSON,
+        stockBuyTransactions,
+        StockBuyTransactionDto.class);
+  }
+
+  /**
+   * Test for {@link InvestmentController#addStockSellTransaction(StockSellTransactionDto)}, the
+   * sell is matched FIFO to the open buy lots of a new stock
+   *
+   * @param stock the stock to sell from
+   */
+  @Test
+  @DisplayName("Happy Path: Add Stock Sell Transaction")
+  void addStockSellTransaction(final StockDto stock) {
+    var stockId =
+        postForBody(ADD_STOCK, dtoToDtoSkipId.transform(stock, StockDto.class), StockDto.class)
+            .id();
+    var buyDate = Instant.parse("2022-01-01T00:00:00Z");
+    var firstLot =
+        postForBody(
+                ADD_STOCK_BUY_TRANSACTIONS,
+                new StockBuyTransactionDto(
+                    null,
+                    stockId,
+                    FixedDecimal.of(100, 0),
+                    10,
+                    FixedDecimal.of(5, 0),
+                    buyDate,
+                    0,
+                    false),
+                StockBuyTransactionDto.class)
+            .id();
+    var secondLot =
+        postForBody(
+                ADD_STOCK_BUY_TRANSACTIONS,
+                new StockBuyTransactionDto(
+                    null,
+                    stockId,
+                    FixedDecimal.of(120, 0),
+                    10,
+                    FixedDecimal.of(10, 0),
+                    buyDate.plusSeconds(1),
+                    0,
+                    false),
+                StockBuyTransactionDto.class)
+            .id();
+
+    // 12 shares sold at 150 less charge 8 = 1792, cost 10 * 100 + 5 + 2 * 120 + 2 = 1247
+    var sold =
+        postForBody(
+            ADD_STOCK_SELL_TRANSACTIONS,
+            new StockSellTransactionDto(
+                null,
+                stockId,
+                null,
+                FixedDecimal.of(150, 0),
+                12,
+                FixedDecimal.of(8, 0),
+                null,
+                null),
+            StockSellTransactionDto.class);
+    assertEquals(List.of(firstLot, secondLot), sold.buyIds());
+    assertEquals(FixedDecimal.of(54_500, 2), sold.profitLoss());
+
+    post(
+            API_NAME_URL_MAP.get(ADD_STOCK_SELL_TRANSACTIONS),
+            new StockSellTransactionDto(
+                null, stockId, null, FixedDecimal.of(150, 0), 9, FixedDecimal.of(8, 0), null, null))
+        .expectStatus()
+        .isBadRequest();
+  }
+
+  /**
+   * Test for {@link InvestmentController#addStockSellTransactions(Flux)} with a JSON array, the
+   * sells of every chunk are matched FIFO to the open buy lots of a new stock, and the quantity
+   * they sold can not be sold again
+   *
+   * @param stock the stock to sell from
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Stock Sell Transactions")
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  void addStockSellTransactions(final StockDto stock) {
+    var stockId =
+        postForBody(ADD_STOCK, dtoToDtoSkipId.transform(stock, StockDto.class), StockDto.class)
+            .id();
+    var buyDate = Instant.parse("2022-03-01T00:00:00Z");
+    // 3 lots of 4 shares at 100 with charge 2
+    for (var i = 0; i < 3; i++) {
+      postForBody(
+          ADD_STOCK_BUY_TRANSACTIONS,
+          new StockBuyTransactionDto(
+              null,
+              stockId,
+              FixedDecimal.of(100, 0),
+              4,
+              FixedDecimal.of(2, 0),
+              buyDate.plusSeconds(i),
+              0,
+              false),
+          StockBuyTransactionDto.class);
+    }
+
+    verifyBulkPostResponse(
+        ADD_STOCK_SELL_TRANSACTIONS_BULK,
+        APPLICATION_JSON,
+        stockSells(stockId, 10),
+        StockSellTransactionDto.class);
+    getWebTestClient()
+        .post()
+        .uri(getBaseUrl() + API_NAME_URL_MAP.get(ADD_STOCK_SELL_TRANSACTIONS_BULK))
+        .contentType(APPLICATION_JSON)
+        .body(Flux.fromIterable(stockSells(stockId, 3)), StockSellTransactionDto.class)
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+  }
+
+  /**
+   * Sells of one share of a stock at 150 with charge 8
+   *
+   * @param stockId the stock id
+   * @param count the number of sells
+   * @return the sells
+   */
+  private static List<StockSellTransactionDto> stockSells(final Integer stockId, final int count) {
+    return IntStream.range(0, count)
+        .mapToObj(
+            i ->
+                new StockSellTransactionDto(
+                    null,
+                    stockId,
+                    null,
+                    FixedDecimal.of(150, 0),
+                    1,
+                    FixedDecimal.of(8, 0),
+                    null,
+                    null))
+        .toList();
+  }
+
+  /**
+   * Test for {@link InvestmentController#importMutualFundBuyTransactions(Flux)}, a trade repeated
+   * in the statement is imported twice, importing the same statement again only finds duplicates
+   * and the holdings get the imported trades once
+   *
+   * @param mutualFund the mutual fund bought
+   */
+  @Test
+  @DisplayName("Happy Path: Import Mutual Fund Buy Transactions from a CSV stream")
+  void importMutualFundBuyTransactions(final MutualFundDto mutualFund) {
+    var mfId =
+        postForBody(
+                ADD_MUTUAL_FUND,
+                new MutualFundDto(
+                    null, "IMPORT-MF", mutualFund.mfName(), mutualFund.amc(), mutualFund.type()),
+                MutualFundDto.class)
+            .id();
+    var statement =
+        String.join(
+            "\n",
+            "mfCode,nav,units,charge,buyDate",
+            "IMPORT-MF,10,10,1,2022-01-01",
+            "IMPORT-MF,12,10,2,2022-01-02T10:15:30Z",
+            "IMPORT-MF,12,ten,2,2022-01-03",
+            "IMPORT-MF,12,10,2,2022-01-02T10:15:30Z",
+            "");
+    assertEquals(
+        new TradeImportResultDto(
+            3L, 0L, 1L, List.of(new TradeImportRejectionDto(4L, "units should be a number : ten"))),
+        importForBody(IMPORT_MF_BUY_TRANSACTIONS, BodyInserters.fromValue(statement)));
+    assertEquals(
+        new TradeImportResultDto(
+            0L, 3L, 1L, List.of(new TradeImportRejectionDto(4L, "units should be a number : ten"))),
+        importForBody(IMPORT_MF_BUY_TRANSACTIONS, BodyInserters.fromValue(statement)));
+    assertThat(getMutualFundHoldings())
+        .filteredOn(holding -> mfId.equals(holding.mfId()))
+        .usingRecursiveFieldByFieldElementComparator(
+            RecursiveComparisonConfiguration.builder()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .build())
+        .containsExactly(
+            new MutualFundPositionDto(
+                mfId, new BigDecimal("30"), new BigDecimal("345"), new BigDecimal("11.5")));
+  }
+
+  /**
+   * Test for {@link InvestmentController#importStockBuyTransactionsFile(Mono)} with a CSV file
+   * uploaded as multipart form data
+   *
+   * @param stock the stock bought
+   */
+  @Test
+  @DisplayName("Happy Path: Import Stock Buy Transactions from an uploaded CSV file")
+  void importStockBuyTransactionsFile(final StockDto stock) {
+    postForBody(
+        ADD_STOCK,
+        new StockDto(null, "IMPORT-ST", stock.stockName(), stock.stockExchange(), stock.broker()),
+        StockDto.class);
+    var body = new MultipartBodyBuilder();
+    body.part(
+        ApiParams.IMPORT_FILE,
+        new ByteArrayResource(
+            String.join(
+                    "\n",
+                    "stockCode,price,quantity,charge,buyDate",
+                    "IMPORT-ST,101.5,10,5.5,2022-01-31",
+                    "UNKNOWN-ST,101.5,10,5.5,2022-01-31",
+                    "IMPORT-ST,102,5,2.5,2022-02-01")
+                .getBytes(StandardCharsets.UTF_8)) {
+          @Override
+          public String getFilename() {
+            return "contract-note.csv";
+          }
+        });
+    assertEquals(
+        new TradeImportResultDto(
+            2L,
+            0L,
+            1L,
+            List.of(new TradeImportRejectionDto(3L, "stockCode is not known : UNKNOWN-ST"))),
+        importForBody(
+            IMPORT_STOCK_BUY_TRANSACTIONS_FILE, BodyInserters.fromMultipartData(body.build())));
+  }
+
+  /**
+   * Post a trade import and get the result
+   *
+   * @param apiName the API Name
+   * @param statement the request body with the statement
+   * @return the import result
+   */
+  private TradeImportResultDto importForBody(
+      final String apiName, final BodyInserter<?, ? super ClientHttpRequest> statement) {
+    return getWebTestClient()
+        .post()
+        .uri(getBaseUrl() + API_NAME_URL_MAP.get(apiName))
+        .contentType(
+            IMPORT_STOCK_BUY_TRANSACTIONS_FILE.equals(apiName)
+                ? MediaType.MULTIPART_FORM_DATA
+                : MediaType.parseMediaType(ApiParams.TEXT_CSV_VALUE))
+        .body(statement)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(TradeImportResultDto.class)
+        .returnResult()
+        .getResponseBody();
+  }
+
+  /**
+   * Test for {@link InvestmentController#ingestMutualFundPrices(String)}, the NAVs of a file in the
+   * inbox are read back on a day and over a range of days
+   *
+   * @param mutualFund the mutual fund priced
+   */
+  @Test
+  @DisplayName("Happy Path: Ingest and Get Mutual Fund Prices")
+  void ingestMutualFundPrices(final MutualFundDto mutualFund) throws IOException {
+    // The price files outlive the database, so every run prices a new fund
+    var code = "NAV" + System.currentTimeMillis();
+    postForBody(
+        ADD_MUTUAL_FUND,
+        new MutualFundDto(null, code, mutualFund.mfName(), mutualFund.amc(), mutualFund.type()),
+        MutualFundDto.class);
+    var file = code + ".txt";
+    Files.createDirectories(priceHistoryProps.inbox());
+    Files.write(
+        priceHistoryProps.inbox().resolve(file),
+        List.of(
+            "Scheme Code;ISIN Div Payout/ ISIN Growth;ISIN Div Reinvestment;Scheme Name;"
+                + "Net Asset Value;Date",
+            code + ";INF209KA12Z1;-;Banking & PSU Debt Fund;105.8886;14-Oct-2022",
+            code + ";INF209KA12Z1;-;Banking & PSU Debt Fund;106.1;17-Oct-2022",
+            "UNKNOWN;INF209K01YM2;-;Banking & PSU Debt Fund;215.1;14-Oct-2022"));
+    assertEquals(
+        new PriceIngestResultDto(3L, 2L, 1L),
+        getWebTestClient()
+            .post()
+            .uri(getBaseUrl() + API_NAME_URL_MAP.get(INGEST_MF_PRICES) + "?file=" + file)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(PriceIngestResultDto.class)
+            .returnResult()
+            .getResponseBody());
+    var first = new PriceDto(code, LocalDate.of(2022, 10, 14), new BigDecimal("105.8886"));
+    get(API_NAME_URL_MAP.get(GET_MF_PRICE) + "?code=" + code + "&date=2022-10-16")
+        .expectStatus()
+        .isOk()
+        .expectBody(PriceDto.class)
+        .isEqualTo(first);
+    // The elements of a decoded list have their decimals read as doubles, without trailing zeros
+    assertThat(
+            get(API_NAME_URL_MAP.get(GET_MF_PRICES)
+                    + "?code="
+                    + code
+                    + "&from=2022-10-01&to=2022-10-31")
+                .expectStatus()
+                .isOk()
+                .expectBodyList(PriceDto.class)
+                .returnResult()
+                .getResponseBody())
+        .usingRecursiveFieldByFieldElementComparator(
+            RecursiveComparisonConfiguration.builder()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .build())
+        .containsExactly(
+            first, new PriceDto(code, LocalDate.of(2022, 10, 17), new BigDecimal("106.1000")));
+    get(API_NAME_URL_MAP.get(GET_MF_PRICE) + "?code=" + code + "&date=2022-10-13")
+        .expectStatus()
+        .isNotFound();
+  }
+
+  /**
+   * Test for {@link InvestmentController#getPortfolioValuation()} and {@link
+   * InvestmentController#getPortfolioReturns()}, a mutual fund holding is valued at the latest
+   * ingested NAV
+   *
+   * @param mutualFund the mutual fund held
+   */
+  @Test
+  @DisplayName("Happy Path: Get Portfolio Valuation at the latest price")
+  void getPortfolioValuation(final MutualFundDto mutualFund) throws IOException {
+    // The price files outlive the database, so every run values a new fund
+    var code = "VAL" + System.currentTimeMillis();
+    var mfId =
+        postForBody(
+                ADD_MUTUAL_FUND,
+                new MutualFundDto(
+                    null, code, mutualFund.mfName(), mutualFund.amc(), mutualFund.type()),
+                MutualFundDto.class)
+            .id();
+    postForBody(
+        ADD_MF_BUY_TRANSACTIONS,
+        new MutualFundBuyTransactionDto(
+            null,
+            mfId,
+            FixedDecimal.of(100, 0),
+            FixedDecimal.of(10, 0),
+            FixedDecimal.ZERO,
+            Instant.parse("2022-10-03T00:00:00Z"),
+            FixedDecimal.ZERO,
+            false),
+        MutualFundBuyTransactionDto.class);
+    var file = code + ".txt";
+    Files.createDirectories(priceHistoryProps.inbox());
+    Files.write(
+        priceHistoryProps.inbox().resolve(file),
+        List.of(
+            "Scheme Code;Scheme Name;Net Asset Value;Date",
+            code + ";Banking & PSU Debt Fund;105.8886;14-Oct-2022",
+            code + ";Banking & PSU Debt Fund;106.1;17-Oct-2022"));
+    getWebTestClient()
+        .post()
+        .uri(getBaseUrl() + API_NAME_URL_MAP.get(INGEST_MF_PRICES) + "?file=" + file)
+        .exchange()
+        .expectStatus()
+        .isOk();
+    var valuation =
+        getWebTestClient()
+            .get()
+            .uri(getBaseUrl() + API_NAME_URL_MAP.get(GET_PORTFOLIO_VALUATION))
+            .accept(APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(PortfolioValuationDto.class)
+            .returnResult()
+            .getResponseBody();
+    assertNotNull(valuation);
+    assertThat(valuation.holdings())
+        .filteredOn(holding -> code.equals(holding.code()))
+        .singleElement()
+        .satisfies(
+            holding -> {
+              assertEquals(0, new BigDecimal("1061.00").compareTo(holding.currentValue()));
+              assertEquals(0, new BigDecimal("61.00").compareTo(holding.unrealizedGain()));
+              assertEquals(0, new BigDecimal("6.10").compareTo(holding.absoluteReturn()));
+            });
+    var returns =
+        get(API_NAME_URL_MAP.get(GET_PORTFOLIO_RETURNS))
+            .expectStatus()
+            .isOk()
+            .expectBody(PortfolioReturnsDto.class)
+            .returnResult()
+            .getResponseBody();
+    assertNotNull(returns);
+    // Bought at 100 and valued at 106.1, the annualized return is positive but below the gain
+    assertThat(returns.funds())
+        .filteredOn(fund -> mfId.equals(fund.mfId()))
+        .singleElement()
+        .satisfies(fund -> assertThat(fund.xirr()).isPositive().isLessThan(new BigDecimal("6.10")));
+  }
+
+  /**
+   * Test for {@link InvestmentController#getInvestmentSummary()}, the asset class totals add up to
+   * the summary total
+   */
+  @Test
+  @DisplayName("Happy Path: Get Investment Summary")
+  void getInvestmentSummary() {
+    var summary =
+        get(API_NAME_URL_MAP.get(GET_INVESTMENT_SUMMARY))
+            .expectStatus()
+            .isOk()
+            .expectBody(InvestmentSummaryDto.class)
+            .returnResult()
+            .getResponseBody();
+    assertNotNull(summary);
+    assertEquals(
+        List.of(AssetClass.values()),
+        summary.assetClasses().stream().map(AssetClassTotalDto::assetClass).toList());
+    assertEquals(
+        0,
+        summary.assetClasses().stream()
+            .map(AssetClassTotalDto::total)
+            .reduce(BigDecimal.ZERO, BigDecimal::add)
+            .compareTo(summary.total()));
+  }
 }
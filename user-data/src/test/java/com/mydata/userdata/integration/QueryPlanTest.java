@@ -0,0 +1,181 @@
+package com.mydata.userdata.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import com.mydata.userdata.pagination.KeysetCursor;
+import com.mydata.userdata.repository.DepositAccountRepository;
+import com.mydata.userdata.repository.InvestmentSummaryRepository;
+import com.mydata.userdata.repository.LoanRepository;
+import com.mydata.userdata.repository.MiscellaneousRepository;
+import com.mydata.userdata.repository.MutualFundBuyTransactionRepository;
+import com.mydata.userdata.repository.MutualFundRepository;
+import com.mydata.userdata.repository.MutualFundSellTransactionRepository;
+import com.mydata.userdata.repository.SavingAccountRepository;
+import com.mydata.userdata.repository.StockBuyTransactionRepository;
+import com.mydata.userdata.repository.StockRepository;
+import com.mydata.userdata.repository.StockSellTransactionRepository;
+import io.r2dbc.postgresql.codec.Json;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.spi.ConnectionFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * Verify the repository queries are served by an index on a large seeded dataset. Unfiltered {@code
+ * findAll} reads are left out, as they read the whole table by design.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"server.port=0", "server.ssl.enabled=false"})
+@Isolated
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class QueryPlanTest extends IntegrationTestBase {
+
+  private static final String SEQ_SCAN = "\"Seq Scan\"";
+  private static final int PAGE_LIMIT = 11;
+
+  /** Only every 100th account is active and every 100th buy transaction is not sold out */
+  private static final List<String> SEED_SQL =
+      List.of(
+          "insert into deposit_account (bank_name, account_number, balance, active)"
+              + " select 'Bank', 'DA' || i, i, i % 100 = 0 from generate_series(1, 20000) i",
+          "insert into loan_account (bank_name, account_number, balance, active)"
+              + " select 'Bank', 'LA' || i, -i, i % 100 = 0 from generate_series(1, 20000) i",
+          "insert into miscellaneous (investment_name, balance, active)"
+              + " select 'Investment ' || i, i, i % 100 = 0 from generate_series(1, 20000) i",
+          "insert into saving_account (bank_name, account_number, balance, active)"
+              + " select 'Bank', 'SA' || i, i, i % 100 = 0 from generate_series(1, 20000) i",
+          "insert into mutual_fund (mf_code, mf_name, amc, type, active)"
+              + " select 'MF' || i, 'Fund ' || i, 'AMC', 'Equity', i % 100 = 0"
+              + " from generate_series(1, 20000) i",
+          "insert into stock (stock_code, stock_name, stock_exchange, broker, active)"
+              + " select 'ST' || i, 'Stock ' || i, 'NSE', 'Broker', i % 100 = 0"
+              + " from generate_series(1, 20000) i",
+          "insert into mutual_fund_buy_transaction"
+              + " (mf_id, nav, units, charge, buy_date, sold_units, is_sold_out)"
+              + " select i % 4 + 1, 10, 1, 0, timestamp '2020-01-01' + i * interval '1 hour',"
+              + " 0, i % 100 <> 0 from generate_series(1, 20000) i",
+          "insert into mutual_fund_sell_transaction (mf_id, buy_ids, nav, units, charge)"
+              + " select i % 4 + 1, array[i], 10, 1, 0 from generate_series(1, 20000) i",
+          "insert into stock_buy_transaction"
+              + " (stock_id, price, quantity, charge, buy_date, sold_quantity, is_sold_out)"
+              + " select i % 4 + 1, 10, 1, 0, timestamp '2020-01-01' + i * interval '1 hour',"
+              + " 0, i % 100 <> 0 from generate_series(1, 20000) i",
+          "insert into stock_sell_transaction"
+              + " (stock_id, buy_ids, price, quantity, charge, profit_loss)"
+              + " select i % 4 + 1, array[i], 10, 1, 0, 0 from generate_series(1, 20000) i",
+          "analyze");
+
+  @Autowired private ConnectionFactory connectionFactory;
+  @Autowired private DatabaseClient databaseClient;
+  @Autowired private R2dbcConverter converter;
+
+  /**
+   * Run the repository queries with the parameters of their hot path. Account and instrument reads
+   * always ask for active rows and the buy transactions are mostly read for not sold out ones.
+   *
+   * @param repositories the factory of the repository interfaces
+   * @param client the database client of the other repositories
+   * @return the queries
+   */
+  private static List<Publisher<?>> repositoryQueries(
+      final RepositoryFactorySupport repositories, final DatabaseClient client) {
+    var depositAccounts = repositories.getRepository(DepositAccountRepository.class);
+    var loans = repositories.getRepository(LoanRepository.class);
+    var miscellaneous = repositories.getRepository(MiscellaneousRepository.class);
+    var savingAccounts = repositories.getRepository(SavingAccountRepository.class);
+    var mfBuys = repositories.getRepository(MutualFundBuyTransactionRepository.class);
+    var stockBuys = repositories.getRepository(StockBuyTransactionRepository.class);
+    return List.of(
+        depositAccounts.findByActive(Boolean.TRUE),
+        depositAccounts.findPageByActive(Boolean.TRUE, 0, PAGE_LIMIT),
+        loans.findByActive(Boolean.TRUE),
+        loans.findPageByActive(Boolean.TRUE, 0, PAGE_LIMIT),
+        miscellaneous.findByActive(Boolean.TRUE),
+        miscellaneous.findPageByActive(Boolean.TRUE, 0, PAGE_LIMIT),
+        savingAccounts.findByActive(Boolean.TRUE),
+        savingAccounts.findPageByActive(Boolean.TRUE, 0, PAGE_LIMIT),
+        repositories.getRepository(MutualFundRepository.class).findByActive(Boolean.TRUE),
+        repositories.getRepository(StockRepository.class).findByActive(Boolean.TRUE),
+        mfBuys.findByIsSoldOut(Boolean.FALSE),
+        mfBuys.findPageByIsSoldOut(
+            Boolean.FALSE, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), PAGE_LIMIT),
+        mfBuys.findOpenLotsForUpdate(
+            1, null, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), PAGE_LIMIT),
+        repositories
+            .getRepository(MutualFundSellTransactionRepository.class)
+            .findPage(0, PAGE_LIMIT),
+        stockBuys.findByIsSoldOut(Boolean.FALSE),
+        stockBuys.findPageByIsSoldOut(
+            Boolean.FALSE, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), PAGE_LIMIT),
+        stockBuys.findOpenLotsForUpdate(
+            1, null, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), PAGE_LIMIT),
+        repositories.getRepository(StockSellTransactionRepository.class).findPage(0, PAGE_LIMIT),
+        new InvestmentSummaryRepository(client).findAccountTotals());
+  }
+
+  /**
+   * Test the query plan of every repository query, none of them should scan the whole table. The
+   * statements are the ones the repositories execute, recorded with their bindings by a proxy of
+   * the connections, so a changed query is verified as it is.
+   */
+  @Test
+  @DisplayName("Repository queries do not fall back to a sequential scan")
+  void repositoryQueriesUseIndexes() {
+    Flux.fromIterable(SEED_SQL).concatMap(sql -> databaseClient.sql(sql).then()).then().block();
+    var dialect = DialectResolver.getDialect(connectionFactory);
+    var statements = new CopyOnWriteArrayList<QueryInfo>();
+    var client =
+        DatabaseClient.builder()
+            .connectionFactory(
+                ProxyConnectionFactory.builder(connectionFactory)
+                    .onBeforeQuery(execution -> statements.addAll(execution.getQueries()))
+                    .build())
+            .bindMarkers(dialect.getBindMarkersFactory())
+            .build();
+    var queries =
+        repositoryQueries(
+            new R2dbcRepositoryFactory(new R2dbcEntityTemplate(client, dialect, converter)),
+            client);
+    Flux.fromIterable(queries).concatMap(Flux::from).then().block();
+    assertThat(statements).hasSameSizeAs(queries);
+    assertAll(statements.stream().map(statement -> (Executable) () -> verifyNoSeqScan(statement)));
+  }
+
+  /**
+   * Verify the plan of the statement does not contain a sequential scan
+   *
+   * @param statement the statement with its bindings
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  private void verifyNoSeqScan(final QueryInfo statement) {
+    var spec = databaseClient.sql("explain (format json) " + statement.getQuery());
+    for (var bindings : statement.getBindingsList()) {
+      for (var binding : bindings.getIndexBindings()) {
+        var value = binding.getBoundValue();
+        spec =
+            value.isNull()
+                ? spec.bindNull((Integer) binding.getKey(), value.getNullType())
+                : spec.bind((Integer) binding.getKey(), value.getValue());
+      }
+    }
+    var plan = spec.map(row -> row.get(0, Json.class)).one().map(Json::asString).block();
+    assertThat(plan).as(statement.getQuery()).isNotNull().doesNotContain(SEQ_SCAN);
+  }
+}
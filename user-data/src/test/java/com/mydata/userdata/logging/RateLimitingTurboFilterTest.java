@@ -0,0 +1,64 @@
+package com.mydata.userdata.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link RateLimitingTurboFilter} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class RateLimitingTurboFilterTest {
+
+  private static final String FORMAT = "Executing API: {}";
+  private static final Object[] PARAMS = {"GetStocks"};
+  private static final String CONTROLLER = "com.mydata.userdata.controller.Controller";
+
+  private final AtomicLong clock = new AtomicLong(10_000);
+  private final LoggerContext context = new LoggerContext();
+  private final RateLimitingTurboFilter filter = new RateLimitingTurboFilter(clock::get);
+
+  @BeforeEach
+  void setUp() {
+    context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+    filter.setLoggerPrefix("com.mydata.userdata.controller");
+    filter.setPermitsPerSecond(2);
+  }
+
+  /** Test for {@link RateLimitingTurboFilter#decide} */
+  @Test
+  @DisplayName("The events over the permits of a second are dropped until the next second")
+  void decide() {
+    assertEquals(FilterReply.NEUTRAL, decide(CONTROLLER, Level.INFO));
+    assertEquals(FilterReply.NEUTRAL, decide(CONTROLLER, Level.INFO));
+    assertEquals(FilterReply.DENY, decide(CONTROLLER, Level.INFO));
+    clock.addAndGet(999);
+    assertEquals(FilterReply.DENY, decide(CONTROLLER, Level.INFO));
+    clock.addAndGet(1);
+    assertEquals(FilterReply.NEUTRAL, decide(CONTROLLER, Level.INFO));
+  }
+
+  /** Test for {@link RateLimitingTurboFilter#decide} of the events which are not limited */
+  @Test
+  @DisplayName("Warnings, disabled levels, enabled checks and other loggers are not limited")
+  void notLimited() {
+    for (var i = 0; i < 3; i++) {
+      assertEquals(FilterReply.NEUTRAL, decide(CONTROLLER, Level.WARN));
+      assertEquals(FilterReply.NEUTRAL, decide(CONTROLLER, Level.DEBUG));
+      assertEquals(
+          FilterReply.NEUTRAL,
+          filter.decide(null, context.getLogger(CONTROLLER), Level.INFO, null, null, null));
+      assertEquals(FilterReply.NEUTRAL, decide("com.mydata.userdata.service.Service", Level.INFO));
+    }
+    assertEquals(FilterReply.NEUTRAL, decide(CONTROLLER, Level.INFO));
+  }
+
+  private FilterReply decide(final String logger, final Level level) {
+    return filter.decide(null, context.getLogger(logger), level, FORMAT, PARAMS, null);
+  }
+}
@@ -0,0 +1,225 @@
+package com.mydata.userdata.lot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.mydata.userdata.pagination.KeysetCursor;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link FifoLotMatcher} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class FifoLotMatcherTest {
+
+  private static final int BATCH_SIZE = 3;
+  private static final Instant START = Instant.parse("2022-01-01T00:00:00Z");
+
+  /** 10 lots of 10 units each, the third one is partially sold */
+  private final List<OpenLot> queue =
+      IntStream.rangeClosed(1, 10)
+          .mapToObj(
+              id ->
+                  new OpenLot(
+                      id,
+                      START.plusSeconds(id),
+                      BigDecimal.TEN,
+                      3 == id ? BigDecimal.valueOf(4) : BigDecimal.TEN,
+                      BigDecimal.valueOf(id),
+                      BigDecimal.ONE))
+          .toList();
+
+  private final List<KeysetCursor> fetched = new ArrayList<>();
+
+  private final BiFunction<KeysetCursor, Integer, Flux<OpenLot>> fetchBatch =
+      (after, limit) -> {
+        fetched.add(after);
+        return Flux.fromIterable(queue)
+            .filter(lot -> lot.id() > after.id())
+            .take(limit.longValue());
+      };
+
+  /** Test for {@link FifoLotMatcher#openLots(BiFunction, int)} */
+  @Test
+  @DisplayName("Open lots are read batch by batch after the last lot of the previous batch")
+  void openLots() {
+    StepVerifier.create(FifoLotMatcher.openLots(fetchBatch, BATCH_SIZE))
+        .expectNextSequence(queue)
+        .verifyComplete();
+    assertThat(fetched)
+        .containsExactly(
+            KeysetCursor.FIRST,
+            new KeysetCursor(START.plusSeconds(3), 3),
+            new KeysetCursor(START.plusSeconds(6), 6),
+            new KeysetCursor(START.plusSeconds(9), 9),
+            new KeysetCursor(START.plusSeconds(10), 10));
+  }
+
+  /** Test for {@link FifoLotMatcher#openLots(BiFunction, int)} with a short batch */
+  @Test
+  @DisplayName("Open lots are read until a batch is empty, a short batch does not end them")
+  void openLotsAfterShortBatch() {
+    // the lots 2 and 3 were sold out by a concurrent sell while their locks were awaited
+    BiFunction<KeysetCursor, Integer, Flux<OpenLot>> lockedBatch =
+        (after, limit) ->
+            fetchBatch
+                .apply(after, limit)
+                .filter(lot -> KeysetCursor.FIRST != after || lot.id() == 1);
+    StepVerifier.create(FifoLotMatcher.openLots(lockedBatch, BATCH_SIZE))
+        .expectNextSequence(queue)
+        .verifyComplete();
+  }
+
+  /** Test for {@link FifoLotMatcher#match(Flux, BigDecimal, Instant)} */
+  @Test
+  @DisplayName("Units are matched to the oldest lots first")
+  void match() {
+    StepVerifier.create(
+            FifoLotMatcher.match(
+                FifoLotMatcher.openLots(fetchBatch, BATCH_SIZE), BigDecimal.valueOf(25), null))
+        .assertNext(
+            matches ->
+                assertThat(matches)
+                    .extracting(match -> match.lot().id(), LotMatch::units)
+                    .containsExactly(
+                        tuple(1, BigDecimal.TEN),
+                        tuple(2, BigDecimal.TEN),
+                        tuple(3, BigDecimal.valueOf(4)),
+                        tuple(4, BigDecimal.ONE)))
+        .verifyComplete();
+    assertEquals(2, fetched.size(), "the lots after the matched batch should not be read");
+  }
+
+  /**
+   * Test for {@link FifoLotMatcher#match(Flux, BigDecimal, Instant)} with sold out lots in the
+   * queue
+   */
+  @Test
+  @DisplayName("Lots without open units are skipped")
+  void matchSkipsSoldOutLots() {
+    var soldOut = new OpenLot(0, START, BigDecimal.TEN, BigDecimal.ZERO, BigDecimal.ONE, null);
+    StepVerifier.create(
+            FifoLotMatcher.match(Flux.just(soldOut, queue.get(0)), BigDecimal.valueOf(5), null))
+        .assertNext(
+            matches ->
+                assertThat(matches)
+                    .containsExactly(new LotMatch(queue.get(0), BigDecimal.valueOf(5), null)))
+        .verifyComplete();
+  }
+
+  /** Test for {@link FifoLotMatcher#match(Flux, BigDecimal, Instant)} with more units than open */
+  @Test
+  @DisplayName("Selling more units than open is rejected")
+  void matchNotEnoughUnits() {
+    StepVerifier.create(
+            FifoLotMatcher.match(
+                FifoLotMatcher.openLots(fetchBatch, BATCH_SIZE), BigDecimal.valueOf(95), null))
+        .verifyError(ServerWebInputException.class);
+  }
+
+  /** Test for {@link FifoLotMatcher#match(Flux, BigDecimal, Instant)} with a sold date */
+  @Test
+  @DisplayName("Units are matched to the lots bought by the sold date only")
+  void matchBySoldDate() {
+    StepVerifier.create(
+            FifoLotMatcher.match(
+                FifoLotMatcher.openLots(fetchBatch, BATCH_SIZE),
+                BigDecimal.valueOf(25),
+                START.plusSeconds(2)))
+        .verifyError(ServerWebInputException.class);
+    assertEquals(1, fetched.size(), "the lots after a lot bought later should not be read");
+  }
+
+  /**
+   * Test for {@link FifoLotMatcher#match(Flux, BigDecimal, Instant)} of a sell dated before the
+   * only open lot
+   */
+  @Test
+  @DisplayName("A back dated sell does not take a later buy")
+  void matchBackDated() {
+    StepVerifier.create(FifoLotMatcher.match(Flux.just(queue.get(0)), BigDecimal.ONE, START))
+        .verifyError(ServerWebInputException.class);
+  }
+
+  /**
+   * Test for {@link FifoLotMatcher#match(Flux, BigDecimal, Instant)} with invalid units
+   *
+   * @param units the sold units
+   */
+  @ParameterizedTest
+  @NullSource
+  @ValueSource(strings = {"0", "-1"})
+  @DisplayName("Selling no units is rejected")
+  void matchInvalidUnits(final BigDecimal units) {
+    StepVerifier.create(FifoLotMatcher.match(Flux.fromIterable(queue), units, null))
+        .verifyError(ServerWebInputException.class);
+  }
+
+  /** Test for {@link FifoLotMatcher#split(List, List, List)} */
+  @Test
+  @DisplayName("Lots matched to several sells are split between them in their order")
+  void split() {
+    var matches =
+        List.of(
+            new LotMatch(queue.get(0), BigDecimal.TEN),
+            new LotMatch(queue.get(1), BigDecimal.TEN),
+            new LotMatch(queue.get(2), BigDecimal.valueOf(4)));
+    assertThat(
+            FifoLotMatcher.split(
+                matches,
+                List.of(BigDecimal.valueOf(3), BigDecimal.valueOf(17), BigDecimal.ONE),
+                Arrays.asList(null, START.plusSeconds(2), START.plusSeconds(3))))
+        .containsExactly(
+            List.of(new LotMatch(queue.get(0), BigDecimal.valueOf(3))),
+            List.of(
+                new LotMatch(queue.get(0), BigDecimal.valueOf(7)),
+                new LotMatch(queue.get(1), BigDecimal.TEN)),
+            List.of(new LotMatch(queue.get(2), BigDecimal.ONE)));
+  }
+
+  /** Test for {@link FifoLotMatcher#split(List, List, List)} with a back dated sell */
+  @Test
+  @DisplayName("A sell of a chunk does not take a lot bought after its sold date")
+  void splitBackDated() {
+    var matches =
+        List.of(
+            new LotMatch(queue.get(0), BigDecimal.TEN),
+            new LotMatch(queue.get(1), BigDecimal.TEN));
+    var units = List.of(BigDecimal.valueOf(5), BigDecimal.valueOf(15));
+    var soldDates = List.of(START.plusSeconds(2), START.plusSeconds(1));
+    assertThrows(
+        ServerWebInputException.class, () -> FifoLotMatcher.split(matches, units, soldDates));
+  }
+
+  /** Test for {@link OpenLot#costOf(BigDecimal)} and {@link LotMatch#cost()} */
+  @Test
+  @DisplayName("Lot cost includes the share of the buy charge")
+  void cost() {
+    var lot =
+        new OpenLot(
+            1,
+            START,
+            BigDecimal.valueOf(4),
+            BigDecimal.valueOf(4),
+            BigDecimal.valueOf(10.5),
+            BigDecimal.valueOf(2));
+    assertThat(new LotMatch(lot, BigDecimal.valueOf(3)).cost()).isEqualByComparingTo("33");
+    var noUnits =
+        new OpenLot(1, START, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.TEN, BigDecimal.ONE);
+    assertThat(noUnits.costOf(BigDecimal.ONE)).isEqualByComparingTo(BigDecimal.TEN);
+  }
+}
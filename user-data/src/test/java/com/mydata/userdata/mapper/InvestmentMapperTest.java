@@ -0,0 +1,284 @@
+package com.mydata.userdata.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.userdata.dto.*;
+import com.mydata.userdata.entity.*;
+import com.mydata.userdata.lot.OpenLot;
+import com.mydata.userdata.utils.GenerateFrom;
+import com.mydata.userdata.utils.InvestmentParameterResolver;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/** Test class for {@link InvestmentMapper} */
+@ExtendWith(InvestmentParameterResolver.class)
+class InvestmentMapperTest {
+
+  private static final String ENTITY = "entity";
+  private static final String DTO = "dto";
+  private static final String[] NEW_ENTITY_FIELDS = {"id", "createdAt", "modifiedAt"};
+
+  /**
+   * Test for {@link InvestmentMapper#toDto(DepositAccount)}
+   *
+   * @param entity the deposit account entity
+   * @param expected the expected account dto
+   */
+  @Test
+  @DisplayName("Map Deposit Account to DTO")
+  void depositAccountToDto(
+      final DepositAccount entity, @GenerateFrom(ENTITY) final AccountDto expected) {
+    assertEquals(expected, InvestmentMapper.toDto(entity));
+  }
+
+  /**
+   * Test for {@link InvestmentMapper#toDto(Loan)}
+   *
+   * @param entity the loan entity
+   * @param expected the expected account dto
+   */
+  @Test
+  @DisplayName("Map Loan Account to DTO")
+  void loanToDto(final Loan entity, @GenerateFrom(ENTITY) final AccountDto expected) {
+    assertEquals(expected, InvestmentMapper.toDto(entity));
+  }
+
+  /**
+   * Test for {@link InvestmentMapper#toDto(SavingAccount)}
+   *
+   * @param entity the saving account entity
+   * @param expected the expected account dto
+   */
+  @Test
+  @DisplayName("Map Saving Account to DTO")
+  void savingAccountToDto(
+      final SavingAccount entity, @GenerateFrom(ENTITY) final AccountDto expected) {
+    assertEquals(expected, InvestmentMapper.toDto(entity));
+  }
+
+  /**
+   * Test for {@link InvestmentMapper#toDto(MutualFundSellTransaction)}
+   *
+   * @param entity the mutual fund sell transaction entity
+   * @param expected the expected mutual fund sell transaction dto
+   */
+  @Test
+  @DisplayName("Map Mutual Fund Sell Transaction to DTO")
+  void mutualFundSellTransactionToDto(
+      final MutualFundSellTransaction entity,
+      @GenerateFrom(ENTITY) final MutualFundSellTransactionDto expected) {
+    assertEquals(expected, InvestmentMapper.toDto(entity));
+  }
+
+  /**
+   * Test for {@link InvestmentMapper#toDto(StockBuyTransaction)}
+   *
+   * @param entity the stock buy transaction entity
+   * @param expected the expected stock buy transaction dto
+   */
+  @Test
+  @DisplayName("Map Stock Buy Transaction to DTO")
+  void stockBuyTransactionToDto(
+      final StockBuyTransaction entity,
+      @GenerateFrom(ENTITY) final StockBuyTransactionDto expected) {
+    assertEquals(expected, InvestmentMapper.toDto(entity));
+  }
+
+  /**
+   * Test for {@link InvestmentMapper#toDto(StockSellTransaction)}
+   *
+   * @param entity the stock sell transaction entity
+   * @param expected the expected stock sell transaction dto
+   */
+  @Test
+  @DisplayName("Map Stock Sell Transaction to DTO")
+  void stockSellTransactionToDto(
+      final StockSellTransaction entity,
+      @GenerateFrom(ENTITY) final StockSellTransactionDto expected) {
+    assertEquals(expected, InvestmentMapper.toDto(entity));
+  }
+
+  /**
+   * Test for {@link InvestmentMapper#toDepositAccount(AccountDto)}
+   *
+   * @param dto the account dto
+   * @param expected the expected deposit account, without id and audit dates
+   */
+  @Test
+  @DisplayName("Map DTO to new Deposit Account")
+  void dtoToDepositAccount(
+      final AccountDto dto,
+      @GenerateFrom(
+              value = DTO,
+              skipFields = {"id", "createdAt", "modifiedAt", "active"})
+          final DepositAccount expected) {
+    var entity = InvestmentMapper.toDepositAccount(dto);
+    assertThat(entity).usingRecursiveComparison().ignoringFields("active").isEqualTo(expected);
+    assertThat(entity).extracting(DepositAccount::active).isEqualTo(Boolean.TRUE);
+  }
+
+  /**
+   * Test for {@link InvestmentMapper#toMutualFundSellTransaction(MutualFundSellTransactionDto)}
+   *
+   * @param dto the mutual fund sell transaction dto
+   */
+  @Test
+  @DisplayName("Map DTO to new Mutual Fund Sell Transaction")
+  void dtoToMutualFundSellTransaction(final MutualFundSellTransactionDto dto) {
+    var entity = InvestmentMapper.toMutualFundSellTransaction(dto);
+    assertThat(entity)
+        .hasAllNullFieldsOrPropertiesExcept(
+            "mfId", "buyIds", "nav", "units", "charge", "soldDate", "profitLoss");
+    assertThat(entity.buyIds())
+        .containsExactlyElementsOf(dto.buyIds().stream().map(id -> (Integer) id).toList());
+  }
+
+  /**
+   * Test for {@link InvestmentMapper#toMutualFundSellTransaction(MutualFundSellTransactionDto)}
+   * when the request has no buy ids.
+   *
+   * @param dto the mutual fund sell transaction dto
+   */
+  @Test
+  @DisplayName("Map DTO without buy ids to new Mutual Fund Sell Transaction")
+  void dtoToMutualFundSellTransactionWithoutBuyIds(final MutualFundSellTransactionDto dto) {
+    var withoutBuyIds =
+        new MutualFundSellTransactionDto(
+            dto.id(),
+            dto.mfId(),
+            null,
+            dto.nav(),
+            dto.units(),
+            dto.charge(),
+            dto.soldDate(),
+            dto.profitLoss());
+    assertEquals(List.of(), InvestmentMapper.toMutualFundSellTransaction(withoutBuyIds).buyIds());
+  }
+
+  /**
+   * Test for {@link InvestmentMapper#toStockSellTransaction(StockSellTransactionDto)}
+   *
+   * @param dto the stock sell transaction dto
+   */
+  @Test
+  @DisplayName("Map DTO to new Stock Sell Transaction")
+  void dtoToStockSellTransaction(final StockSellTransactionDto dto) {
+    var entity = InvestmentMapper.toStockSellTransaction(dto);
+    assertThat(entity)
+        .hasAllNullFieldsOrPropertiesExcept(
+            "stockId", "buyIds", "price", "quantity", "charge", "soldDate", "profitLoss");
+    assertThat(entity.buyIds())
+        .containsExactlyElementsOf(dto.buyIds().stream().map(id -> (Integer) id).toList());
+  }
+
+  /**
+   * Test for the DTO to new entity mappings, id and audit dates should never be copied.
+   *
+   * @param account the account dto
+   * @param misc the miscellaneous dto
+   * @param mf the mutual fund dto
+   * @param mfBuy the mutual fund buy transaction dto
+   * @param stock the stock dto
+   * @param stockBuy the stock buy transaction dto
+   */
+  @Test
+  @DisplayName("Map DTOs to new entities without id and audit dates")
+  void dtoToNewEntities(
+      final AccountDto account,
+      final MiscellaneousDto misc,
+      final MutualFundDto mf,
+      final MutualFundBuyTransactionDto mfBuy,
+      final StockDto stock,
+      final StockBuyTransactionDto stockBuy) {
+    List.of(
+            InvestmentMapper.toLoan(account),
+            InvestmentMapper.toSavingAccount(account),
+            InvestmentMapper.toMiscellaneous(misc),
+            InvestmentMapper.toMutualFund(mf),
+            InvestmentMapper.toMutualFundBuyTransaction(mfBuy),
+            InvestmentMapper.toStock(stock),
+            InvestmentMapper.toStockBuyTransaction(stockBuy))
+        .forEach(entity -> assertThat(entity).extracting(NEW_ENTITY_FIELDS).containsOnlyNulls());
+  }
+
+  /**
+   * Test for {@link InvestmentMapper#toOpenLot(MutualFundBuyTransaction)}
+   *
+   * @param entity the mutual fund buy transaction entity
+   */
+  @Test
+  @DisplayName("Map Mutual Fund Buy Transaction to an open lot")
+  void mutualFundBuyTransactionToOpenLot(final MutualFundBuyTransaction entity) {
+    var lot = InvestmentMapper.toOpenLot(entity);
+    assertThat(lot)
+        .extracting(OpenLot::id, OpenLot::date)
+        .containsExactly(entity.id(), entity.buyDate());
+    assertThat(lot.openUnits())
+        .isEqualByComparingTo(
+            entity.units().toBigDecimal().subtract(entity.soldUnits().toBigDecimal()));
+    var unsold =
+        new MutualFundBuyTransaction(
+            entity.id(),
+            entity.mfId(),
+            null,
+            entity.units(),
+            entity.charge(),
+            entity.buyDate(),
+            null,
+            null,
+            null,
+            null);
+    assertThat(InvestmentMapper.toOpenLot(unsold))
+        .extracting(OpenLot::openUnits, OpenLot::price)
+        .containsExactly(entity.units().toBigDecimal(), BigDecimal.ZERO);
+  }
+
+  /**
+   * Test for {@link InvestmentMapper#toOpenLot(StockBuyTransaction)}
+   *
+   * @param entity the stock buy transaction entity
+   */
+  @Test
+  @DisplayName("Map Stock Buy Transaction to an open lot")
+  void stockBuyTransactionToOpenLot(final StockBuyTransaction entity) {
+    assertThat(InvestmentMapper.toOpenLot(entity))
+        .extracting(OpenLot::id, OpenLot::date, OpenLot::openUnits)
+        .containsExactly(
+            entity.id(),
+            entity.buyDate(),
+            BigDecimal.valueOf(entity.quantity() - entity.soldQuantity()));
+    var unsold =
+        new StockBuyTransaction(
+            entity.id(),
+            entity.stockId(),
+            entity.price(),
+            entity.quantity(),
+            entity.charge(),
+            entity.buyDate(),
+            null,
+            null,
+            null,
+            null);
+    assertThat(InvestmentMapper.toOpenLot(unsold).openUnits())
+        .isEqualTo(BigDecimal.valueOf(entity.quantity()));
+  }
+
+  /** Test for {@link InvestmentMapper#toDto(MutualFundHolding)} */
+  @Test
+  @DisplayName("Map Mutual Fund Holding to DTO")
+  void mutualFundHoldingToDto() {
+    assertEquals(
+        new MutualFundPositionDto(
+            1, new BigDecimal("3.0000"), new BigDecimal("31.67"), new BigDecimal("10.5556")),
+        InvestmentMapper.toDto(
+            new MutualFundHolding(
+                1, new BigDecimal("3.0000"), new BigDecimal("31.6666666667"), null)));
+    assertEquals(
+        new MutualFundPositionDto(2, BigDecimal.ZERO, new BigDecimal("0.00"), BigDecimal.ZERO),
+        InvestmentMapper.toDto(new MutualFundHolding(2, BigDecimal.ZERO, BigDecimal.ZERO, null)));
+  }
+}
@@ -0,0 +1,195 @@
+package com.mydata.userdata.metrics;
+
+import static com.mydata.userdata.common.ApiNames.GET_MF_BUY_TRANSACTIONS;
+import static com.mydata.userdata.common.ApiNames.GET_MF_BUY_TRANSACTIONS_PAGE;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerResult;
+import org.springframework.web.reactive.HandlerResultHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link EndpointMetricsResultHandler} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class EndpointMetricsResultHandlerTest {
+
+  private static final String API = "api";
+  private static final String BUY_TRANSACTIONS = "buyTransactions";
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final TestController controller = new TestController();
+  private final MockServerWebExchange exchange =
+      MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+  private EndpointMetricsResultHandler handler;
+
+  /** Executes before each test */
+  @BeforeEach
+  void setUp() {
+    var beanFactory = new StaticListableBeanFactory();
+    handler =
+        new EndpointMetricsResultHandler(
+            registry, beanFactory.getBeanProvider(HandlerResultHandler.class));
+    beanFactory.addBean("endpointMetricsResultHandler", handler);
+    beanFactory.addBean("writingResultHandler", new WritingResultHandler());
+    handler.afterSingletonsInstantiated();
+  }
+
+  /** Test for {@link EndpointMetricsResultHandler#supports} */
+  @Test
+  @DisplayName("Only the methods with a mapping name are measured")
+  void supports() throws NoSuchMethodException {
+    assertTrue(handler.supports(result(BUY_TRANSACTIONS, Flux.empty())));
+    assertFalse(handler.supports(result("unnamed", Flux.empty())));
+  }
+
+  /** Test for {@link EndpointMetricsResultHandler#handleResult} of a list */
+  @Test
+  @DisplayName("A list is timed by stage and its records are counted")
+  void list() throws NoSuchMethodException {
+    var result = result(BUY_TRANSACTIONS, controller.buyTransactions());
+    StepVerifier.create(handler.handleResult(exchange, result)).verifyComplete();
+    assertEquals(
+        1,
+        registry
+            .get(EndpointMeters.REQUESTS_METER)
+            .tags(API, GET_MF_BUY_TRANSACTIONS, "outcome", "success")
+            .timer()
+            .count());
+    assertEquals(1, stageCount(GET_MF_BUY_TRANSACTIONS, "database"));
+    assertEquals(1, stageCount(GET_MF_BUY_TRANSACTIONS, "serialization"));
+    assertEquals(3, rowCount(GET_MF_BUY_TRANSACTIONS));
+    assertEquals(0, inFlight(GET_MF_BUY_TRANSACTIONS));
+  }
+
+  /** Test for {@link EndpointMetricsResultHandler#handleResult} of a page */
+  @Test
+  @DisplayName("The records of a page are the elements of its body")
+  void page() throws NoSuchMethodException {
+    var result = result("buyTransactionsPage", controller.buyTransactionsPage());
+    StepVerifier.create(handler.handleResult(exchange, result)).verifyComplete();
+    assertEquals(2, rowCount(GET_MF_BUY_TRANSACTIONS_PAGE));
+  }
+
+  /** Test for {@link EndpointMetricsResultHandler#handleResult} of a failed list */
+  @Test
+  @DisplayName("A failed request is timed with the failure outcome")
+  void failure() throws NoSuchMethodException {
+    var result = result(BUY_TRANSACTIONS, Flux.error(new IllegalStateException("connection lost")));
+    StepVerifier.create(handler.handleResult(exchange, result)).verifyError();
+    assertEquals(
+        1,
+        registry
+            .get(EndpointMeters.REQUESTS_METER)
+            .tags(API, GET_MF_BUY_TRANSACTIONS, "outcome", "failure")
+            .timer()
+            .count());
+    assertEquals(0, inFlight(GET_MF_BUY_TRANSACTIONS));
+  }
+
+  /** Test for {@link EndpointMetricsResultHandler#handleResult} of a request being handled */
+  @Test
+  @DisplayName("A request is in flight until its response is written")
+  void inFlight() throws NoSuchMethodException {
+    Sinks.Many<Integer> rows = Sinks.many().unicast().onBackpressureBuffer();
+    var result = result(BUY_TRANSACTIONS, rows.asFlux());
+    var response = handler.handleResult(exchange, result).subscribe();
+    assertEquals(1, inFlight(GET_MF_BUY_TRANSACTIONS));
+    rows.tryEmitComplete();
+    assertTrue(response.isDisposed());
+    assertEquals(0, inFlight(GET_MF_BUY_TRANSACTIONS));
+  }
+
+  /** Test for {@link EndpointMetricsResultHandler#handleResult} without a result handler */
+  @Test
+  @DisplayName("A request which can not be written is not left in flight")
+  void withoutResultHandler() throws NoSuchMethodException {
+    var beanFactory = new StaticListableBeanFactory();
+    var alone =
+        new EndpointMetricsResultHandler(
+            registry, beanFactory.getBeanProvider(HandlerResultHandler.class));
+    beanFactory.addBean("endpointMetricsResultHandler", alone);
+    alone.afterSingletonsInstantiated();
+    var result = result(BUY_TRANSACTIONS, controller.buyTransactions());
+    StepVerifier.create(alone.handleResult(exchange, result))
+        .verifyError(IllegalStateException.class);
+    assertEquals(0, inFlight(GET_MF_BUY_TRANSACTIONS));
+  }
+
+  /**
+   * Create the result of a method of the {@link TestController}
+   *
+   * @param methodName the method name
+   * @param value the value returned
+   * @return {@link HandlerResult}
+   * @throws NoSuchMethodException when the method does not exist
+   */
+  private HandlerResult result(final String methodName, final Object value)
+      throws NoSuchMethodException {
+    var handlerMethod =
+        new HandlerMethod(controller, TestController.class.getDeclaredMethod(methodName));
+    return new HandlerResult(handlerMethod, value, handlerMethod.getReturnType());
+  }
+
+  private long stageCount(final String api, final String stage) {
+    return registry.get(EndpointMeters.STAGE_METER).tags(API, api, "stage", stage).timer().count();
+  }
+
+  private double rowCount(final String api) {
+    return registry.get(EndpointMeters.ROWS_METER).tag(API, api).counter().count();
+  }
+
+  private double inFlight(final String api) {
+    return registry.get(EndpointMeters.IN_FLIGHT_METER).tag(API, api).gauge().value();
+  }
+
+  /** Controller with a named and an unnamed mapping */
+  private static final class TestController {
+
+    @GetMapping(name = GET_MF_BUY_TRANSACTIONS)
+    Flux<Integer> buyTransactions() {
+      return Flux.just(1, 2, 3);
+    }
+
+    @GetMapping(name = GET_MF_BUY_TRANSACTIONS_PAGE)
+    Mono<ResponseEntity<List<Integer>>> buyTransactionsPage() {
+      return Mono.just(ResponseEntity.ok(List.of(1, 2)));
+    }
+
+    @GetMapping
+    Flux<Integer> unnamed() {
+      return Flux.empty();
+    }
+  }
+
+  /** Result handler which consumes the result, like one which writes it */
+  private static final class WritingResultHandler implements HandlerResultHandler {
+
+    @Override
+    public boolean supports(final @NonNull HandlerResult result) {
+      return true;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> handleResult(
+        final @NonNull ServerWebExchange exchange, final @NonNull HandlerResult result) {
+      return Flux.from((Publisher<?>) result.getReturnValue()).then();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.mydata.userdata.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link MicrometerPoolMetricsRecorder} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class MicrometerPoolMetricsRecorderTest {
+
+  private static final String POOL_NAME = "testPool";
+  private static final long LATENCY_MS = 12;
+
+  private SimpleMeterRegistry registry;
+  private MicrometerPoolMetricsRecorder recorder;
+
+  /** Executes before each test */
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    recorder = new MicrometerPoolMetricsRecorder(registry, POOL_NAME);
+  }
+
+  /** Test the latencies are recorded to the timers tagged with the pool name */
+  @Test
+  @DisplayName("Record pool latencies")
+  void recordLatencies() {
+    recorder.recordAllocationSuccessAndLatency(LATENCY_MS);
+    recorder.recordAllocationFailureAndLatency(LATENCY_MS);
+    recorder.recordResetLatency(LATENCY_MS);
+    recorder.recordDestroyLatency(LATENCY_MS);
+    recorder.recordLifetimeDuration(LATENCY_MS);
+    recorder.recordIdleTime(LATENCY_MS);
+    assertTimer("r2dbc.pool.allocation", "outcome", "success");
+    assertTimer("r2dbc.pool.allocation", "outcome", "failure");
+    assertTimer("r2dbc.pool.reset");
+    assertTimer("r2dbc.pool.destroy");
+    assertTimer("r2dbc.pool.lifetime");
+    assertTimer("r2dbc.pool.idle.time");
+  }
+
+  /** Test the pool events are counted */
+  @Test
+  @DisplayName("Count pool events")
+  void countEvents() {
+    recorder.recordRecycled();
+    recorder.recordFastPath();
+    recorder.recordFastPath();
+    recorder.recordSlowPath();
+    assertEquals(1, registry.get("r2dbc.pool.recycled").tag("name", POOL_NAME).counter().count());
+    assertEquals(2, registry.get("r2dbc.pool.acquire.path").tag("path", "fast").counter().count());
+    assertEquals(1, registry.get("r2dbc.pool.acquire.path").tag("path", "slow").counter().count());
+  }
+
+  /**
+   * Assert a timer recorded one latency
+   *
+   * @param name the timer name
+   * @param tags the additional tags of the timer
+   */
+  private void assertTimer(final String name, final String... tags) {
+    var timer = registry.get(name).tag("name", POOL_NAME).tags(tags).timer();
+    assertEquals(1, timer.count());
+    assertEquals(LATENCY_MS, timer.totalTime(TimeUnit.MILLISECONDS));
+  }
+}
@@ -0,0 +1,92 @@
+package com.mydata.userdata.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.test.MockConnectionInfo;
+import io.r2dbc.proxy.test.MockQueryExecutionInfo;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Wrapped;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+/** Test class for {@link QueryMetricsConnectionFactory} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class QueryMetricsConnectionFactoryTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final QueryMetricsListener listener = new QueryMetricsListener(registry, null);
+  private final ConnectionPool pool = mock(ConnectionPool.class);
+  private final Connection connection = mock(Connection.class);
+  private QueryMetricsConnectionFactory connectionFactory;
+
+  @BeforeEach
+  void setUp() {
+    when(pool.create()).thenAnswer(invocation -> Mono.just(connection));
+    connectionFactory = new QueryMetricsConnectionFactory(pool, listener);
+  }
+
+  /** Test for {@link QueryMetricsConnectionFactory#create()} for an endpoint */
+  @Test
+  @DisplayName("The queries of a connection acquired for an endpoint are tagged with it")
+  void createForEndpoint() {
+    StepVerifier.create(
+            Mono.from(connectionFactory.create())
+                .contextWrite(
+                    Context.of(EndpointMetricsResultHandler.API_CONTEXT_KEY, "GetStocks")))
+        .assertNext(proxied -> assertSame(connection, ((Wrapped<?>) proxied).unwrap()))
+        .verifyComplete();
+    query();
+    assertEquals(
+        1, registry.get(QueryMetricsListener.QUERY_METER).tag("api", "GetStocks").timer().count());
+  }
+
+  /** Test for {@link QueryMetricsConnectionFactory#create()} outside the endpoints */
+  @Test
+  @DisplayName("The queries of a connection acquired outside the endpoints have no endpoint")
+  void create() {
+    StepVerifier.create(connectionFactory.create()).expectNextCount(1).verifyComplete();
+    query();
+    assertEquals(
+        1,
+        registry
+            .get(QueryMetricsListener.QUERY_METER)
+            .tag("api", QueryMetricsListener.NONE)
+            .timer()
+            .count());
+  }
+
+  /** Test for {@link QueryMetricsConnectionFactory#unwrap()} */
+  @Test
+  @DisplayName("The connection factory unwraps to the pool and disposes it")
+  void unwrapAndDispose() {
+    when(pool.isDisposed()).thenReturn(true);
+    assertSame(pool, connectionFactory.unwrap());
+    connectionFactory.dispose();
+    verify(pool).dispose();
+    assertTrue(connectionFactory.isDisposed());
+  }
+
+  /** Run a query on the connection */
+  private void query() {
+    listener.afterQuery(
+        MockQueryExecutionInfo.builder()
+            .connectionInfo(MockConnectionInfo.builder().originalConnection(connection).build())
+            .queryInfo(new QueryInfo("select * from stock"))
+            .executeDuration(Duration.ofMillis(1))
+            .isSuccess(true)
+            .build());
+  }
+}
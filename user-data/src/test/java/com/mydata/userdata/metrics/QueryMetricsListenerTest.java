@@ -0,0 +1,209 @@
+package com.mydata.userdata.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.proxy.core.Bindings;
+import io.r2dbc.proxy.core.BoundValue;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.test.MockConnectionInfo;
+import io.r2dbc.proxy.test.MockMethodExecutionInfo;
+import io.r2dbc.proxy.test.MockQueryExecutionInfo;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Wrapped;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link QueryMetricsListener} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class QueryMetricsListenerTest {
+
+  private static final String SQL =
+      "SELECT * FROM mutual_fund_buy_transaction\n    WHERE is_sold_out = $1";
+  private static final String STATEMENT =
+      "SELECT * FROM mutual_fund_buy_transaction WHERE is_sold_out = $1";
+  private static final String API = "GetMutualFundsBuyTransactions";
+  private static final String API_TAG = "api";
+  private static final String STATEMENT_TAG = "statement";
+  private static final String BINDINGS_TAG = "bindings";
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final QueryMetricsListener listener =
+      new QueryMetricsListener(registry, Duration.ofMillis(100));
+  private final Connection connection = mock(Connection.class);
+
+  /** Test for {@link QueryMetricsListener#afterQuery} of a query of an endpoint */
+  @Test
+  @DisplayName("A query is timed and its rows counted with its statement, bindings and endpoint")
+  void afterQuery() {
+    listener.bind(proxied(connection), API);
+    listener.afterQuery(execution(Duration.ofMillis(5), bindings(BoundValue.value(Boolean.FALSE))));
+    var timer =
+        registry
+            .get(QueryMetricsListener.QUERY_METER)
+            .tags(
+                API_TAG,
+                API,
+                STATEMENT_TAG,
+                STATEMENT,
+                BINDINGS_TAG,
+                "Boolean",
+                "outcome",
+                "success")
+            .timer();
+    assertEquals(1, timer.count());
+    assertEquals(5, timer.totalTime(TimeUnit.MILLISECONDS));
+    assertEquals(
+        7,
+        registry
+            .get(QueryMetricsListener.ROWS_METER)
+            .tags(API_TAG, API, STATEMENT_TAG, STATEMENT)
+            .summary()
+            .totalAmount());
+  }
+
+  /** Test for {@link QueryMetricsListener#afterMethod} closing a connection */
+  @Test
+  @DisplayName(
+      "The queries of a connection closed and reused outside the endpoints have no endpoint")
+  void afterClose() throws NoSuchMethodException {
+    listener.bind(proxied(connection), API);
+    listener.afterMethod(
+        MockMethodExecutionInfo.builder()
+            .target(connection)
+            .method(Connection.class.getMethod("close"))
+            .build());
+    listener.afterQuery(execution(Duration.ofMillis(5), bindings(BoundValue.value(Boolean.TRUE))));
+    assertEquals(
+        1,
+        registry
+            .get(QueryMetricsListener.QUERY_METER)
+            .tags(API_TAG, QueryMetricsListener.NONE, STATEMENT_TAG, STATEMENT)
+            .timer()
+            .count());
+  }
+
+  /** Test for {@link QueryMetricsListener#afterMethod} of a method other than close */
+  @Test
+  @DisplayName("The endpoint of a connection is kept until it is closed")
+  void afterOtherMethod() throws NoSuchMethodException {
+    listener.bind(proxied(connection), API);
+    listener.afterMethod(
+        MockMethodExecutionInfo.builder()
+            .target(connection)
+            .method(Connection.class.getMethod("beginTransaction"))
+            .build());
+    listener.afterQuery(execution(Duration.ofMillis(5), bindings(BoundValue.value(Boolean.TRUE))));
+    assertEquals(
+        1,
+        registry
+            .get(QueryMetricsListener.QUERY_METER)
+            .tags(API_TAG, API, STATEMENT_TAG, STATEMENT)
+            .timer()
+            .count());
+  }
+
+  /** Test for {@link QueryMetricsListener#afterQuery} of a query outside the endpoints */
+  @Test
+  @DisplayName("A query on a connection not acquired for an endpoint has no endpoint")
+  void noEndpoint() {
+    listener.afterQuery(
+        execution(Duration.ofMillis(500), bindings(BoundValue.nullValue(Integer.class))));
+    assertEquals(
+        1,
+        registry
+            .get(QueryMetricsListener.QUERY_METER)
+            .tags(API_TAG, QueryMetricsListener.NONE, BINDINGS_TAG, "null Integer")
+            .timer()
+            .count());
+  }
+
+  /** Test for {@link QueryMetricsListener#afterQuery} of a batch */
+  @Test
+  @DisplayName("A batch is tagged with the types of its bindings and its size is recorded apart")
+  void batch() {
+    var execution = execution(Duration.ofMillis(5), bindings(BoundValue.value(Boolean.TRUE)));
+    execution.getQueries().get(0).getBindingsList().add(bindings(BoundValue.value(Boolean.FALSE)));
+    execution.getQueries().get(0).getBindingsList().add(bindings(BoundValue.value(Boolean.TRUE)));
+    listener.afterQuery(execution);
+    listener.afterQuery(execution(Duration.ofMillis(5), bindings(BoundValue.value(Boolean.TRUE))));
+    assertEquals(
+        2,
+        registry
+            .get(QueryMetricsListener.QUERY_METER)
+            .tags(STATEMENT_TAG, STATEMENT, BINDINGS_TAG, "Boolean")
+            .timer()
+            .count());
+    var batch =
+        registry
+            .get(QueryMetricsListener.BATCH_METER)
+            .tags(STATEMENT_TAG, STATEMENT, BINDINGS_TAG, "Boolean")
+            .summary();
+    assertEquals(1, batch.count());
+    assertEquals(3, batch.totalAmount());
+  }
+
+  /** Test for {@link QueryMetricsListener#afterQuery} of a query without bindings */
+  @Test
+  @DisplayName("A query without bindings has no binding shape")
+  void noBindings() {
+    var execution =
+        MockQueryExecutionInfo.builder()
+            .queryInfo(new QueryInfo("select 1"))
+            .executeDuration(Duration.ZERO)
+            .isSuccess(false)
+            .build();
+    listener.afterQuery(execution);
+    assertEquals(
+        1,
+        registry
+            .get(QueryMetricsListener.QUERY_METER)
+            .tags(STATEMENT_TAG, "select 1", BINDINGS_TAG, QueryMetricsListener.NONE)
+            .tag("outcome", "failure")
+            .timer()
+            .count());
+  }
+
+  /**
+   * Create the execution of {@link #SQL} on the connection, which fetched 7 rows
+   *
+   * @param duration the execution time
+   * @param bindings the bindings
+   * @return {@link MockQueryExecutionInfo}
+   */
+  private MockQueryExecutionInfo execution(final Duration duration, final Bindings bindings) {
+    var queryInfo = new QueryInfo(SQL);
+    queryInfo.getBindingsList().add(bindings);
+    return MockQueryExecutionInfo.builder()
+        .connectionInfo(MockConnectionInfo.builder().originalConnection(connection).build())
+        .queryInfo(queryInfo)
+        .executeDuration(duration)
+        .currentResultCount(7)
+        .isSuccess(true)
+        .build();
+  }
+
+  private static Bindings bindings(final BoundValue value) {
+    var bindings = new Bindings();
+    bindings.addIndexBinding(Bindings.indexBinding(0, value));
+    return bindings;
+  }
+
+  /**
+   * A proxy of a connection, which unwraps to it
+   *
+   * @param original the connection
+   * @return {@link Connection}
+   */
+  @SuppressWarnings("unchecked")
+  private static Connection proxied(final Connection original) {
+    var proxied = mock(Connection.class, withSettings().extraInterfaces(Wrapped.class));
+    when(((Wrapped<Connection>) proxied).unwrap()).thenReturn(original);
+    return proxied;
+  }
+}
@@ -0,0 +1,85 @@
+package com.mydata.userdata.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link TimedConnectionPool} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class TimedConnectionPoolTest {
+
+  private static final String POOL_NAME = "testPool";
+
+  private final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private TimedConnectionPool pool;
+
+  /**
+   * Create the connection pool, the connection factory should be stubbed before as the pool
+   * prepares the connection creation while it is built
+   *
+   * @return {@link TimedConnectionPool}
+   */
+  private TimedConnectionPool createPool() {
+    pool =
+        new TimedConnectionPool(
+            ConnectionPoolConfiguration.builder(connectionFactory).build(), registry, POOL_NAME);
+    return pool;
+  }
+
+  /** Executes after each test */
+  @AfterEach
+  void tearDown() {
+    pool.dispose();
+  }
+
+  /** Test a successful acquire is timed */
+  @Test
+  @DisplayName("Time a successful connection acquire")
+  void acquireSuccess() {
+    var connection = mock(Connection.class);
+    when(connection.validate(any(ValidationDepth.class))).thenReturn(Mono.just(Boolean.TRUE));
+    doReturn(Mono.empty()).when(connection).close();
+    doReturn(Mono.just(connection)).when(connectionFactory).create();
+    StepVerifier.create(createPool().create()).expectNextCount(1).verifyComplete();
+    assertEquals(1, acquireCount("success"));
+    assertEquals(0, acquireCount("failure"));
+  }
+
+  /** Test a failed acquire is timed */
+  @Test
+  @DisplayName("Time a failed connection acquire")
+  void acquireFailure() {
+    doReturn(Mono.error(new IllegalStateException("connection refused")))
+        .when(connectionFactory)
+        .create();
+    StepVerifier.create(createPool().create()).verifyError();
+    assertEquals(0, acquireCount("success"));
+    assertEquals(1, acquireCount("failure"));
+  }
+
+  /**
+   * Get the number of acquires recorded with the outcome
+   *
+   * @param outcome the acquire outcome
+   * @return the number of acquires
+   */
+  private long acquireCount(final String outcome) {
+    return registry
+        .get("r2dbc.pool.acquire")
+        .tags("name", POOL_NAME, "outcome", outcome)
+        .timer()
+        .count();
+  }
+}
@@ -0,0 +1,65 @@
+package com.mydata.userdata.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.web.server.ServerWebInputException;
+
+/** Test class for {@link KeysetCursor} */
+class KeysetCursorTest {
+
+  /** Test for {@link KeysetCursor#encode()} and {@link KeysetCursor#decode(String)} */
+  @Test
+  @DisplayName("Encoded cursor decodes to the same cursor")
+  void encodeDecode() {
+    var cursor = new KeysetCursor(Instant.parse("2022-03-15T10:15:30.123Z"), 42);
+    assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+  }
+
+  /** Test for {@link KeysetCursor#ofId(Integer)} */
+  @Test
+  @DisplayName("Id only cursor decodes to the same cursor")
+  void ofId() {
+    var cursor = KeysetCursor.ofId(7);
+    assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    assertEquals(KeysetCursor.FIRST.sortKey(), cursor.sortKey());
+  }
+
+  /**
+   * Test for {@link KeysetCursor#decode(String)} without a token
+   *
+   * @param token the cursor token
+   */
+  @ParameterizedTest
+  @NullAndEmptySource
+  @ValueSource(strings = " ")
+  @DisplayName("Missing cursor decodes to the first cursor")
+  void decodeFirst(final String token) {
+    assertEquals(KeysetCursor.FIRST, KeysetCursor.decode(token));
+  }
+
+  /**
+   * Test for {@link KeysetCursor#decode(String)} with invalid tokens
+   *
+   * @param value the decoded value of the token, or the raw token if it starts with '!'
+   */
+  @ParameterizedTest
+  @ValueSource(strings = {"!not base64", "no separator", "not a date|1", "2022-03-15T10:15:30Z|x"})
+  @DisplayName("Invalid cursor is rejected")
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  void decodeInvalid(final String value) {
+    var token =
+        value.startsWith("!")
+            ? value
+            : Base64.getUrlEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    assertThrows(ServerWebInputException.class, () -> KeysetCursor.decode(token));
+  }
+}
@@ -0,0 +1,39 @@
+package com.mydata.userdata.pagination;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link KeysetPage} */
+class KeysetPageTest {
+
+  private static final List<Integer> FETCHED = List.of(1, 2, 3, 4);
+
+  /**
+   * Test for {@link KeysetPage#of(List, int, java.util.function.Function)} when more records than
+   * the page size are fetched
+   */
+  @Test
+  @DisplayName("Page with a next page")
+  void pageWithNext() {
+    var page = KeysetPage.of(FETCHED, FETCHED.size() - 1, KeysetCursor::ofId);
+    assertEquals(List.of(1, 2, 3), page.items());
+    assertEquals(KeysetCursor.ofId(3).encode(), page.nextCursor());
+    assertTrue(page.hasNext());
+  }
+
+  /**
+   * Test for {@link KeysetPage#of(List, int, java.util.function.Function)} when at most page size
+   * records are fetched
+   */
+  @Test
+  @DisplayName("Last page")
+  void lastPage() {
+    var page = KeysetPage.of(FETCHED, FETCHED.size(), KeysetCursor::ofId);
+    assertEquals(FETCHED, page.items());
+    assertNull(page.nextCursor());
+    assertFalse(page.hasNext());
+  }
+}
@@ -0,0 +1,95 @@
+package com.mydata.userdata.price;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link PriceFileParser} */
+class PriceFileParserTest {
+
+  private static final LocalDate DATE = LocalDate.of(2022, 10, 14);
+
+  /**
+   * Parse the lines of a file
+   *
+   * @param parser the parser
+   * @param lines the lines
+   * @return the prices
+   */
+  private static Stream<PriceRecord> parse(final PriceFileParser parser, final String... lines) {
+    return Stream.of(lines).map(parser::parse).flatMap(Optional::stream);
+  }
+
+  /** Test for {@link PriceFileParser#parse(String)} with the layout of {@code NAVAll.txt} */
+  @Test
+  @DisplayName("The NAVs of the daily AMFI file are read, the headings and missing NAVs skipped")
+  void parseNavAll() {
+    var parser = new PriceFileParser(PriceKind.MUTUAL_FUND);
+    assertThat(
+            parse(
+                parser,
+                "Scheme Code;ISIN Div Payout/ ISIN Growth;ISIN Div Reinvestment;Scheme Name;"
+                    + "Net Asset Value;Date",
+                "",
+                "Open Ended Schemes(Debt Scheme - Banking and PSU Fund)",
+                "Aditya Birla Sun Life Mutual Fund",
+                "119551;INF209KA12Z1;INF209KA13Z9;Banking & PSU Debt Fund - DIRECT;105.8886;"
+                    + "14-Oct-2022",
+                "119552;INF209K01YM2;-;Banking & PSU Debt Fund - Regular;N.A.;14-Oct-2022",
+                "119553;INF209K01YN0;-;Banking & PSU Debt Fund - Regular;0;14-Oct-2022",
+                "119554;INF209K01YO8;-;Banking & PSU Debt Fund - Regular;10.5;14-10-2022",
+                ";INF209K01YP5;-;Banking & PSU Debt Fund - Regular;10.5;14-Oct-2022",
+                "119556;INF209K01YQ3;-;Banking & PSU Debt Fund - Regular;10.5;14-OCT-2022"))
+        .containsExactly(
+            new PriceRecord("119551", PricePoint.of(DATE, new BigDecimal("105.8886"))),
+            new PriceRecord("119556", PricePoint.of(DATE, new BigDecimal("10.5"))));
+    assertTrue(parser.hasHeader());
+  }
+
+  /** Test for {@link PriceFileParser#parse(String)} with the layout of the NAV history report */
+  @Test
+  @DisplayName("The columns are found by their header, the lines before the header are skipped")
+  void parseHistoryReport() {
+    var parser = new PriceFileParser(PriceKind.MUTUAL_FUND);
+    assertThat(
+            parse(
+                parser,
+                "Net Asset Value History",
+                " Scheme Code ;Scheme Name;ISIN Div Payout/ISIN Growth;ISIN Div Reinvestment;"
+                    + "Net Asset Value;Repurchase Price;Sale Price;Date",
+                "100027;Grindlays Super Saver Income Fund;;;10.4;;;14-Oct-2022"))
+        .containsExactly(new PriceRecord("100027", PricePoint.of(DATE, new BigDecimal("10.4"))));
+  }
+
+  /** Test for {@link PriceFileParser#parse(String)} of stock close prices */
+  @Test
+  @DisplayName("The close prices of a stock price file are read")
+  void parseStockPrices() {
+    var parser = new PriceFileParser(PriceKind.STOCK);
+    assertThat(
+            parse(
+                parser,
+                "Date;Symbol;Close Price",
+                "14-Oct-2022;RELIANCE;2461.75",
+                "14-Oct-2022;TCS"))
+        .containsExactly(
+            new PriceRecord("RELIANCE", PricePoint.of(DATE, new BigDecimal("2461.75"))));
+  }
+
+  /** Test for {@link PriceFileParser#hasHeader()} without a header */
+  @Test
+  @DisplayName("A file of another kind has no header")
+  void noHeader() {
+    var parser = new PriceFileParser(PriceKind.STOCK);
+    assertThat(parse(parser, "Scheme Code;Net Asset Value;Date", "119551;105.8886;14-Oct-2022"))
+        .isEmpty();
+    assertFalse(parser.hasHeader());
+  }
+}
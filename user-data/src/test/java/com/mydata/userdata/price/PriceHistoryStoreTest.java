@@ -0,0 +1,120 @@
+package com.mydata.userdata.price;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.userdata.property.PriceHistoryProperties;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Test class for {@link PriceHistoryStore} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class PriceHistoryStoreTest {
+
+  private static final String CODE = "119551";
+
+  @TempDir private Path directory;
+
+  private PriceHistoryStore store;
+
+  /** Executes before each test */
+  @BeforeEach
+  void setUp() {
+    store = new PriceHistoryStore(new PriceHistoryProperties(directory, directory));
+  }
+
+  /** Test for {@link PriceHistoryStore#append(PriceKind, String, List)} */
+  @Test
+  @DisplayName("Prices after the last day are appended in order of day, the others are skipped")
+  void append() {
+    assertEquals(0, store.series(PriceKind.MUTUAL_FUND, CODE).size());
+    assertEquals(
+        2,
+        store.append(
+            PriceKind.MUTUAL_FUND,
+            CODE,
+            List.of(new PricePoint(11, 110L), new PricePoint(10, 100L), new PricePoint(11, 111L))));
+    assertEquals(
+        1,
+        store.append(
+            PriceKind.MUTUAL_FUND,
+            CODE,
+            List.of(new PricePoint(9, 90L), new PricePoint(11, 112L), new PricePoint(14, 140L))));
+    assertEquals(0, store.append(PriceKind.MUTUAL_FUND, CODE, List.of(new PricePoint(12, 120L))));
+    assertThat(store.series(PriceKind.MUTUAL_FUND, CODE).range(0, 99))
+        .containsExactly(
+            new PricePoint(10, 100L), new PricePoint(11, 110L), new PricePoint(14, 140L));
+    // Each kind has its own series
+    assertEquals(0, store.series(PriceKind.STOCK, CODE).size());
+  }
+
+  /** Test for {@link PriceHistoryStore#series(PriceKind, String)} reading the files */
+  @Test
+  @DisplayName("The history is read back from its column files")
+  void series() throws IOException {
+    store.append(PriceKind.STOCK, "M&M/NSE", List.of(new PricePoint(10, 100L)));
+    var kindDirectory = directory.resolve(PriceKind.STOCK.directory());
+    assertThat(kindDirectory.resolve("M%26M%2FNSE" + PriceHistoryStore.DAYS_SUFFIX))
+        .hasBinaryContent(ByteBuffer.allocate(Integer.BYTES).putInt(10).array());
+    assertThat(kindDirectory.resolve("M%26M%2FNSE" + PriceHistoryStore.PRICES_SUFFIX))
+        .hasBinaryContent(ByteBuffer.allocate(Long.BYTES).putLong(100L).array());
+    var reopened = new PriceHistoryStore(new PriceHistoryProperties(directory, directory));
+    assertEquals(100L, reopened.series(PriceKind.STOCK, "M&M/NSE").priceOn(12));
+    try (var files = Files.list(kindDirectory)) {
+      assertThat(files).hasSize(2);
+    }
+  }
+
+  /** Test for {@link PriceHistoryStore#series(PriceKind, String)} of a code without prices */
+  @Test
+  @DisplayName("A code without files is not kept, its prices are read once they are written")
+  void seriesWithoutFiles() {
+    assertThat(store.series(PriceKind.MUTUAL_FUND, CODE)).isSameAs(PriceSeries.EMPTY);
+    new PriceHistoryStore(new PriceHistoryProperties(directory, directory))
+        .append(PriceKind.MUTUAL_FUND, CODE, List.of(new PricePoint(10, 100L)));
+    assertEquals(100L, store.series(PriceKind.MUTUAL_FUND, CODE).priceOn(10));
+  }
+
+  /** Test for {@link PriceHistoryStore#append(PriceKind, String, List)} after a partial append */
+  @Test
+  @DisplayName("An append cuts off the values of an interrupted append")
+  void appendAfterPartialAppend() throws IOException {
+    var kindDirectory = Files.createDirectories(directory.resolve(PriceKind.STOCK.directory()));
+    Files.write(
+        kindDirectory.resolve(CODE + PriceHistoryStore.DAYS_SUFFIX),
+        ByteBuffer.allocate(2 * Integer.BYTES).putInt(10).putInt(11).array());
+    Files.write(
+        kindDirectory.resolve(CODE + PriceHistoryStore.PRICES_SUFFIX),
+        ByteBuffer.allocate(Long.BYTES).putLong(100L).array());
+    assertEquals(1, store.series(PriceKind.STOCK, CODE).size());
+    assertEquals(1, store.append(PriceKind.STOCK, CODE, List.of(new PricePoint(12, 120L))));
+    assertThat(store.series(PriceKind.STOCK, CODE).range(0, 99))
+        .containsExactly(new PricePoint(10, 100L), new PricePoint(12, 120L));
+    assertEquals(
+        2 * Integer.BYTES, Files.size(kindDirectory.resolve(CODE + PriceHistoryStore.DAYS_SUFFIX)));
+  }
+
+  /** Test for {@link PriceHistoryStore} when the files can't be read or written */
+  @Test
+  @DisplayName("File errors are thrown unchecked")
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  void fileErrors() throws IOException {
+    var kindDirectory = directory.resolve(PriceKind.STOCK.directory());
+    Files.createDirectories(kindDirectory.resolve(CODE + PriceHistoryStore.DAYS_SUFFIX));
+    assertThatExceptionOfType(UncheckedIOException.class)
+        .isThrownBy(() -> store.series(PriceKind.STOCK, CODE));
+    var points = List.of(new PricePoint(10, 100L));
+    Files.writeString(directory.resolve(PriceKind.MUTUAL_FUND.directory()), CODE);
+    assertThatExceptionOfType(UncheckedIOException.class)
+        .isThrownBy(() -> store.append(PriceKind.MUTUAL_FUND, CODE, points));
+  }
+}
@@ -0,0 +1,36 @@
+package com.mydata.userdata.price;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link PricePoint} */
+class PricePointTest {
+
+  private static final LocalDate DATE = LocalDate.of(2022, 1, 31);
+
+  /** Test for {@link PricePoint#of(LocalDate, BigDecimal)} */
+  @Test
+  @DisplayName("A price is kept as an epoch day and a price scaled to 4 decimal places")
+  void of() {
+    var point = PricePoint.of(DATE, new BigDecimal("105.88865"));
+    assertEquals(new PricePoint(19_023, 1_058_886L), point);
+    assertEquals(DATE, point.date());
+    assertEquals(new BigDecimal("105.8886"), point.price());
+    assertEquals(new BigDecimal("10.5000"), PricePoint.of(DATE, new BigDecimal("10.5")).price());
+  }
+
+  /** Test for {@link PricePoint#of(LocalDate, BigDecimal)} with a price out of range */
+  @Test
+  @DisplayName("A price which does not fit in a scaled long is refused")
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  void ofTooLarge() {
+    var price = BigDecimal.valueOf(Long.MAX_VALUE);
+    assertThatExceptionOfType(ArithmeticException.class)
+        .isThrownBy(() -> PricePoint.of(DATE, price));
+  }
+}
@@ -0,0 +1,70 @@
+package com.mydata.userdata.price;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/** Test class for {@link PriceSeries} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class PriceSeriesTest {
+
+  /** Prices on the days 10, 11, 14 and 15, the days in between are holidays */
+  private final PriceSeries series =
+      new PriceSeries(
+          IntBuffer.wrap(new int[] {10, 11, 14, 15}),
+          LongBuffer.wrap(new long[] {100_000L, 101_000L, 104_000L, 105_000L}));
+
+  /**
+   * Test for {@link PriceSeries#floorIndex(int)} and {@link PriceSeries#priceOn(int)}
+   *
+   * @param epochDay the day
+   * @param index the expected index
+   * @param price the expected price
+   */
+  @ParameterizedTest
+  @CsvSource({"9,-1,-1", "10,0,100000", "11,1,101000", "13,1,101000", "14,2,104000", "99,3,105000"})
+  @DisplayName("The price on a day is the last price on or before it")
+  void priceOn(final int epochDay, final int index, final long price) {
+    assertEquals(index, series.floorIndex(epochDay));
+    assertEquals(price, series.priceOn(epochDay));
+  }
+
+  /** Test for {@link PriceSeries#range(int, int)} */
+  @Test
+  @DisplayName("A range has the prices published between its days")
+  void range() {
+    assertThat(series.range(11, 14))
+        .containsExactly(new PricePoint(11, 101_000L), new PricePoint(14, 104_000L));
+    assertThat(series.range(12, 13)).isEmpty();
+    assertThat(series.range(0, 99)).hasSize(series.size());
+  }
+
+  /** Test for {@link PriceSeries#EMPTY} */
+  @Test
+  @DisplayName("An empty series has no price")
+  void empty() {
+    assertEquals(0, PriceSeries.EMPTY.size());
+    assertEquals(Integer.MIN_VALUE, PriceSeries.EMPTY.lastEpochDay());
+    assertEquals(PriceSeries.NO_PRICE, PriceSeries.EMPTY.priceOn(10));
+    assertEquals(PriceSeries.NO_PRICE, PriceSeries.EMPTY.latestPrice());
+    assertThat(PriceSeries.EMPTY.range(0, 99)).isEmpty();
+  }
+
+  /** Test for {@link PriceSeries#size()} with columns of different length */
+  @Test
+  @DisplayName("A series has as many prices as its shorter column")
+  void size() {
+    var partial =
+        new PriceSeries(IntBuffer.wrap(new int[] {10, 11}), LongBuffer.wrap(new long[] {1}));
+    assertEquals(1, partial.size());
+    assertEquals(10, partial.lastEpochDay());
+    assertEquals(15, series.lastEpochDay());
+    assertEquals(105_000L, series.latestPrice());
+  }
+}
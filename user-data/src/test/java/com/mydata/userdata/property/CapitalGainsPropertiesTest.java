@@ -0,0 +1,32 @@
+package com.mydata.userdata.property;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.utilities.spring.YamlPropertySourceFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@MockitoSettings
+@SpringJUnitConfig
+@EnableConfigurationProperties(CapitalGainsProperties.class)
+@PropertySource(
+    value = "classpath:application-test.yaml",
+    factory = YamlPropertySourceFactory.class)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class CapitalGainsPropertiesTest {
+
+  @Autowired private CapitalGainsProperties capitalGainsProps;
+
+  /** Test for {@link CapitalGainsProperties#longTermDays()} */
+  @Test
+  @DisplayName("Test Capital Gains Property: longTermDays")
+  void longTermDays(@Value("${capitalGains.longTermDays}") Integer longTermDays) {
+    assertEquals(longTermDays, capitalGainsProps.longTermDays());
+  }
+}
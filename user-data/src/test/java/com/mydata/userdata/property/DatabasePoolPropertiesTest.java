@@ -0,0 +1,66 @@
+package com.mydata.userdata.property;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.utilities.spring.YamlPropertySourceFactory;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@MockitoSettings
+@SpringJUnitConfig
+@EnableConfigurationProperties(DatabasePoolProperties.class)
+@PropertySource(
+    value = "classpath:application-test.yaml",
+    factory = YamlPropertySourceFactory.class)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class DatabasePoolPropertiesTest {
+
+  private static final String POOL_PROPERTY_PREFIX = "db.postgresql.pool.";
+
+  @Autowired private DatabasePoolProperties poolProps;
+
+  @Test
+  @DisplayName("Test Database Pool Property: initialSize")
+  void initialSize(@Value("${" + POOL_PROPERTY_PREFIX + "initialSize}") Integer initialSize) {
+    assertEquals(initialSize, poolProps.initialSize());
+  }
+
+  @Test
+  @DisplayName("Test Database Pool Property: maxSize")
+  void maxSize(@Value("${" + POOL_PROPERTY_PREFIX + "maxSize}") Integer maxSize) {
+    assertEquals(maxSize, poolProps.maxSize());
+  }
+
+  @Test
+  @DisplayName("Test Database Pool Property: maxIdleTime")
+  void maxIdleTime(@Value("${" + POOL_PROPERTY_PREFIX + "maxIdleTime}") String maxIdleTime) {
+    assertEquals(Duration.ofMinutes(30), poolProps.maxIdleTime(), maxIdleTime);
+  }
+
+  @Test
+  @DisplayName("Test Database Pool Property: maxAcquireTime")
+  void maxAcquireTime(
+      @Value("${" + POOL_PROPERTY_PREFIX + "maxAcquireTime}") String maxAcquireTime) {
+    assertEquals(Duration.ofSeconds(5), poolProps.maxAcquireTime(), maxAcquireTime);
+  }
+
+  @Test
+  @DisplayName("Test Database Pool Property: maxLifeTime")
+  void maxLifeTime(@Value("${" + POOL_PROPERTY_PREFIX + "maxLifeTime}") String maxLifeTime) {
+    assertEquals(Duration.ofHours(1), poolProps.maxLifeTime(), maxLifeTime);
+  }
+
+  @Test
+  @DisplayName("Test Database Pool Property: validationQuery")
+  void validationQuery(
+      @Value("${" + POOL_PROPERTY_PREFIX + "validationQuery}") String validationQuery) {
+    assertEquals(validationQuery, poolProps.validationQuery());
+  }
+}
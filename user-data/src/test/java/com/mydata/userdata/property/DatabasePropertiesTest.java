@@ -85,4 +85,10 @@ class DatabasePropertiesTest {
       @Value("${" + POSTGRESQL_DB_PROPERTY_PREFIX + "connectionTimeout}") Long connectionTimeout) {
     assertEquals(connectionTimeout, dbProps.connectionTimeout());
   }
+
+  @Test
+  @DisplayName("Test Database Property: fetchSize")
+  void fetchSize(@Value("${" + POSTGRESQL_DB_PROPERTY_PREFIX + "fetchSize}") Integer fetchSize) {
+    assertEquals(fetchSize, dbProps.fetchSize());
+  }
 }
@@ -0,0 +1,40 @@
+package com.mydata.userdata.property;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.utilities.spring.YamlPropertySourceFactory;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@MockitoSettings
+@SpringJUnitConfig
+@EnableConfigurationProperties(PriceHistoryProperties.class)
+@PropertySource(
+    value = "classpath:application-test.yaml",
+    factory = YamlPropertySourceFactory.class)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class PriceHistoryPropertiesTest {
+
+  @Autowired private PriceHistoryProperties priceHistoryProps;
+
+  /** Test for {@link PriceHistoryProperties#directory()} */
+  @Test
+  @DisplayName("Test Price History Property: directory")
+  void directory(@Value("${priceHistory.directory}") String directory) {
+    assertEquals(Path.of(directory), priceHistoryProps.directory());
+  }
+
+  /** Test for {@link PriceHistoryProperties#inbox()} */
+  @Test
+  @DisplayName("Test Price History Property: inbox")
+  void inbox(@Value("${priceHistory.inbox}") String inbox) {
+    assertEquals(Path.of(inbox), priceHistoryProps.inbox());
+  }
+}
@@ -0,0 +1,42 @@
+package com.mydata.userdata.property;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.utilities.spring.YamlPropertySourceFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@MockitoSettings
+@SpringJUnitConfig
+@EnableConfigurationProperties(QueryMetricsProperties.class)
+@PropertySource(
+    value = "classpath:application-test.yaml",
+    factory = YamlPropertySourceFactory.class)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class QueryMetricsPropertiesTest {
+
+  @Autowired private QueryMetricsProperties queryMetricsProps;
+
+  /** Test for {@link QueryMetricsProperties#enabled()} */
+  @Test
+  @DisplayName("Test Query Metrics Property: enabled")
+  void enabled(@Value("${db.queryMetrics.enabled}") Boolean enabled) {
+    assertEquals(enabled, queryMetricsProps.enabled());
+  }
+
+  /** Test for {@link QueryMetricsProperties#slowQueryThreshold()} */
+  @Test
+  @DisplayName("Test Query Metrics Property: slowQueryThreshold")
+  void slowQueryThreshold(
+      @Value("${db.queryMetrics.slowQueryThreshold}") String slowQueryThreshold) {
+    assertEquals(
+        DurationStyle.detectAndParse(slowQueryThreshold), queryMetricsProps.slowQueryThreshold());
+  }
+}
@@ -0,0 +1,40 @@
+package com.mydata.userdata.property;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.utilities.spring.YamlPropertySourceFactory;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@MockitoSettings
+@SpringJUnitConfig
+@EnableConfigurationProperties(ReferenceDataCacheProperties.class)
+@PropertySource(
+    value = "classpath:application-test.yaml",
+    factory = YamlPropertySourceFactory.class)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class ReferenceDataCachePropertiesTest {
+
+  @Autowired private ReferenceDataCacheProperties cacheProps;
+
+  /** Test for {@link ReferenceDataCacheProperties#maximumSize()} */
+  @Test
+  @DisplayName("Test Reference Data Cache Property: maximumSize")
+  void maximumSize(@Value("${cache.referenceData.maximumSize}") Long maximumSize) {
+    assertEquals(maximumSize, cacheProps.maximumSize());
+  }
+
+  /** Test for {@link ReferenceDataCacheProperties#expireAfterWrite()} */
+  @Test
+  @DisplayName("Test Reference Data Cache Property: expireAfterWrite")
+  void expireAfterWrite(@Value("${cache.referenceData.expireAfterWrite}") String expireAfterWrite) {
+    assertEquals(Duration.ofMinutes(10), cacheProps.expireAfterWrite(), expireAfterWrite);
+  }
+}
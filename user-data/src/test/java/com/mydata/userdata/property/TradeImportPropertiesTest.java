@@ -0,0 +1,32 @@
+package com.mydata.userdata.property;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.utilities.spring.YamlPropertySourceFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@MockitoSettings
+@SpringJUnitConfig
+@EnableConfigurationProperties(TradeImportProperties.class)
+@PropertySource(
+    value = "classpath:application-test.yaml",
+    factory = YamlPropertySourceFactory.class)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class TradeImportPropertiesTest {
+
+  @Autowired private TradeImportProperties tradeImportProps;
+
+  /** Test for {@link TradeImportProperties#maxRejections()} */
+  @Test
+  @DisplayName("Test Trade Import Property: maxRejections")
+  void maxRejections(@Value("${tradeImport.maxRejections}") Integer maxRejections) {
+    assertEquals(maxRejections, tradeImportProps.maxRejections());
+  }
+}
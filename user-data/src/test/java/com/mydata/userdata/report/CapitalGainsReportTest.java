@@ -0,0 +1,157 @@
+package com.mydata.userdata.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.userdata.dto.CapitalGainDto;
+import com.mydata.userdata.dto.CapitalGainRow;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link CapitalGainsReport} */
+class CapitalGainsReportTest {
+
+  private static final LocalDate BUY_DATE = LocalDate.of(2022, 1, 1);
+  private static final LocalDate SOLD_DATE = LocalDate.of(2023, 6, 1);
+  private static final BigDecimal ZERO = new BigDecimal("0.00");
+
+  private static final CapitalGainDto FIRST_LOT =
+      lot(1, 1, "10.0000", "101.00", "149.62", ZERO, new BigDecimal("48.62"));
+  private static final CapitalGainDto SECOND_LOT =
+      lot(1, 2, "3.0000", "36.60", "44.88", new BigDecimal("8.28"), ZERO);
+  private static final CapitalGainDto OTHER_FUND_LOT =
+      lot(2, 3, "1.0000", "10.00", "9.00", new BigDecimal("-1.00"), ZERO);
+
+  /**
+   * Create a lot
+   *
+   * @param mfId the fund id
+   * @param buyId the buy id
+   * @param units the units
+   * @param cost the cost
+   * @param proceeds the proceeds
+   * @param shortTermGain the short term gain
+   * @param longTermGain the long term gain
+   * @return {@link CapitalGainDto}
+   */
+  private static CapitalGainDto lot(
+      final int mfId,
+      final int buyId,
+      final String units,
+      final String cost,
+      final String proceeds,
+      final BigDecimal shortTermGain,
+      final BigDecimal longTermGain) {
+    return new CapitalGainDto(
+        CapitalGainRow.LOT,
+        mfId,
+        "MF" + mfId,
+        7,
+        buyId,
+        BUY_DATE,
+        SOLD_DATE,
+        516,
+        new BigDecimal(units),
+        new BigDecimal(cost),
+        new BigDecimal(proceeds),
+        shortTermGain,
+        longTermGain);
+  }
+
+  /**
+   * Create a subtotal
+   *
+   * @param mfId the fund id
+   * @param units the units
+   * @param cost the cost
+   * @param proceeds the proceeds
+   * @param shortTermGain the short term gain
+   * @param longTermGain the long term gain
+   * @return {@link CapitalGainDto}
+   */
+  private static CapitalGainDto subtotal(
+      final int mfId,
+      final String units,
+      final String cost,
+      final String proceeds,
+      final String shortTermGain,
+      final String longTermGain) {
+    return new CapitalGainDto(
+        CapitalGainRow.SUBTOTAL,
+        mfId,
+        "MF" + mfId,
+        null,
+        null,
+        null,
+        null,
+        null,
+        new BigDecimal(units),
+        new BigDecimal(cost),
+        new BigDecimal(proceeds),
+        new BigDecimal(shortTermGain),
+        new BigDecimal(longTermGain));
+  }
+
+  /** Test for {@link CapitalGainsReport#withSubtotals(Flux)} */
+  @Test
+  @DisplayName("The lots of every fund are followed by their subtotal")
+  void withSubtotals() {
+    StepVerifier.create(
+            CapitalGainsReport.withSubtotals(Flux.just(FIRST_LOT, SECOND_LOT, OTHER_FUND_LOT)))
+        .expectNext(
+            FIRST_LOT,
+            SECOND_LOT,
+            subtotal(1, "13.0000", "137.60", "194.50", "8.28", "48.62"),
+            OTHER_FUND_LOT,
+            subtotal(2, "1.0000", "10.00", "9.00", "-1.00", "0.00"))
+        .verifyComplete();
+    StepVerifier.create(CapitalGainsReport.withSubtotals(Flux.empty())).verifyComplete();
+  }
+
+  /** Test for {@link CapitalGainsReport#toCsv(Flux)} */
+  @Test
+  @DisplayName("The CSV report has a header and a line per row")
+  void toCsv() {
+    StepVerifier.create(
+            CapitalGainsReport.toCsv(
+                CapitalGainsReport.withSubtotals(Flux.just(FIRST_LOT, SECOND_LOT))))
+        .expectNext(
+            CapitalGainsReport.CSV_HEADER,
+            "LOT,1,MF1,7,1,2022-01-01,2023-06-01,516,10.0000,101.00,149.62,0.00,48.62\n",
+            "LOT,1,MF1,7,2,2022-01-01,2023-06-01,516,3.0000,36.60,44.88,8.28,0.00\n",
+            "SUBTOTAL,1,MF1,,,,,,13.0000,137.60,194.50,8.28,48.62\n")
+        .verifyComplete();
+  }
+
+  /** Test for {@link CapitalGainsReport#csvLine(CapitalGainDto)} with fields to quote */
+  @Test
+  @DisplayName("A CSV field with a separator, a quote or a line break is quoted")
+  void csvLineQuoted() {
+    var row =
+        new CapitalGainDto(
+            CapitalGainRow.SUBTOTAL,
+            1,
+            "A,\"B\"",
+            null,
+            null,
+            null,
+            null,
+            null,
+            new BigDecimal("1E+1"),
+            ZERO,
+            ZERO,
+            ZERO,
+            ZERO);
+    assertEquals(
+        "SUBTOTAL,1,\"A,\"\"B\"\"\",,,,,,10,0.00,0.00,0.00,0.00\n",
+        CapitalGainsReport.csvLine(row));
+    assertEquals(
+        ",,\"x\ny\",,,,,,,,,,\n",
+        CapitalGainsReport.csvLine(
+            new CapitalGainDto(
+                null, null, "x\ny", null, null, null, null, null, null, null, null, null, null)));
+  }
+}
@@ -0,0 +1,274 @@
+package com.mydata.userdata.service;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.mydata.userdata.bulk.BulkInsertTable;
+import com.mydata.userdata.bulk.BulkInsertTables;
+import com.mydata.userdata.cache.ReferenceData;
+import com.mydata.userdata.cache.ReferenceDataCache;
+import com.mydata.userdata.dto.*;
+import com.mydata.userdata.mapper.InvestmentMapper;
+import com.mydata.userdata.property.BulkInsertProperties;
+import com.mydata.userdata.repository.BulkInsertRepository;
+import com.mydata.userdata.utils.InvestmentParameterResolver;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link BulkInsertService} */
+@MockitoSettings
+@ExtendWith(InvestmentParameterResolver.class)
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class BulkInsertServiceTest {
+
+  private static final int CHUNK_SIZE = 4;
+
+  /** The expected result for the 10 records generated for a list parameter */
+  private static final BulkInsertResultDto EXPECTED_RESULT =
+      new BulkInsertResultDto(
+          10L,
+          List.of(
+              new BulkInsertChunkDto(0L, 4, 4L),
+              new BulkInsertChunkDto(1L, 4, 4L),
+              new BulkInsertChunkDto(2L, 2, 2L)));
+
+  @Mock private BulkInsertRepository bulkInsertRepo;
+  @Mock private TransactionalOperator transactionalOperator;
+  @Mock private ReferenceDataCache referenceDataCache;
+  @Mock private MutualFundHoldingService mutualFundHoldingService;
+  @Mock private LotMatchingService lotMatchingService;
+
+  private BulkInsertService bulkInsertService;
+
+  /** Executes before each test */
+  @BeforeEach
+  void setUp() {
+    bulkInsertService =
+        new BulkInsertService(
+            bulkInsertRepo,
+            new BulkInsertProperties(CHUNK_SIZE),
+            transactionalOperator,
+            referenceDataCache,
+            mutualFundHoldingService,
+            lotMatchingService);
+    when(transactionalOperator.transactional(any(Flux.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+  }
+
+  /** Executes after each test */
+  @AfterEach
+  void tearDown() {
+    verify(transactionalOperator, times(1)).transactional(any(Flux.class));
+    verifyNoMoreInteractions(
+        bulkInsertRepo,
+        transactionalOperator,
+        referenceDataCache,
+        mutualFundHoldingService,
+        lotMatchingService);
+  }
+
+  /**
+   * Test for {@link BulkInsertService#addDepositAccounts(Flux)}
+   *
+   * @param accounts the deposit accounts
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Deposit Accounts")
+  void addDepositAccounts(final List<AccountDto> accounts) {
+    verifyInsert(
+        BulkInsertTables.DEPOSIT_ACCOUNT,
+        () -> bulkInsertService.addDepositAccounts(Flux.fromIterable(accounts)));
+    verify(referenceDataCache, times(1)).invalidate(ReferenceData.DEPOSIT_ACCOUNTS);
+  }
+
+  /**
+   * Test for {@link BulkInsertService#addLoanAccounts(Flux)}
+   *
+   * @param accounts the loan accounts
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Loan Accounts")
+  void addLoanAccounts(final List<AccountDto> accounts) {
+    verifyInsert(
+        BulkInsertTables.LOAN_ACCOUNT,
+        () -> bulkInsertService.addLoanAccounts(Flux.fromIterable(accounts)));
+    verify(referenceDataCache, times(1)).invalidate(ReferenceData.LOAN_ACCOUNTS);
+  }
+
+  /**
+   * Test for {@link BulkInsertService#addMiscellaneousAccounts(Flux)}
+   *
+   * @param accounts the miscellaneous accounts
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Miscellaneous Accounts")
+  void addMiscellaneousAccounts(final List<MiscellaneousDto> accounts) {
+    verifyInsert(
+        BulkInsertTables.MISCELLANEOUS,
+        () -> bulkInsertService.addMiscellaneousAccounts(Flux.fromIterable(accounts)));
+    verify(referenceDataCache, times(1)).invalidate(ReferenceData.MISC_ACCOUNTS);
+  }
+
+  /**
+   * Test for {@link BulkInsertService#addMutualFundBuyTransactions(Flux)}, the holdings are updated
+   * for every chunk
+   *
+   * @param mfBuyTransactions the mutual fund buy transactions
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Mutual Fund Buy Transactions")
+  void addMutualFundBuyTransactions(final List<MutualFundBuyTransactionDto> mfBuyTransactions) {
+    when(mutualFundHoldingService.addBuys(anyList())).thenReturn(Mono.empty());
+    verifyInsert(
+        BulkInsertTables.MUTUAL_FUND_BUY_TRANSACTION,
+        () -> bulkInsertService.addMutualFundBuyTransactions(Flux.fromIterable(mfBuyTransactions)));
+    verify(mutualFundHoldingService, times(EXPECTED_RESULT.chunks().size())).addBuys(anyList());
+  }
+
+  /**
+   * Test for {@link BulkInsertService#addMutualFundSellTransactions(Flux)}, the sells of every
+   * chunk are matched to the open lots before they are inserted
+   *
+   * @param mfSellTransactions the mutual fund sell transactions
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Mutual Fund Sell Transactions")
+  void addMutualFundSellTransactions(final List<MutualFundSellTransactionDto> mfSellTransactions) {
+    when(lotMatchingService.sellMutualFunds(anyList()))
+        .thenAnswer(
+            invocation ->
+                Mono.just(
+                    invocation.<List<MutualFundSellTransactionDto>>getArgument(0).stream()
+                        .map(InvestmentMapper::toMutualFundSellTransaction)
+                        .toList()));
+    verifyInsert(
+        BulkInsertTables.MUTUAL_FUND_SELL_TRANSACTION,
+        () ->
+            bulkInsertService.addMutualFundSellTransactions(Flux.fromIterable(mfSellTransactions)));
+    verify(lotMatchingService, times(EXPECTED_RESULT.chunks().size())).sellMutualFunds(anyList());
+  }
+
+  /**
+   * Test for {@link BulkInsertService#addMutualFundSellTransactions(Flux)} with more units than
+   * open
+   *
+   * @param mfSellTransactions the mutual fund sell transactions
+   */
+  @Test
+  @DisplayName("Bulk Add Mutual Fund Sell Transactions fails when a chunk can not be matched")
+  void addMutualFundSellTransactionsNotEnoughUnits(
+      final List<MutualFundSellTransactionDto> mfSellTransactions) {
+    when(lotMatchingService.sellMutualFunds(anyList()))
+        .thenReturn(Mono.error(new ServerWebInputException("Not enough open units")));
+    StepVerifier.create(
+            bulkInsertService.addMutualFundSellTransactions(Flux.fromIterable(mfSellTransactions)))
+        .verifyError(ServerWebInputException.class);
+    verify(lotMatchingService, times(1)).sellMutualFunds(anyList());
+  }
+
+  /**
+   * Test for {@link BulkInsertService#addSavingAccounts(Flux)}
+   *
+   * @param accounts the saving accounts
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Saving Accounts")
+  void addSavingAccounts(final List<AccountDto> accounts) {
+    verifyInsert(
+        BulkInsertTables.SAVING_ACCOUNT,
+        () -> bulkInsertService.addSavingAccounts(Flux.fromIterable(accounts)));
+    verify(referenceDataCache, times(1)).invalidate(ReferenceData.SAVING_ACCOUNTS);
+  }
+
+  /**
+   * Test for {@link BulkInsertService#addStocks(Flux)}
+   *
+   * @param stocks the stocks
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Stocks")
+  void addStocks(final List<StockDto> stocks) {
+    verifyInsert(
+        BulkInsertTables.STOCK, () -> bulkInsertService.addStocks(Flux.fromIterable(stocks)));
+    verify(referenceDataCache, times(1)).invalidate(ReferenceData.STOCKS);
+  }
+
+  /**
+   * Test for {@link BulkInsertService#addStockBuyTransactions(Flux)}
+   *
+   * @param stockBuyTransactions the stock buy transactions
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Stock Buy Transactions")
+  void addStockBuyTransactions(final List<StockBuyTransactionDto> stockBuyTransactions) {
+    verifyInsert(
+        BulkInsertTables.STOCK_BUY_TRANSACTION,
+        () -> bulkInsertService.addStockBuyTransactions(Flux.fromIterable(stockBuyTransactions)));
+  }
+
+  /**
+   * Test for {@link BulkInsertService#addStockSellTransactions(Flux)}, the sells of every chunk are
+   * matched to the open lots before they are inserted
+   *
+   * @param stockSellTransactions the stock sell transactions
+   */
+  @Test
+  @DisplayName("Happy Path: Bulk Add Stock Sell Transactions")
+  void addStockSellTransactions(final List<StockSellTransactionDto> stockSellTransactions) {
+    when(lotMatchingService.sellStocks(anyList()))
+        .thenAnswer(
+            invocation ->
+                Mono.just(
+                    invocation.<List<StockSellTransactionDto>>getArgument(0).stream()
+                        .map(InvestmentMapper::toStockSellTransaction)
+                        .toList()));
+    verifyInsert(
+        BulkInsertTables.STOCK_SELL_TRANSACTION,
+        () -> bulkInsertService.addStockSellTransactions(Flux.fromIterable(stockSellTransactions)));
+    verify(lotMatchingService, times(EXPECTED_RESULT.chunks().size())).sellStocks(anyList());
+  }
+
+  /**
+   * Test for {@link BulkInsertService#addStockSellTransactions(Flux)} with more quantity than open
+   *
+   * @param stockSellTransactions the stock sell transactions
+   */
+  @Test
+  @DisplayName("Bulk Add Stock Sell Transactions fails when a chunk can not be matched")
+  void addStockSellTransactionsNotEnoughQuantity(
+      final List<StockSellTransactionDto> stockSellTransactions) {
+    when(lotMatchingService.sellStocks(anyList()))
+        .thenReturn(Mono.error(new ServerWebInputException("Not enough open quantity")));
+    StepVerifier.create(
+            bulkInsertService.addStockSellTransactions(Flux.fromIterable(stockSellTransactions)))
+        .verifyError(ServerWebInputException.class);
+    verify(lotMatchingService, times(1)).sellStocks(anyList());
+  }
+
+  /**
+   * Verify the records are inserted chunk by chunk into the table
+   *
+   * @param table the expected table
+   * @param insert the bulk insert to verify
+   * @param <T> the record type
+   */
+  private <T> void verifyInsert(
+      final BulkInsertTable<T> table, final Supplier<Mono<BulkInsertResultDto>> insert) {
+    when(bulkInsertRepo.insert(eq(table), anyList()))
+        .thenAnswer(invocation -> Mono.just((long) invocation.<List<?>>getArgument(1).size()));
+    StepVerifier.create(insert.get()).expectNext(EXPECTED_RESULT).verifyComplete();
+    verify(bulkInsertRepo, times(EXPECTED_RESULT.chunks().size())).insert(eq(table), anyList());
+  }
+}
@@ -0,0 +1,126 @@
+package com.mydata.userdata.service;
+
+import static org.mockito.Mockito.*;
+
+import com.mydata.userdata.dto.CapitalGainDto;
+import com.mydata.userdata.dto.CapitalGainRow;
+import com.mydata.userdata.property.CapitalGainsProperties;
+import com.mydata.userdata.report.CapitalGainsReport;
+import com.mydata.userdata.repository.CapitalGainsRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link CapitalGainsService} */
+@MockitoSettings
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class CapitalGainsServiceTest {
+
+  private static final int LONG_TERM_DAYS = 365;
+  private static final LocalDate FROM = LocalDate.of(2021, 4, 1);
+  private static final LocalDate TO = LocalDate.of(2023, 4, 1);
+  private static final CapitalGainDto LOT =
+      new CapitalGainDto(
+          CapitalGainRow.LOT,
+          1,
+          "MF1",
+          7,
+          3,
+          LocalDate.of(2021, 1, 1),
+          LocalDate.of(2021, 6, 1),
+          151,
+          BigDecimal.ONE,
+          BigDecimal.TEN,
+          new BigDecimal("12"),
+          new BigDecimal("2"),
+          BigDecimal.ZERO);
+
+  @Mock private CapitalGainsRepository capitalGainsRepository;
+
+  private CapitalGainsService capitalGainsService;
+
+  /** Executes before each test */
+  @BeforeEach
+  void setUp() {
+    capitalGainsService =
+        new CapitalGainsService(capitalGainsRepository, new CapitalGainsProperties(LONG_TERM_DAYS));
+  }
+
+  /** Executes after each test */
+  @AfterEach
+  void tearDown() {
+    verifyNoMoreInteractions(capitalGainsRepository);
+  }
+
+  /** Test for {@link CapitalGainsService#getMutualFundCapitalGains(int, int)} */
+  @Test
+  @DisplayName("Happy Path: Get the Mutual Fund Capital Gains of the financial years")
+  void getMutualFundCapitalGains() {
+    when(capitalGainsRepository.findUnmatchedMutualFundSellIds(FROM, TO)).thenReturn(Flux.empty());
+    when(capitalGainsRepository.findMutualFundCapitalGains(FROM, TO, LONG_TERM_DAYS))
+        .thenReturn(Flux.just(LOT));
+    StepVerifier.create(capitalGainsService.getMutualFundCapitalGains(2021, 2022))
+        .expectNext(LOT)
+        .expectNextMatches(subtotal -> CapitalGainRow.SUBTOTAL == subtotal.row())
+        .verifyComplete();
+    verify(capitalGainsRepository, times(1)).findUnmatchedMutualFundSellIds(FROM, TO);
+    verify(capitalGainsRepository, times(1)).findMutualFundCapitalGains(FROM, TO, LONG_TERM_DAYS);
+  }
+
+  /** Test for {@link CapitalGainsService#getMutualFundCapitalGainsCsv(int, int)} */
+  @Test
+  @DisplayName("Happy Path: Get the Mutual Fund Capital Gains of the financial years as CSV")
+  void getMutualFundCapitalGainsCsv() {
+    when(capitalGainsRepository.findUnmatchedMutualFundSellIds(FROM, TO)).thenReturn(Flux.empty());
+    when(capitalGainsRepository.findMutualFundCapitalGains(FROM, TO, LONG_TERM_DAYS))
+        .thenReturn(Flux.just(LOT));
+    StepVerifier.create(capitalGainsService.getMutualFundCapitalGainsCsv(2021, 2022))
+        .expectNext(
+            CapitalGainsReport.CSV_HEADER,
+            "LOT,1,MF1,7,3,2021-01-01,2021-06-01,151,1,10,12,2,0\n",
+            "SUBTOTAL,1,MF1,,,,,,1,10,12,2,0\n")
+        .verifyComplete();
+    verify(capitalGainsRepository, times(1)).findUnmatchedMutualFundSellIds(FROM, TO);
+    verify(capitalGainsRepository, times(1)).findMutualFundCapitalGains(FROM, TO, LONG_TERM_DAYS);
+  }
+
+  /**
+   * Test for {@link CapitalGainsService#getMutualFundCapitalGains(int, int)} and {@link
+   * CapitalGainsService#getMutualFundCapitalGainsCsv(int, int)} with the years reversed
+   */
+  @Test
+  @DisplayName("A range of financial years ending before it starts is refused before writing")
+  void getMutualFundCapitalGainsInvalidYears() {
+    StepVerifier.create(capitalGainsService.getMutualFundCapitalGains(2023, 2022))
+        .verifyError(ServerWebInputException.class);
+    StepVerifier.create(capitalGainsService.getMutualFundCapitalGainsCsv(2023, 2022))
+        .verifyError(ServerWebInputException.class);
+  }
+
+  /**
+   * Test for {@link CapitalGainsService#getMutualFundCapitalGains(int, int)} and {@link
+   * CapitalGainsService#getMutualFundCapitalGainsCsv(int, int)} with a sell whose lot units do not
+   * add up to its units
+   */
+  @Test
+  @DisplayName("The Capital Gains of sells with unmatched lot units fail before writing")
+  void getMutualFundCapitalGainsUnmatchedSells() {
+    when(capitalGainsRepository.findUnmatchedMutualFundSellIds(FROM, TO))
+        .thenAnswer(invocation -> Flux.just(7, 9));
+    StepVerifier.create(capitalGainsService.getMutualFundCapitalGains(2021, 2022))
+        .verifyErrorMessage(
+            "The lot units of the Mutual Fund Sell Transactions [7, 9] do not add up to their"
+                + " units");
+    StepVerifier.create(capitalGainsService.getMutualFundCapitalGainsCsv(2021, 2022))
+        .verifyError(IllegalStateException.class);
+    verify(capitalGainsRepository, times(2)).findUnmatchedMutualFundSellIds(FROM, TO);
+  }
+}
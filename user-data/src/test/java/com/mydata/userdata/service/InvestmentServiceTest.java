@@ -2,16 +2,22 @@ package com.mydata.userdata.service;
 
 import static org.junit.jupiter.api.Named.named;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.expediagroup.beans.BeanUtils;
 import com.expediagroup.transformer.model.FieldTransformer;
+import com.mydata.userdata.cache.ReferenceData;
+import com.mydata.userdata.cache.ReferenceDataCache;
 import com.mydata.userdata.dto.*;
 import com.mydata.userdata.entity.*;
+import com.mydata.userdata.pagination.KeysetCursor;
+import com.mydata.userdata.pagination.KeysetPage;
 import com.mydata.userdata.repository.*;
 import com.mydata.userdata.utils.GenerateFrom;
 import com.mydata.userdata.utils.InvestmentParameterResolver;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.*;
@@ -22,6 +28,7 @@ import org.reactivestreams.Publisher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -33,6 +40,7 @@ import reactor.test.StepVerifier;
 class InvestmentServiceTest {
 
   public static final String STUB_RESPONSE = "stubResponse";
+  private static final KeysetCursor AFTER = KeysetCursor.FIRST;
 
   @Autowired private InvestmentService investService;
 
@@ -44,11 +52,36 @@ class InvestmentServiceTest {
   @MockBean private MutualFundSellTransactionRepository mfSellTranRepo;
   @MockBean private SavingAccountRepository saRepo;
   @MockBean private StockRepository stockRepo;
+  @MockBean private StockBuyTransactionRepository stockBuyTranRepo;
+  @MockBean private StockSellTransactionRepository stockSellTranRepo;
+  @MockBean private ReferenceDataCache referenceDataCache;
+  @MockBean private LotMatchingService lotMatchingService;
+  @MockBean private MutualFundHoldingService mutualFundHoldingService;
+  @MockBean private TransactionalOperator transactionalOperator;
+
+  /** Executes before each test, the cache loads every list */
+  @BeforeEach
+  void setUp() {
+    when(referenceDataCache.get(any(ReferenceData.class), any()))
+        .thenAnswer(invocation -> invocation.<Supplier<Flux<?>>>getArgument(1).get());
+  }
 
   /** Executes after each test */
   @AfterEach
   void tearDown() {
-    verifyNoMoreInteractions(daRepo, loanRepo, miscRepo, mfRepo, saRepo, stockRepo);
+    verifyNoMoreInteractions(
+        daRepo,
+        loanRepo,
+        miscRepo,
+        mfRepo,
+        mfSellTranRepo,
+        saRepo,
+        stockRepo,
+        stockBuyTranRepo,
+        stockSellTranRepo,
+        referenceDataCache,
+        lotMatchingService,
+        mutualFundHoldingService);
   }
 
   /**
@@ -65,6 +98,28 @@ class InvestmentServiceTest {
     when(daRepo.findByActive(Boolean.TRUE)).thenReturn(Flux.fromIterable(stubResponse));
     stepVerify(investService.getDepositAccounts(), expectedResult);
     verify(daRepo, times(1)).findByActive(Boolean.TRUE);
+    verify(referenceDataCache, times(1)).get(eq(ReferenceData.DEPOSIT_ACCOUNTS), any());
+  }
+
+  /**
+   * Test for {@link InvestmentService#getDepositAccountsPage(KeysetCursor, int)}
+   *
+   * @param stubResponse list of deposit accounts in mock response
+   * @param expectedResult list of expected objects
+   */
+  @Test
+  @DisplayName("Happy Path: Get a page of Active Deposit Accounts")
+  void getDepositAccountsPage(
+      final List<DepositAccount> stubResponse,
+      @GenerateFrom(STUB_RESPONSE) final List<AccountDto> expectedResult) {
+    var size = stubResponse.size() - 1;
+    when(daRepo.findPageByActive(Boolean.TRUE, AFTER.id(), size + 1))
+        .thenReturn(Flux.fromIterable(stubResponse));
+    var items = expectedResult.subList(0, size);
+    stepVerify(
+        investService.getDepositAccountsPage(AFTER, size),
+        new KeysetPage<>(items, KeysetCursor.ofId(items.get(size - 1).id()).encode()));
+    verify(daRepo, times(1)).findPageByActive(Boolean.TRUE, AFTER.id(), size + 1);
   }
 
   /**
@@ -91,6 +146,7 @@ class InvestmentServiceTest {
     when(daRepo.save(any(DepositAccount.class))).thenReturn(Mono.just(stubResponse));
     stepVerify(investService.addDepositAccount(expectedResult), expectedResult);
     verify(daRepo, times(1)).save(any(DepositAccount.class));
+    verify(referenceDataCache, times(1)).invalidate(ReferenceData.DEPOSIT_ACCOUNTS);
   }
 
   /**
@@ -117,6 +173,26 @@ class InvestmentServiceTest {
     when(loanRepo.findByActive(Boolean.TRUE)).thenReturn(Flux.fromIterable(stubResponse));
     stepVerify(investService.getLoanAccounts(), expectedResult);
     verify(loanRepo, times(1)).findByActive(Boolean.TRUE);
+    verify(referenceDataCache, times(1)).get(eq(ReferenceData.LOAN_ACCOUNTS), any());
+  }
+
+  /**
+   * Test for {@link InvestmentService#getLoanAccountsPage(KeysetCursor, int)}
+   *
+   * @param stubResponse list of loan accounts in mock response
+   * @param expectedResult list of expected objects
+   */
+  @Test
+  @DisplayName("Happy Path: Get last page of Active Loan Accounts")
+  void getLoanAccountsPage(
+      final List<Loan> stubResponse,
+      @GenerateFrom(STUB_RESPONSE) final List<AccountDto> expectedResult) {
+    var size = stubResponse.size();
+    when(loanRepo.findPageByActive(Boolean.TRUE, AFTER.id(), size + 1))
+        .thenReturn(Flux.fromIterable(stubResponse));
+    stepVerify(
+        investService.getLoanAccountsPage(AFTER, size), new KeysetPage<>(expectedResult, null));
+    verify(loanRepo, times(1)).findPageByActive(Boolean.TRUE, AFTER.id(), size + 1);
   }
 
   /**
@@ -132,6 +208,7 @@ class InvestmentServiceTest {
     when(loanRepo.save(any(Loan.class))).thenReturn(Mono.just(stubResponse));
     stepVerify(investService.addLoanAccount(expectedResult), expectedResult);
     verify(loanRepo, times(1)).save(any(Loan.class));
+    verify(referenceDataCache, times(1)).invalidate(ReferenceData.LOAN_ACCOUNTS);
   }
 
   /**
@@ -148,6 +225,28 @@ class InvestmentServiceTest {
     when(miscRepo.findByActive(Boolean.TRUE)).thenReturn(Flux.fromIterable(stubResponse));
     stepVerify(investService.getMiscellaneousAccounts(), expectedResult);
     verify(miscRepo, times(1)).findByActive(Boolean.TRUE);
+    verify(referenceDataCache, times(1)).get(eq(ReferenceData.MISC_ACCOUNTS), any());
+  }
+
+  /**
+   * Test for {@link InvestmentService#getMiscellaneousAccountsPage(KeysetCursor, int)}
+   *
+   * @param stubResponse list of miscellaneous accounts in mock response
+   * @param expectedResult list of expected objects
+   */
+  @Test
+  @DisplayName("Happy Path: Get a page of Active Miscellaneous Accounts")
+  void getMiscellaneousAccountsPage(
+      final List<Miscellaneous> stubResponse,
+      @GenerateFrom(STUB_RESPONSE) final List<MiscellaneousDto> expectedResult) {
+    var size = stubResponse.size() - 1;
+    when(miscRepo.findPageByActive(Boolean.TRUE, AFTER.id(), size + 1))
+        .thenReturn(Flux.fromIterable(stubResponse));
+    var items = expectedResult.subList(0, size);
+    stepVerify(
+        investService.getMiscellaneousAccountsPage(AFTER, size),
+        new KeysetPage<>(items, KeysetCursor.ofId(items.get(size - 1).id()).encode()));
+    verify(miscRepo, times(1)).findPageByActive(Boolean.TRUE, AFTER.id(), size + 1);
   }
 
   /**
@@ -164,6 +263,7 @@ class InvestmentServiceTest {
     when(miscRepo.save(any(Miscellaneous.class))).thenReturn(Mono.just(stubResponse));
     stepVerify(investService.addMiscellaneousAccount(expectedResult), expectedResult);
     verify(miscRepo, times(1)).save(any(Miscellaneous.class));
+    verify(referenceDataCache, times(1)).invalidate(ReferenceData.MISC_ACCOUNTS);
   }
 
   /**
@@ -180,6 +280,7 @@ class InvestmentServiceTest {
     when(mfRepo.findByActive(Boolean.TRUE)).thenReturn(Flux.fromIterable(stubResponse));
     stepVerify(investService.getMutualFunds(), expectedResult);
     verify(mfRepo, times(1)).findByActive(Boolean.TRUE);
+    verify(referenceDataCache, times(1)).get(eq(ReferenceData.MUTUAL_FUNDS), any());
   }
 
   /**
@@ -196,6 +297,7 @@ class InvestmentServiceTest {
     when(mfRepo.save(any(MutualFund.class))).thenReturn(Mono.just(stubResponse));
     stepVerify(investService.addMutualFund(expectedResult), expectedResult);
     verify(mfRepo, times(1)).save(any(MutualFund.class));
+    verify(referenceDataCache, times(1)).invalidate(ReferenceData.MUTUAL_FUNDS);
   }
 
   /**
@@ -248,6 +350,29 @@ class InvestmentServiceTest {
     return DynamicTest.stream(inputStream, testExecutor);
   }
 
+  /**
+   * Test for {@link InvestmentService#getMutualFundBuyTransactionsPage(Boolean, KeysetCursor, int)}
+   *
+   * @param stubResponse list of {@link MutualFundBuyTransaction} in mock response
+   * @param expectedResult list of expected {@link MutualFundBuyTransactionDto} objects
+   */
+  @Test
+  @DisplayName("Happy Path: Get a page of not sold out Mutual Fund Buy Transactions")
+  void getMutualFundBuyTransactionsPage(
+      final List<MutualFundBuyTransaction> stubResponse,
+      @GenerateFrom(STUB_RESPONSE) final List<MutualFundBuyTransactionDto> expectedResult) {
+    var size = stubResponse.size() - 1;
+    when(mfBuyTranRepo.findPageByIsSoldOut(Boolean.FALSE, AFTER.sortKey(), AFTER.id(), size + 1))
+        .thenReturn(Flux.fromIterable(stubResponse));
+    var items = expectedResult.subList(0, size);
+    var last = items.get(size - 1);
+    stepVerify(
+        investService.getMutualFundBuyTransactionsPage(Boolean.FALSE, AFTER, size),
+        new KeysetPage<>(items, new KeysetCursor(last.buyDate(), last.id()).encode()));
+    verify(mfBuyTranRepo, times(1))
+        .findPageByIsSoldOut(Boolean.FALSE, AFTER.sortKey(), AFTER.id(), size + 1);
+  }
+
   /**
    * Test for {@link InvestmentService#addMutualFundBuyTransaction(MutualFundBuyTransactionDto)}
    * (MutualFundBuyTransactionDto)}
@@ -262,25 +387,45 @@ class InvestmentServiceTest {
       @GenerateFrom(STUB_RESPONSE) final MutualFundBuyTransactionDto expectedResult) {
     when(mfBuyTranRepo.save(any(MutualFundBuyTransaction.class)))
         .thenReturn(Mono.just(stubResponse));
+    when(mutualFundHoldingService.addBuys(List.of(stubResponse))).thenReturn(Mono.empty());
+    when(transactionalOperator.transactional(any(Mono.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
     stepVerify(investService.addMutualFundBuyTransaction(expectedResult), expectedResult);
     verify(mfBuyTranRepo, times(1)).save(any(MutualFundBuyTransaction.class));
+    verify(mutualFundHoldingService, times(1)).addBuys(List.of(stubResponse));
   }
 
   /**
    * Test for {@link InvestmentService#addMutualFundSellTransaction(MutualFundSellTransactionDto)}
    *
-   * @param stubResponse list of {@link MutualFundSellTransaction} in mock response
-   * @param expectedResult list of expected {@link MutualFundSellTransactionDto} objects
+   * @param expectedResult the sell transaction, matched by the {@link LotMatchingService}
    */
   @Test
   @DisplayName("Happy Path: Add Mutual Fund Sell Transaction")
-  void addMutualFundSellTransactions(
-      final MutualFundSellTransaction stubResponse,
-      @GenerateFrom(STUB_RESPONSE) final MutualFundSellTransactionDto expectedResult) {
-    when(mfSellTranRepo.save(any(MutualFundSellTransaction.class)))
-        .thenReturn(Mono.just(stubResponse));
+  void addMutualFundSellTransactions(final MutualFundSellTransactionDto expectedResult) {
+    when(lotMatchingService.sellMutualFund(expectedResult)).thenReturn(Mono.just(expectedResult));
     stepVerify(investService.addMutualFundSellTransaction(expectedResult), expectedResult);
-    verify(mfSellTranRepo, times(1)).save(any(MutualFundSellTransaction.class));
+    verify(lotMatchingService, times(1)).sellMutualFund(expectedResult);
+  }
+
+  /**
+   * Test for {@link InvestmentService#getMutualFundSellTransactionsPage(KeysetCursor, int)}
+   *
+   * @param stubResponse list of {@link MutualFundSellTransaction} in mock response
+   * @param expectedResult list of expected {@link MutualFundSellTransactionDto} objects
+   */
+  @Test
+  @DisplayName("Happy Path: Get a page of Mutual Fund Sell Transactions")
+  void getMutualFundSellTransactionsPage(
+      final List<MutualFundSellTransaction> stubResponse,
+      @GenerateFrom(STUB_RESPONSE) final List<MutualFundSellTransactionDto> expectedResult) {
+    var size = stubResponse.size() - 1;
+    when(mfSellTranRepo.findPage(AFTER.id(), size + 1)).thenReturn(Flux.fromIterable(stubResponse));
+    var items = expectedResult.subList(0, size);
+    stepVerify(
+        investService.getMutualFundSellTransactionsPage(AFTER, size),
+        new KeysetPage<>(items, KeysetCursor.ofId(items.get(size - 1).id()).encode()));
+    verify(mfSellTranRepo, times(1)).findPage(AFTER.id(), size + 1);
   }
 
   /**
@@ -297,6 +442,26 @@ class InvestmentServiceTest {
     when(saRepo.findByActive(Boolean.TRUE)).thenReturn(Flux.fromIterable(stubResponse));
     stepVerify(investService.getSavingAccounts(), expectedResult);
     verify(saRepo, times(1)).findByActive(Boolean.TRUE);
+    verify(referenceDataCache, times(1)).get(eq(ReferenceData.SAVING_ACCOUNTS), any());
+  }
+
+  /**
+   * Test for {@link InvestmentService#getSavingAccountsPage(KeysetCursor, int)}
+   *
+   * @param stubResponse list of saving accounts in mock response
+   * @param expectedResult list of expected objects
+   */
+  @Test
+  @DisplayName("Happy Path: Get last page of Active Saving Accounts")
+  void getSavingAccountsPage(
+      final List<SavingAccount> stubResponse,
+      @GenerateFrom(STUB_RESPONSE) final List<AccountDto> expectedResult) {
+    var size = stubResponse.size();
+    when(saRepo.findPageByActive(Boolean.TRUE, AFTER.id(), size + 1))
+        .thenReturn(Flux.fromIterable(stubResponse));
+    stepVerify(
+        investService.getSavingAccountsPage(AFTER, size), new KeysetPage<>(expectedResult, null));
+    verify(saRepo, times(1)).findPageByActive(Boolean.TRUE, AFTER.id(), size + 1);
   }
 
   /**
@@ -313,6 +478,7 @@ class InvestmentServiceTest {
     when(saRepo.save(any(SavingAccount.class))).thenReturn(Mono.just(stubResponse));
     stepVerify(investService.addSavingAccount(expectedResult), expectedResult);
     verify(saRepo, times(1)).save(any(SavingAccount.class));
+    verify(referenceDataCache, times(1)).invalidate(ReferenceData.SAVING_ACCOUNTS);
   }
 
   /**
@@ -329,6 +495,7 @@ class InvestmentServiceTest {
     when(stockRepo.findByActive(Boolean.TRUE)).thenReturn(Flux.fromIterable(stubResponse));
     stepVerify(investService.getStocks(), expectedResult);
     verify(stockRepo, times(1)).findByActive(Boolean.TRUE);
+    verify(referenceDataCache, times(1)).get(eq(ReferenceData.STOCKS), any());
   }
 
   /**
@@ -344,5 +511,112 @@ class InvestmentServiceTest {
     when(stockRepo.save(any(Stock.class))).thenReturn(Mono.just(stubResponse));
     stepVerify(investService.addStock(expectedResult), expectedResult);
     verify(stockRepo, times(1)).save(any(Stock.class));
+    verify(referenceDataCache, times(1)).invalidate(ReferenceData.STOCKS);
+  }
+
+  /**
+   * Test for {@link InvestmentService#getStockBuyTransactions(Boolean)}
+   *
+   * @param stubResponse list of {@link StockBuyTransaction} in mock response
+   * @param expectedResult list of expected {@link StockBuyTransactionDto} objects
+   */
+  @Test
+  @DisplayName("Happy Path: Get not sold out Stock Buy Transactions")
+  void getStockBuyTransactions(
+      final List<StockBuyTransaction> stubResponse,
+      @GenerateFrom(STUB_RESPONSE) final List<StockBuyTransactionDto> expectedResult) {
+    when(stockBuyTranRepo.findByIsSoldOut(Boolean.FALSE))
+        .thenReturn(Flux.fromIterable(stubResponse));
+    stepVerify(investService.getStockBuyTransactions(Boolean.FALSE), expectedResult);
+    verify(stockBuyTranRepo, times(1)).findByIsSoldOut(Boolean.FALSE);
+  }
+
+  /**
+   * Test for {@link InvestmentService#getStockBuyTransactionsPage(Boolean, KeysetCursor, int)}
+   *
+   * @param stubResponse list of {@link StockBuyTransaction} in mock response
+   * @param expectedResult list of expected {@link StockBuyTransactionDto} objects
+   */
+  @Test
+  @DisplayName("Happy Path: Get a page of not sold out Stock Buy Transactions")
+  void getStockBuyTransactionsPage(
+      final List<StockBuyTransaction> stubResponse,
+      @GenerateFrom(STUB_RESPONSE) final List<StockBuyTransactionDto> expectedResult) {
+    var size = stubResponse.size() - 1;
+    when(stockBuyTranRepo.findPageByIsSoldOut(Boolean.FALSE, AFTER.sortKey(), AFTER.id(), size + 1))
+        .thenReturn(Flux.fromIterable(stubResponse));
+    var items = expectedResult.subList(0, size);
+    var last = items.get(size - 1);
+    stepVerify(
+        investService.getStockBuyTransactionsPage(Boolean.FALSE, AFTER, size),
+        new KeysetPage<>(items, new KeysetCursor(last.buyDate(), last.id()).encode()));
+    verify(stockBuyTranRepo, times(1))
+        .findPageByIsSoldOut(Boolean.FALSE, AFTER.sortKey(), AFTER.id(), size + 1);
+  }
+
+  /**
+   * Test for {@link InvestmentService#addStockBuyTransaction(StockBuyTransactionDto)}
+   *
+   * @param stubResponse the {@link StockBuyTransaction} in mock response
+   * @param expectedResult the expected {@link StockBuyTransactionDto}
+   */
+  @Test
+  @DisplayName("Happy Path: Add Stock Buy Transaction")
+  void addStockBuyTransaction(
+      final StockBuyTransaction stubResponse,
+      @GenerateFrom(STUB_RESPONSE) final StockBuyTransactionDto expectedResult) {
+    when(stockBuyTranRepo.save(any(StockBuyTransaction.class))).thenReturn(Mono.just(stubResponse));
+    stepVerify(investService.addStockBuyTransaction(expectedResult), expectedResult);
+    verify(stockBuyTranRepo, times(1)).save(any(StockBuyTransaction.class));
+  }
+
+  /**
+   * Test for {@link InvestmentService#getStockSellTransactions()}
+   *
+   * @param stubResponse list of {@link StockSellTransaction} in mock response
+   * @param expectedResult list of expected {@link StockSellTransactionDto} objects
+   */
+  @Test
+  @DisplayName("Happy Path: Get Stock Sell Transactions")
+  void getStockSellTransactions(
+      final List<StockSellTransaction> stubResponse,
+      @GenerateFrom(STUB_RESPONSE) final List<StockSellTransactionDto> expectedResult) {
+    when(stockSellTranRepo.findAll()).thenReturn(Flux.fromIterable(stubResponse));
+    stepVerify(investService.getStockSellTransactions(), expectedResult);
+    verify(stockSellTranRepo, times(1)).findAll();
+  }
+
+  /**
+   * Test for {@link InvestmentService#getStockSellTransactionsPage(KeysetCursor, int)}
+   *
+   * @param stubResponse list of {@link StockSellTransaction} in mock response
+   * @param expectedResult list of expected {@link StockSellTransactionDto} objects
+   */
+  @Test
+  @DisplayName("Happy Path: Get a page of Stock Sell Transactions")
+  void getStockSellTransactionsPage(
+      final List<StockSellTransaction> stubResponse,
+      @GenerateFrom(STUB_RESPONSE) final List<StockSellTransactionDto> expectedResult) {
+    var size = stubResponse.size() - 1;
+    when(stockSellTranRepo.findPage(AFTER.id(), size + 1))
+        .thenReturn(Flux.fromIterable(stubResponse));
+    var items = expectedResult.subList(0, size);
+    stepVerify(
+        investService.getStockSellTransactionsPage(AFTER, size),
+        new KeysetPage<>(items, KeysetCursor.ofId(items.get(size - 1).id()).encode()));
+    verify(stockSellTranRepo, times(1)).findPage(AFTER.id(), size + 1);
+  }
+
+  /**
+   * Test for {@link InvestmentService#addStockSellTransaction(StockSellTransactionDto)}
+   *
+   * @param expectedResult the sell transaction, matched by the {@link LotMatchingService}
+   */
+  @Test
+  @DisplayName("Happy Path: Add Stock Sell Transaction")
+  void addStockSellTransaction(final StockSellTransactionDto expectedResult) {
+    when(lotMatchingService.sellStock(expectedResult)).thenReturn(Mono.just(expectedResult));
+    stepVerify(investService.addStockSellTransaction(expectedResult), expectedResult);
+    verify(lotMatchingService, times(1)).sellStock(expectedResult);
   }
 }
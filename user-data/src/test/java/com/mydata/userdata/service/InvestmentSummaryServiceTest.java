@@ -0,0 +1,96 @@
+package com.mydata.userdata.service;
+
+import static org.mockito.Mockito.*;
+
+import com.mydata.userdata.dto.*;
+import com.mydata.userdata.repository.InvestmentSummaryRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link InvestmentSummaryService} */
+@MockitoSettings
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class InvestmentSummaryServiceTest {
+
+  private static final List<AssetClassTotalDto> ACCOUNT_TOTALS =
+      List.of(
+          new AssetClassTotalDto(AssetClass.DEPOSIT_ACCOUNT, 2L, new BigDecimal("1000.50")),
+          new AssetClassTotalDto(AssetClass.LOAN_ACCOUNT, 1L, new BigDecimal("-400.25")),
+          new AssetClassTotalDto(AssetClass.MISCELLANEOUS, 0L, BigDecimal.ZERO),
+          new AssetClassTotalDto(AssetClass.SAVING_ACCOUNT, 3L, new BigDecimal("99.75")));
+
+  private static final List<MutualFundPositionDto> MF_POSITIONS =
+      List.of(
+          new MutualFundPositionDto(
+              1, new BigDecimal("10.5000"), new BigDecimal("105.10"), new BigDecimal("10.0095")),
+          new MutualFundPositionDto(
+              2, new BigDecimal("2.2500"), new BigDecimal("24.90"), new BigDecimal("11.0667")));
+
+  @Mock private InvestmentSummaryRepository investmentSummaryRepo;
+  @Mock private MutualFundHoldingService mutualFundHoldingService;
+
+  private InvestmentSummaryService investmentSummaryService;
+
+  /** Executes before each test */
+  @BeforeEach
+  void setUp() {
+    investmentSummaryService =
+        new InvestmentSummaryService(investmentSummaryRepo, mutualFundHoldingService);
+  }
+
+  /** Executes after each test */
+  @AfterEach
+  void tearDown() {
+    verifyNoMoreInteractions(investmentSummaryRepo, mutualFundHoldingService);
+  }
+
+  /** Test for {@link InvestmentSummaryService#getInvestmentSummary()} */
+  @Test
+  @DisplayName("Happy Path: Get Investment Summary")
+  void getInvestmentSummary() {
+    when(investmentSummaryRepo.findAccountTotals()).thenReturn(Flux.fromIterable(ACCOUNT_TOTALS));
+    when(mutualFundHoldingService.getMutualFundHoldings())
+        .thenReturn(Flux.fromIterable(MF_POSITIONS));
+    var mutualFundTotal =
+        new AssetClassTotalDto(AssetClass.MUTUAL_FUND, 2L, new BigDecimal("130.00"));
+    StepVerifier.create(investmentSummaryService.getInvestmentSummary())
+        .expectNext(
+            new InvestmentSummaryDto(
+                new BigDecimal("830.00"),
+                List.of(
+                    ACCOUNT_TOTALS.get(0),
+                    ACCOUNT_TOTALS.get(1),
+                    ACCOUNT_TOTALS.get(2),
+                    ACCOUNT_TOTALS.get(3),
+                    mutualFundTotal),
+                MF_POSITIONS))
+        .verifyComplete();
+    verify(investmentSummaryRepo, times(1)).findAccountTotals();
+    verify(mutualFundHoldingService, times(1)).getMutualFundHoldings();
+  }
+
+  /** Test for {@link InvestmentSummaryService#getInvestmentSummary()} without investments */
+  @Test
+  @DisplayName("Get Investment Summary without mutual fund positions")
+  void getInvestmentSummaryWithoutMutualFunds() {
+    when(investmentSummaryRepo.findAccountTotals()).thenReturn(Flux.empty());
+    when(mutualFundHoldingService.getMutualFundHoldings()).thenReturn(Flux.empty());
+    StepVerifier.create(investmentSummaryService.getInvestmentSummary())
+        .expectNext(
+            new InvestmentSummaryDto(
+                BigDecimal.ZERO,
+                List.of(new AssetClassTotalDto(AssetClass.MUTUAL_FUND, 0L, BigDecimal.ZERO)),
+                List.of()))
+        .verifyComplete();
+    verify(investmentSummaryRepo, times(1)).findAccountTotals();
+    verify(mutualFundHoldingService, times(1)).getMutualFundHoldings();
+  }
+}
@@ -0,0 +1,553 @@
+package com.mydata.userdata.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.dto.MutualFundSellTransactionDto;
+import com.mydata.userdata.dto.StockSellTransactionDto;
+import com.mydata.userdata.entity.MutualFundBuyTransaction;
+import com.mydata.userdata.entity.MutualFundSellTransaction;
+import com.mydata.userdata.entity.StockBuyTransaction;
+import com.mydata.userdata.entity.StockSellTransaction;
+import com.mydata.userdata.lot.LotMatch;
+import com.mydata.userdata.mapper.InvestmentMapper;
+import com.mydata.userdata.pagination.KeysetCursor;
+import com.mydata.userdata.property.LotMatchingProperties;
+import com.mydata.userdata.repository.MutualFundBuyTransactionRepository;
+import com.mydata.userdata.repository.MutualFundSellTransactionRepository;
+import com.mydata.userdata.repository.StockBuyTransactionRepository;
+import com.mydata.userdata.repository.StockSellTransactionRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link LotMatchingService} */
+@MockitoSettings
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class LotMatchingServiceTest {
+
+  private static final int BATCH_SIZE = 2;
+  private static final Integer MF_ID = 1;
+  private static final Integer STOCK_ID = 1;
+  private static final Instant BUY_DATE = Instant.parse("2022-01-01T00:00:00Z");
+
+  /** Two open lots: 10 units at 10 with charge 1 and 6 of 10 units at 12 with charge 2 */
+  private static final List<MutualFundBuyTransaction> OPEN_LOTS =
+      List.of(
+          new MutualFundBuyTransaction(
+              1,
+              MF_ID,
+              FixedDecimal.of(10, 0),
+              FixedDecimal.of(10, 0),
+              FixedDecimal.of(1, 0),
+              BUY_DATE,
+              FixedDecimal.ZERO,
+              false,
+              null,
+              null),
+          new MutualFundBuyTransaction(
+              2,
+              MF_ID,
+              FixedDecimal.of(12, 0),
+              FixedDecimal.of(10, 0),
+              FixedDecimal.of(2, 0),
+              BUY_DATE.plusSeconds(1),
+              FixedDecimal.of(4, 0),
+              false,
+              null,
+              null));
+
+  /**
+   * Two open stock lots: 10 shares at 100 with charge 5 and 4 of 10 shares at 120 with charge 10
+   */
+  private static final List<StockBuyTransaction> OPEN_STOCK_LOTS =
+      List.of(
+          new StockBuyTransaction(
+              3,
+              STOCK_ID,
+              FixedDecimal.of(100, 0),
+              10,
+              FixedDecimal.of(5, 0),
+              BUY_DATE,
+              0,
+              false,
+              null,
+              null),
+          new StockBuyTransaction(
+              4,
+              STOCK_ID,
+              FixedDecimal.of(120, 0),
+              10,
+              FixedDecimal.of(10, 0),
+              BUY_DATE.plusSeconds(1),
+              6,
+              false,
+              null,
+              null));
+
+  @Mock private MutualFundBuyTransactionRepository mfBuyTranRepo;
+  @Mock private MutualFundSellTransactionRepository mfSellTranRepo;
+  @Mock private StockBuyTransactionRepository stockBuyTranRepo;
+  @Mock private StockSellTransactionRepository stockSellTranRepo;
+  @Mock private MutualFundHoldingService mutualFundHoldingService;
+  @Mock private TransactionalOperator transactionalOperator;
+
+  private LotMatchingService lotMatchingService;
+
+  /** Executes before each test */
+  @BeforeEach
+  void setUp() {
+    lotMatchingService =
+        new LotMatchingService(
+            mfBuyTranRepo,
+            mfSellTranRepo,
+            stockBuyTranRepo,
+            stockSellTranRepo,
+            mutualFundHoldingService,
+            new LotMatchingProperties(BATCH_SIZE),
+            transactionalOperator);
+  }
+
+  /** Executes after each test */
+  @AfterEach
+  void tearDown() {
+    verifyNoMoreInteractions(
+        mfBuyTranRepo,
+        mfSellTranRepo,
+        stockBuyTranRepo,
+        stockSellTranRepo,
+        mutualFundHoldingService);
+  }
+
+  /** Test for {@link LotMatchingService#sellMutualFund(MutualFundSellTransactionDto)} */
+  @Test
+  @DisplayName("Happy Path: Sell units FIFO from the open lots")
+  void sellMutualFund() {
+    when(transactionalOperator.transactional(any(Mono.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    when(mfBuyTranRepo.findOpenLotsForUpdate(
+            MF_ID, null, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE))
+        .thenReturn(Flux.fromIterable(OPEN_LOTS));
+    when(mfBuyTranRepo.addSoldUnits(any(), any())).thenReturn(Mono.just(2));
+    when(mutualFundHoldingService.removeSold(eq(MF_ID), anyList())).thenReturn(Mono.empty());
+    when(mfSellTranRepo.save(any(MutualFundSellTransaction.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    var sell =
+        new MutualFundSellTransactionDto(
+            null,
+            MF_ID,
+            List.of(9),
+            FixedDecimal.of(15, 0),
+            FixedDecimal.of(13, 0),
+            FixedDecimal.of(5, 1),
+            null,
+            FixedDecimal.ZERO);
+
+    // 13 units sold at 15 less charge 0.5 = 194.5, cost 10 * 10 + 1 + 3 * 12 + 0.6 = 137.6
+    StepVerifier.create(lotMatchingService.sellMutualFund(sell))
+        .expectNext(
+            new MutualFundSellTransactionDto(
+                null,
+                MF_ID,
+                List.of(1, 2),
+                FixedDecimal.of(15, 0),
+                FixedDecimal.of(13, 0),
+                FixedDecimal.of(5, 1),
+                null,
+                FixedDecimal.of(569, 1)))
+        .verifyComplete();
+    verify(mfBuyTranRepo, times(1))
+        .findOpenLotsForUpdate(
+            MF_ID, null, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE);
+    var ids = ArgumentCaptor.forClass(Integer[].class);
+    var soldUnits = ArgumentCaptor.forClass(String[].class);
+    verify(mfBuyTranRepo, times(1)).addSoldUnits(ids.capture(), soldUnits.capture());
+    assertThat(ids.getValue()).containsExactly(1, 2);
+    assertThat(soldUnits.getValue()).containsExactly("10", "3");
+    var matches = ArgumentCaptor.forClass(List.class);
+    verify(mutualFundHoldingService, times(1)).removeSold(eq(MF_ID), matches.capture());
+    assertThat(matches.getValue()).hasSize(2);
+    var saved = ArgumentCaptor.forClass(MutualFundSellTransaction.class);
+    verify(mfSellTranRepo, times(1)).save(saved.capture());
+    assertThat(saved.getValue().buyUnits())
+        .containsExactly(FixedDecimal.of(10, 0), FixedDecimal.of(3, 0));
+  }
+
+  /**
+   * Test for {@link LotMatchingService#sellMutualFund(MutualFundSellTransactionDto)} with more
+   * units than open
+   */
+  @Test
+  @DisplayName("Selling more units than open fails without writing")
+  void sellMutualFundNotEnoughUnits() {
+    when(transactionalOperator.transactional(any(Mono.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    when(mfBuyTranRepo.findOpenLotsForUpdate(
+            eq(MF_ID), isNull(), any(Instant.class), anyInt(), eq(BATCH_SIZE)))
+        .thenReturn(Flux.fromIterable(OPEN_LOTS), Flux.empty());
+    var sell =
+        new MutualFundSellTransactionDto(
+            null,
+            MF_ID,
+            null,
+            FixedDecimal.of(15, 0),
+            FixedDecimal.of(17, 0),
+            FixedDecimal.of(5, 1),
+            null,
+            null);
+    StepVerifier.create(lotMatchingService.sellMutualFund(sell))
+        .verifyError(ServerWebInputException.class);
+    verify(mfBuyTranRepo, times(1))
+        .findOpenLotsForUpdate(
+            MF_ID, null, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE);
+    verify(mfBuyTranRepo, times(1))
+        .findOpenLotsForUpdate(
+            MF_ID, null, OPEN_LOTS.get(1).buyDate(), OPEN_LOTS.get(1).id(), BATCH_SIZE);
+  }
+
+  /**
+   * Test for {@link LotMatchingService#sellMutualFund(MutualFundSellTransactionDto)} dated before
+   * the only open lot
+   */
+  @Test
+  @DisplayName("A back dated sell does not take a later buy")
+  void sellMutualFundBackDated() {
+    when(transactionalOperator.transactional(any(Mono.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    var soldDate = BUY_DATE.minusSeconds(1);
+    when(mfBuyTranRepo.findOpenLotsForUpdate(
+            MF_ID, soldDate, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE))
+        .thenReturn(Flux.empty());
+    var sell =
+        new MutualFundSellTransactionDto(
+            null,
+            MF_ID,
+            null,
+            FixedDecimal.of(15, 0),
+            FixedDecimal.of(1, 0),
+            FixedDecimal.of(5, 1),
+            soldDate,
+            null);
+    StepVerifier.create(lotMatchingService.sellMutualFund(sell))
+        .verifyError(ServerWebInputException.class);
+    verify(mfBuyTranRepo, times(1))
+        .findOpenLotsForUpdate(
+            MF_ID, soldDate, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE);
+  }
+
+  /**
+   * Test for {@link LotMatchingService#sellMutualFund(MutualFundSellTransactionDto)} without the
+   * required values
+   */
+  @Test
+  @DisplayName("Sell without nav is rejected")
+  void sellMutualFundInvalid() {
+    var sell =
+        new MutualFundSellTransactionDto(
+            null, MF_ID, null, null, FixedDecimal.of(1, 0), FixedDecimal.of(5, 1), null, null);
+    StepVerifier.create(lotMatchingService.sellMutualFund(sell))
+        .verifyError(ServerWebInputException.class);
+    verifyNoInteractions(transactionalOperator);
+  }
+
+  /** Test for {@link LotMatchingService#sellMutualFunds(List)} */
+  @Test
+  @DisplayName("Happy Path: Sell a chunk of units FIFO, a sell takes the lots left by the previous")
+  void sellMutualFunds() {
+    when(mfBuyTranRepo.findOpenLotsForUpdate(
+            MF_ID, null, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE))
+        .thenReturn(Flux.fromIterable(OPEN_LOTS));
+    when(mfBuyTranRepo.addSoldUnits(any(), any())).thenReturn(Mono.just(2));
+    when(mutualFundHoldingService.removeSold(eq(MF_ID), anyList())).thenReturn(Mono.empty());
+    var first = mfSell(7, null);
+    var second = mfSell(6, List.of(9));
+
+    // 7 units sold at 15 less charge 0.5 = 104.5, cost 7 * 10 + 0.7 = 70.7
+    // 6 units sold at 15 less charge 0.5 = 89.5, cost 3 * 10 + 0.3 + 3 * 12 + 0.6 = 66.9
+    StepVerifier.create(lotMatchingService.sellMutualFunds(List.of(first, second)))
+        .assertNext(
+            sells ->
+                assertThat(sells)
+                    .extracting(
+                        MutualFundSellTransaction::buyIds,
+                        MutualFundSellTransaction::buyUnits,
+                        MutualFundSellTransaction::profitLoss)
+                    .containsExactly(
+                        tuple(List.of(1), List.of(FixedDecimal.of(7, 0)), FixedDecimal.of(338, 1)),
+                        tuple(
+                            List.of(1, 2),
+                            List.of(FixedDecimal.of(3, 0), FixedDecimal.of(3, 0)),
+                            FixedDecimal.of(226, 1))))
+        .verifyComplete();
+    verify(mfBuyTranRepo, times(1))
+        .findOpenLotsForUpdate(
+            MF_ID, null, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE);
+    var ids = ArgumentCaptor.forClass(Integer[].class);
+    var soldUnits = ArgumentCaptor.forClass(String[].class);
+    verify(mfBuyTranRepo, times(1)).addSoldUnits(ids.capture(), soldUnits.capture());
+    assertThat(ids.getValue()).containsExactly(1, 2);
+    assertThat(soldUnits.getValue()).containsExactly("10", "3");
+    var matches = ArgumentCaptor.forClass(List.class);
+    verify(mutualFundHoldingService, times(1)).removeSold(eq(MF_ID), matches.capture());
+    assertThat(matches.getValue())
+        .containsExactly(
+            new LotMatch(InvestmentMapper.toOpenLot(OPEN_LOTS.get(0)), BigDecimal.TEN),
+            new LotMatch(InvestmentMapper.toOpenLot(OPEN_LOTS.get(1)), BigDecimal.valueOf(3)));
+  }
+
+  /**
+   * Test for {@link LotMatchingService#sellMutualFunds(List)} with a sell dated before the lot it
+   * would take
+   */
+  @Test
+  @DisplayName("A chunk with a back dated sell is rejected without writing")
+  void sellMutualFundsBackDated() {
+    var latest = BUY_DATE.plusSeconds(1);
+    when(mfBuyTranRepo.findOpenLotsForUpdate(
+            MF_ID, latest, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE))
+        .thenReturn(Flux.fromIterable(OPEN_LOTS));
+    // the second sell is dated before the second lot, which it needs after the first sell
+    var first = mfSellOn(7, latest);
+    var second = mfSellOn(6, BUY_DATE);
+    StepVerifier.create(lotMatchingService.sellMutualFunds(List.of(first, second)))
+        .verifyError(ServerWebInputException.class);
+    verify(mfBuyTranRepo, times(1))
+        .findOpenLotsForUpdate(
+            MF_ID, latest, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE);
+  }
+
+  /** Test for {@link LotMatchingService#sellMutualFunds(List)} without the required values */
+  @Test
+  @DisplayName("A chunk with a sell without units is rejected")
+  void sellMutualFundsInvalid() {
+    StepVerifier.create(
+            lotMatchingService.sellMutualFunds(List.of(mfSell(7, null), mfSell(0, null))))
+        .verifyError(ServerWebInputException.class);
+  }
+
+  /** Test for {@link LotMatchingService#sellStock(StockSellTransactionDto)} */
+  @Test
+  @DisplayName("Happy Path: Sell stock quantity FIFO from the open lots")
+  void sellStock() {
+    when(transactionalOperator.transactional(any(Mono.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    when(stockBuyTranRepo.findOpenLotsForUpdate(
+            STOCK_ID, null, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE))
+        .thenReturn(Flux.fromIterable(OPEN_STOCK_LOTS));
+    when(stockBuyTranRepo.addSoldQuantities(any(), any())).thenReturn(Mono.just(2));
+    when(stockSellTranRepo.save(any(StockSellTransaction.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    var sell =
+        new StockSellTransactionDto(
+            null,
+            STOCK_ID,
+            List.of(9),
+            FixedDecimal.of(150, 0),
+            12,
+            FixedDecimal.of(8, 0),
+            null,
+            FixedDecimal.ZERO);
+
+    // 12 shares sold at 150 less charge 8 = 1792, cost 10 * 100 + 5 + 2 * 120 + 2 = 1247
+    StepVerifier.create(lotMatchingService.sellStock(sell))
+        .expectNext(
+            new StockSellTransactionDto(
+                null,
+                STOCK_ID,
+                List.of(3, 4),
+                FixedDecimal.of(150, 0),
+                12,
+                FixedDecimal.of(8, 0),
+                null,
+                FixedDecimal.of(545, 0)))
+        .verifyComplete();
+    verify(stockBuyTranRepo, times(1))
+        .findOpenLotsForUpdate(
+            STOCK_ID, null, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE);
+    var ids = ArgumentCaptor.forClass(Integer[].class);
+    var soldQuantities = ArgumentCaptor.forClass(Integer[].class);
+    verify(stockBuyTranRepo, times(1)).addSoldQuantities(ids.capture(), soldQuantities.capture());
+    assertThat(ids.getValue()).containsExactly(3, 4);
+    assertThat(soldQuantities.getValue()).containsExactly(10, 2);
+    verify(stockSellTranRepo, times(1)).save(any(StockSellTransaction.class));
+  }
+
+  /**
+   * Test for {@link LotMatchingService#sellStock(StockSellTransactionDto)} with more quantity than
+   * open
+   */
+  @Test
+  @DisplayName("Selling more stock quantity than open fails without writing")
+  void sellStockNotEnoughQuantity() {
+    when(transactionalOperator.transactional(any(Mono.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    when(stockBuyTranRepo.findOpenLotsForUpdate(
+            eq(STOCK_ID), isNull(), any(Instant.class), anyInt(), eq(BATCH_SIZE)))
+        .thenReturn(Flux.fromIterable(OPEN_STOCK_LOTS), Flux.empty());
+    var sell =
+        new StockSellTransactionDto(
+            null, STOCK_ID, null, FixedDecimal.of(150, 0), 15, FixedDecimal.of(8, 0), null, null);
+    StepVerifier.create(lotMatchingService.sellStock(sell))
+        .verifyError(ServerWebInputException.class);
+    verify(stockBuyTranRepo, times(2))
+        .findOpenLotsForUpdate(
+            eq(STOCK_ID), isNull(), any(Instant.class), anyInt(), eq(BATCH_SIZE));
+  }
+
+  /**
+   * Test for {@link LotMatchingService#sellStock(StockSellTransactionDto)} dated before the only
+   * open lot
+   */
+  @Test
+  @DisplayName("A back dated stock sell does not take a later buy")
+  void sellStockBackDated() {
+    when(transactionalOperator.transactional(any(Mono.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    var soldDate = BUY_DATE.minusSeconds(1);
+    when(stockBuyTranRepo.findOpenLotsForUpdate(
+            STOCK_ID, soldDate, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE))
+        .thenReturn(Flux.empty());
+    var sell =
+        new StockSellTransactionDto(
+            null,
+            STOCK_ID,
+            null,
+            FixedDecimal.of(150, 0),
+            1,
+            FixedDecimal.of(8, 0),
+            soldDate,
+            null);
+    StepVerifier.create(lotMatchingService.sellStock(sell))
+        .verifyError(ServerWebInputException.class);
+    verify(stockBuyTranRepo, times(1))
+        .findOpenLotsForUpdate(
+            STOCK_ID, soldDate, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE);
+  }
+
+  /**
+   * Test for {@link LotMatchingService#sellStock(StockSellTransactionDto)} without the required
+   * values
+   */
+  @Test
+  @DisplayName("Stock sell without price is rejected")
+  void sellStockInvalid() {
+    var sell =
+        new StockSellTransactionDto(
+            null, STOCK_ID, null, null, 1, FixedDecimal.of(5, 1), null, null);
+    StepVerifier.create(lotMatchingService.sellStock(sell))
+        .verifyError(ServerWebInputException.class);
+    verifyNoInteractions(transactionalOperator);
+  }
+
+  /** Test for {@link LotMatchingService#sellStocks(List)} */
+  @Test
+  @DisplayName("Happy Path: Sell a chunk of stock quantity FIFO, a sell takes the lots left")
+  void sellStocks() {
+    when(stockBuyTranRepo.findOpenLotsForUpdate(
+            STOCK_ID, null, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE))
+        .thenReturn(Flux.fromIterable(OPEN_STOCK_LOTS));
+    when(stockBuyTranRepo.addSoldQuantities(any(), any())).thenReturn(Mono.just(2));
+
+    // 7 shares sold at 150 less charge 8 = 1042, cost 7 * 100 + 3.5 = 703.5
+    // 5 shares sold at 150 less charge 8 = 742, cost 3 * 100 + 1.5 + 2 * 120 + 2 = 543.5
+    StepVerifier.create(
+            lotMatchingService.sellStocks(List.of(stockSell(7, null), stockSell(5, List.of(9)))))
+        .assertNext(
+            sells ->
+                assertThat(sells)
+                    .extracting(StockSellTransaction::buyIds, StockSellTransaction::profitLoss)
+                    .containsExactly(
+                        tuple(List.of(3), FixedDecimal.of(3385, 1)),
+                        tuple(List.of(3, 4), FixedDecimal.of(1985, 1))))
+        .verifyComplete();
+    verify(stockBuyTranRepo, times(1))
+        .findOpenLotsForUpdate(
+            STOCK_ID, null, KeysetCursor.FIRST.sortKey(), KeysetCursor.FIRST.id(), BATCH_SIZE);
+    var ids = ArgumentCaptor.forClass(Integer[].class);
+    var soldQuantities = ArgumentCaptor.forClass(Integer[].class);
+    verify(stockBuyTranRepo, times(1)).addSoldQuantities(ids.capture(), soldQuantities.capture());
+    assertThat(ids.getValue()).containsExactly(3, 4);
+    assertThat(soldQuantities.getValue()).containsExactly(10, 2);
+  }
+
+  /** Test for {@link LotMatchingService#sellStocks(List)} without the required values */
+  @Test
+  @DisplayName("A chunk with a sell without quantity is rejected")
+  void sellStocksInvalid() {
+    StepVerifier.create(
+            lotMatchingService.sellStocks(List.of(stockSell(7, null), stockSell(0, null))))
+        .verifyError(ServerWebInputException.class);
+  }
+
+  /**
+   * A mutual fund sell at 15 with charge 0.5
+   *
+   * @param units the sold units
+   * @param buyIds the buy ids of the request
+   * @return {@link MutualFundSellTransactionDto}
+   */
+  private static MutualFundSellTransactionDto mfSell(final int units, final List<Object> buyIds) {
+    return new MutualFundSellTransactionDto(
+        null,
+        MF_ID,
+        buyIds,
+        FixedDecimal.of(15, 0),
+        FixedDecimal.of(units, 0),
+        FixedDecimal.of(5, 1),
+        null,
+        null);
+  }
+
+  /**
+   * A mutual fund sell at 15 with charge 0.5, dated
+   *
+   * @param units the sold units
+   * @param soldDate the sold date
+   * @return {@link MutualFundSellTransactionDto}
+   */
+  private static MutualFundSellTransactionDto mfSellOn(final int units, final Instant soldDate) {
+    return new MutualFundSellTransactionDto(
+        null,
+        MF_ID,
+        null,
+        FixedDecimal.of(15, 0),
+        FixedDecimal.of(units, 0),
+        FixedDecimal.of(5, 1),
+        soldDate,
+        null);
+  }
+
+  /**
+   * A stock sell at 150 with charge 8
+   *
+   * @param quantity the sold quantity
+   * @param buyIds the buy ids of the request
+   * @return {@link StockSellTransactionDto}
+   */
+  private static StockSellTransactionDto stockSell(final int quantity, final List<Object> buyIds) {
+    return new StockSellTransactionDto(
+        null,
+        STOCK_ID,
+        buyIds,
+        FixedDecimal.of(150, 0),
+        quantity,
+        FixedDecimal.of(8, 0),
+        null,
+        null);
+  }
+}
@@ -0,0 +1,219 @@
+package com.mydata.userdata.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.dto.MutualFundHoldingRebuildDto;
+import com.mydata.userdata.dto.MutualFundPositionDto;
+import com.mydata.userdata.entity.MutualFundBuyTransaction;
+import com.mydata.userdata.entity.MutualFundHolding;
+import com.mydata.userdata.etag.ListVersions;
+import com.mydata.userdata.etag.VersionedList;
+import com.mydata.userdata.lot.LotMatch;
+import com.mydata.userdata.lot.OpenLot;
+import com.mydata.userdata.repository.MutualFundHoldingRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link MutualFundHoldingService} */
+@MockitoSettings
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class MutualFundHoldingServiceTest {
+
+  private static final Integer MF_ID = 1;
+  private static final Instant BUY_DATE = Instant.parse("2022-01-01T00:00:00Z");
+
+  @Mock private MutualFundHoldingRepository mfHoldingRepo;
+  @Mock private TransactionalOperator transactionalOperator;
+  @Mock private ListVersions listVersions;
+
+  private MutualFundHoldingService mutualFundHoldingService;
+
+  /** Executes before each test */
+  @BeforeEach
+  void setUp() {
+    mutualFundHoldingService =
+        new MutualFundHoldingService(mfHoldingRepo, transactionalOperator, listVersions);
+  }
+
+  /** Executes after each test */
+  @AfterEach
+  void tearDown() {
+    verifyNoMoreInteractions(mfHoldingRepo, transactionalOperator);
+  }
+
+  /** Test for {@link MutualFundHoldingService#getMutualFundHoldings()} */
+  @Test
+  @DisplayName("Happy Path: Get Mutual Fund Holdings")
+  void getMutualFundHoldings() {
+    when(mfHoldingRepo.findOpen())
+        .thenReturn(
+            Flux.just(
+                new MutualFundHolding(MF_ID, new BigDecimal("4"), new BigDecimal("41"), null)));
+    StepVerifier.create(mutualFundHoldingService.getMutualFundHoldings())
+        .expectNext(
+            new MutualFundPositionDto(
+                MF_ID, new BigDecimal("4"), new BigDecimal("41.00"), new BigDecimal("10.2500")))
+        .verifyComplete();
+    verify(mfHoldingRepo, times(1)).findOpen();
+  }
+
+  /**
+   * Test for {@link MutualFundHoldingService#addBuys(List)}, the open units of the buys are added
+   * with their cost, sold out buys and buys without a fund are skipped
+   */
+  @Test
+  @DisplayName("Happy Path: Add the open units of buys to the holdings")
+  void addBuys() {
+    when(mfHoldingRepo.addOpenUnits(any(), any(), any())).thenReturn(Mono.just(2));
+    var buys =
+        List.of(
+            new MutualFundBuyTransaction(
+                1,
+                MF_ID,
+                FixedDecimal.of(10, 0),
+                FixedDecimal.of(10, 0),
+                FixedDecimal.of(1, 0),
+                BUY_DATE,
+                null,
+                null,
+                null,
+                null),
+            new MutualFundBuyTransaction(
+                2,
+                2,
+                FixedDecimal.of(12, 0),
+                FixedDecimal.of(10, 0),
+                FixedDecimal.of(2, 0),
+                BUY_DATE,
+                FixedDecimal.of(4, 0),
+                false,
+                null,
+                null),
+            new MutualFundBuyTransaction(
+                3,
+                2,
+                FixedDecimal.of(12, 0),
+                FixedDecimal.of(10, 0),
+                FixedDecimal.of(2, 0),
+                BUY_DATE,
+                FixedDecimal.of(10, 0),
+                true,
+                null,
+                null),
+            new MutualFundBuyTransaction(
+                4,
+                null,
+                FixedDecimal.of(12, 0),
+                FixedDecimal.of(10, 0),
+                FixedDecimal.of(2, 0),
+                BUY_DATE,
+                FixedDecimal.ZERO,
+                false,
+                null,
+                null));
+    StepVerifier.create(mutualFundHoldingService.addBuys(buys)).verifyComplete();
+    var mfIds = ArgumentCaptor.forClass(Integer[].class);
+    var openUnits = ArgumentCaptor.forClass(String[].class);
+    var invested = ArgumentCaptor.forClass(String[].class);
+    verify(mfHoldingRepo, times(1))
+        .addOpenUnits(mfIds.capture(), openUnits.capture(), invested.capture());
+    assertThat(mfIds.getValue()).containsExactly(MF_ID, 2);
+    assertThat(openUnits.getValue()).containsExactly("10", "6");
+    // 6 open units at 12 with 6 / 10 of the charge 2
+    assertThat(invested.getValue()).containsExactly("101.0000000000", "73.2000000000");
+  }
+
+  /** Test for {@link MutualFundHoldingService#addBuys(List)} without open units */
+  @Test
+  @DisplayName("Buys without open units do not write the holdings")
+  void addBuysSoldOut() {
+    var buys =
+        List.of(
+            new MutualFundBuyTransaction(
+                1,
+                MF_ID,
+                FixedDecimal.of(10, 0),
+                FixedDecimal.of(10, 0),
+                FixedDecimal.of(1, 0),
+                BUY_DATE,
+                FixedDecimal.of(10, 0),
+                true,
+                null,
+                null));
+    StepVerifier.create(mutualFundHoldingService.addBuys(buys)).verifyComplete();
+  }
+
+  /** Test for {@link MutualFundHoldingService#removeSold(Integer, List)} */
+  @Test
+  @DisplayName("Happy Path: Remove the sold units from the holding")
+  void removeSold() {
+    when(mfHoldingRepo.addOpenUnits(any(), any(), any())).thenReturn(Mono.just(1));
+    var lot =
+        new OpenLot(
+            1, BUY_DATE, BigDecimal.TEN, BigDecimal.TEN, new BigDecimal("12"), new BigDecimal("2"));
+    var matches =
+        List.of(new LotMatch(lot, new BigDecimal("3")), new LotMatch(lot, BigDecimal.ONE));
+    StepVerifier.create(mutualFundHoldingService.removeSold(MF_ID, matches)).verifyComplete();
+    verify(mfHoldingRepo, times(1))
+        .addOpenUnits(new Integer[] {MF_ID}, new String[] {"-4"}, new String[] {"-48.8000000000"});
+  }
+
+  /** Test for {@link MutualFundHoldingService#rebuildMutualFundHoldings()} */
+  @Test
+  @DisplayName("Happy Path: Rebuild the holdings and report the drifted ones")
+  void rebuildMutualFundHoldings() {
+    mockRebuild(List.of(2));
+    StepVerifier.create(mutualFundHoldingService.rebuildMutualFundHoldings())
+        .expectNext(new MutualFundHoldingRebuildDto(4, List.of(2)))
+        .verifyComplete();
+    verifyRebuild();
+    verify(listVersions, times(1)).bump(VersionedList.MUTUAL_FUND_TRADES);
+  }
+
+  /** Test for {@link MutualFundHoldingService#rebuildMutualFundHoldingsOnSchedule()} */
+  @Test
+  @DisplayName("Scheduled rebuild of holdings without drift")
+  void rebuildMutualFundHoldingsOnSchedule() {
+    mockRebuild(List.of());
+    mutualFundHoldingService.rebuildMutualFundHoldingsOnSchedule();
+    verifyRebuild();
+    verifyNoInteractions(listVersions);
+  }
+
+  /**
+   * Mock a rebuild of 4 holdings
+   *
+   * @param drifted the ids of the drifted holdings
+   */
+  private void mockRebuild(final List<Integer> drifted) {
+    when(transactionalOperator.transactional(any(Mono.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    when(mfHoldingRepo.lockForRebuild()).thenReturn(Mono.empty());
+    when(mfHoldingRepo.findDriftedMfIds()).thenReturn(Flux.fromIterable(drifted));
+    when(mfHoldingRepo.rebuild()).thenReturn(Mono.just(4));
+  }
+
+  /** Verify the holdings are locked, verified and rebuilt in a transaction */
+  private void verifyRebuild() {
+    var inOrder = inOrder(mfHoldingRepo);
+    inOrder.verify(mfHoldingRepo).lockForRebuild();
+    inOrder.verify(mfHoldingRepo).findDriftedMfIds();
+    inOrder.verify(mfHoldingRepo).rebuild();
+    verify(transactionalOperator, times(1)).transactional(any(Mono.class));
+  }
+}
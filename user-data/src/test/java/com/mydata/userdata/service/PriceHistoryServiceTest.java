@@ -0,0 +1,210 @@
+package com.mydata.userdata.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.mydata.userdata.dto.PriceDto;
+import com.mydata.userdata.dto.PriceIngestResultDto;
+import com.mydata.userdata.entity.MutualFund;
+import com.mydata.userdata.entity.Stock;
+import com.mydata.userdata.price.PriceHistoryStore;
+import com.mydata.userdata.price.PriceKind;
+import com.mydata.userdata.price.PricePoint;
+import com.mydata.userdata.property.PriceHistoryProperties;
+import com.mydata.userdata.repository.MutualFundRepository;
+import com.mydata.userdata.repository.StockRepository;
+import com.mydata.userdata.valuation.PortfolioValuation;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link PriceHistoryService} */
+@MockitoSettings
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class PriceHistoryServiceTest {
+
+  private static final String CODE = "119551";
+  private static final String INBOX_DIRECTORY = "inbox";
+  private static final String NAV_FILE = "NAVAll.txt";
+  private static final LocalDate DATE = LocalDate.of(2022, 10, 14);
+
+  @Mock private MutualFundRepository mfRepo;
+  @Mock private StockRepository stockRepo;
+  @Mock private ValuationService valuationService;
+  @TempDir private Path directory;
+
+  private PriceHistoryStore priceHistoryStore;
+  private PriceHistoryService priceHistoryService;
+
+  /** Executes before each test */
+  @BeforeEach
+  void setUp() throws IOException {
+    var props =
+        new PriceHistoryProperties(
+            directory.resolve("prices"), Files.createDirectory(directory.resolve(INBOX_DIRECTORY)));
+    priceHistoryStore = new PriceHistoryStore(props);
+    priceHistoryService =
+        new PriceHistoryService(mfRepo, stockRepo, priceHistoryStore, props, valuationService);
+  }
+
+  /** Executes after each test */
+  @AfterEach
+  void tearDown() {
+    verifyNoMoreInteractions(mfRepo, stockRepo, valuationService);
+  }
+
+  /**
+   * Write a price file to the inbox
+   *
+   * @param fileName the file name
+   * @param lines the lines of the file
+   */
+  private void inbox(final String fileName, final String... lines) throws IOException {
+    Files.write(directory.resolve(INBOX_DIRECTORY).resolve(fileName), List.of(lines));
+  }
+
+  /**
+   * Test for {@link PriceHistoryService#getPrice(PriceKind, String, LocalDate)} and {@link
+   * PriceHistoryService#getPrices(PriceKind, String, LocalDate, LocalDate)}
+   */
+  @Test
+  @DisplayName("Happy Path: Get Prices")
+  void getPrices() {
+    priceHistoryStore.append(
+        PriceKind.MUTUAL_FUND,
+        CODE,
+        List.of(
+            PricePoint.of(DATE, new BigDecimal("105.8886")),
+            PricePoint.of(DATE.plusDays(3), new BigDecimal("106.1"))));
+    var first = new PriceDto(CODE, DATE, new BigDecimal("105.8886"));
+    StepVerifier.create(priceHistoryService.getPrice(PriceKind.MUTUAL_FUND, CODE, DATE.plusDays(2)))
+        .expectNext(first)
+        .verifyComplete();
+    StepVerifier.create(
+            priceHistoryService.getPrices(
+                PriceKind.MUTUAL_FUND, CODE, DATE.minusDays(1), DATE.plusDays(3)))
+        .expectNext(first, new PriceDto(CODE, DATE.plusDays(3), new BigDecimal("106.1000")))
+        .verifyComplete();
+    StepVerifier.create(priceHistoryService.getPrices(PriceKind.STOCK, CODE, DATE, DATE))
+        .verifyComplete();
+  }
+
+  /** Test for {@link PriceHistoryService#getPrice(PriceKind, String, LocalDate)} without price */
+  @Test
+  @DisplayName("There is no price before the history starts")
+  void getPriceNotFound() {
+    StepVerifier.create(priceHistoryService.getPrice(PriceKind.STOCK, CODE, DATE))
+        .verifyErrorSatisfies(
+            error ->
+                assertThat(error)
+                    .isInstanceOf(ResponseStatusException.class)
+                    .extracting(e -> ((ResponseStatusException) e).getStatus())
+                    .isEqualTo(HttpStatus.NOT_FOUND));
+  }
+
+  /** Test for {@link PriceHistoryService#ingest(PriceKind, String)} of a NAV file */
+  @Test
+  @DisplayName("Happy Path: Ingest Mutual Fund NAVs")
+  void ingestMutualFundNavs() throws IOException {
+    when(mfRepo.findAll())
+        .thenReturn(Flux.just(new MutualFund(1, CODE, "Fund", "AMC", "Debt", null, null, true)));
+    when(valuationService.revalue()).thenReturn(Mono.just(PortfolioValuation.EMPTY));
+    inbox(
+        NAV_FILE,
+        "Scheme Code;ISIN Div Payout/ ISIN Growth;ISIN Div Reinvestment;Scheme Name;"
+            + "Net Asset Value;Date",
+        "Aditya Birla Sun Life Mutual Fund",
+        CODE + ";INF209KA12Z1;-;Banking & PSU Debt Fund;105.8886;14-Oct-2022",
+        CODE + ";INF209KA12Z1;-;Banking & PSU Debt Fund;105.7;13-Oct-2022",
+        "119552;INF209K01YM2;-;Banking & PSU Debt Fund;215.1;14-Oct-2022");
+    StepVerifier.create(priceHistoryService.ingest(PriceKind.MUTUAL_FUND, NAV_FILE))
+        .expectNext(new PriceIngestResultDto(3L, 2L, 1L))
+        .verifyComplete();
+    // Ingesting the same file again does not append the prices twice
+    StepVerifier.create(priceHistoryService.ingest(PriceKind.MUTUAL_FUND, NAV_FILE))
+        .expectNext(new PriceIngestResultDto(3L, 0L, 1L))
+        .verifyComplete();
+    assertThat(priceHistoryStore.series(PriceKind.MUTUAL_FUND, CODE).size()).isEqualTo(2);
+    verify(mfRepo, times(2)).findAll();
+    // Only the ingest appending prices revalues the portfolio
+    verify(valuationService, times(1)).revalue();
+  }
+
+  /** Test for {@link PriceHistoryService#ingest(PriceKind, String)} of a stock price file */
+  @Test
+  @DisplayName("Happy Path: Ingest Stock Close Prices")
+  void ingestStockPrices() throws IOException {
+    when(stockRepo.findAll())
+        .thenReturn(Flux.just(new Stock(1, "TCS", "TCS", "NSE", "Broker", null, null, true)));
+    when(valuationService.revalue()).thenReturn(Mono.just(PortfolioValuation.EMPTY));
+    inbox("close.txt", "Symbol;Close Price;Date", "TCS;3120.5;14-Oct-2022");
+    StepVerifier.create(priceHistoryService.ingest(PriceKind.STOCK, "close.txt"))
+        .expectNext(new PriceIngestResultDto(1L, 1L, 0L))
+        .verifyComplete();
+    assertThat(priceHistoryStore.series(PriceKind.STOCK, "TCS").priceOn(Integer.MAX_VALUE))
+        .isEqualTo(31_205_000L);
+    verify(stockRepo, times(1)).findAll();
+    verify(valuationService, times(1)).revalue();
+  }
+
+  /** Test for {@link PriceHistoryService#ingest(PriceKind, String)} of a file without header */
+  @Test
+  @DisplayName("A file without the header of its kind is rejected")
+  void ingestWithoutHeader() throws IOException {
+    when(stockRepo.findAll()).thenReturn(Flux.empty());
+    inbox(NAV_FILE, "Scheme Code;Net Asset Value;Date", CODE + ";105.8886;14-Oct-2022");
+    StepVerifier.create(priceHistoryService.ingest(PriceKind.STOCK, NAV_FILE))
+        .verifyError(ServerWebInputException.class);
+    verify(stockRepo, times(1)).findAll();
+  }
+
+  /**
+   * Test for {@link PriceHistoryService#ingest(PriceKind, String)} of a file which is not in the
+   * inbox
+   *
+   * @param fileName the file name
+   */
+  @ParameterizedTest
+  @ValueSource(strings = {"missing.txt", "../prices", "..", "sub/NAVAll.txt"})
+  @DisplayName("Only the files of the inbox are ingested")
+  void ingestOutsideInbox(final String fileName) throws IOException {
+    when(mfRepo.findAll()).thenReturn(Flux.empty());
+    Files.createDirectories(directory.resolve("prices"));
+    Files.createDirectories(directory.resolve(INBOX_DIRECTORY).resolve("sub"));
+    inbox("sub/NAVAll.txt", "Scheme Code;Net Asset Value;Date");
+    StepVerifier.create(priceHistoryService.ingest(PriceKind.MUTUAL_FUND, fileName))
+        .verifyError(ServerWebInputException.class);
+    verify(mfRepo, times(1)).findAll();
+  }
+
+  /** Test for {@link PriceHistoryService#ingest(PriceKind, String)} when the file can't be read */
+  @Test
+  @DisplayName("A file which can't be read fails the ingest")
+  void ingestUnreadable() throws IOException {
+    when(mfRepo.findAll()).thenReturn(Flux.empty());
+    Files.write(
+        directory.resolve(INBOX_DIRECTORY).resolve(NAV_FILE), new byte[] {(byte) 0xC3, 0x28});
+    StepVerifier.create(priceHistoryService.ingest(PriceKind.MUTUAL_FUND, NAV_FILE))
+        .verifyError(UncheckedIOException.class);
+    verify(mfRepo, times(1)).findAll();
+  }
+}
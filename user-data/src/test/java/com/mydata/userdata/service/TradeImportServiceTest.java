@@ -0,0 +1,238 @@
+package com.mydata.userdata.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.mydata.userdata.bulk.BulkInsertTables;
+import com.mydata.userdata.bulk.ImportedRecord;
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.dto.TradeImportRejectionDto;
+import com.mydata.userdata.dto.TradeImportResultDto;
+import com.mydata.userdata.entity.MutualFund;
+import com.mydata.userdata.entity.MutualFundBuyTransaction;
+import com.mydata.userdata.entity.Stock;
+import com.mydata.userdata.property.BulkInsertProperties;
+import com.mydata.userdata.property.TradeImportProperties;
+import com.mydata.userdata.repository.BulkInsertRepository;
+import com.mydata.userdata.repository.MutualFundRepository;
+import com.mydata.userdata.repository.StockRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link TradeImportService} */
+@MockitoSettings
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class TradeImportServiceTest {
+
+  private static final int CHUNK_SIZE = 2;
+  private static final int MAX_REJECTIONS = 1;
+
+  @Mock private MutualFundRepository mfRepo;
+  @Mock private StockRepository stockRepo;
+  @Mock private BulkInsertRepository bulkInsertRepo;
+  @Mock private TransactionalOperator transactionalOperator;
+  @Mock private MutualFundHoldingService mutualFundHoldingService;
+
+  private TradeImportService tradeImportService;
+
+  /** Executes before each test */
+  @BeforeEach
+  void setUp() {
+    tradeImportService =
+        new TradeImportService(
+            mfRepo,
+            stockRepo,
+            bulkInsertRepo,
+            new BulkInsertProperties(CHUNK_SIZE),
+            new TradeImportProperties(MAX_REJECTIONS),
+            transactionalOperator,
+            mutualFundHoldingService);
+    when(transactionalOperator.transactional(any(Mono.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+  }
+
+  /** Executes after each test */
+  @AfterEach
+  void tearDown() {
+    verifyNoMoreInteractions(mfRepo, stockRepo, bulkInsertRepo, mutualFundHoldingService);
+  }
+
+  /**
+   * Get the content of a CSV file
+   *
+   * @param lines the lines of the file
+   * @return {@link Flux<DataBuffer>}
+   */
+  private static Flux<DataBuffer> csv(final String... lines) {
+    return Flux.just(
+        DefaultDataBufferFactory.sharedInstance.wrap(
+            String.join("\n", lines).getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * Test for {@link TradeImportService#importMutualFundBuyTransactions(Flux)}, the rows are written
+   * chunk by chunk and the holdings get the trades added
+   */
+  @Test
+  @DisplayName("Happy Path: Import Mutual Fund Buy Transactions")
+  void importMutualFundBuyTransactions() {
+    when(mfRepo.findAll())
+        .thenReturn(Flux.just(new MutualFund(1, "ONE", "Fund", "AMC", "Equity", null, null, true)));
+    // The second trade of the first chunk was imported before
+    when(bulkInsertRepo.insertIgnoringDuplicates(
+            eq(BulkInsertTables.MUTUAL_FUND_BUY_TRANSACTION_IMPORT), anyList()))
+        .thenAnswer(invocation -> Mono.just(invocation.<List<?>>getArgument(1).subList(0, 1)));
+    when(mutualFundHoldingService.addBuys(anyList())).thenReturn(Mono.empty());
+    StepVerifier.create(
+            tradeImportService.importMutualFundBuyTransactions(
+                csv(
+                    "mfCode,nav,units,charge,buyDate",
+                    "ONE,10,1,0,2022-01-01",
+                    "ONE,10,2,0,2022-01-02",
+                    "TWO,10,1,0,2022-01-01",
+                    "ONE,ten,1,0,2022-01-01",
+                    "ONE,10,3,0.5,2022-01-03")))
+        .expectNext(
+            new TradeImportResultDto(
+                2L, 1L, 2L, List.of(new TradeImportRejectionDto(4L, "mfCode is not known : TWO"))))
+        .verifyComplete();
+    verify(mfRepo, times(1)).findAll();
+    var chunks = ArgumentCaptor.forClass(List.class);
+    verify(bulkInsertRepo, times(2))
+        .insertIgnoringDuplicates(
+            eq(BulkInsertTables.MUTUAL_FUND_BUY_TRANSACTION_IMPORT), chunks.capture());
+    assertThat(chunks.getAllValues()).extracting(List::size).containsExactly(2, 1);
+    var added = ArgumentCaptor.forClass(List.class);
+    verify(mutualFundHoldingService, times(2)).addBuys(added.capture());
+    assertThat(added.getAllValues())
+        .flatExtracting(trades -> (List<?>) trades)
+        .extracting(trade -> ((MutualFundBuyTransaction) trade).units())
+        .containsExactly(FixedDecimal.of(1, 0), FixedDecimal.of(3, 0));
+  }
+
+  /** Test for {@link TradeImportService#importStockBuyTransactions(Flux)} */
+  @Test
+  @DisplayName("Happy Path: Import Stock Buy Transactions")
+  void importStockBuyTransactions() {
+    when(stockRepo.findAll())
+        .thenReturn(Flux.just(new Stock(1, "ONE", "Stock", "NSE", "Broker", null, null, true)));
+    when(bulkInsertRepo.insertIgnoringDuplicates(
+            eq(BulkInsertTables.STOCK_BUY_TRANSACTION_IMPORT), anyList()))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(1)));
+    StepVerifier.create(
+            tradeImportService.importStockBuyTransactions(
+                csv("stockCode,price,quantity,charge,buyDate", "ONE,101.5,10,5.5,2022-01-31", "")))
+        .expectNext(new TradeImportResultDto(1L, 0L, 0L, List.of()))
+        .verifyComplete();
+    verify(stockRepo, times(1)).findAll();
+    var chunk = ArgumentCaptor.forClass(List.class);
+    verify(bulkInsertRepo, times(1))
+        .insertIgnoringDuplicates(
+            eq(BulkInsertTables.STOCK_BUY_TRANSACTION_IMPORT), chunk.capture());
+    assertThat(chunk.getValue())
+        .extracting(trade -> ((ImportedRecord<?>) trade).importKey())
+        .containsExactly("1|2022-01-31T00:00:00Z|101.5|10|5.5|1");
+  }
+
+  /**
+   * Test for {@link TradeImportService#importStockBuyTransactions(Flux)} with the same trade twice,
+   * the repeats of a trade are numbered across the chunks so both are imported
+   */
+  @Test
+  @DisplayName("Trades repeated in a file are all imported")
+  void importStockBuyTransactionsRepeated() {
+    when(stockRepo.findAll())
+        .thenReturn(Flux.just(new Stock(1, "ONE", "Stock", "NSE", "Broker", null, null, true)));
+    when(bulkInsertRepo.insertIgnoringDuplicates(
+            eq(BulkInsertTables.STOCK_BUY_TRANSACTION_IMPORT), anyList()))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(1)));
+    StepVerifier.create(
+            tradeImportService.importStockBuyTransactions(
+                csv(
+                    "stockCode,price,quantity,charge,buyDate",
+                    "ONE,100,10,5,2022-01-31",
+                    "ONE,100,5,5,2022-01-31",
+                    "ONE,100,10,5,2022-01-31")))
+        .expectNext(new TradeImportResultDto(3L, 0L, 0L, List.of()))
+        .verifyComplete();
+    verify(stockRepo, times(1)).findAll();
+    var chunks = ArgumentCaptor.forClass(List.class);
+    verify(bulkInsertRepo, times(2))
+        .insertIgnoringDuplicates(
+            eq(BulkInsertTables.STOCK_BUY_TRANSACTION_IMPORT), chunks.capture());
+    assertThat(chunks.getAllValues())
+        .flatExtracting(trades -> (List<?>) trades)
+        .extracting(trade -> ((ImportedRecord<?>) trade).importKey())
+        .containsExactly(
+            "1|2022-01-31T00:00:00Z|100|10|5|1",
+            "1|2022-01-31T00:00:00Z|100|5|5|1",
+            "1|2022-01-31T00:00:00Z|100|10|5|2");
+  }
+
+  /**
+   * Test for {@link TradeImportService#importStockBuyTransactions(Flux)} with a day listed again
+   * after another day, the repeats of a trade are only counted on the day being read
+   */
+  @Test
+  @DisplayName("A trade of a day listed again after another day is rejected")
+  void importStockBuyTransactionsDayListedAgain() {
+    when(stockRepo.findAll())
+        .thenReturn(Flux.just(new Stock(1, "ONE", "Stock", "NSE", "Broker", null, null, true)));
+    when(bulkInsertRepo.insertIgnoringDuplicates(
+            eq(BulkInsertTables.STOCK_BUY_TRANSACTION_IMPORT), anyList()))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(1)));
+    StepVerifier.create(
+            tradeImportService.importStockBuyTransactions(
+                csv(
+                    "stockCode,price,quantity,charge,buyDate",
+                    "ONE,100,10,5,2022-01-31",
+                    "ONE,100,10,5,2022-02-01",
+                    "ONE,100,10,5,2022-01-31")))
+        .expectNext(
+            new TradeImportResultDto(
+                2L,
+                0L,
+                1L,
+                List.of(
+                    new TradeImportRejectionDto(
+                        4L, "the trades of 2022-01-31 should be together in the file"))))
+        .verifyComplete();
+    verify(stockRepo, times(1)).findAll();
+    var chunks = ArgumentCaptor.forClass(List.class);
+    verify(bulkInsertRepo, times(1))
+        .insertIgnoringDuplicates(
+            eq(BulkInsertTables.STOCK_BUY_TRANSACTION_IMPORT), chunks.capture());
+    assertThat(chunks.getAllValues())
+        .flatExtracting(trades -> (List<?>) trades)
+        .extracting(trade -> ((ImportedRecord<?>) trade).importKey())
+        .containsExactly(
+            "1|2022-01-31T00:00:00Z|100|10|5|1", "1|2022-02-01T00:00:00Z|100|10|5|1");
+  }
+
+  /** Test for {@link TradeImportService#importStockBuyTransactions(Flux)} with the wrong layout */
+  @Test
+  @DisplayName("A file with another header is rejected without writing")
+  void importStockBuyTransactionsInvalidHeader() {
+    when(stockRepo.findAll()).thenReturn(Flux.empty());
+    StepVerifier.create(
+            tradeImportService.importStockBuyTransactions(
+                csv("mfCode,nav,units,charge,buyDate", "ONE,10,1,0,2022-01-01")))
+        .verifyError(ServerWebInputException.class);
+    verify(stockRepo, times(1)).findAll();
+  }
+}
@@ -0,0 +1,240 @@
+package com.mydata.userdata.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+import com.mydata.userdata.dto.FundReturnDto;
+import com.mydata.userdata.dto.HoldingValuationDto;
+import com.mydata.userdata.dto.PortfolioReturnsDto;
+import com.mydata.userdata.dto.PortfolioValuationDto;
+import com.mydata.userdata.price.PriceHistoryStore;
+import com.mydata.userdata.price.PriceKind;
+import com.mydata.userdata.price.PricePoint;
+import com.mydata.userdata.property.PriceHistoryProperties;
+import com.mydata.userdata.repository.ValuationRepository;
+import com.mydata.userdata.valuation.CashFlows;
+import com.mydata.userdata.valuation.OpenPosition;
+import com.mydata.userdata.valuation.PortfolioValuation;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+/** Test class for {@link ValuationService} */
+@MockitoSettings
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class ValuationServiceTest {
+
+  private static final String FUND_CODE = "119551";
+  private static final String STOCK_CODE = "TCS";
+  private static final LocalDate DATE = LocalDate.of(2022, 10, 14);
+
+  @Mock private ValuationRepository valuationRepository;
+  @TempDir private Path directory;
+
+  private PriceHistoryStore priceHistoryStore;
+  private ValuationService valuationService;
+
+  /** Executes before each test */
+  @BeforeEach
+  void setUp() {
+    priceHistoryStore =
+        new PriceHistoryStore(new PriceHistoryProperties(directory, directory.resolve("inbox")));
+    valuationService = new ValuationService(valuationRepository, priceHistoryStore);
+    when(valuationRepository.findMutualFundPositions())
+        .thenReturn(
+            Flux.just(new OpenPosition(1, FUND_CODE, BigDecimal.TEN, new BigDecimal("1000"))));
+    when(valuationRepository.findStockPositions())
+        .thenReturn(
+            Flux.just(new OpenPosition(2, STOCK_CODE, BigDecimal.ONE, new BigDecimal("500"))));
+    appendPrice(PriceKind.MUTUAL_FUND, FUND_CODE, DATE, "106.1");
+  }
+
+  /** Executes after each test */
+  @AfterEach
+  void tearDown() {
+    verifyNoMoreInteractions(valuationRepository);
+  }
+
+  /**
+   * Append a price to the price history store
+   *
+   * @param kind the instrument kind
+   * @param code the instrument code
+   * @param date the price date
+   * @param price the price
+   */
+  private void appendPrice(
+      final PriceKind kind, final String code, final LocalDate date, final String price) {
+    priceHistoryStore.append(kind, code, List.of(PricePoint.of(date, new BigDecimal(price))));
+  }
+
+  /**
+   * Create the valuation of the mutual fund holding at a price
+   *
+   * @param price the price
+   * @param value the current value
+   * @param gain the unrealized gain
+   * @param absoluteReturn the absolute return
+   * @return {@link HoldingValuationDto}
+   */
+  private static HoldingValuationDto fundHolding(
+      final String price, final String value, final String gain, final String absoluteReturn) {
+    return new HoldingValuationDto(
+        PriceKind.MUTUAL_FUND,
+        1,
+        FUND_CODE,
+        new BigDecimal("10.0000"),
+        new BigDecimal("1000.00"),
+        new BigDecimal(price),
+        new BigDecimal(value),
+        new BigDecimal(gain),
+        new BigDecimal(absoluteReturn));
+  }
+
+  /** Test for {@link ValuationService#getPortfolioValuation()} */
+  @Test
+  @DisplayName("Happy Path: Get Portfolio Valuation at the latest prices")
+  void getPortfolioValuation() {
+    var stock =
+        new HoldingValuationDto(
+            PriceKind.STOCK,
+            2,
+            STOCK_CODE,
+            new BigDecimal("1.0000"),
+            new BigDecimal("500.00"),
+            null,
+            new BigDecimal("500.00"),
+            new BigDecimal("0.00"),
+            new BigDecimal("0.00"));
+    StepVerifier.create(valuationService.getPortfolioValuation())
+        .expectNext(
+            new PortfolioValuationDto(
+                new BigDecimal("1561.00"),
+                new BigDecimal("1500.00"),
+                new BigDecimal("61.00"),
+                new BigDecimal("4.07"),
+                List.of(fundHolding("106.1000", "1061.00", "61.00", "6.10"), stock)))
+        .verifyComplete();
+    verify(valuationRepository, times(1)).findMutualFundPositions();
+    verify(valuationRepository, times(1)).findStockPositions();
+  }
+
+  /** Test for {@link ValuationService#getPortfolioReturns()} */
+  @Test
+  @DisplayName("Happy Path: Get Portfolio Returns with the held units at their current value")
+  void getPortfolioReturns() {
+    var today = (int) LocalDate.now().toEpochDay();
+    var flows = new CashFlows();
+    flows.add(1, today - 365, -1000);
+    flows.add(5, today - 730, -100);
+    flows.add(5, today, 121);
+    flows.add(7, today, 50);
+    when(valuationRepository.findMutualFundCashFlows()).thenReturn(Mono.just(flows));
+    StepVerifier.create(valuationService.getPortfolioReturns())
+        .expectNext(
+            new PortfolioReturnsDto(
+                new BigDecimal("10.90"),
+                List.of(
+                    new FundReturnDto(1, new BigDecimal("6.10")),
+                    new FundReturnDto(5, new BigDecimal("10.00")),
+                    new FundReturnDto(7, null))))
+        .verifyComplete();
+    verify(valuationRepository, times(1)).findMutualFundCashFlows();
+    verify(valuationRepository, times(1)).findMutualFundPositions();
+    verify(valuationRepository, times(1)).findStockPositions();
+  }
+
+  /** Test for {@link ValuationService#getPortfolioValuationUpdates()} */
+  @Test
+  @DisplayName("Happy Path: Stream the Portfolio Valuation updates with the changed holdings")
+  void getPortfolioValuationUpdates() {
+    StepVerifier.create(valuationService.getPortfolioValuationUpdates())
+        .assertNext(valuation -> assertEquals(2, valuation.holdings().size()))
+        .then(() -> valuationService.revalue().block())
+        .then(
+            () -> {
+              appendPrice(PriceKind.MUTUAL_FUND, FUND_CODE, DATE.plusDays(1), "110");
+              valuationService.revalue().block();
+            })
+        // The revaluation without new price is not pushed, only the one with a new price
+        .assertNext(
+            valuation -> {
+              assertEquals(new BigDecimal("1600.00"), valuation.currentValue());
+              assertEquals(
+                  List.of(fundHolding("110.0000", "1100.00", "100.00", "10.00")),
+                  valuation.holdings());
+            })
+        .thenCancel()
+        .verify();
+    verify(valuationRepository, times(3)).findMutualFundPositions();
+    verify(valuationRepository, times(3)).findStockPositions();
+  }
+
+  /** Test for {@link ValuationService#getPortfolioValuation()} with a valuation subscriber */
+  @Test
+  @DisplayName("A read of the Portfolio Valuation is not pushed to the subscribers")
+  void getPortfolioValuationNotPublished() {
+    StepVerifier.create(valuationService.getPortfolioValuationUpdates())
+        .assertNext(valuation -> assertEquals(2, valuation.holdings().size()))
+        .then(
+            () -> {
+              appendPrice(PriceKind.MUTUAL_FUND, FUND_CODE, DATE.plusDays(1), "110");
+              valuationService.getPortfolioValuation().block();
+            })
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenCancel()
+        .verify();
+    verify(valuationRepository, times(2)).findMutualFundPositions();
+    verify(valuationRepository, times(2)).findStockPositions();
+  }
+
+  /** Test for {@link ValuationService#revalue()} completing out of order */
+  @Test
+  @DisplayName("A revaluation completing after a newer one is not pushed")
+  void revalueOutOfOrder() {
+    Sinks.One<OpenPosition> stalePosition = Sinks.one();
+    var position = new OpenPosition(1, FUND_CODE, BigDecimal.TEN, new BigDecimal("1000"));
+    when(valuationRepository.findMutualFundPositions())
+        .thenReturn(Flux.just(position), stalePosition.asMono().flux(), Flux.just(position));
+    var stale = new AtomicReference<CompletableFuture<PortfolioValuation>>();
+    StepVerifier.create(valuationService.getPortfolioValuationUpdates())
+        .assertNext(valuation -> assertEquals(2, valuation.holdings().size()))
+        .then(
+            () -> {
+              stale.set(valuationService.revalue().toFuture());
+              appendPrice(PriceKind.MUTUAL_FUND, FUND_CODE, DATE.plusDays(1), "110");
+              valuationService.revalue().block();
+            })
+        .assertNext(
+            valuation ->
+                assertEquals(
+                    List.of(fundHolding("110.0000", "1100.00", "100.00", "10.00")),
+                    valuation.holdings()))
+        .then(
+            () -> {
+              stalePosition.tryEmitValue(
+                  new OpenPosition(1, FUND_CODE, BigDecimal.ONE, new BigDecimal("100")));
+              stale.get().join();
+            })
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenCancel()
+        .verify();
+    verify(valuationRepository, times(3)).findMutualFundPositions();
+    verify(valuationRepository, times(3)).findStockPositions();
+  }
+}
@@ -0,0 +1,59 @@
+package com.mydata.userdata.valuation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link CashFlows} */
+class CashFlowsTest {
+
+  private static final double ACCURACY = 1e-8;
+  private static final int YEAR_END = 365;
+
+  /** Test for {@link CashFlows#xirrByFund()} and {@link CashFlows#xirr()} */
+  @Test
+  @DisplayName("Every fund is solved from its own cash flows and its current value")
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  void xirrByFund() {
+    var flows = new CashFlows();
+    flows.add(new CashFlow(1, 0, -1000));
+    flows.add(new CashFlow(2, 0, -1000));
+    flows.add(new CashFlow(2, YEAR_END, 1200));
+    flows.add(new CashFlow(3, 0, -500));
+    var values = Map.of(1, 1100.0);
+    var withValues = flows.withTerminalValues(id -> values.getOrDefault(id, 0.0), YEAR_END);
+    assertEquals(4, flows.size());
+    assertEquals(5, withValues.size());
+    assertArrayEquals(new int[] {1, 2, 3}, withValues.fundIds());
+    var rates = withValues.xirrByFund();
+    assertEquals(3, rates.length);
+    assertEquals(0.1, rates[0], ACCURACY);
+    assertEquals(0.2, rates[1], ACCURACY);
+    assertTrue(Double.isNaN(rates[2]));
+    // -2500 invested for a year returns 2300
+    assertEquals(-0.08, withValues.xirr(), ACCURACY);
+  }
+
+  /** Test for {@link CashFlows#add(int, int, double)} beyond the initial capacity */
+  @Test
+  @DisplayName("The columns grow with the cash flows")
+  void add() {
+    var flows = new CashFlows();
+    for (var fundId = 1; fundId <= 2; fundId++) {
+      for (var day = 0; day < 100; day++) {
+        flows.add(fundId, day, -10);
+      }
+    }
+    assertEquals(200, flows.size());
+    assertArrayEquals(new int[] {1, 2}, flows.fundIds());
+    assertTrue(Double.isNaN(flows.xirr()));
+    var empty = new CashFlows();
+    assertEquals(0, empty.fundIds().length);
+    assertEquals(0, empty.xirrByFund().length);
+    assertTrue(Double.isNaN(empty.xirr()));
+  }
+}
@@ -0,0 +1,88 @@
+package com.mydata.userdata.valuation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.userdata.dto.HoldingValuationDto;
+import com.mydata.userdata.dto.PortfolioValuationDto;
+import com.mydata.userdata.price.PriceKind;
+import com.mydata.userdata.price.PriceSeries;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link PortfolioValuation} */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+class PortfolioValuationTest {
+
+  private static final String FUND = "FUND";
+  private static final String STOCK = "STOCK";
+  private static final BigDecimal ZERO = new BigDecimal("0.00");
+
+  private final PortfolioValuation valuation =
+      new PortfolioValuation(
+          ValuationBook.of(
+              PriceKind.MUTUAL_FUND,
+              List.of(new OpenPosition(1, FUND, BigDecimal.TEN, new BigDecimal("100"))),
+              code -> 120_000L),
+          ValuationBook.of(
+              PriceKind.STOCK,
+              List.of(new OpenPosition(2, STOCK, BigDecimal.ONE, new BigDecimal("500"))),
+              code -> PriceSeries.NO_PRICE));
+
+  private final HoldingValuationDto fund =
+      new HoldingValuationDto(
+          PriceKind.MUTUAL_FUND,
+          1,
+          FUND,
+          new BigDecimal("10.0000"),
+          new BigDecimal("100.00"),
+          new BigDecimal("12.0000"),
+          new BigDecimal("120.00"),
+          new BigDecimal("20.00"),
+          new BigDecimal("20.00"));
+
+  private final HoldingValuationDto stock =
+      new HoldingValuationDto(
+          PriceKind.STOCK,
+          2,
+          STOCK,
+          new BigDecimal("1.0000"),
+          new BigDecimal("500.00"),
+          null,
+          new BigDecimal("500.00"),
+          ZERO,
+          ZERO);
+
+  /** Test for {@link PortfolioValuation#toDto()} */
+  @Test
+  @DisplayName("The portfolio totals add up the mutual fund and stock holdings")
+  void toDto() {
+    assertEquals(
+        new PortfolioValuationDto(
+            new BigDecimal("620.00"),
+            new BigDecimal("600.00"),
+            new BigDecimal("20.00"),
+            new BigDecimal("3.33"),
+            List.of(fund, stock)),
+        valuation.toDto());
+    assertEquals(
+        new PortfolioValuationDto(ZERO, ZERO, ZERO, ZERO, List.of()),
+        PortfolioValuation.EMPTY.toDto());
+  }
+
+  /** Test for {@link PortfolioValuation#changesSince(PortfolioValuation)} */
+  @Test
+  @DisplayName("A valuation update has the totals and the holdings which changed")
+  void changesSince() {
+    assertEquals(valuation.toDto(), valuation.changesSince(PortfolioValuation.EMPTY));
+    var previous =
+        new PortfolioValuation(
+            ValuationBook.of(
+                PriceKind.MUTUAL_FUND,
+                List.of(new OpenPosition(1, FUND, BigDecimal.TEN, new BigDecimal("100"))),
+                code -> 110_000L),
+            valuation.stocks());
+    assertEquals(List.of(fund), valuation.changesSince(previous).holdings());
+  }
+}
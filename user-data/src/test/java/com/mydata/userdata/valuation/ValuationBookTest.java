@@ -0,0 +1,173 @@
+package com.mydata.userdata.valuation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mydata.userdata.dto.HoldingValuationDto;
+import com.mydata.userdata.price.PriceKind;
+import com.mydata.userdata.price.PriceSeries;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link ValuationBook} */
+class ValuationBookTest {
+
+  private static final String PRICED = "PRICED";
+  private static final String UNPRICED = "UNPRICED";
+  private static final BigDecimal ZERO = new BigDecimal("0.00");
+
+  private static final List<OpenPosition> POSITIONS =
+      List.of(
+          new OpenPosition(1, PRICED, BigDecimal.TEN, new BigDecimal("1000")),
+          new OpenPosition(3, UNPRICED, new BigDecimal("5.5"), new BigDecimal("60.25")));
+
+  private static final HoldingValuationDto PRICED_HOLDING =
+      new HoldingValuationDto(
+          PriceKind.MUTUAL_FUND,
+          1,
+          PRICED,
+          new BigDecimal("10.0000"),
+          new BigDecimal("1000.00"),
+          new BigDecimal("110.0000"),
+          new BigDecimal("1100.00"),
+          new BigDecimal("100.00"),
+          new BigDecimal("10.00"));
+
+  private static final HoldingValuationDto UNPRICED_HOLDING =
+      new HoldingValuationDto(
+          PriceKind.MUTUAL_FUND,
+          3,
+          UNPRICED,
+          new BigDecimal("5.5000"),
+          new BigDecimal("60.25"),
+          null,
+          new BigDecimal("60.25"),
+          ZERO,
+          ZERO);
+
+  /**
+   * Create a book of the positions
+   *
+   * @param positions the positions
+   * @param price the scaled price of {@link #PRICED}
+   * @return {@link ValuationBook}
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  private static ValuationBook book(final List<OpenPosition> positions, final long price) {
+    var prices = Map.of(PRICED, price);
+    return ValuationBook.of(
+        PriceKind.MUTUAL_FUND, positions, code -> prices.getOrDefault(code, PriceSeries.NO_PRICE));
+  }
+
+  /** Test for {@link ValuationBook#holdings()} */
+  @Test
+  @DisplayName("A position is valued at its latest price, or at its cost without price")
+  void holdings() {
+    var book = book(POSITIONS, 1_100_000L);
+    assertThat(book.holdings()).containsExactly(PRICED_HOLDING, UNPRICED_HOLDING);
+    assertEquals(116_025L, book.totalValue());
+    assertEquals(106_025L, book.totalInvested());
+    assertEquals(110_000L, book.value(1));
+    assertEquals(0L, book.value(2));
+    assertEquals(0L, book.value(4));
+    assertEquals(0L, book.value(-1));
+    assertEquals(1100.0, book.valueAsDouble(1));
+    assertEquals(0.0, book.valueAsDouble(2));
+  }
+
+  /** Test for {@link ValuationBook#holdings()} with amounts of more than two decimal places */
+  @Test
+  @DisplayName("Positions are valued to the paisa and totalled from their rounded amounts")
+  void holdingsExact() {
+    var book =
+        book(
+            List.of(
+                new OpenPosition(1, PRICED, new BigDecimal("0.1"), new BigDecimal("0.105")),
+                new OpenPosition(2, PRICED, new BigDecimal("0.2"), new BigDecimal("0.115")),
+                new OpenPosition(3, UNPRICED, new BigDecimal("3.33335"), new BigDecimal("0.3"))),
+            1_250L);
+    assertThat(book.holdings())
+        .extracting(
+            HoldingValuationDto::openUnits,
+            HoldingValuationDto::invested,
+            HoldingValuationDto::currentValue)
+        .containsExactly(
+            tuple(new BigDecimal("0.1000"), new BigDecimal("0.10"), new BigDecimal("0.01")),
+            tuple(new BigDecimal("0.2000"), new BigDecimal("0.12"), new BigDecimal("0.02")),
+            tuple(new BigDecimal("3.3334"), new BigDecimal("0.30"), new BigDecimal("0.30")));
+    assertEquals(33L, book.totalValue());
+    assertEquals(52L, book.totalInvested());
+  }
+
+  /** Test for {@link ValuationBook#changesSince(ValuationBook)} */
+  @Test
+  @DisplayName("Only the positions which changed since the previous valuation are listed")
+  void changesSince() {
+    var book = book(POSITIONS, 1_100_000L);
+    assertThat(book.changesSince(ValuationBook.empty(PriceKind.MUTUAL_FUND)))
+        .containsExactly(PRICED_HOLDING, UNPRICED_HOLDING);
+    assertThat(book.changesSince(book(POSITIONS, 1_100_000L))).isEmpty();
+    assertThat(book.changesSince(book(POSITIONS, 1_000_000L))).containsExactly(PRICED_HOLDING);
+    assertThat(
+            book.changesSince(
+                book(
+                    List.of(
+                        POSITIONS.get(0),
+                        new OpenPosition(3, UNPRICED, new BigDecimal("5.5"), new BigDecimal("60"))),
+                    1_100_000L)))
+        .containsExactly(UNPRICED_HOLDING);
+    assertThat(
+            book.changesSince(
+                book(
+                    List.of(
+                        new OpenPosition(1, PRICED, BigDecimal.ONE, new BigDecimal("1000")),
+                        POSITIONS.get(1)),
+                    1_100_000L)))
+        .containsExactly(PRICED_HOLDING);
+  }
+
+  /** Test for {@link ValuationBook#changesSince(ValuationBook)} with a closed position */
+  @Test
+  @DisplayName("A position which is not open anymore is listed as closed")
+  void changesSinceClosed() {
+    assertThat(book(POSITIONS.subList(0, 1), 1_100_000L).changesSince(book(POSITIONS, 1_100_000L)))
+        .containsExactly(
+            new HoldingValuationDto(
+                PriceKind.MUTUAL_FUND,
+                3,
+                UNPRICED,
+                new BigDecimal("0.0000"),
+                ZERO,
+                null,
+                ZERO,
+                ZERO,
+                ZERO));
+  }
+
+  /** Test for {@link ValuationBook#divideHalfEven(long, long)} */
+  @Test
+  @DisplayName("A division is rounded half to even")
+  void divideHalfEven() {
+    assertEquals(2L, ValuationBook.divideHalfEven(25, 10));
+    assertEquals(4L, ValuationBook.divideHalfEven(35, 10));
+    assertEquals(3L, ValuationBook.divideHalfEven(26, 10));
+    assertEquals(2L, ValuationBook.divideHalfEven(24, 10));
+    assertEquals(-2L, ValuationBook.divideHalfEven(-25, 10));
+    assertEquals(-4L, ValuationBook.divideHalfEven(-35, 10));
+    assertEquals(-3L, ValuationBook.divideHalfEven(-26, 10));
+  }
+
+  /** Test for {@link ValuationBook#absoluteReturn(BigDecimal, BigDecimal)} */
+  @Test
+  @DisplayName("The absolute return is a percentage of the cost")
+  void absoluteReturn() {
+    assertEquals(
+        new BigDecimal("-33.33"),
+        ValuationBook.absoluteReturn(new BigDecimal("2"), new BigDecimal("3")));
+    assertEquals(ZERO, ValuationBook.absoluteReturn(BigDecimal.TEN, BigDecimal.ZERO));
+  }
+}
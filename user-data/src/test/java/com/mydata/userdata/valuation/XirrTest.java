@@ -0,0 +1,81 @@
+package com.mydata.userdata.valuation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Test class for {@link Xirr} */
+class XirrTest {
+
+  private static final double ACCURACY = 1e-8;
+
+  /**
+   * Convert dates to epoch days
+   *
+   * @param dates the dates
+   * @return the epoch days
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  private static int[] epochDays(final String... dates) {
+    var days = new int[dates.length];
+    for (var i = 0; i < dates.length; i++) {
+      days[i] = (int) LocalDate.parse(dates[i]).toEpochDay();
+    }
+    return days;
+  }
+
+  /** Test for {@link Xirr#solve(int[], double[], int, int)} against spreadsheet values */
+  @Test
+  @DisplayName("The rate is the one of the XIRR spreadsheet function")
+  void solve() {
+    var days = epochDays("2008-01-01", "2008-03-01", "2008-10-30", "2009-02-15", "2009-04-01");
+    var amounts = new double[] {-10_000, 2750, 4250, 3250, 2750};
+    assertEquals(0.373362535, Xirr.solve(days, amounts, 0, amounts.length), ACCURACY);
+    var rate = Xirr.solve(days, amounts, 0, amounts.length);
+    assertEquals(0, Xirr.netPresentValue(days, amounts, 0, amounts.length, rate), 1e-6);
+    // A lump sum held for a year returns its gain
+    assertEquals(
+        0.1,
+        Xirr.solve(epochDays("2021-01-01", "2022-01-01"), new double[] {-1000, 1100}, 0, 2),
+        ACCURACY);
+    // The flows out of order and in a range of larger arrays
+    assertEquals(
+        0.373362535,
+        Xirr.solve(
+            epochDays(
+                "2000-01-01",
+                "2009-04-01",
+                "2008-03-01",
+                "2008-01-01",
+                "2008-10-30",
+                "2009-02-15",
+                "2000-01-01"),
+            new double[] {1, 2750, 2750, -10_000, 4250, 3250, 1},
+            1,
+            6),
+        ACCURACY);
+  }
+
+  /** Test for {@link Xirr#solve(int[], double[], int, int)} when Newton's method diverges */
+  @Test
+  @DisplayName("The rate of a near total loss is found by bisection")
+  void solveByBisection() {
+    var days = epochDays("2021-01-01", "2022-01-01");
+    assertEquals(-0.99, Xirr.solve(days, new double[] {-100, 1}, 0, 2), ACCURACY);
+    assertEquals(-0.5, Xirr.solve(days, new double[] {-1_000_000, 500_000}, 0, 2), ACCURACY);
+  }
+
+  /** Test for {@link Xirr#solve(int[], double[], int, int)} without rate */
+  @Test
+  @DisplayName("There is no rate without both an outflow and an inflow, or out of range")
+  void solveNoRate() {
+    var days = epochDays("2021-01-01", "2021-01-02");
+    assertTrue(Double.isNaN(Xirr.solve(days, new double[] {-100, -1}, 0, 2)));
+    assertTrue(Double.isNaN(Xirr.solve(days, new double[] {100, 0}, 0, 2)));
+    assertTrue(Double.isNaN(Xirr.solve(days, new double[] {-100, 100}, 0, 1)));
+    assertTrue(Double.isNaN(Xirr.solve(days, new double[] {-100, 1e-9}, 0, 2)));
+  }
+}
@@ -54,4 +54,18 @@ insert into stock (stock_code, stock_name, stock_exchange, broker) values ('THRE
 insert into stock (stock_code, stock_name, stock_exchange, broker) values ('FOUR', 'Stock Name Four', 'Eight', 'Ten');
 insert into stock (stock_code, stock_name, stock_exchange, broker) values ('FIVE', 'Stock Name Five', 'Eight', 'Ten');
 
+-- Insert Stock Buy Transaction records
+insert into stock_buy_transaction (stock_id, price, quantity, charge) values (1, 101.10, 11, 5.55);
+insert into stock_buy_transaction (stock_id, price, quantity, charge) values (2, 202.20, 22, 4.44);
+insert into stock_buy_transaction (stock_id, price, quantity, charge) values (3, 303.30, 33, 3.33);
+insert into stock_buy_transaction (stock_id, price, quantity, charge) values (4, 404.40, 44, 2.22);
+insert into stock_buy_transaction (stock_id, price, quantity, charge) values (5, 505.50, 55, 1.11);
+
+-- Insert Stock Sell Transaction records
+insert into stock_sell_transaction (stock_id, buy_ids, price, quantity, charge, profit_loss) values (1, '{1}', 101.10, 11, 5.55, 10);
+insert into stock_sell_transaction (stock_id, buy_ids, price, quantity, charge, profit_loss) values (2, '{2}', 202.20, 22, 4.44, -10);
+insert into stock_sell_transaction (stock_id, buy_ids, price, quantity, charge, profit_loss) values (3, '{3}', 303.30, 33, 3.33, 100);
+insert into stock_sell_transaction (stock_id, buy_ids, price, quantity, charge, profit_loss) values (4, '{4}', 404.40, 44, 2.22, -100);
+insert into stock_sell_transaction (stock_id, buy_ids, price, quantity, charge, profit_loss) values (5, '{5}', 505.50, 55, 1.11, 200);
+
 commit;
\ No newline at end of file
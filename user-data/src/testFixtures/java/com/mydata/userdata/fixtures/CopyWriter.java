@@ -0,0 +1,91 @@
+package com.mydata.userdata.fixtures;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Writer of rows in the text format of the PostgreSQL {@code COPY ... FROM STDIN} command, a line
+ * per row with its columns separated by tabs
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+final class CopyWriter implements Closeable {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final String NULL = "\\N";
+
+  private final Writer writer;
+
+  /**
+   * Create a writer
+   *
+   * @param out the stream of the copy, closed with the writer
+   */
+  CopyWriter(final OutputStream out) {
+    writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+  }
+
+  /**
+   * Write a row. A {@code null} is written as {@code \N}, a boolean as {@code t} or {@code f}, an
+   * {@link Instant} as a UTC timestamp and a {@link List} as an array.
+   *
+   * @param columns the values of the columns
+   * @throws IOException when the row can not be written
+   */
+  void row(final Object... columns) throws IOException {
+    for (var i = 0; i < columns.length; i++) {
+      if (i > 0) {
+        writer.write('\t');
+      }
+      value(columns[i]);
+    }
+    writer.write('\n');
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+
+  private void value(final Object value) throws IOException {
+    if (null == value) {
+      writer.write(NULL);
+    } else if (value instanceof Boolean bool) {
+      writer.write(bool ? 't' : 'f');
+    } else if (value instanceof Instant instant) {
+      writer.write(LocalDateTime.ofInstant(instant, ZoneOffset.UTC).toString());
+    } else if (value instanceof List<?> list) {
+      writer.write('{');
+      for (var i = 0; i < list.size(); i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        writer.write(String.valueOf(list.get(i)));
+      }
+      writer.write('}');
+    } else {
+      text(value.toString());
+    }
+  }
+
+  private void text(final String text) throws IOException {
+    for (var i = 0; i < text.length(); i++) {
+      var c = text.charAt(i);
+      switch (c) {
+        case '\\' -> writer.write("\\\\");
+        case '\t' -> writer.write("\\t");
+        case '\n' -> writer.write("\\n");
+        case '\r' -> writer.write("\\r");
+        default -> writer.write(c);
+      }
+    }
+  }
+}
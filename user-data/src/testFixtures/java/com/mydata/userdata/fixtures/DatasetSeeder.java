@@ -0,0 +1,288 @@
+package com.mydata.userdata.fixtures;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+/**
+ * Seeds a PostgreSQL database with an {@link InvestmentDataset}. The rows are streamed with {@code
+ * COPY ... FROM STDIN}, which loads millions of rows in the time a batch of inserts takes for
+ * thousands. The dataset gets the ids after the largest ids of its tables, so it is added to the
+ * rows already there, and the holdings of its mutual funds are computed from its buys.
+ *
+ * <p>Everything is seeded in one transaction.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@SuppressWarnings({"PMD.BeanMembersShouldSerialize", "PMD.DataflowAnomalyAnalysis"})
+public class DatasetSeeder {
+
+  private static final String MUTUAL_FUND = "mutual_fund";
+  private static final String MUTUAL_FUND_BUY = "mutual_fund_buy_transaction";
+  private static final String MUTUAL_FUND_SELL = "mutual_fund_sell_transaction";
+  private static final String STOCK = "stock";
+  private static final String STOCK_BUY = "stock_buy_transaction";
+  private static final String STOCK_SELL = "stock_sell_transaction";
+
+  private static final String COPY_MUTUAL_FUND =
+      "copy mutual_fund (id, mf_code, mf_name, amc, type, created_at, modified_at, active)"
+          + " from stdin";
+  private static final String COPY_MUTUAL_FUND_BUY =
+      "copy mutual_fund_buy_transaction (id, mf_id, nav, units, charge, buy_date, sold_units,"
+          + " is_sold_out, created_at, modified_at) from stdin";
+  private static final String COPY_MUTUAL_FUND_SELL =
+      "copy mutual_fund_sell_transaction (mf_id, buy_ids, buy_units, nav, units, charge,"
+          + " sold_date, profit_loss, created_at, modified_at) from stdin";
+  private static final String COPY_STOCK =
+      "copy stock (id, stock_code, stock_name, stock_exchange, broker, created_at, modified_at,"
+          + " active) from stdin";
+  private static final String COPY_STOCK_BUY =
+      "copy stock_buy_transaction (id, stock_id, price, quantity, charge, buy_date, sold_quantity,"
+          + " is_sold_out, created_at, modified_at) from stdin";
+  private static final String COPY_STOCK_SELL =
+      "copy stock_sell_transaction (stock_id, buy_ids, price, quantity, charge, sold_date,"
+          + " profit_loss, created_at, modified_at) from stdin";
+
+  /** The same holdings as the migration which added them, for the funds of the dataset */
+  private static final String INSERT_HOLDINGS =
+      "insert into mutual_fund_holding (mf_id, open_units, invested)"
+          + " select mf_id, sum(units - sold_units), sum((units - sold_units) * nav"
+          + " + coalesce(round(charge * (units - sold_units) / nullif(units, 0), 10), 0))"
+          + " from mutual_fund_buy_transaction"
+          + " where is_sold_out = false and mf_id between ? and ?"
+          + " group by mf_id"
+          + " on conflict (mf_id) do nothing";
+
+  private final Connection connection;
+
+  /**
+   * Seed the dataset
+   *
+   * @param dataset the dataset
+   * @throws SQLException when the rows can not be copied, nothing is seeded then
+   * @throws IOException when the rows can not be written to the copy, nothing is seeded then
+   */
+  public void seed(final InvestmentDataset dataset) throws SQLException, IOException {
+    var autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    try {
+      seedMutualFunds(dataset);
+      seedStocks(dataset);
+      connection.commit();
+    } catch (SQLException | IOException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+    try (var statement = connection.createStatement()) {
+      for (var table :
+          new String[] {
+            MUTUAL_FUND, MUTUAL_FUND_BUY, MUTUAL_FUND_SELL, STOCK, STOCK_BUY, STOCK_SELL
+          }) {
+        statement.execute("analyze " + table);
+      }
+    }
+  }
+
+  private void seedMutualFunds(final InvestmentDataset dataset) throws SQLException, IOException {
+    var firstId = nextId(MUTUAL_FUND);
+    var firstBuyId = nextId(MUTUAL_FUND_BUY);
+    var instruments = dataset.getInstruments();
+    var buys = dataset.getBuysPerInstrument();
+    copy(
+        COPY_MUTUAL_FUND,
+        writer -> {
+          for (var i = 0; i < instruments; i++) {
+            var mf = dataset.mutualFund(firstId + i);
+            writer.row(
+                mf.id(),
+                mf.mfCode(),
+                mf.mfName(),
+                mf.amc(),
+                mf.type(),
+                mf.createdAt(),
+                mf.modifiedAt(),
+                mf.active());
+          }
+        });
+    copy(
+        COPY_MUTUAL_FUND_BUY,
+        writer -> {
+          for (var i = 0; i < instruments; i++) {
+            for (var buy : dataset.mutualFundTrades(firstId + i, firstBuyId + i * buys).buys()) {
+              writer.row(
+                  buy.id(),
+                  buy.mfId(),
+                  buy.nav(),
+                  buy.units(),
+                  buy.charge(),
+                  buy.buyDate(),
+                  buy.soldUnits(),
+                  buy.isSoldOut(),
+                  buy.createdAt(),
+                  buy.modifiedAt());
+            }
+          }
+        });
+    copy(
+        COPY_MUTUAL_FUND_SELL,
+        writer -> {
+          for (var i = 0; i < instruments; i++) {
+            for (var sell : dataset.mutualFundTrades(firstId + i, firstBuyId + i * buys).sells()) {
+              writer.row(
+                  sell.mfId(),
+                  sell.buyIds(),
+                  sell.buyUnits(),
+                  sell.nav(),
+                  sell.units(),
+                  sell.charge(),
+                  sell.soldDate(),
+                  sell.profitLoss(),
+                  sell.createdAt(),
+                  sell.modifiedAt());
+            }
+          }
+        });
+    resetSequence(MUTUAL_FUND);
+    resetSequence(MUTUAL_FUND_BUY);
+    try (var statement = connection.prepareStatement(INSERT_HOLDINGS)) {
+      statement.setInt(1, firstId);
+      statement.setInt(2, firstId + instruments - 1);
+      statement.executeUpdate();
+    }
+    log.info(
+        "Seeded {} mutual funds with {} buy transactions each from id {}",
+        instruments,
+        buys,
+        firstId);
+  }
+
+  private void seedStocks(final InvestmentDataset dataset) throws SQLException, IOException {
+    var firstId = nextId(STOCK);
+    var firstBuyId = nextId(STOCK_BUY);
+    var instruments = dataset.getInstruments();
+    var buys = dataset.getBuysPerInstrument();
+    copy(
+        COPY_STOCK,
+        writer -> {
+          for (var i = 0; i < instruments; i++) {
+            var stock = dataset.stock(firstId + i);
+            writer.row(
+                stock.id(),
+                stock.stockCode(),
+                stock.stockName(),
+                stock.stockExchange(),
+                stock.broker(),
+                stock.createdAt(),
+                stock.modifiedAt(),
+                stock.active());
+          }
+        });
+    copy(
+        COPY_STOCK_BUY,
+        writer -> {
+          for (var i = 0; i < instruments; i++) {
+            for (var buy : dataset.stockTrades(firstId + i, firstBuyId + i * buys).buys()) {
+              writer.row(
+                  buy.id(),
+                  buy.stockId(),
+                  buy.price(),
+                  buy.quantity(),
+                  buy.charge(),
+                  buy.buyDate(),
+                  buy.soldQuantity(),
+                  buy.isSoldOut(),
+                  buy.createdAt(),
+                  buy.modifiedAt());
+            }
+          }
+        });
+    copy(
+        COPY_STOCK_SELL,
+        writer -> {
+          for (var i = 0; i < instruments; i++) {
+            for (var sell : dataset.stockTrades(firstId + i, firstBuyId + i * buys).sells()) {
+              writer.row(
+                  sell.stockId(),
+                  sell.buyIds(),
+                  sell.price(),
+                  sell.quantity(),
+                  sell.charge(),
+                  sell.soldDate(),
+                  sell.profitLoss(),
+                  sell.createdAt(),
+                  sell.modifiedAt());
+            }
+          }
+        });
+    resetSequence(STOCK);
+    resetSequence(STOCK_BUY);
+    log.info(
+        "Seeded {} stocks with {} buy transactions each from id {}", instruments, buys, firstId);
+  }
+
+  /**
+   * The id after the largest id of a table
+   *
+   * @param table the table
+   * @return the id
+   * @throws SQLException when the id can not be read
+   */
+  private int nextId(final String table) throws SQLException {
+    try (var statement = connection.createStatement();
+        var result = statement.executeQuery("select coalesce(max(id), 0) + 1 from " + table)) {
+      result.next();
+      return result.getInt(1);
+    }
+  }
+
+  /**
+   * Move the id sequence of a table after the ids copied into it
+   *
+   * @param table the table
+   * @throws SQLException when the sequence can not be moved
+   */
+  private void resetSequence(final String table) throws SQLException {
+    try (var statement = connection.createStatement()) {
+      statement.execute(
+          "select setval(pg_get_serial_sequence('"
+              + table
+              + "', 'id'), (select max(id) from "
+              + table
+              + "))");
+    }
+  }
+
+  /**
+   * Copy rows into a table
+   *
+   * @param sql the copy command
+   * @param rows the writer of the rows
+   * @throws SQLException when the copy fails
+   * @throws IOException when the rows can not be written
+   */
+  private void copy(final String sql, final Rows rows) throws SQLException, IOException {
+    var copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+    try (var writer = new CopyWriter(new PGCopyOutputStream(copyIn))) {
+      rows.write(writer);
+    }
+  }
+
+  /** The rows of a copy */
+  @FunctionalInterface
+  private interface Rows {
+
+    /**
+     * Write the rows
+     *
+     * @param writer the writer of the copy
+     * @throws IOException when a row can not be written
+     */
+    void write(CopyWriter writer) throws IOException;
+  }
+}
@@ -0,0 +1,379 @@
+package com.mydata.userdata.fixtures;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.dto.*;
+import com.mydata.userdata.entity.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+import net.datafaker.Finance;
+import net.datafaker.Number;
+import net.datafaker.Science;
+
+/**
+ * Generator of investment DTOs and entities with random, realistic values. Every generated record
+ * has a new id. The unit tests get their parameters from it, and {@link InvestmentDataset} names
+ * its instruments with it.
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class InvestmentDataGenerator {
+
+  private static final Integer MIN_VALUE = Integer.MIN_VALUE;
+  private static final Integer MAX_VALUE = Integer.MAX_VALUE;
+  private static final Integer ZERO_VALUE = 0;
+
+  private final Science science;
+  private final Finance finance;
+  private final Number number;
+  private final net.datafaker.Stock stockMarket;
+  private final AtomicInteger id = new AtomicInteger();
+
+  /** Create a generator of random values */
+  public InvestmentDataGenerator() {
+    this(new Faker());
+  }
+
+  /**
+   * Create a generator which generates the same values on every run
+   *
+   * @param seed the seed of the random values
+   */
+  public InvestmentDataGenerator(final long seed) {
+    this(new Faker(new Random(seed)));
+  }
+
+  private InvestmentDataGenerator(final Faker faker) {
+    science = faker.science();
+    finance = faker.finance();
+    number = faker.number();
+    stockMarket = faker.stock();
+  }
+
+  /**
+   * Generate a list of records
+   *
+   * @param size the number of records
+   * @param generator the generator of a record, like {@code generator::stockDto}
+   * @param <T> the record type
+   * @return the records
+   */
+  public <T> List<T> list(final int size, final Supplier<T> generator) {
+    return IntStream.range(0, size).mapToObj(i -> generator.get()).toList();
+  }
+
+  /**
+   * Generate Account with random value
+   *
+   * @param negative if true the balance is negative
+   * @return {@link AccountDto}
+   */
+  public AccountDto accountDto(final boolean negative) {
+    var converter = negative ? -1 : 1;
+    return new AccountDto(
+        id.incrementAndGet(),
+        science.element(),
+        science.bosons(),
+        finance.iban(),
+        BigDecimal.valueOf(converter * number.randomDouble(2, ZERO_VALUE, MAX_VALUE)));
+  }
+
+  /**
+   * Generate Miscellaneous account with random value
+   *
+   * @return {@link MiscellaneousDto}
+   */
+  public MiscellaneousDto miscellaneousDto() {
+    return new MiscellaneousDto(
+        id.incrementAndGet(),
+        science.element(),
+        BigDecimal.valueOf(number.randomDouble(2, ZERO_VALUE, MAX_VALUE)));
+  }
+
+  /**
+   * Generate Mutual Funds with random value
+   *
+   * @return {@link MutualFundDto}
+   */
+  public MutualFundDto mutualFundDto() {
+    return new MutualFundDto(
+        id.incrementAndGet(),
+        stockMarket.nsdqSymbol(),
+        science.element(),
+        science.bosons(),
+        science.quark());
+  }
+
+  /**
+   * Generate Mutual Funds Buy Transactions with random value
+   *
+   * @return {@link MutualFundBuyTransactionDto}
+   */
+  public MutualFundBuyTransactionDto mutualFundBuyTransactionDto() {
+    return new MutualFundBuyTransactionDto(
+        id.incrementAndGet(),
+        number.numberBetween(1, 5),
+        randomAmount(),
+        randomAmount(),
+        randomAmount(),
+        Instant.now(),
+        randomAmount(),
+        Boolean.TRUE);
+  }
+
+  /**
+   * Generate Mutual Funds Sell Transactions with random value
+   *
+   * @return {@link MutualFundSellTransactionDto}
+   */
+  public MutualFundSellTransactionDto mutualFundSellTransactionDto() {
+    return new MutualFundSellTransactionDto(
+        id.incrementAndGet(),
+        number.numberBetween(1, 5),
+        List.of(number.randomDigitNotZero(), number.randomDigitNotZero()),
+        randomAmount(),
+        randomAmount(),
+        randomAmount(),
+        Instant.now(),
+        randomAmount());
+  }
+
+  /**
+   * Generate Stock with random value
+   *
+   * @return {@link StockDto}
+   */
+  public StockDto stockDto() {
+    return new StockDto(
+        id.incrementAndGet(),
+        stockMarket.nsdqSymbol(),
+        science.element(),
+        science.bosons(),
+        science.quark());
+  }
+
+  /**
+   * Generate Stocks Buy Transactions with random value
+   *
+   * @return {@link StockBuyTransactionDto}
+   */
+  public StockBuyTransactionDto stockBuyTransactionDto() {
+    return new StockBuyTransactionDto(
+        id.incrementAndGet(),
+        number.numberBetween(1, 5),
+        randomAmount(),
+        number.numberBetween(1, 10000),
+        randomAmount(),
+        Instant.now(),
+        ZERO_VALUE,
+        Boolean.FALSE);
+  }
+
+  /**
+   * Generate Stocks Sell Transactions with random value
+   *
+   * @return {@link StockSellTransactionDto}
+   */
+  public StockSellTransactionDto stockSellTransactionDto() {
+    return new StockSellTransactionDto(
+        id.incrementAndGet(),
+        number.numberBetween(1, 5),
+        List.of(number.randomDigitNotZero(), number.randomDigitNotZero()),
+        randomAmount(),
+        number.numberBetween(1, 10000),
+        randomAmount(),
+        Instant.now(),
+        randomAmount());
+  }
+
+  /**
+   * Generate Deposit Account with random value
+   *
+   * @return {@link DepositAccount}
+   */
+  public DepositAccount depositAccount() {
+    return new DepositAccount(
+        id.incrementAndGet(),
+        science.element(),
+        science.bosons(),
+        finance.iban(),
+        BigDecimal.valueOf(number.randomDouble(2, ZERO_VALUE, MAX_VALUE)),
+        Instant.now(),
+        Instant.now(),
+        Boolean.TRUE);
+  }
+
+  /**
+   * Generate Loan Account with random value
+   *
+   * @return {@link Loan}
+   */
+  public Loan loan() {
+    return new Loan(
+        id.incrementAndGet(),
+        science.element(),
+        science.bosons(),
+        finance.iban(),
+        BigDecimal.valueOf(number.randomDouble(2, MIN_VALUE, ZERO_VALUE)),
+        Instant.now(),
+        Instant.now(),
+        Boolean.TRUE);
+  }
+
+  /**
+   * Generate Miscellaneous with random value
+   *
+   * @return {@link Miscellaneous}
+   */
+  public Miscellaneous miscellaneous() {
+    return new Miscellaneous(
+        id.incrementAndGet(),
+        science.element(),
+        BigDecimal.valueOf(number.randomDouble(2, ZERO_VALUE, MAX_VALUE)),
+        Instant.now(),
+        Instant.now(),
+        Boolean.TRUE);
+  }
+
+  /**
+   * Generate MutualFund with random value
+   *
+   * @return {@link MutualFund}
+   */
+  public MutualFund mutualFund() {
+    return new MutualFund(
+        id.incrementAndGet(),
+        stockMarket.nsdqSymbol(),
+        science.element(),
+        science.bosons(),
+        science.quark(),
+        Instant.now(),
+        Instant.now(),
+        Boolean.TRUE);
+  }
+
+  /**
+   * Generate Mutual Fund Buy Transaction with random value
+   *
+   * @return {@link MutualFundBuyTransaction}
+   */
+  public MutualFundBuyTransaction mutualFundBuyTransaction() {
+    return new MutualFundBuyTransaction(
+        id.incrementAndGet(),
+        number.randomDigitNotZero(),
+        randomAmount(),
+        randomAmount(),
+        randomAmount(),
+        Instant.now(),
+        randomAmount(),
+        Boolean.FALSE,
+        Instant.now(),
+        Instant.now());
+  }
+
+  /**
+   * Generate Mutual Fund Sell Transaction with random value
+   *
+   * @return {@link MutualFundSellTransaction}
+   */
+  public MutualFundSellTransaction mutualFundSellTransaction() {
+    return new MutualFundSellTransaction(
+        id.incrementAndGet(),
+        number.randomDigitNotZero(),
+        List.of(number.randomDigitNotZero(), number.randomDigitNotZero()),
+        List.of(randomAmount(), randomAmount()),
+        randomAmount(),
+        randomAmount(),
+        randomAmount(),
+        Instant.now(),
+        randomAmount(),
+        Instant.now(),
+        Instant.now());
+  }
+
+  /**
+   * Generate Saving Account with random value
+   *
+   * @return {@link SavingAccount}
+   */
+  public SavingAccount savingAccount() {
+    return new SavingAccount(
+        id.incrementAndGet(),
+        science.element(),
+        science.bosons(),
+        finance.iban(),
+        BigDecimal.valueOf(number.randomDouble(2, ZERO_VALUE, MAX_VALUE)),
+        Instant.now(),
+        Instant.now(),
+        Boolean.TRUE);
+  }
+
+  /**
+   * Generate Stock with random value
+   *
+   * @return {@link Stock}
+   */
+  public Stock stock() {
+    return new Stock(
+        id.incrementAndGet(),
+        stockMarket.nsdqSymbol(),
+        science.element(),
+        science.bosons(),
+        science.quark(),
+        Instant.now(),
+        Instant.now(),
+        Boolean.TRUE);
+  }
+
+  /**
+   * Generate Stock Buy Transaction with random value
+   *
+   * @return {@link StockBuyTransaction}
+   */
+  public StockBuyTransaction stockBuyTransaction() {
+    var quantity = number.numberBetween(1, 10000);
+    return new StockBuyTransaction(
+        id.incrementAndGet(),
+        number.randomDigitNotZero(),
+        randomAmount(),
+        quantity,
+        randomAmount(),
+        Instant.now(),
+        number.numberBetween(0, quantity),
+        Boolean.FALSE,
+        Instant.now(),
+        Instant.now());
+  }
+
+  /**
+   * Generate Stock Sell Transaction with random value
+   *
+   * @return {@link StockSellTransaction}
+   */
+  public StockSellTransaction stockSellTransaction() {
+    return new StockSellTransaction(
+        id.incrementAndGet(),
+        number.randomDigitNotZero(),
+        List.of(number.randomDigitNotZero(), number.randomDigitNotZero()),
+        randomAmount(),
+        number.numberBetween(1, 10000),
+        randomAmount(),
+        Instant.now(),
+        randomAmount(),
+        Instant.now(),
+        Instant.now());
+  }
+
+  /**
+   * Generate an amount with 2 decimal places
+   *
+   * @return {@link FixedDecimal}
+   */
+  private FixedDecimal randomAmount() {
+    return FixedDecimal.valueOf(BigDecimal.valueOf(number.randomDouble(2, 1, 10000)));
+  }
+}
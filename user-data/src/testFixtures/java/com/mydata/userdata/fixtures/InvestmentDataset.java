@@ -0,0 +1,350 @@
+package com.mydata.userdata.fixtures;
+
+import com.mydata.userdata.decimal.FixedDecimal;
+import com.mydata.userdata.entity.MutualFund;
+import com.mydata.userdata.entity.MutualFundBuyTransaction;
+import com.mydata.userdata.entity.MutualFundSellTransaction;
+import com.mydata.userdata.entity.Stock;
+import com.mydata.userdata.entity.StockBuyTransaction;
+import com.mydata.userdata.entity.StockSellTransaction;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * A synthetic dataset of mutual funds and stocks, each with a history of buys and sells. The sells
+ * take their units from the oldest open buys of the same instrument, so the sold units, the sold
+ * out flags and the buy ids of the sells agree with each other.
+ *
+ * <p>The trades of an instrument are derived from the seed and the ids alone, so the buys and the
+ * sells can be read in two passes without keeping the dataset in memory.
+ */
+@SuppressWarnings("PMD.BeanMembersShouldSerialize")
+public class InvestmentDataset {
+
+  private static final Instant HISTORY_START = Instant.parse("2015-04-01T00:00:00Z");
+  private static final long HISTORY_MINUTES = Duration.ofDays(7 * 365).toMinutes();
+  private static final int MUTUAL_FUND_KIND = 1;
+  private static final int STOCK_KIND = 2;
+  private static final int SELL_EVERY = 4;
+  private static final int MF_UNITS_SCALE = 4;
+  private static final long MF_SELL_UNITS_STEP = 100;
+  private static final int PRICE_SCALE = 2;
+  private static final long MIN_PRICE = 100;
+  private static final long MAX_PRICE = 10_000_000;
+
+  private final int instruments;
+  private final int buysPerInstrument;
+  private final long seed;
+  private final InvestmentDataGenerator generator;
+
+  /**
+   * Create a dataset
+   *
+   * @param instruments the number of mutual funds, and of stocks
+   * @param buysPerInstrument the number of buy transactions of every mutual fund and stock
+   * @param seed the seed of the random values, the same seed makes the same dataset
+   */
+  public InvestmentDataset(final int instruments, final int buysPerInstrument, final long seed) {
+    this.instruments = instruments;
+    this.buysPerInstrument = buysPerInstrument;
+    this.seed = seed;
+    this.generator = new InvestmentDataGenerator(seed);
+  }
+
+  /**
+   * The number of mutual funds, and of stocks
+   *
+   * @return the number of instruments
+   */
+  public int getInstruments() {
+    return instruments;
+  }
+
+  /**
+   * The number of buy transactions of every mutual fund and stock
+   *
+   * @return the number of buys
+   */
+  public int getBuysPerInstrument() {
+    return buysPerInstrument;
+  }
+
+  /**
+   * A mutual fund, its code and name end with its id so they are unique
+   *
+   * @param mfId the id of the mutual fund
+   * @return {@link MutualFund}
+   */
+  public MutualFund mutualFund(final int mfId) {
+    var mutualFund = generator.mutualFund();
+    return new MutualFund(
+        mfId,
+        mutualFund.mfCode() + "-" + mfId,
+        mutualFund.mfName() + " Fund " + mfId,
+        mutualFund.amc(),
+        mutualFund.type(),
+        HISTORY_START,
+        HISTORY_START,
+        Boolean.TRUE);
+  }
+
+  /**
+   * A stock, its code and name end with its id so they are unique
+   *
+   * @param stockId the id of the stock
+   * @return {@link Stock}
+   */
+  public Stock stock(final int stockId) {
+    var stock = generator.stock();
+    return new Stock(
+        stockId,
+        stock.stockCode() + "-" + stockId,
+        stock.stockName() + " Limited " + stockId,
+        stock.stockExchange(),
+        stock.broker(),
+        HISTORY_START,
+        HISTORY_START,
+        Boolean.TRUE);
+  }
+
+  /**
+   * The trades of a mutual fund, the units of a buy have 4 decimal places and the units of a sell
+   * 2, like their columns
+   *
+   * @param mfId the id of the mutual fund
+   * @param firstBuyId the id of the first buy, the next buys have the next ids
+   * @return {@link Trades}
+   */
+  public Trades<MutualFundBuyTransaction, MutualFundSellTransaction> mutualFundTrades(
+      final int mfId, final int firstBuyId) {
+    var random = random(MUTUAL_FUND_KIND, mfId);
+    var book = new Book(firstBuyId, MF_UNITS_SCALE);
+    var sells = new ArrayList<MutualFundSellTransaction>();
+    trade(
+        random,
+        book,
+        () -> 10_000L + random.nextInt(10_000_000),
+        MF_SELL_UNITS_STEP,
+        sale ->
+            sells.add(
+                new MutualFundSellTransaction(
+                    null,
+                    mfId,
+                    sale.buyIds(),
+                    sale.buyQuantities(),
+                    FixedDecimal.of(sale.price(), PRICE_SCALE),
+                    FixedDecimal.of(sale.quantity() / MF_SELL_UNITS_STEP, PRICE_SCALE),
+                    FixedDecimal.of(sale.charge(), PRICE_SCALE),
+                    sale.date(),
+                    FixedDecimal.valueOf(sale.profitLoss()),
+                    sale.date(),
+                    sale.date())));
+    var buys =
+        book.lots.stream()
+            .map(
+                lot ->
+                    new MutualFundBuyTransaction(
+                        lot.id,
+                        mfId,
+                        FixedDecimal.of(lot.price, PRICE_SCALE),
+                        FixedDecimal.of(lot.quantity, MF_UNITS_SCALE),
+                        FixedDecimal.of(lot.charge, PRICE_SCALE),
+                        lot.date,
+                        FixedDecimal.of(lot.sold, MF_UNITS_SCALE),
+                        lot.sold == lot.quantity,
+                        lot.date,
+                        lot.date))
+            .toList();
+    return new Trades<>(buys, sells);
+  }
+
+  /**
+   * The trades of a stock, the quantities are whole shares
+   *
+   * @param stockId the id of the stock
+   * @param firstBuyId the id of the first buy, the next buys have the next ids
+   * @return {@link Trades}
+   */
+  public Trades<StockBuyTransaction, StockSellTransaction> stockTrades(
+      final int stockId, final int firstBuyId) {
+    var random = random(STOCK_KIND, stockId);
+    var book = new Book(firstBuyId, 0);
+    var sells = new ArrayList<StockSellTransaction>();
+    trade(
+        random,
+        book,
+        () -> 1L + random.nextInt(500),
+        1,
+        sale ->
+            sells.add(
+                new StockSellTransaction(
+                    null,
+                    stockId,
+                    sale.buyIds(),
+                    FixedDecimal.of(sale.price(), PRICE_SCALE),
+                    Math.toIntExact(sale.quantity()),
+                    FixedDecimal.of(sale.charge(), PRICE_SCALE),
+                    sale.date(),
+                    FixedDecimal.valueOf(sale.profitLoss()),
+                    sale.date(),
+                    sale.date())));
+    var buys =
+        book.lots.stream()
+            .map(
+                lot ->
+                    new StockBuyTransaction(
+                        lot.id,
+                        stockId,
+                        FixedDecimal.of(lot.price, PRICE_SCALE),
+                        Math.toIntExact(lot.quantity),
+                        FixedDecimal.of(lot.charge, PRICE_SCALE),
+                        lot.date,
+                        Math.toIntExact(lot.sold),
+                        lot.sold == lot.quantity,
+                        lot.date,
+                        lot.date))
+            .toList();
+    return new Trades<>(buys, sells);
+  }
+
+  /**
+   * Buy the instrument at a random walk of prices, and after about one buy in {@value SELL_EVERY}
+   * sell a random part of the open quantity
+   *
+   * @param random the random values of the instrument
+   * @param book the open lots of the instrument
+   * @param buyQuantity the quantity of a buy
+   * @param step the smallest quantity of a sell
+   * @param sales the consumer of the sells
+   */
+  @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+  private void trade(
+      final Random random,
+      final Book book,
+      final LongSupplier buyQuantity,
+      final long step,
+      final Consumer<Sale> sales) {
+    var maxMinutesBetween = Math.max(2, 2 * HISTORY_MINUTES / buysPerInstrument);
+    var date = HISTORY_START;
+    var price = 1_000L + random.nextInt(49_000);
+    for (var i = 0; i < buysPerInstrument; i++) {
+      date = date.plus(Duration.ofMinutes(1 + random.nextLong(maxMinutesBetween)));
+      price =
+          Math.min(MAX_PRICE, Math.max(MIN_PRICE, price + price * (random.nextInt(11) - 5) / 100));
+      book.buy(price, buyQuantity.getAsLong(), random.nextInt(5_000), date);
+      var steps = book.open / step;
+      if (random.nextInt(SELL_EVERY) == 0 && steps > 0) {
+        var quantity = (1 + random.nextLong(steps)) * step;
+        sales.accept(book.sell(quantity, price, random.nextInt(5_000), date.plusSeconds(60)));
+      }
+    }
+  }
+
+  private Random random(final int kind, final int id) {
+    return new Random(31 * (31 * seed + kind) + id);
+  }
+
+  /** A buy transaction and the quantity sold from it */
+  private static final class Lot {
+    private final int id;
+    private final long price;
+    private final long quantity;
+    private final long charge;
+    private final Instant date;
+    private long sold;
+
+    private Lot(
+        final int id,
+        final long price,
+        final long quantity,
+        final long charge,
+        final Instant date) {
+      this.id = id;
+      this.price = price;
+      this.quantity = quantity;
+      this.charge = charge;
+      this.date = date;
+    }
+  }
+
+  /**
+   * A sell transaction
+   *
+   * @param buyIds the ids of the buys the quantity was taken from
+   * @param buyQuantities the quantity taken from each of the buys
+   * @param quantity the quantity sold
+   * @param price the price, in hundredths
+   * @param charge the charge, in hundredths
+   * @param date the sold date
+   * @param profitLoss the difference of the price and the buy prices of the quantity, less the
+   *     charge
+   */
+  private record Sale(
+      List<Integer> buyIds,
+      List<FixedDecimal> buyQuantities,
+      long quantity,
+      long price,
+      long charge,
+      Instant date,
+      BigDecimal profitLoss) {}
+
+  /** The lots of an instrument in buy order, the sells take their quantity from the oldest */
+  private static final class Book {
+    private final List<Lot> lots = new ArrayList<>();
+    private final int firstBuyId;
+    private final int quantityScale;
+    private int oldest;
+    private long open;
+
+    private Book(final int firstBuyId, final int quantityScale) {
+      this.firstBuyId = firstBuyId;
+      this.quantityScale = quantityScale;
+    }
+
+    private void buy(final long price, final long quantity, final long charge, final Instant date) {
+      lots.add(new Lot(firstBuyId + lots.size(), price, quantity, charge, date));
+      open += quantity;
+    }
+
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    private Sale sell(
+        final long quantity, final long price, final long charge, final Instant date) {
+      var buyIds = new ArrayList<Integer>();
+      var buyQuantities = new ArrayList<FixedDecimal>();
+      var gain = 0L;
+      var rest = quantity;
+      while (rest > 0) {
+        var lot = lots.get(oldest);
+        var taken = Math.min(rest, lot.quantity - lot.sold);
+        lot.sold += taken;
+        rest -= taken;
+        gain += (price - lot.price) * taken;
+        buyIds.add(lot.id);
+        buyQuantities.add(FixedDecimal.of(taken, quantityScale));
+        if (lot.sold == lot.quantity) {
+          oldest++;
+        }
+      }
+      open -= quantity;
+      var profitLoss =
+          BigDecimal.valueOf(gain, PRICE_SCALE + quantityScale)
+              .setScale(PRICE_SCALE, RoundingMode.HALF_UP)
+              .subtract(BigDecimal.valueOf(charge, PRICE_SCALE));
+      return new Sale(
+          List.copyOf(buyIds),
+          List.copyOf(buyQuantities),
+          quantity,
+          price,
+          charge,
+          date,
+          profitLoss);
+    }
+  }
+}
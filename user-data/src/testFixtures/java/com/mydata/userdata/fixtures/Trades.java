@@ -0,0 +1,14 @@
+package com.mydata.userdata.fixtures;
+
+import java.util.List;
+
+/**
+ * The buy and sell transactions of an instrument, every sell takes its units from the oldest open
+ * buys and lists their ids
+ *
+ * @param buys the buy transactions, in buy date order
+ * @param sells the sell transactions, in sold date order
+ * @param <B> the buy transaction type
+ * @param <S> the sell transaction type
+ */
+public record Trades<B, S>(List<B> buys, List<S> sells) {}